@@ -26,13 +26,22 @@ import java.awt.geom.Dimension2D;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -85,7 +94,9 @@ public final class PPTX2PNG {
             "    -fontdir <dir>    (PDF only) font directories separated by \";\" - use $HOME for current users home dir\n" +
             "                      defaults to the usual plattform directories\n" +
             "    -fontTtf <regex>  (PDF only) regex to match the .ttf filenames\n" +
-            "    -fontMap <map>    \";\"-separated list of font mappings <typeface from>:<typeface to>";
+            "    -fontMap <map>    \";\"-separated list of font mappings <typeface from>:<typeface to>\n" +
+            "    -threads <int>    number of slides rendered in parallel, 0 for the number of processors, defaults to 1\n" +
+            "                      not used for pdf output, stdin or a fixed outfile";
 
         System.out.println(msg);
         // no System.exit here, as we also run in junit tests!
@@ -118,6 +129,7 @@ public final class PPTX2PNG {
     private String fontDir = null;
     private String fontTtf = null;
     private String fontMap = null;
+    private int threads = 1;
 
     private PPTX2PNG() {
     }
@@ -231,6 +243,12 @@ public final class PPTX2PNG {
                         fontMap = null;
                     }
                     break;
+                case "-threads":
+                    if (opt != null) {
+                        threads = Integer.parseInt(opt);
+                        i++;
+                    }
+                    break;
                 default:
                     file = new File(args[i]);
                     break;
@@ -277,6 +295,11 @@ public final class PPTX2PNG {
             return false;
         }
 
+        if (threads < 0) {
+            usage("Invalid number of threads given");
+            return false;
+        }
+
         return true;
     }
 
@@ -299,48 +322,23 @@ public final class PPTX2PNG {
             final int width = Math.max((int)Math.rint(dim.getWidth()),1);
             final int height = Math.max((int)Math.rint(dim.getHeight()),1);
 
-            try (OutputFormat outputFormat = getOutput()) {
-                for (int slideNo : slidenum) {
-                    proxy.setSlideNo(slideNo);
-                    if (!quiet) {
-                        String title = proxy.getTitle();
-                        System.out.println("Rendering slide " + slideNo + (title == null ? "" : ": " + title.trim()));
-                    }
-
-                    dumpRecords(proxy);
-
-                    extractEmbedded(proxy, slideNo);
-
-                    Graphics2D graphics = outputFormat.addSlide(width, height);
-
-                    // default rendering options
-                    graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                    graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-                    graphics.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
-                    graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-                    graphics.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
-                    graphics.setRenderingHint(Drawable.DEFAULT_CHARSET, getDefaultCharset());
-                    graphics.setRenderingHint(Drawable.EMF_FORCE_HEADER_BOUNDS, emfHeaderBounds);
-                    if (fontMap != null) {
-                        Map<String,String> fmap = Arrays.stream(fontMap.split(";"))
-                            .map(s -> s.split(":"))
-                            .collect(Collectors.toMap(s -> s[0], s -> s[1]));
-                        graphics.setRenderingHint(Drawable.FONT_MAP, fmap);
+            final int threadCount = getThreadCount(proxy, slidenum);
+            if (threadCount > 1) {
+                if (!quiet) {
+                    System.out.println("Rendering " + slidenum.size() + " slides with " + threadCount + " threads");
+                }
+                dumpRecords(proxy);
+                renderParallel(proxy, slidenum, threadCount, width, height, lenSide);
+            } else {
+                try (OutputFormat outputFormat = getOutput()) {
+                    for (int slideNo : slidenum) {
+                        proxy.setSlideNo(slideNo);
+                        dumpRecords(proxy);
+                        renderSlide(proxy, slideNo, outputFormat, width, height, lenSide);
                     }
 
-                    graphics.scale(scale / lenSide, scale / lenSide);
-
-                    graphics.setComposite(AlphaComposite.Clear);
-                    graphics.fillRect(0, 0, width, height);
-                    graphics.setComposite(AlphaComposite.SrcOver);
-
-                    // draw stuff
-                    proxy.draw(graphics);
-
-                    outputFormat.writeSlide(proxy, new File(outdir, calcOutFile(proxy, slideNo)));
+                    outputFormat.writeDocument(proxy, new File(outdir, calcOutFile(proxy, 0)));
                 }
-
-                outputFormat.writeDocument(proxy, new File(outdir, calcOutFile(proxy, 0)));
             }
 
         } catch (NoScratchpadException e) {
@@ -353,6 +351,115 @@ public final class PPTX2PNG {
         }
     }
 
+    private void renderSlide(MFProxy proxy, int slideNo, OutputFormat outputFormat, int width, int height, double lenSide)
+    throws IOException {
+        if (!quiet) {
+            String title = proxy.getTitle();
+            System.out.println("Rendering slide " + slideNo + (title == null ? "" : ": " + title.trim()));
+        }
+
+        extractEmbedded(proxy, slideNo);
+
+        Graphics2D graphics = outputFormat.addSlide(width, height);
+
+        // default rendering options
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        graphics.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        graphics.setRenderingHint(Drawable.DEFAULT_CHARSET, getDefaultCharset());
+        graphics.setRenderingHint(Drawable.EMF_FORCE_HEADER_BOUNDS, emfHeaderBounds);
+        if (fontMap != null) {
+            Map<String,String> fmap = Arrays.stream(fontMap.split(";"))
+                .map(s -> s.split(":"))
+                .collect(Collectors.toMap(s -> s[0], s -> s[1]));
+            graphics.setRenderingHint(Drawable.FONT_MAP, fmap);
+        }
+
+        graphics.scale(scale / lenSide, scale / lenSide);
+
+        graphics.setComposite(AlphaComposite.Clear);
+        graphics.fillRect(0, 0, width, height);
+        graphics.setComposite(AlphaComposite.SrcOver);
+
+        // draw stuff
+        proxy.draw(graphics);
+
+        outputFormat.writeSlide(proxy, new File(outdir, calcOutFile(proxy, slideNo)));
+    }
+
+    /**
+     * @return the number of threads to render the slides, 1 if the slides can't be rendered in parallel
+     */
+    private int getThreadCount(MFProxy proxy, Set<Integer> slidenum) {
+        // pdf slides are added to one document and stdin can't be parsed again for the workers
+        if (threads == 1 || !(proxy instanceof PPTHandler) || "pdf".equals(format) || outfile != null
+            || "stdin".equalsIgnoreCase(file.getName())) {
+            return 1;
+        }
+        final int count = (threads == 0) ? Runtime.getRuntime().availableProcessors() : threads;
+        return Math.min(count, slidenum.size());
+    }
+
+    /**
+     * Renders the slides with the given number of workers, each with its own output format.
+     * The slide shows aren't thread-safe, e.g. shapes and text styles are initialized lazily,
+     * so only the first worker uses the already parsed slide show and the others open their own copy.
+     */
+    private void renderParallel(MFProxy proxy, Set<Integer> slidenum, int threadCount, int width, int height, double lenSide)
+    throws IOException {
+        final Queue<Integer> slides = new ConcurrentLinkedQueue<>(slidenum);
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            final List<Future<Void>> workers = new ArrayList<>(threadCount);
+            for (int i = 0; i < threadCount; i++) {
+                final boolean first = (i == 0);
+                workers.add(executor.submit(() -> {
+                    MFProxy workerProxy = null;
+                    try {
+                        workerProxy = first ? proxy : initProxy(file);
+                        for (Integer slideNo; (slideNo = slides.poll()) != null; ) {
+                            workerProxy.setSlideNo(slideNo);
+                            try (OutputFormat outputFormat = getOutput()) {
+                                renderSlide(workerProxy, slideNo, outputFormat, width, height, lenSide);
+                            }
+                        }
+                    } catch (IOException | RuntimeException | Error e) {
+                        // stop the other workers
+                        slides.clear();
+                        throw e;
+                    } finally {
+                        if (!first && workerProxy != null) {
+                            workerProxy.close();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<Void> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Rendering of the slides was interrupted");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            } else {
+                throw new IOException(cause);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private OutputFormat getOutput() {
         switch (format) {
             case "svg": {
@@ -57,18 +57,24 @@ public class XSSFBCommentsTable extends XSSFBParser {
 
     @Override
     public void handleRecord(int id, byte[] data) throws XSSFBParseException {
+        handleRecord(id, data, 0, data.length);
+    }
+
+    @Override
+    public void handleRecord(int id, byte[] data, int offset, int length) throws XSSFBParseException {
         XSSFBRecordType recordType = XSSFBRecordType.lookup(id);
         switch (recordType) {
             case BrtBeginComment:
-                int offset = 0;
-                authorId = XSSFBUtils.castToInt(LittleEndian.getUInt(data)); offset += LittleEndianConsts.INT_SIZE;
-                cellRange = XSSFBCellRange.parse(data, offset, cellRange);
-                offset+= XSSFBCellRange.length;
+                XSSFBUtils.checkRecordLength(offset, offset + length, LittleEndianConsts.INT_SIZE + XSSFBCellRange.length);
+                int pos = offset;
+                authorId = XSSFBUtils.castToInt(LittleEndian.getUInt(data, pos)); pos += LittleEndianConsts.INT_SIZE;
+                cellRange = XSSFBCellRange.parse(data, pos, cellRange);
+                pos += XSSFBCellRange.length;
                 //for strict parsing; confirm that firstRow==lastRow and firstCol==colLats (2.4.28)
                 cellAddress = new CellAddress(cellRange.firstRow, cellRange.firstCol);
                 break;
             case BrtCommentText:
-                XSSFBRichStr xssfbRichStr = XSSFBRichStr.build(data, 0);
+                XSSFBRichStr xssfbRichStr = XSSFBRichStr.build(data, offset, offset + length);
                 comment = xssfbRichStr.getString();
                 break;
             case BrtEndComment:
@@ -78,7 +84,7 @@ public class XSSFBCommentsTable extends XSSFBParser {
                 break;
             case BrtCommentAuthor:
                 authorBuffer.setLength(0);
-                XSSFBUtils.readXLWideString(data, 0, authorBuffer);
+                XSSFBUtils.readXLWideString(data, offset, offset + length, authorBuffer);
                 authors.add(authorBuffer.toString());
                 break;
         }
@@ -26,12 +26,20 @@ import org.apache.poi.util.Internal;
 class XSSFBRichStr {
 
     public static XSSFBRichStr build(byte[] bytes, int offset) throws XSSFBParseException {
+        return build(bytes, offset, bytes.length);
+    }
+
+    /**
+     * @param end offset in bytes after the last byte of the record
+     */
+    public static XSSFBRichStr build(byte[] bytes, int offset, int end) throws XSSFBParseException {
+        XSSFBUtils.checkRecordLength(offset, end, 1);
         byte first = bytes[offset];
         boolean dwSizeStrRunExists = (first >> 7 & 1) == 1;//first bit == 1?
         boolean phoneticExists = (first >> 6 & 1) == 1;//second bit == 1?
         StringBuilder sb = new StringBuilder();
 
-        int read = XSSFBUtils.readXLWideString(bytes, offset+1, sb);
+        int read = XSSFBUtils.readXLWideString(bytes, offset+1, end, sb);
         //TODO: parse phonetic strings.
         return new XSSFBRichStr(sb.toString(), "");
     }
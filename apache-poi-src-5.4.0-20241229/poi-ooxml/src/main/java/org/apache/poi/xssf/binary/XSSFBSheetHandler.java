@@ -19,6 +19,7 @@ package org.apache.poi.xssf.binary;
 
 
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Queue;
 
 import org.apache.poi.ss.usermodel.BuiltinFormats;
@@ -27,6 +28,7 @@ import org.apache.poi.ss.usermodel.RichTextString;
 import org.apache.poi.ss.util.CellAddress;
 import org.apache.poi.util.Internal;
 import org.apache.poi.util.LittleEndian;
+import org.apache.poi.util.LittleEndianConsts;
 import org.apache.poi.util.StringUtil;
 import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
 import org.apache.poi.xssf.model.SharedStrings;
@@ -73,11 +75,17 @@ public class XSSFBSheetHandler extends XSSFBParser {
 
     @Override
     public void handleRecord(int id, byte[] data) throws XSSFBParseException {
+        handleRecord(id, data, 0, data.length);
+    }
+
+    @Override
+    public void handleRecord(int id, byte[] data, int offset, int length) throws XSSFBParseException {
         XSSFBRecordType type = XSSFBRecordType.lookup(id);
 
         switch(type) {
             case BrtRowHdr:
-                int rw = XSSFBUtils.castToInt(LittleEndian.getUInt(data, 0));
+                XSSFBUtils.checkRecordLength(offset, offset + length, LittleEndianConsts.INT_SIZE);
+                int rw = XSSFBUtils.castToInt(LittleEndian.getUInt(data, offset));
                 if (rw > 0x00100000) {//could make sure this is larger than currentRow, according to spec?
                     throw new XSSFBParseException("Row number beyond allowable range: "+rw);
                 }
@@ -86,35 +94,35 @@ public class XSSFBSheetHandler extends XSSFBParser {
                 startRow(currentRow);
                 break;
             case BrtCellIsst:
-                handleBrtCellIsst(data);
+                handleBrtCellIsst(data, offset, length);
                 break;
             case BrtCellSt: //TODO: needs test
-                handleCellSt(data);
+                handleCellSt(data, offset, length);
                 break;
             case BrtCellRk:
-                handleCellRk(data);
+                handleCellRk(data, offset, length);
                 break;
             case BrtCellReal:
-                handleCellReal(data);
+                handleCellReal(data, offset, length);
                 break;
             case BrtCellBool:
             case BrtFmlaBool:
-                handleBoolean(data);
+                handleBoolean(data, offset, length);
                 break;
             case BrtCellError:
-                handleCellError(data);
+                handleCellError(data, offset, length);
                 break;
             case BrtCellBlank:
-                beforeCellValue(data);//read cell info and check for missing comments
+                beforeCellValue(data, offset, length, 0);//read cell info and check for missing comments
                 break;
             case BrtFmlaString:
-                handleFmlaString(data);
+                handleFmlaString(data, offset, length);
                 break;
             case BrtFmlaNum:
-                handleFmlaNum(data);
+                handleFmlaNum(data, offset, length);
                 break;
             case BrtFmlaError:
-                handleFmlaError(data);
+                handleFmlaError(data, offset, length);
                 break;
                 //TODO: All the PCDI and PCDIA
             case BrtEndSheetData:
@@ -122,14 +130,19 @@ public class XSSFBSheetHandler extends XSSFBParser {
                 endRow(lastStartedRow);
                 break;
             case BrtBeginHeaderFooter:
-                handleHeaderFooter(data);
+                // only once per sheet, so the header/footer parser gets its own copy of the record
+                handleHeaderFooter(Arrays.copyOfRange(data, offset, offset + length));
                 break;
         }
     }
 
 
-    private void beforeCellValue(byte[] data) {
-        XSSFBCellHeader.parse(data, 0, currentRow, cellBuffer);
+    /**
+     * @param valueSize the number of bytes of the cell value following the cell header
+     */
+    private void beforeCellValue(byte[] data, int offset, int length, int valueSize) {
+        XSSFBUtils.checkRecordLength(offset, offset + length, XSSFBCellHeader.length + valueSize);
+        XSSFBCellHeader.parse(data, offset, currentRow, cellBuffer);
         checkMissedComments(currentRow, cellBuffer.getColNum());
     }
 
@@ -142,55 +155,55 @@ public class XSSFBSheetHandler extends XSSFBParser {
         handler.cell(cellAddress.formatAsString(), formattedValue, comment);
     }
 
-    private void handleFmlaNum(byte[] data) {
-        beforeCellValue(data);
+    private void handleFmlaNum(byte[] data, int offset, int length) {
+        beforeCellValue(data, offset, length, 8);
         //xNum
-        double val = LittleEndian.getDouble(data, XSSFBCellHeader.length);
+        double val = LittleEndian.getDouble(data, offset + XSSFBCellHeader.length);
         handleCellValue(formatVal(val, cellBuffer.getStyleIdx()));
     }
 
-    private void handleCellSt(byte[] data) {
-        beforeCellValue(data);
+    private void handleCellSt(byte[] data, int offset, int length) {
+        beforeCellValue(data, offset, length, 4);
         xlWideStringBuffer.setLength(0);
-        XSSFBUtils.readXLWideString(data, XSSFBCellHeader.length, xlWideStringBuffer);
+        XSSFBUtils.readXLWideString(data, offset + XSSFBCellHeader.length, offset + length, xlWideStringBuffer);
         handleCellValue(xlWideStringBuffer.toString());
     }
 
-    private void handleFmlaString(byte[] data) {
-        beforeCellValue(data);
+    private void handleFmlaString(byte[] data, int offset, int length) {
+        beforeCellValue(data, offset, length, 4);
         xlWideStringBuffer.setLength(0);
-        XSSFBUtils.readXLWideString(data, XSSFBCellHeader.length, xlWideStringBuffer);
+        XSSFBUtils.readXLWideString(data, offset + XSSFBCellHeader.length, offset + length, xlWideStringBuffer);
         handleCellValue(xlWideStringBuffer.toString());
     }
 
-    private void handleCellError(byte[] data) {
-        beforeCellValue(data);
+    private void handleCellError(byte[] data, int offset, int length) {
+        beforeCellValue(data, offset, length, 1);
         //TODO, read byte to figure out the type of error
         handleCellValue("ERROR");
     }
 
-    private void handleFmlaError(byte[] data) {
-        beforeCellValue(data);
+    private void handleFmlaError(byte[] data, int offset, int length) {
+        beforeCellValue(data, offset, length, 1);
         //TODO, read byte to figure out the type of error
         handleCellValue("ERROR");
     }
 
-    private void handleBoolean(byte[] data) {
-        beforeCellValue(data);
-        String formattedVal = (data[XSSFBCellHeader.length] == 1) ? "TRUE" : "FALSE";
+    private void handleBoolean(byte[] data, int offset, int length) {
+        beforeCellValue(data, offset, length, 1);
+        String formattedVal = (data[offset + XSSFBCellHeader.length] == 1) ? "TRUE" : "FALSE";
         handleCellValue(formattedVal);
     }
 
-    private void handleCellReal(byte[] data) {
-        beforeCellValue(data);
+    private void handleCellReal(byte[] data, int offset, int length) {
+        beforeCellValue(data, offset, length, 8);
         //xNum
-        double val = LittleEndian.getDouble(data, XSSFBCellHeader.length);
+        double val = LittleEndian.getDouble(data, offset + XSSFBCellHeader.length);
         handleCellValue(formatVal(val, cellBuffer.getStyleIdx()));
     }
 
-    private void handleCellRk(byte[] data) {
-        beforeCellValue(data);
-        double val = rkNumber(data, XSSFBCellHeader.length);
+    private void handleCellRk(byte[] data, int offset, int length) {
+        beforeCellValue(data, offset, length, 4);
+        double val = rkNumber(data, offset + XSSFBCellHeader.length);
         handleCellValue(formatVal(val, cellBuffer.getStyleIdx()));
     }
 
@@ -208,9 +221,9 @@ public class XSSFBSheetHandler extends XSSFBParser {
         return dataFormatter.formatRawCellContents(val, styleIndex, formatString);
     }
 
-    private void handleBrtCellIsst(byte[] data) {
-        beforeCellValue(data);
-        int idx = XSSFBUtils.castToInt(LittleEndian.getUInt(data, XSSFBCellHeader.length));
+    private void handleBrtCellIsst(byte[] data, int offset, int length) {
+        beforeCellValue(data, offset, length, 4);
+        int idx = XSSFBUtils.castToInt(LittleEndian.getUInt(data, offset + XSSFBCellHeader.length));
         RichTextString rtss = stringsTable.getItemAt(idx);
         handleCellValue(rtss.getString());
     }
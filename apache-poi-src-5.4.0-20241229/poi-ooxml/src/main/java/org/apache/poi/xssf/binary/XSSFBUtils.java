@@ -69,6 +69,35 @@ public class XSSFBUtils {
      * @throws XSSFBParseException if there was an exception while trying to read the string
      */
     public static int readXLWideString(byte[] data, int offset, StringBuilder sb) throws XSSFBParseException {
+        return readXLWideString(data, offset, data.length, sb);
+    }
+
+    /**
+     * Checks that a record has enough bytes left to read a value.
+     * @param offset in data of the value
+     * @param end offset in data after the last byte of the record
+     * @param size number of bytes of the value
+     * @throws XSSFBParseException if the record ends before the value
+     */
+    static void checkRecordLength(int offset, int end, int size) throws XSSFBParseException {
+        if (offset < 0 || offset + size > end) {
+            throw new XSSFBParseException("trying to read beyond record length: " +
+                "offset="+offset+", size="+size+", end="+end);
+        }
+    }
+
+    /**
+     * Reads an XLWideString from a record, which ends before the end of the data array
+     * @param data data from which to read
+     * @param offset in data from which to start
+     * @param end offset in data after the last byte of the record
+     * @param sb buffer to which to write.  You must setLength(0) before calling!
+     * @return number of bytes read
+     * @throws XSSFBParseException if there was an exception while trying to read the string
+     * @since POI 5.4.1
+     */
+    public static int readXLWideString(byte[] data, int offset, int end, StringBuilder sb) throws XSSFBParseException {
+        checkRecordLength(offset, end, 4);
         long numChars = LittleEndian.getUInt(data, offset);
         if (numChars < 0) {
             throw new XSSFBParseException("too few chars to read");
@@ -77,7 +106,7 @@ public class XSSFBUtils {
         }
         int numBytes = 2*(int)numChars;
         offset += 4;
-        if (offset+numBytes > data.length) {
+        if (offset+numBytes > end) {
             throw new XSSFBParseException("trying to read beyond data length");
         }
         sb.append(new String(data, offset, numBytes, StandardCharsets.UTF_16LE));
@@ -0,0 +1,224 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.xssf.eventusermodel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.Comments;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Reads all sheets of a .xlsx file concurrently with the event model.<p>
+ *
+ * Each sheet is parsed by its own {@link XSSFSheetXMLHandler} in a task of the given
+ * {@link Executor}, delivering its rows to the {@link SheetContentsHandler} created
+ * for that sheet. The shared strings and styles are loaded once and shared by all tasks,
+ * they are only read while the sheets are parsed.<p>
+ *
+ * Calls to a {@link SheetContentsHandler} come from a single thread, but the handlers of
+ * different sheets are called concurrently. Any executor can be used, e.g. a fixed thread
+ * pool or, on Java 21 and later, a virtual thread per task executor.
+ *
+ * <pre>{@code
+ * try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+ *     ParallelSheetReader reader = new ParallelSheetReader(new XSSFReader(pkg));
+ *     reader.process(executor, (sheetIndex, sheetName) -> new MyHandler(sheetName));
+ * }
+ * }</pre>
+ *
+ * @since POI 5.4.1
+ */
+public class ParallelSheetReader {
+
+    /**
+     * Creates the {@link SheetContentsHandler} receiving the contents of a sheet
+     */
+    @FunctionalInterface
+    public interface SheetHandlerFactory {
+        /**
+         * @param sheetIndex the 0-based index of the sheet in the workbook
+         * @param sheetName the name of the sheet
+         * @return the handler for the contents of this sheet
+         */
+        SheetContentsHandler create(int sheetIndex, String sheetName);
+    }
+
+    private final XSSFReader reader;
+    private final SharedStrings sharedStrings;
+    private final StylesTable styles;
+    private Supplier<DataFormatter> dataFormatterSupplier = DataFormatter::new;
+    private boolean formulasNotResults;
+
+    /**
+     * Loads the shared strings into a {@link ReadOnlySharedStringsTable} and the styles
+     * of the workbook for use by all sheets.
+     *
+     * @param reader the reader of the workbook package
+     * @throws IOException if reading the shared strings or styles fails
+     * @throws SAXException if parsing the shared strings fails
+     * @throws InvalidFormatException if the styles part is invalid
+     */
+    public ParallelSheetReader(XSSFReader reader) throws IOException, SAXException, InvalidFormatException {
+        this(reader, new ReadOnlySharedStringsTable(reader.pkg), reader.getStylesTable());
+    }
+
+    /**
+     * @param reader the reader of the workbook package
+     * @param sharedStrings the shared strings, which are read concurrently and must not be modified while processing
+     * @param styles the styles, which are read concurrently and must not be modified while processing,
+     *               may be {@code null}
+     */
+    public ParallelSheetReader(XSSFReader reader, SharedStrings sharedStrings, StylesTable styles) {
+        this.reader = reader;
+        this.sharedStrings = sharedStrings;
+        this.styles = styles;
+    }
+
+    /**
+     * @param dataFormatterSupplier creates the {@link DataFormatter} used by the handler of a sheet,
+     *                              called once per sheet as DataFormatter is not thread-safe
+     */
+    public void setDataFormatterSupplier(Supplier<DataFormatter> dataFormatterSupplier) {
+        this.dataFormatterSupplier = dataFormatterSupplier;
+    }
+
+    /**
+     * @param formulasNotResults if true, the formulas of formula cells are reported instead of their cached results
+     */
+    public void setFormulasNotResults(boolean formulasNotResults) {
+        this.formulasNotResults = formulasNotResults;
+    }
+
+    public SharedStrings getSharedStrings() {
+        return sharedStrings;
+    }
+
+    public StylesTable getStyles() {
+        return styles;
+    }
+
+    /**
+     * Parses all sheets, submitting one task per sheet to the executor, and waits
+     * until all of them are done. If a sheet fails, the sheets not yet started are
+     * skipped and the first failure is rethrown once the running sheets are done.
+     *
+     * @param executor runs the parsing tasks
+     * @param handlerFactory creates the handler of each sheet, called on the calling thread
+     * @throws IOException if reading a sheet fails or the calling thread is interrupted while waiting
+     * @throws SAXException if parsing a sheet fails
+     * @throws InvalidFormatException if the workbook part is invalid
+     */
+    public void process(Executor executor, SheetHandlerFactory handlerFactory)
+            throws IOException, SAXException, InvalidFormatException {
+        // the package structure is read on the calling thread, only the sheet parts are read by the tasks
+        List<FutureTask<Void>> tasks = new ArrayList<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        XSSFReader.SheetIterator iter = reader.getSheetIterator();
+        for (int sheetIndex = 0; iter.hasNext(); sheetIndex++) {
+            iter.next().close();
+            PackagePart sheetPart = iter.getSheetPart();
+            Comments comments = iter.getSheetComments();
+            SheetContentsHandler handler = handlerFactory.create(sheetIndex, iter.getSheetName());
+            tasks.add(new FutureTask<>(() -> {
+                if (!failed.get()) {
+                    try {
+                        processSheet(sheetPart, comments, handler);
+                    } catch (Exception | Error e) {
+                        failed.set(true);
+                        throw e;
+                    }
+                }
+                return null;
+            }));
+        }
+
+        try {
+            for (FutureTask<Void> task : tasks) {
+                executor.execute(task);
+            }
+        } catch (RuntimeException e) {
+            // e.g. RejectedExecutionException, skip the tasks which were already submitted
+            failed.set(true);
+            throw e;
+        }
+
+        Throwable cause = null;
+        for (FutureTask<Void> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                failed.set(true);
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the sheets to be read");
+            } catch (ExecutionException e) {
+                if (cause == null) {
+                    cause = e.getCause();
+                }
+            }
+        }
+
+        if (cause != null) {
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            } else if (cause instanceof SAXException) {
+                throw (SAXException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new POIXMLException(cause);
+        }
+    }
+
+    private void processSheet(PackagePart sheetPart, Comments comments, SheetContentsHandler handler)
+            throws IOException, SAXException {
+        XMLReader sheetParser;
+        try {
+            sheetParser = XMLHelper.newXMLReader();
+        } catch (ParserConfigurationException e) {
+            throw new SAXException("SAX parser appears to be broken - " + e.getMessage());
+        }
+        sheetParser.setContentHandler(new XSSFSheetXMLHandler(
+                styles, comments, sharedStrings, handler, dataFormatterSupplier.get(), formulasNotResults));
+        try (InputStream stream = sheetPart.getInputStream()) {
+            sheetParser.parse(new InputSource(stream));
+        }
+    }
+}
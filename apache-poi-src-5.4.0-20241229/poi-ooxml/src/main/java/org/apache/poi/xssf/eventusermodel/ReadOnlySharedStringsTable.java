@@ -77,6 +77,8 @@ import org.xml.sax.helpers.DefaultHandler;
  *         </si>
  *     </sst>
  *  }</pre>
+ * <p>Once the table has been read, it is not modified anymore, so it can be
+ *  shared by threads reading several sheets concurrently, see {@link ParallelSheetReader}.
  *
  */
 public class ReadOnlySharedStringsTable extends DefaultHandler implements SharedStrings {
@@ -177,6 +179,17 @@ public class ReadOnlySharedStringsTable extends DefaultHandler implements Shared
         readFrom(stream);
     }
 
+    /**
+     * Creates an empty table, for subclasses which need to be set up
+     * before calling {@link #readFrom(InputStream)}.
+     *
+     * @param includePhoneticRuns whether or not to concatenate phoneticRuns onto the shared string
+     * @since POI 5.4.1
+     */
+    protected ReadOnlySharedStringsTable(boolean includePhoneticRuns) {
+        this.includePhoneticRuns = includePhoneticRuns;
+    }
+
     /**
      * Read this shared strings table from an XML file.
      *
@@ -230,6 +243,32 @@ public class ReadOnlySharedStringsTable extends DefaultHandler implements Shared
         return new XSSFRichTextString(strings.get(idx));
     }
 
+    /**
+     * Called when the {@code sst} element starts, after {@link #getUniqueCount()} is known.
+     * Subclasses storing the strings differently override this together with
+     * {@link #addString(String)} and {@link #getItemAt(int)}.
+     *
+     * @throws SAXException if the strings cannot be stored
+     * @since POI 5.4.1
+     */
+    protected void startStrings() throws SAXException {
+        this.strings = new ArrayList<>(
+                // corrupted files may have a very large number here, so only use it
+                // up to some size as guideline for pre-allocating the list
+                Math.min(this.uniqueCount, 100_000));
+    }
+
+    /**
+     * Stores the text of the next shared string item
+     *
+     * @param string the text of the item
+     * @throws SAXException if the string cannot be stored
+     * @since POI 5.4.1
+     */
+    protected void addString(String string) throws SAXException {
+        strings.add(string);
+    }
+
     //// ContentHandler methods ////
 
     private StringBuilder characters;
@@ -248,10 +287,7 @@ public class ReadOnlySharedStringsTable extends DefaultHandler implements Shared
             String uniqueCount = attributes.getValue("uniqueCount");
             if(uniqueCount != null) this.uniqueCount = (int) Long.parseLong(uniqueCount);
 
-            this.strings = new ArrayList<>(
-                    // corrupted files may have a very large number here, so only use it
-                    // up to some size as guideline for pre-allocating the list
-                    Math.min(this.uniqueCount, 100_000));
+            startStrings();
             characters = new StringBuilder(64);
         } else if ("si".equals(localName)) {
             if (characters != null) {
@@ -274,8 +310,8 @@ public class ReadOnlySharedStringsTable extends DefaultHandler implements Shared
         }
 
         if ("si".equals(localName)) {
-            if (strings != null && characters != null) {
-                strings.add(characters.toString());
+            if (characters != null) {
+                addString(characters.toString());
             }
         } else if ("t".equals(localName)) {
             tIsOpen = false;
@@ -0,0 +1,265 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.xssf.eventusermodel;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.logging.PoiLogManager;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.poifs.nio.CleanerUtil;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.util.TempFile;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.xml.sax.SAXException;
+
+/**
+ * A {@link ReadOnlySharedStringsTable} which keeps the strings out of the Java heap.<p>
+ *
+ * While parsing, the strings are written UTF-8 encoded to a temp file, only their offsets
+ * are kept in memory. The file is then memory mapped and {@link #getItemAt(int)} decodes
+ * the requested string, keeping the most recently used strings in a bounded cache.
+ * This allows reading workbooks with more unique strings than would fit into the heap.<p>
+ *
+ * The table can be shared by several threads. It has to be closed to release the mapping
+ * and delete the temp file.
+ *
+ * @see XSSFReader#setUseTempFileSharedStringsTable(boolean)
+ * @since POI 5.4.1
+ */
+public class TempFileSharedStringsTable extends ReadOnlySharedStringsTable implements Closeable {
+    private static final Logger LOG = PoiLogManager.getLogger(TempFileSharedStringsTable.class);
+
+    /**
+     * The default number of decoded strings kept in memory
+     */
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    // the file is mapped in segments, as a single mapping is limited to 2GB
+    private static final int SEGMENT_SIZE = 1 << 30;
+
+    private final Map<Integer, String> cache;
+    private File tempFile;
+    private OutputStream out;
+    private long length;
+    // offsets[i] is the start of string i, offsets[numStrings] the end of the last string
+    private long[] offsets;
+    private int numStrings;
+    private ByteBuffer[] segments;
+
+    /**
+     * Calls {@link #TempFileSharedStringsTable(PackagePart, boolean, int)} including
+     * phonetic runs and with the default cache size.
+     *
+     * @param part the shared strings part
+     * @throws IOException if reading the part or writing the temp file fails
+     * @throws SAXException if parsing the XML data fails
+     */
+    public TempFileSharedStringsTable(PackagePart part) throws IOException, SAXException {
+        this(part, true, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param part the shared strings part
+     * @param includePhoneticRuns whether or not to concatenate phoneticRuns onto the shared string
+     * @param cacheSize the number of decoded strings kept in memory, 0 to disable the cache
+     * @throws IOException if reading the part or writing the temp file fails
+     * @throws SAXException if parsing the XML data fails
+     */
+    public TempFileSharedStringsTable(PackagePart part, boolean includePhoneticRuns, int cacheSize)
+            throws IOException, SAXException {
+        super(includePhoneticRuns);
+        this.cache = createCache(cacheSize);
+        try (InputStream stream = part.getInputStream()) {
+            load(stream);
+        }
+    }
+
+    /**
+     * @param stream the XML data of the shared strings part
+     * @param includePhoneticRuns whether or not to concatenate phoneticRuns onto the shared string
+     * @param cacheSize the number of decoded strings kept in memory, 0 to disable the cache
+     * @throws IOException if reading the stream or writing the temp file fails
+     * @throws SAXException if parsing the XML data fails
+     */
+    public TempFileSharedStringsTable(InputStream stream, boolean includePhoneticRuns, int cacheSize)
+            throws IOException, SAXException {
+        super(includePhoneticRuns);
+        this.cache = createCache(cacheSize);
+        load(stream);
+    }
+
+    private static Map<Integer, String> createCache(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative, had " + cacheSize);
+        }
+        return new LinkedHashMap<Integer, String>(Math.min(cacheSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    private void load(InputStream stream) throws IOException, SAXException {
+        boolean success = false;
+        try {
+            readFrom(stream);
+            if (out != null) {
+                out.close();
+                out = null;
+                mapFile();
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                close();
+            }
+        }
+    }
+
+    private void mapFile() throws IOException {
+        segments = new ByteBuffer[(int)((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+        try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.READ)) {
+            for (int i = 0; i < segments.length; i++) {
+                long pos = (long)i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(SEGMENT_SIZE, length - pos));
+            }
+        }
+    }
+
+    @Override
+    protected void startStrings() throws SAXException {
+        if (out != null) {
+            throw new SAXException("Found more than one sst element");
+        }
+        try {
+            tempFile = TempFile.createTempFile("poi-sst-", ".tmp");
+            out = new BufferedOutputStream(Files.newOutputStream(tempFile.toPath()), 64 * 1024);
+        } catch (IOException e) {
+            throw new SAXException("Failed to create the temp file for the shared strings", e);
+        }
+        // corrupted files may have a very large unique count, so only use it up to some size
+        offsets = new long[Math.min(uniqueCount, 100_000) + 1];
+    }
+
+    @Override
+    protected void addString(String string) throws SAXException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        try {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new SAXException("Failed to write the shared strings temp file", e);
+        }
+        length += bytes.length;
+        if (numStrings + 1 == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length + (offsets.length >> 1) + 1);
+        }
+        offsets[++numStrings] = length;
+    }
+
+    @Override
+    public RichTextString getItemAt(int idx) {
+        if (idx < 0) {
+            throw new IndexOutOfBoundsException("Invalid index " + idx);
+        }
+        if (segments == null || idx >= numStrings) {
+            throw new IllegalStateException("Cannot get item at " + idx + " with " + numStrings + " strings");
+        }
+
+        Integer key = idx;
+        String string;
+        synchronized (cache) {
+            string = cache.get(key);
+        }
+        if (string == null) {
+            string = decode(idx);
+            synchronized (cache) {
+                cache.put(key, string);
+            }
+        }
+        return new XSSFRichTextString(string);
+    }
+
+    private String decode(int idx) {
+        long pos = offsets[idx];
+        byte[] bytes = new byte[(int)(offsets[idx + 1] - pos)];
+        int done = 0;
+        int segment = (int)(pos / SEGMENT_SIZE);
+        int offset = (int)(pos % SEGMENT_SIZE);
+        while (done < bytes.length) {
+            // absolute positioning on a duplicate keeps the shared buffers untouched
+            ByteBuffer buf = segments[segment++].duplicate();
+            buf.position(offset);
+            int n = Math.min(bytes.length - done, buf.remaining());
+            buf.get(bytes, done, n);
+            done += n;
+            offset = 0;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Releases the mapped temp file and deletes it
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (cache) {
+            cache.clear();
+        }
+        if (segments != null) {
+            for (ByteBuffer buf : segments) {
+                unmap(buf);
+            }
+            segments = null;
+        }
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+        if (tempFile != null) {
+            if (!tempFile.delete() && tempFile.exists()) {
+                LOG.atWarn().log("Failed to delete the shared strings temp file {}", tempFile);
+            }
+            tempFile = null;
+        }
+    }
+
+    private static void unmap(ByteBuffer buffer) {
+        if (CleanerUtil.UNMAP_SUPPORTED) {
+            try {
+                CleanerUtil.getCleaner().freeBuffer(buffer);
+            } catch (IOException e) {
+                LOG.atWarn().withThrowable(e).log("Failed to unmap the buffer");
+            }
+        }
+    }
+}
@@ -75,6 +75,7 @@ public class XSSFReader {
     protected OPCPackage pkg;
     protected PackagePart workbookPart;
     protected boolean useReadOnlySharedStringsTable;
+    protected boolean useTempFileSharedStringsTable;
 
     /**
      * Creates a new XSSFReader, for the given package
@@ -142,6 +143,28 @@ public class XSSFReader {
         return useReadOnlySharedStringsTable;
     }
 
+    /**
+     * Controls whether {@link #getSharedStringsTable()} uses a {@link TempFileSharedStringsTable},
+     * which keeps the strings in a memory mapped temp file instead of the heap. This takes
+     * precedence over {@link #setUseReadOnlySharedStringsTable(boolean)}.<p>
+     *
+     * The returned table has to be closed to delete the temp file.
+     *
+     * @param useTempFileSharedStringsTable if true, the TempFileSharedStringsTable is used
+     * @since POI 5.4.1
+     */
+    public void setUseTempFileSharedStringsTable(boolean useTempFileSharedStringsTable) {
+        this.useTempFileSharedStringsTable = useTempFileSharedStringsTable;
+    }
+
+    /**
+     * @return whether {@link #getSharedStringsTable()} uses {@link TempFileSharedStringsTable}
+     * @since POI 5.4.1
+     */
+    public boolean useTempFileSharedStringsTable() {
+        return useTempFileSharedStringsTable;
+    }
+
     /**
      * Opens up the Shared Strings Table, parses it, and
      * returns a handy object for working with
@@ -151,13 +174,19 @@ public class XSSFReader {
      * @throws InvalidFormatException if the shared strings data format is invalid
      * @throws IOException if there is an I/O issue reading the data
      * @see #setUseReadOnlySharedStringsTable(boolean)
+     * @see #setUseTempFileSharedStringsTable(boolean)
      */
     public SharedStrings getSharedStringsTable() throws IOException, InvalidFormatException {
         ArrayList<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
         try {
-            return parts.isEmpty() ? null :
-                    useReadOnlySharedStringsTable ? new ReadOnlySharedStringsTable(parts.get(0)) :
-                            new SharedStringsTable(parts.get(0));
+            if (parts.isEmpty()) {
+                return null;
+            }
+            if (useTempFileSharedStringsTable) {
+                return new TempFileSharedStringsTable(parts.get(0));
+            }
+            return useReadOnlySharedStringsTable ? new ReadOnlySharedStringsTable(parts.get(0)) :
+                    new SharedStringsTable(parts.get(0));
         } catch (SAXException se) {
             throw new InvalidFormatException("Failed to parse SharedStringsTable", se);
         }
@@ -218,7 +218,7 @@ public class XSSFExcelExtractor
     }
 
     private void handleStringCell(StringBuilder text, Cell cell) {
-        String contents = cell.getRichStringCellValue().getString();
+        String contents = cell.getStringCellValue();
         checkMaxTextSize(text, contents);
         text.append(contents);
     }
@@ -20,23 +20,37 @@ package org.apache.poi.xssf.model;
 import static org.apache.poi.ooxml.POIXMLTypeLoader.DEFAULT_XML_OPTIONS;
 import static org.apache.poi.xssf.usermodel.XSSFRelation.NS_SPREADSHEETML;
 
+import java.io.BufferedWriter;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.apache.poi.ooxml.POIXMLDocumentPart;
 import org.apache.poi.openxml4j.opc.PackagePart;
 import org.apache.poi.ss.usermodel.RichTextString;
 import org.apache.poi.util.Internal;
+import org.apache.poi.util.XMLHelper;
 import org.apache.poi.xssf.usermodel.XSSFRichTextString;
 import org.apache.xmlbeans.XmlException;
 import org.apache.xmlbeans.XmlOptions;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTExtensionList;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTPhoneticPr;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTPhoneticRun;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTRElt;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTRst;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTSst;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.SstDocument;
@@ -61,16 +75,54 @@ import org.openxmlformats.schemas.spreadsheetml.x2006.main.SstDocument;
  * The shared string table contains all the necessary information for displaying the string: the text, formatting
  * properties, and phonetic properties (for East Asian languages).
  * </p>
+ * <p>
+ * Most shared strings are plain text without formatting runs or phonetic properties. These are kept as UTF-8 bytes
+ * in a few large pages and found by a hash index over their text, so they don't need an XmlBeans object each.
+ * Only the rich text strings are kept as {@link CTRst}. A plain string gets its {@link CTRst} when it is accessed
+ * via {@link #getItemAt(int)}, as the returned item can be modified. Use {@link #getStringAt(int)} to only read the
+ * text. The items can be read concurrently, as long as no items are added at the same time.
+ * </p>
  */
 public class SharedStringsTable extends POIXMLDocumentPart implements SharedStrings, Closeable {
 
+    /** the plain strings are stored in pages of this size, unless they are larger */
+    private static final int PAGE_BITS = 20;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int MAX_PAGES = 1 << (31 - PAGE_BITS);
+
+    private static final XmlOptions FRAGMENT_OPTIONS =
+            new XmlOptions(DEFAULT_XML_OPTIONS).setLoadReplaceDocumentElement(null);
+
+    /** the UTF-8 bytes of the plain strings */
+    private byte[][] pages = new byte[4][];
+    private int pageCount;
+    /** the number of used bytes in the last page */
+    private int pageOffset;
+
+    /** the number of items */
+    private int size;
+
+    /** For each item the page and offset of a plain string ({@code page << PAGE_BITS | offset}) */
+    private int[] positions = new int[16];
+
+    /** For each item the length of a plain string in bytes, or -1 if the item was added as rich text string */
+    private int[] lengths = new int[16];
+
+    /** For each item the hash code of a plain string */
+    private int[] hashes = new int[16];
+
+    /** Open addressing index of the plain strings, contains the item index + 1 or 0 for free slots */
+    private int[] plainIndex = new int[16];
+    private int plainCount;
+
     /**
-     *  Array of individual string items in the Shared String table.
+     *  For each item the {@link CTRst} attached to the <code>_sstDoc</code>, or {@code null} for plain strings
+     *  which haven't been accessed as rich text string
      */
-    private final List<CTRst> strings = new ArrayList<>();
+    private CTRst[] richStrings = new CTRst[16];
 
     /**
-     *  Maps strings and their indexes in the <code>strings</code> arrays
+     *  Maps the rich text strings to their item indexes
      */
     private final Map<String, Integer> stmap = new HashMap<>();
 
@@ -97,6 +149,19 @@ public class SharedStringsTable extends POIXMLDocumentPart implements SharedStri
         options.setSaveImplicitNamespaces(Collections.singletonMap("", NS_SPREADSHEETML));
     }
 
+    /** options for writing the {@code <si>} elements of the rich text strings and the {@code <extLst>} */
+    private static final XmlOptions saveOptions = new XmlOptions();
+    static {
+        saveOptions.setSaveOuter();
+        saveOptions.setSaveAggressiveNamespaces();
+        saveOptions.setUseDefaultNamespace(true);
+        saveOptions.setSaveImplicitNamespaces(Collections.singletonMap("", NS_SPREADSHEETML));
+        // the following two lines turn off writing CDATA
+        // see Bugzilla 48936
+        saveOptions.setSaveCDataLengthThreshold(1000000);
+        saveOptions.setSaveCDataEntityCountThreshold(-1);
+    }
+
     public SharedStringsTable() {
         super();
         _sstDoc = SstDocument.Factory.newInstance();
@@ -120,23 +185,108 @@ public class SharedStringsTable extends POIXMLDocumentPart implements SharedStri
      * @throws IOException if an error occurs while reading.
      */
     public void readFrom(InputStream is) throws IOException {
+        _sstDoc = SstDocument.Factory.newInstance();
+        CTSst sst = _sstDoc.addNewSst();
         try {
-            int cnt = 0;
-            _sstDoc = SstDocument.Factory.parse(is, DEFAULT_XML_OPTIONS);
-            CTSst sst = _sstDoc.getSst();
-            count = (int)sst.getCount();
-            uniqueCount = (int)sst.getUniqueCount();
-            //noinspection deprecation
-            for (CTRst st : sst.getSiArray()) {
-                stmap.put(xmlText(st), cnt);
-                strings.add(st);
-                cnt++;
+            XMLStreamReader reader = XMLHelper.newXMLInputFactory().createXMLStreamReader(is);
+            try {
+                // only the local names are compared, so this works for transitional and strict files
+                if (reader.nextTag() != XMLStreamConstants.START_ELEMENT || !"sst".equals(reader.getLocalName())) {
+                    throw new IOException("unable to parse shared strings table, root element is not <sst>");
+                }
+                count = parseCount(reader.getAttributeValue(null, "count"));
+                uniqueCount = parseCount(reader.getAttributeValue(null, "uniqueCount"));
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "si":
+                            readItem(reader, sst);
+                            break;
+                        case "extLst":
+                            sst.setExtLst(CTExtensionList.Factory.parse(reader, FRAGMENT_OPTIONS));
+                            break;
+                        default:
+                            skipElement(reader);
+                            break;
+                    }
+                }
+            } finally {
+                reader.close();
             }
-        } catch (XmlException e) {
+            trimToSize();
+        } catch (XMLStreamException | XmlException | RuntimeException e) {
             throw new IOException("unable to parse shared strings table", e);
         }
     }
 
+    private static int parseCount(String value) {
+        return (value == null) ? 0 : (int)Long.parseLong(value);
+    }
+
+    /**
+     * Reads a {@code <si>} element, the reader is positioned at its end tag afterwards
+     */
+    private void readItem(XMLStreamReader reader, CTSst sst) throws XMLStreamException, XmlException {
+        String text = null;
+        CTRst rst = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String name = reader.getLocalName();
+            if ("t".equals(name)) {
+                text = reader.getElementText();
+                continue;
+            }
+            if (rst == null) {
+                rst = sst.addNewSi();
+            }
+            switch (name) {
+                case "r":
+                    rst.addNewR().set(CTRElt.Factory.parse(reader, FRAGMENT_OPTIONS));
+                    break;
+                case "rPh":
+                    rst.addNewRPh().set(CTPhoneticRun.Factory.parse(reader, FRAGMENT_OPTIONS));
+                    break;
+                case "phoneticPr":
+                    rst.setPhoneticPr(CTPhoneticPr.Factory.parse(reader, FRAGMENT_OPTIONS));
+                    break;
+                default:
+                    skipElement(reader);
+                    break;
+            }
+        }
+
+        if (rst == null && text != null && isValidUtf16(text)) {
+            // duplicates are kept as they are, so the indexes of the cells stay valid,
+            // but only the first one is indexed
+            byte[] utf8 = utf8(text);
+            int hash = text.hashCode();
+            boolean duplicate = findPlain(utf8, hash) >= 0;
+            int idx = addPlain(utf8, hash);
+            if (!duplicate) {
+                indexPlain(idx);
+            }
+            return;
+        }
+        if (rst == null) {
+            rst = sst.addNewSi();
+        }
+        if (text != null) {
+            rst.setT(text);
+        }
+        stmap.putIfAbsent(xmlText(rst), size);
+        addRich(rst);
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int level = 1;
+        while (level > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                level++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                level--;
+            }
+        }
+    }
+
     protected String xmlText(CTRst st) {
         return st.xmlText(options);
     }
@@ -149,7 +299,43 @@ public class SharedStringsTable extends POIXMLDocumentPart implements SharedStri
      */
     @Override
     public RichTextString getItemAt(int idx) {
-        return new XSSFRichTextString(strings.get(idx));
+        checkIndex(idx);
+        CTRst st = richStrings[idx];
+        return new XSSFRichTextString(st != null ? st : toRichString(idx));
+    }
+
+    /**
+     * Creates the {@link CTRst} of a plain string item. The item is returned as modifiable
+     * rich text string, so it needs to be kept as CTRst from now on.
+     */
+    private synchronized CTRst toRichString(int idx) {
+        CTRst st = richStrings[idx];
+        if (st == null) {
+            st = _sstDoc.getSst().addNewSi();
+            st.set(new XSSFRichTextString(getPlain(idx)).getCTRst());
+            richStrings[idx] = st;
+        }
+        return st;
+    }
+
+    /**
+     * Return the text of a string item by index. Other than {@link #getItemAt(int)}, this doesn't create
+     * the {@link CTRst} of a plain string item.
+     *
+     * @param idx index of item to return.
+     * @return the text of the item at the specified position in this Shared String table, or {@code null}
+     *  if the item has no text at all
+     * @since POI 5.4.1
+     */
+    public String getStringAt(int idx) {
+        checkIndex(idx);
+        CTRst st = richStrings[idx];
+        if (st != null) {
+            return new XSSFRichTextString(st).getString();
+        }
+        String text = getPlain(idx);
+        // only text with escaped characters like _x000D_ needs to be decoded
+        return text.contains("_x") ? new XSSFRichTextString(text).getString() : text;
     }
 
     /**
@@ -188,22 +374,184 @@ public class SharedStringsTable extends POIXMLDocumentPart implements SharedStri
      */
     @Internal
     int addEntry(CTRst st) {
-        String s = xmlText(st);
         count++;
-        if (stmap.containsKey(s)) {
-            return stmap.get(s);
+        if (isPlain(st)) {
+            String text = st.getT();
+            int hash = text.hashCode();
+            byte[] utf8 = utf8(text);
+            int idx = findPlain(utf8, hash);
+            if (idx >= 0) {
+                return idx;
+            }
+            uniqueCount++;
+            idx = addPlain(utf8, hash);
+            indexPlain(idx);
+            return idx;
+        }
+
+        String s = xmlText(st);
+        Integer existing = stmap.get(s);
+        if (existing != null) {
+            return existing;
         }
 
         uniqueCount++;
         //create a CTRst bean attached to this SstDocument and copy the argument CTRst into it
         CTRst newSt = _sstDoc.getSst().addNewSi();
         newSt.set(st);
-        int idx = strings.size();
+        int idx = size;
         stmap.put(s, idx);
-        strings.add(newSt);
+        addRich(newSt);
+        return idx;
+    }
+
+    /**
+     * @return {@code true} if the item only contains text, without formatting runs or phonetic properties
+     */
+    private static boolean isPlain(CTRst st) {
+        return st.isSetT() && st.sizeOfRArray() == 0 && st.sizeOfRPhArray() == 0 && !st.isSetPhoneticPr()
+                && isValidUtf16(st.getT());
+    }
+
+    /**
+     * @return {@code false} if the text contains unpaired surrogates, which can't be stored as UTF-8
+     */
+    private static boolean isValidUtf16(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the index of the plain string with the given bytes, or -1 if it was not added yet
+     */
+    private int findPlain(byte[] utf8, int hash) {
+        int mask = plainIndex.length - 1;
+        for (int slot = mix(hash) & mask; plainIndex[slot] != 0; slot = (slot + 1) & mask) {
+            int idx = plainIndex[slot] - 1;
+            if (hashes[idx] == hash && lengths[idx] == utf8.length && equalsPlain(idx, utf8)) {
+                return idx;
+            }
+        }
+        return -1;
+    }
+
+    private boolean equalsPlain(int idx, byte[] utf8) {
+        byte[] page = pages[positions[idx] >>> PAGE_BITS];
+        int offset = positions[idx] & (PAGE_SIZE - 1);
+        for (int i = 0; i < utf8.length; i++) {
+            if (page[offset + i] != utf8[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends the bytes of a plain string, without adding it to the index
+     */
+    private int addPlain(byte[] utf8, int hash) {
+        byte[] page = (pageCount == 0) ? null : pages[pageCount - 1];
+        if (page == null || pageOffset >= PAGE_SIZE || pageOffset + utf8.length > page.length) {
+            if (pageCount == MAX_PAGES) {
+                throw new IllegalStateException("The shared strings table cannot hold more than "
+                        + ((long)MAX_PAGES * PAGE_SIZE) + " bytes of text");
+            }
+            page = new byte[Math.max(PAGE_SIZE, utf8.length)];
+            if (pageCount == pages.length) {
+                pages = Arrays.copyOf(pages, pageCount * 2);
+            }
+            pages[pageCount++] = page;
+            pageOffset = 0;
+        }
+        System.arraycopy(utf8, 0, page, pageOffset, utf8.length);
+
+        int idx = addItem((pageCount - 1) << PAGE_BITS | pageOffset, utf8.length);
+        pageOffset += utf8.length;
+        hashes[idx] = hash;
         return idx;
     }
 
+    private void addRich(CTRst st) {
+        int idx = addItem(0, -1);
+        richStrings[idx] = st;
+    }
+
+    private int addItem(int position, int length) {
+        if (size == positions.length) {
+            int newSize = size * 2;
+            positions = Arrays.copyOf(positions, newSize);
+            lengths = Arrays.copyOf(lengths, newSize);
+            hashes = Arrays.copyOf(hashes, newSize);
+            richStrings = Arrays.copyOf(richStrings, newSize);
+        }
+        positions[size] = position;
+        lengths[size] = length;
+        return size++;
+    }
+
+    /**
+     * Shrinks the item arrays after reading, tables are mostly read without adding further items
+     */
+    private void trimToSize() {
+        int newSize = Math.max(size, 16);
+        if (positions.length > newSize) {
+            positions = Arrays.copyOf(positions, newSize);
+            lengths = Arrays.copyOf(lengths, newSize);
+            hashes = Arrays.copyOf(hashes, newSize);
+            richStrings = Arrays.copyOf(richStrings, newSize);
+        }
+    }
+
+    private void indexPlain(int idx) {
+        if ((plainCount + 1) * 4L > plainIndex.length * 3L) {
+            int[] oldIndex = plainIndex;
+            plainIndex = new int[oldIndex.length * 2];
+            for (int entry : oldIndex) {
+                if (entry != 0) {
+                    insertIndex(entry - 1);
+                }
+            }
+        }
+        insertIndex(idx);
+        plainCount++;
+    }
+
+    private void insertIndex(int idx) {
+        int mask = plainIndex.length - 1;
+        int slot = mix(hashes[idx]) & mask;
+        while (plainIndex[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        plainIndex[slot] = idx + 1;
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private String getPlain(int idx) {
+        return new String(pages[positions[idx] >>> PAGE_BITS], positions[idx] & (PAGE_SIZE - 1),
+                lengths[idx], StandardCharsets.UTF_8);
+    }
+
+    private void checkIndex(int idx) {
+        if (idx < 0 || idx >= size) {
+            throw new IndexOutOfBoundsException("Index: " + idx + ", Size: " + size);
+        }
+    }
+
     /**
      * Add an entry to this Shared String table (a new value is appended to the end).
      *
@@ -229,9 +577,9 @@ public class SharedStringsTable extends POIXMLDocumentPart implements SharedStri
      * @return list of shared string instances
      */
     public List<RichTextString> getSharedStringItems() {
-        ArrayList<RichTextString> items = new ArrayList<>();
-        for (CTRst rst : strings) {
-            items.add(new XSSFRichTextString(rst));
+        ArrayList<RichTextString> items = new ArrayList<>(size);
+        for (int idx = 0; idx < size; idx++) {
+            items.add(getItemAt(idx));
         }
         return Collections.unmodifiableList(items);
     }
@@ -243,18 +591,64 @@ public class SharedStringsTable extends POIXMLDocumentPart implements SharedStri
      * @throws IOException if an error occurs while writing.
      */
     public void writeTo(OutputStream out) throws IOException {
-        XmlOptions xmlOptions = new XmlOptions(DEFAULT_XML_OPTIONS);
-        // the following two lines turn off writing CDATA
-        // see Bugzilla 48936
-        xmlOptions.setSaveCDataLengthThreshold(1000000);
-        xmlOptions.setSaveCDataEntityCountThreshold(-1);
-
-        //re-create the sst table every time saving a workbook
+        // the plain strings are written directly, the same way XmlBeans would write them
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<sst count=\"");
+        writer.write(Integer.toString(count));
+        writer.write("\" uniqueCount=\"");
+        writer.write(Integer.toString(uniqueCount));
+        writer.write("\" xmlns=\"" + NS_SPREADSHEETML + "\">");
+        for (int idx = 0; idx < size; idx++) {
+            if (richStrings[idx] != null) {
+                writer.write(richStrings[idx].xmlText(saveOptions));
+                continue;
+            }
+            String text = getPlain(idx);
+            if (hasLeadingTrailingSpaces(text)) {
+                writer.write("<si><t xml:space=\"preserve\">");
+            } else {
+                writer.write("<si><t>");
+            }
+            writeEscaped(writer, text);
+            writer.write("</t></si>");
+        }
         CTSst sst = _sstDoc.getSst();
-        sst.setCount(count);
-        sst.setUniqueCount(uniqueCount);
+        if (sst.isSetExtLst()) {
+            writer.write(sst.getExtLst().xmlText(saveOptions));
+        }
+        writer.write("</sst>");
+        writer.flush();
+    }
 
-        _sstDoc.save(out, xmlOptions);
+    private static boolean hasLeadingTrailingSpaces(String text) {
+        return !text.isEmpty()
+                && (Character.isWhitespace(text.charAt(0)) || Character.isWhitespace(text.charAt(text.length() - 1)));
+    }
+
+    private static void writeEscaped(Writer writer, String text) throws IOException {
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement;
+            if (c == '<') {
+                replacement = "&lt;";
+            } else if (c == '>') {
+                replacement = "&gt;";
+            } else if (c == '&') {
+                replacement = "&amp;";
+            } else if (c == '\r') {
+                replacement = "&#13;";
+            } else if ((c < ' ' && c != '\n' && c != '\t') || c == '\uFFFE' || c == '\uFFFF') {
+                // XmlBeans replaces the characters, which are not allowed in xml, with question marks
+                replacement = "?";
+            } else {
+                continue;
+            }
+            writer.write(text, start, i - start);
+            writer.write(replacement);
+            start = i + 1;
+        }
+        writer.write(text, start, text.length() - start);
     }
 
     @Override
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -84,6 +85,14 @@ public class StylesTable extends POIXMLDocumentPart implements Styles {
     private final List<CTXf> styleXfs = new ArrayList<>();
     private final List<CTXf> xfs = new ArrayList<>();
 
+    // Lookup indexes for the de-duplicating put methods, mapping each entry to its
+    // first position in the list above. Cell xfs are looked up by identity, the same
+    // way List.indexOf() did, as CTXf beans compare by reference.
+    private final Map<XSSFCellFill, Integer> fillIndex = new HashMap<>();
+    private final Map<XSSFCellBorder, Integer> borderIndex = new HashMap<>();
+    private final Map<CTXf, Integer> xfIndex = new IdentityHashMap<>();
+    private boolean duplicateXfs;
+
     private final List<CTDxf> dxfs = new ArrayList<>();
     private final Map<String, TableStyle> tableStyles = new HashMap<>();
 
@@ -195,6 +204,11 @@ public class StylesTable extends POIXMLDocumentPart implements Styles {
         for(XSSFCellBorder border : borders) {
             border.setThemesTable(theme);
         }
+        // the theme colors are part of the border hash codes, so the lookup index needs to be rebuilt
+        borderIndex.clear();
+        for (int i = 0; i < borders.size(); i++) {
+            borderIndex.putIfAbsent(borders.get(i), i);
+        }
     }
 
     /**
@@ -247,19 +261,23 @@ public class StylesTable extends POIXMLDocumentPart implements Styles {
             CTFills ctfills = styleSheet.getFills();
             if(ctfills != null){
                 for (CTFill fill : ctfills.getFillArray()) {
-                    fills.add(new XSSFCellFill(fill, indexedColors));
+                    addFill(new XSSFCellFill(fill, indexedColors));
                 }
             }
 
             CTBorders ctborders = styleSheet.getBorders();
             if(ctborders != null) {
                 for (CTBorder border : ctborders.getBorderArray()) {
-                    borders.add(new XSSFCellBorder(border, indexedColors));
+                    addBorder(new XSSFCellBorder(border, indexedColors));
                 }
             }
 
             CTCellXfs cellXfs = styleSheet.getCellXfs();
-            if(cellXfs != null) xfs.addAll(Arrays.asList(cellXfs.getXfArray()));
+            if(cellXfs != null) {
+                for (CTXf xf : cellXfs.getXfArray()) {
+                    addCellXf(xf);
+                }
+            }
 
             CTCellStyleXfs cellStyleXfs = styleSheet.getCellStyleXfs();
             if(cellStyleXfs != null) styleXfs.addAll(Arrays.asList(cellStyleXfs.getXfArray()));
@@ -467,12 +485,8 @@ public class StylesTable extends POIXMLDocumentPart implements Styles {
     public int putStyle(XSSFCellStyle style) {
         CTXf mainXF = style.getCoreXf();
 
-        int ret = xfs.indexOf(mainXF);
-        if(ret == -1) {
-            xfs.add(mainXF);
-            ret = xfs.size() - 1;
-        }
-        return ret;
+        Integer ret = xfIndex.get(mainXF);
+        return (ret != null) ? ret : addCellXf(mainXF);
     }
 
     @Override
@@ -489,13 +503,19 @@ public class StylesTable extends POIXMLDocumentPart implements Styles {
      */
     @Override
     public int putBorder(XSSFCellBorder border) {
-        int idx = borders.indexOf(border);
-        if (idx != -1) {
+        Integer idx = borderIndex.get(border);
+        if (idx != null) {
             return idx;
         }
-        borders.add(border);
         border.setThemesTable(theme);
-        return borders.size() - 1;
+        return addBorder(border);
+    }
+
+    private int addBorder(XSSFCellBorder border) {
+        int idx = borders.size();
+        borders.add(border);
+        borderIndex.putIfAbsent(border, idx);
+        return idx;
     }
 
     @Override
@@ -528,12 +548,18 @@ public class StylesTable extends POIXMLDocumentPart implements Styles {
      */
     @Override
     public int putFill(XSSFCellFill fill) {
-        int idx = fills.indexOf(fill);
-        if (idx != -1) {
+        Integer idx = fillIndex.get(fill);
+        if (idx != null) {
             return idx;
         }
+        return addFill(fill);
+    }
+
+    private int addFill(XSSFCellFill fill) {
+        int idx = fills.size();
         fills.add(fill);
-        return fills.size() - 1;
+        fillIndex.putIfAbsent(fill, idx);
+        return idx;
     }
 
     @Internal
@@ -550,13 +576,38 @@ public class StylesTable extends POIXMLDocumentPart implements Styles {
      */
     @Internal
     public int putCellXf(CTXf cellXf) {
+        return addCellXf(cellXf) + 1;
+    }
+
+    private int addCellXf(CTXf cellXf) {
+        int idx = xfs.size();
         xfs.add(cellXf);
-        return xfs.size();
+        if (xfIndex.putIfAbsent(cellXf, idx) != null) {
+            duplicateXfs = true;
+        }
+        return idx;
     }
 
     @Internal
     public void replaceCellXfAt(int idx, CTXf cellXf) {
-        xfs.set(idx, cellXf);
+        CTXf old = xfs.set(idx, cellXf);
+        if (old == cellXf) {
+            return;
+        }
+        if (xfIndex.remove(old, idx) && duplicateXfs) {
+            // the replaced xf might have been registered more than once
+            int other = xfs.indexOf(old);
+            if (other != -1) {
+                xfIndex.put(old, other);
+            }
+        }
+        Integer current = xfIndex.get(cellXf);
+        if (current == null || current > idx) {
+            duplicateXfs |= (current != null);
+            xfIndex.put(cellXf, idx);
+        } else {
+            duplicateXfs = true;
+        }
     }
 
     @Internal
@@ -749,17 +800,17 @@ public class StylesTable extends POIXMLDocumentPart implements Styles {
         fonts.add(xssfFont);
 
         CTFill[] ctFill = createDefaultFills();
-        fills.add(new XSSFCellFill(ctFill[0], indexedColors));
-        fills.add(new XSSFCellFill(ctFill[1], indexedColors));
+        addFill(new XSSFCellFill(ctFill[0], indexedColors));
+        addFill(new XSSFCellFill(ctFill[1], indexedColors));
 
         CTBorder ctBorder = createDefaultBorder();
-        borders.add(new XSSFCellBorder(ctBorder));
+        addBorder(new XSSFCellBorder(ctBorder));
 
         CTXf styleXf = createDefaultXf();
         styleXfs.add(styleXf);
         CTXf xf = createDefaultXf();
         xf.setXfId(0);
-        xfs.add(xf);
+        addCellXf(xf);
     }
 
     private static CTXf createDefaultXf() {
@@ -0,0 +1,556 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.xssf.streaming;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.TempFile;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellType;
+
+/**
+ * Sheet writer which spools the flushed rows in a compact binary format instead of XML.<p>
+ *
+ * The temp file contains the typed cell values, the style indexes and the shared string indexes.
+ * The "sheetData" XML is only rendered once, row by row, when the workbook is written and
+ * {@link #getWorksheetXMLInputStream()} is read. The rendered XML is the same as the one
+ * of {@link SheetDataWriter}.
+ *
+ * @see SXSSFWorkbook#setBinaryTempFiles(boolean)
+ * @since POI 5.4.1
+ */
+public class BinarySheetDataWriter extends SheetDataWriter {
+    // record types
+    private static final int ROW = 0;
+    private static final int END_ROW = 1;
+    private static final int BLANK = 2;
+    private static final int NUMERIC = 3;
+    private static final int INLINE_STRING = 4;
+    private static final int SHARED_STRING = 5;
+    private static final int BOOLEAN = 6;
+    private static final int ERROR = 7;
+    private static final int FORMULA = 8;
+
+    // cached formula result types
+    private static final int RESULT_NONE = 0;
+    private static final int RESULT_NUMERIC = 1;
+    private static final int RESULT_STRING = 2;
+    private static final int RESULT_BOOLEAN = 3;
+    private static final int RESULT_ERROR = 4;
+
+    // row flags
+    private static final int CUSTOM_HEIGHT = 0x01;
+    private static final int ZERO_HEIGHT = 0x02;
+    private static final int FORMATTED = 0x04;
+    private static final int OUTLINED = 0x08;
+    private static final int HIDDEN_SET = 0x10;
+    private static final int HIDDEN = 0x20;
+    private static final int COLLAPSED_SET = 0x40;
+    private static final int COLLAPSED = 0x80;
+
+    private final SharedStringsTable _sharedStringSource;
+    private final boolean _compress;
+    private final DataOutputStream _data;
+    private byte[] _stringBuffer = new byte[64];
+
+    /**
+     * @param sharedStringsTable the shared strings table, or null if inline text is used
+     */
+    public BinarySheetDataWriter(SharedStringsTable sharedStringsTable) throws IOException {
+        this(sharedStringsTable, false);
+    }
+
+    /**
+     * @param sharedStringsTable the shared strings table, or null if inline text is used
+     * @param compress whether to gzip the temp file
+     */
+    public BinarySheetDataWriter(SharedStringsTable sharedStringsTable, boolean compress) throws IOException {
+        super(TempFile.createTempFile("poi-sxssf-sheet-bin", compress ? ".gz" : ".bin"), sharedStringsTable);
+        _sharedStringSource = sharedStringsTable;
+        _compress = compress;
+        FileOutputStream fos = new FileOutputStream(getTempFile());
+        OutputStream decorated;
+        try {
+            decorated = decorateOutputStream(fos);
+        } catch (final IOException e) {
+            fos.close();
+            throw e;
+        }
+        _data = new DataOutputStream(new BufferedOutputStream(decorated, 64 * 1024));
+    }
+
+    @Override
+    protected OutputStream decorateOutputStream(FileOutputStream fos) throws IOException {
+        return _compress ? new GZIPOutputStream(fos) : fos;
+    }
+
+    @Override
+    protected InputStream decorateInputStream(FileInputStream fis) throws IOException {
+        return _compress ? new GZIPInputStream(fis) : fis;
+    }
+
+    @Override
+    void beginRow(int rownum, SXSSFRow row) throws IOException {
+        int flags = 0;
+        if (row.hasCustomHeight()) {
+            flags |= CUSTOM_HEIGHT;
+        }
+        if (row.getZeroHeight()) {
+            flags |= ZERO_HEIGHT;
+        }
+        if (row.isFormatted()) {
+            flags |= FORMATTED;
+        }
+        if (row.getOutlineLevel() != 0) {
+            flags |= OUTLINED;
+        }
+        if (row.getHidden() != null) {
+            flags |= HIDDEN_SET | (row.getHidden() ? HIDDEN : 0);
+        }
+        if (row.getCollapsed() != null) {
+            flags |= COLLAPSED_SET | (row.getCollapsed() ? COLLAPSED : 0);
+        }
+
+        _data.writeByte(ROW);
+        writeVarInt(rownum);
+        _data.writeByte(flags);
+        if ((flags & CUSTOM_HEIGHT) != 0) {
+            _data.writeFloat(row.getHeightInPoints());
+        }
+        if ((flags & FORMATTED) != 0) {
+            writeVarInt(row.getRowStyleIndex());
+        }
+        if ((flags & OUTLINED) != 0) {
+            writeVarInt(row.getOutlineLevel());
+        }
+    }
+
+    @Override
+    void endRow() throws IOException {
+        _data.writeByte(END_ROW);
+    }
+
+    @Override
+    public void writeCell(int columnIndex, Cell cell) throws IOException {
+        if (cell == null) {
+            return;
+        }
+        int styleIndex = cell.getCellStyle().getIndex() & 0xffff;
+        CellType cellType = cell.getCellType();
+        switch (cellType) {
+            case BLANK:
+                writeCellHeader(BLANK, columnIndex, styleIndex);
+                break;
+            case FORMULA:
+                writeCellHeader(FORMULA, columnIndex, styleIndex);
+                writeString(cell.getCellFormula());
+                switch (cell.getCachedFormulaResultType()) {
+                    case NUMERIC:
+                        _data.writeByte(RESULT_NUMERIC);
+                        _data.writeDouble(cell.getNumericCellValue());
+                        break;
+                    case STRING:
+                        _data.writeByte(RESULT_STRING);
+                        writeString(cell.getStringCellValue());
+                        break;
+                    case BOOLEAN:
+                        _data.writeByte(RESULT_BOOLEAN);
+                        _data.writeBoolean(cell.getBooleanCellValue());
+                        break;
+                    case ERROR:
+                        _data.writeByte(RESULT_ERROR);
+                        _data.writeByte(cell.getErrorCellValue());
+                        break;
+                    default:
+                        _data.writeByte(RESULT_NONE);
+                        break;
+                }
+                break;
+            case STRING:
+                if (_sharedStringSource != null) {
+                    int sRef = _sharedStringSource.addSharedStringItem(cell.getRichStringCellValue());
+                    writeCellHeader(SHARED_STRING, columnIndex, styleIndex);
+                    writeVarInt(sRef);
+                } else {
+                    writeCellHeader(INLINE_STRING, columnIndex, styleIndex);
+                    writeString(cell.getStringCellValue());
+                }
+                break;
+            case NUMERIC:
+                writeCellHeader(NUMERIC, columnIndex, styleIndex);
+                _data.writeDouble(cell.getNumericCellValue());
+                break;
+            case BOOLEAN:
+                writeCellHeader(BOOLEAN, columnIndex, styleIndex);
+                _data.writeBoolean(cell.getBooleanCellValue());
+                break;
+            case ERROR:
+                writeCellHeader(ERROR, columnIndex, styleIndex);
+                _data.writeByte(cell.getErrorCellValue());
+                break;
+            default:
+                throw new IllegalStateException("Invalid cell type: " + cellType);
+        }
+    }
+
+    private void writeCellHeader(int type, int columnIndex, int styleIndex) throws IOException {
+        _data.writeByte(type);
+        writeVarInt(columnIndex);
+        writeVarInt(styleIndex);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            _data.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        _data.writeByte(value);
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            writeVarInt(0);
+            return;
+        }
+        // encode ASCII directly, which is the common case
+        int len = value.length();
+        if (_stringBuffer.length < len) {
+            _stringBuffer = new byte[Math.max(len, _stringBuffer.length * 2)];
+        }
+        for (int i = 0; i < len; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(bytes.length);
+                _data.write(bytes);
+                return;
+            }
+            _stringBuffer[i] = (byte)c;
+        }
+        writeVarInt(len);
+        _data.write(_stringBuffer, 0, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        _data.close();
+    }
+
+    @Override
+    void flush() throws IOException {
+        _data.flush();
+    }
+
+    @Override
+    boolean dispose() throws IOException {
+        final boolean ret;
+        try {
+            _data.close();
+        } finally {
+            ret = getTempFile().delete();
+        }
+        return ret;
+    }
+
+    /**
+     * @return a stream which renders the "sheetData" XML from the temp file
+     */
+    @Override
+    public InputStream getWorksheetXMLInputStream() throws IOException {
+        FileInputStream fis = new FileInputStream(getTempFile());
+        try {
+            return new SheetDataXMLInputStream(new DataInputStream(
+                    new BufferedInputStream(decorateInputStream(fis), 64 * 1024)));
+        } catch (IOException e) {
+            fis.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Renders the XML of one row at a time
+     */
+    private static final class SheetDataXMLInputStream extends InputStream {
+        private final DataInputStream _data;
+        private final RowBuffer _buffer = new RowBuffer();
+        private final Writer _out = new OutputStreamWriter(_buffer, StandardCharsets.UTF_8);
+        private final String[] _columnNames = new String[SpreadsheetVersion.EXCEL2007.getMaxColumns()];
+        private byte[] _stringBuffer = new byte[64];
+        private int _pos;
+
+        SheetDataXMLInputStream(DataInputStream data) {
+            _data = data;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (_pos == _buffer.size() && !renderRow()) {
+                return -1;
+            }
+            return _buffer.array()[_pos++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (_pos == _buffer.size() && !renderRow()) {
+                return -1;
+            }
+            int n = Math.min(len, _buffer.size() - _pos);
+            System.arraycopy(_buffer.array(), _pos, b, off, n);
+            _pos += n;
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            _data.close();
+        }
+
+        private boolean renderRow() throws IOException {
+            _buffer.reset();
+            _pos = 0;
+            int type = _data.read();
+            if (type == -1) {
+                return false;
+            }
+            if (type != ROW) {
+                throw new IOException("Invalid sheet data, expected a row but had record type " + type);
+            }
+
+            int rownum = readVarInt();
+            int flags = _data.readUnsignedByte();
+            String rowRef = Integer.toString(rownum + 1);
+            _out.write("<row");
+            writeAttribute("r", rowRef);
+            if ((flags & CUSTOM_HEIGHT) != 0) {
+                writeAttribute("customHeight", "1");
+                writeAttribute("ht", Float.toString(_data.readFloat()));
+            }
+            if ((flags & ZERO_HEIGHT) != 0) {
+                writeAttribute("hidden", "1");
+            }
+            if ((flags & FORMATTED) != 0) {
+                writeAttribute("s", Integer.toString(readVarInt()));
+                writeAttribute("customFormat", "1");
+            }
+            if ((flags & OUTLINED) != 0) {
+                writeAttribute("outlineLevel", Integer.toString(readVarInt()));
+            }
+            if ((flags & HIDDEN_SET) != 0) {
+                writeAttribute("hidden", (flags & HIDDEN) != 0 ? "1" : "0");
+            }
+            if ((flags & COLLAPSED_SET) != 0) {
+                writeAttribute("collapsed", (flags & COLLAPSED) != 0 ? "1" : "0");
+            }
+            _out.write(">\n");
+
+            while ((type = _data.readUnsignedByte()) != END_ROW) {
+                renderCell(type, rowRef);
+            }
+            _out.write("</row>\n");
+            _out.flush();
+            return true;
+        }
+
+        // the markup is the same as written by SheetDataWriter.writeCell
+        private void renderCell(int type, String rowRef) throws IOException {
+            int columnIndex = readVarInt();
+            int styleIndex = readVarInt();
+            _out.write("<c");
+            _out.write(" r=\"");
+            _out.write(getColumnName(columnIndex));
+            _out.write(rowRef);
+            _out.write('\"');
+            if (styleIndex != 0) {
+                writeAttribute("s", Integer.toString(styleIndex));
+            }
+            switch (type) {
+                case BLANK:
+                    _out.write('>');
+                    break;
+                case FORMULA: {
+                    String formula = readString();
+                    int resultType = _data.readUnsignedByte();
+                    switch (resultType) {
+                        case RESULT_NUMERIC:
+                            writeAttribute("t", "n");
+                            break;
+                        case RESULT_STRING:
+                            writeAttribute("t", STCellType.STR.toString());
+                            break;
+                        case RESULT_BOOLEAN:
+                            writeAttribute("t", "b");
+                            break;
+                        case RESULT_ERROR:
+                            writeAttribute("t", "e");
+                            break;
+                    }
+                    _out.write("><f>");
+                    outputEscapedString(_out, formula);
+                    _out.write("</f>");
+                    switch (resultType) {
+                        case RESULT_NUMERIC: {
+                            double nval = _data.readDouble();
+                            if (!Double.isNaN(nval)) {
+                                _out.write("<v>");
+                                _out.write(Double.toString(nval));
+                                _out.write("</v>");
+                            }
+                            break;
+                        }
+                        case RESULT_STRING: {
+                            String value = readString();
+                            if (!value.isEmpty()) {
+                                _out.write("<v>");
+                                outputEscapedString(_out, value);
+                                _out.write("</v>");
+                            }
+                            break;
+                        }
+                        case RESULT_BOOLEAN:
+                            _out.write("><v>");
+                            _out.write(_data.readBoolean() ? "1" : "0");
+                            _out.write("</v>");
+                            break;
+                        case RESULT_ERROR:
+                            _out.write("><v>");
+                            outputEscapedString(_out, FormulaError.forInt(_data.readByte()).getString());
+                            _out.write("</v>");
+                            break;
+                    }
+                    break;
+                }
+                case SHARED_STRING:
+                    writeAttribute("t", STCellType.S.toString());
+                    _out.write("><v>");
+                    _out.write(Integer.toString(readVarInt()));
+                    _out.write("</v>");
+                    break;
+                case INLINE_STRING: {
+                    String value = readString();
+                    writeAttribute("t", "inlineStr");
+                    _out.write("><is><t");
+                    if (hasLeadingTrailingSpaces(value)) {
+                        writeAttribute("xml:space", "preserve");
+                    }
+                    _out.write(">");
+                    outputEscapedString(_out, value);
+                    _out.write("</t></is>");
+                    break;
+                }
+                case NUMERIC:
+                    writeAttribute("t", "n");
+                    _out.write("><v>");
+                    _out.write(Double.toString(_data.readDouble()));
+                    _out.write("</v>");
+                    break;
+                case BOOLEAN:
+                    writeAttribute("t", "b");
+                    _out.write("><v>");
+                    _out.write(_data.readBoolean() ? "1" : "0");
+                    _out.write("</v>");
+                    break;
+                case ERROR:
+                    writeAttribute("t", "e");
+                    _out.write("><v>");
+                    outputEscapedString(_out, FormulaError.forInt(_data.readByte()).getString());
+                    _out.write("</v>");
+                    break;
+                default:
+                    throw new IOException("Invalid sheet data, unknown record type " + type);
+            }
+            _out.write("</c>");
+        }
+
+        private String getColumnName(int columnIndex) {
+            String name = _columnNames[columnIndex];
+            if (name == null) {
+                name = CellReference.convertNumToColString(columnIndex);
+                _columnNames[columnIndex] = name;
+            }
+            return name;
+        }
+
+        private void writeAttribute(String name, String value) throws IOException {
+            _out.write(' ');
+            _out.write(name);
+            _out.write("=\"");
+            _out.write(value);
+            _out.write('\"');
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = _data.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+                if (shift > 28) {
+                    throw new IOException("Invalid sheet data, malformed number");
+                }
+            }
+        }
+
+        private String readString() throws IOException {
+            int len = readVarInt();
+            if (len == 0) {
+                return "";
+            }
+            if (_stringBuffer.length < len) {
+                _stringBuffer = new byte[Math.max(len, _stringBuffer.length * 2)];
+            }
+            _data.readFully(_stringBuffer, 0, len);
+            return new String(_stringBuffer, 0, len, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class RowBuffer extends ByteArrayOutputStream {
+        RowBuffer() {
+            super(8192);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
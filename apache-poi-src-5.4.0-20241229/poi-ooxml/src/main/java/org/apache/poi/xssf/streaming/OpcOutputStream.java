@@ -17,9 +17,11 @@
 
 package org.apache.poi.xssf.streaming;
 
+import org.apache.poi.util.IOUtils;
 import org.apache.poi.xssf.streaming.Zip64Impl.Entry;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
@@ -94,6 +96,35 @@ class OpcOutputStream extends DeflaterOutputStream {
         crc.reset();
     }
 
+    /**
+     * Writes an entry whose data has already been deflated (raw deflate data without zlib wrapper)
+     *
+     * @param name the entry name
+     * @param size the uncompressed size
+     * @param compressedSize the size of the deflated data
+     * @param crc the CRC-32 of the uncompressed data
+     * @param rawData the deflated data
+     */
+    public void putRawEntry(String name, long size, int compressedSize, long crc, InputStream rawData) throws IOException {
+        if (current != null) {
+            closeEntry();
+        }
+        Entry entry = new Entry(name);
+        entry.offset = written;
+        written += spec.writeLFH(entry);
+        entries.add(entry);
+
+        long copied = IOUtils.copy(rawData, out);
+        if (copied != compressedSize) {
+            throw new IOException("Expected " + compressedSize + " bytes of deflated data for " + name + ", but had " + copied);
+        }
+        entry.size = size;
+        entry.compressedSize = compressedSize;
+        entry.crc = crc;
+
+        written += compressedSize;
+        written += spec.writeDAT(entry);
+    }
 
     /**
      * @see ZipOutputStream#finish()
@@ -21,6 +21,7 @@ import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 
 class OpcZipArchiveOutputStream extends ZipArchiveOutputStream {
@@ -41,6 +42,11 @@ class OpcZipArchiveOutputStream extends ZipArchiveOutputStream {
         out.putNextEntry(archiveEntry.getName());
     }
 
+    @Override
+    public void addRawArchiveEntry(ZipArchiveEntry entry, InputStream rawStream) throws IOException {
+        out.putRawEntry(entry.getName(), entry.getSize(), Math.toIntExact(entry.getCompressedSize()), entry.getCrc(), rawStream);
+    }
+
     @Override
     public void closeArchiveEntry() throws IOException {
         out.closeEntry();
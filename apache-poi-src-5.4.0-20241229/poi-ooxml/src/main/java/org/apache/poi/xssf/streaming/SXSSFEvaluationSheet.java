@@ -45,6 +45,15 @@ final class SXSSFEvaluationSheet implements EvaluationSheet {
         return _xs.getLastRowNum();
     }
 
+    /* (non-Javadoc)
+     * @see org.apache.poi.ss.formula.EvaluationSheet#getFirstReadableRowNum()
+     * @since POI 5.4.1
+     */
+    @Override
+    public int getFirstReadableRowNum() {
+        return _xs.getLastFlushedRowNum() + 1;
+    }
+
     /* (non-Javadoc)
      * @see org.apache.poi.ss.formula.EvaluationSheet#isRowHidden(int)
      * @since POI 4.1.0
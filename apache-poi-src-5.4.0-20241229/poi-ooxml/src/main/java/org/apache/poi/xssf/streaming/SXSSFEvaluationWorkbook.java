@@ -58,6 +58,12 @@ public final class SXSSFEvaluationWorkbook extends BaseXSSFEvaluationWorkbook {
     @Override
     public Ptg[] getFormulaTokens(EvaluationCell evalCell) {
         SXSSFCell cell = ((SXSSFEvaluationCell)evalCell).getSXSSFCell();
-        return FormulaParser.parse(cell.getCellFormula(), this, FormulaType.CELL, _sxssfBook.getSheetIndex(cell.getSheet()));
+        String formula = cell.getCellFormula();
+        int sheetIndex = _sxssfBook.getSheetIndex(cell.getSheet());
+        int rowIndex = cell.getRowIndex();
+        int columnIndex = cell.getColumnIndex();
+        return getCachedFormulaTokens(cell, formula, null, sheetIndex, rowIndex, columnIndex,
+                () -> FormulaParser.parse(formula, this, FormulaType.CELL, sheetIndex, rowIndex, columnIndex,
+                        getFormulaParseCache()));
     }
 }
@@ -62,12 +62,15 @@ public final class SXSSFFormulaEvaluator extends BaseXSSFFormulaEvaluator {
     }
     public void notifySetFormula(Cell cell) {
         _bookEvaluator.notifyUpdateCell(new SXSSFEvaluationCell((SXSSFCell)cell));
+        dropCachedFormulaTokens(cell);
     }
     public void notifyDeleteCell(Cell cell) {
         _bookEvaluator.notifyDeleteCell(new SXSSFEvaluationCell((SXSSFCell)cell));
+        dropCachedFormulaTokens(cell);
     }
     public void notifyUpdateCell(Cell cell) {
         _bookEvaluator.notifyUpdateCell(new SXSSFEvaluationCell((SXSSFCell)cell));
+        dropCachedFormulaTokens(cell);
     }
 
 
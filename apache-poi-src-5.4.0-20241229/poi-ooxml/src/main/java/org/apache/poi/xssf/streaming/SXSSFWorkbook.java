@@ -21,19 +21,31 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Spliterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
 import org.apache.commons.compress.archivers.zip.Zip64Mode;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
@@ -42,6 +54,7 @@ import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.logging.PoiLogManager;
+import org.apache.poi.ooxml.POIXMLException;
 import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.openxml4j.util.ZipArchiveThresholdInputStream;
 import org.apache.poi.openxml4j.util.ZipEntrySource;
@@ -131,6 +144,11 @@ public class SXSSFWorkbook implements Workbook {
      */
     private boolean _compressTmpFiles;
 
+    /**
+     * whether the temp files store the rows in a binary format instead of XML.
+     */
+    private boolean _binaryTmpFiles;
+
     /**
      * shared string table - a cache of strings in this workbook
      */
@@ -143,6 +161,11 @@ public class SXSSFWorkbook implements Workbook {
 
     private boolean shouldCalculateSheetDimensions = true;
 
+    /**
+     * if set, the sheet entries are deflated in parallel on this executor when writing
+     */
+    private Executor writeExecutor;
+
     /**
      * Construct a new workbook with default row window size
      */
@@ -359,6 +382,64 @@ public class SXSSFWorkbook implements Workbook {
         _compressTmpFiles = compress;
     }
 
+    /**
+     * Get whether temp files store the rows in a binary format.
+     *
+     * @return whether to use binary temp files
+     * @since POI 5.4.1
+     */
+    public boolean isBinaryTempFiles() {
+        return _binaryTmpFiles;
+    }
+
+    /**
+     * Set whether temp files should store the rows in a binary format.
+     * <p>
+     *   By default, SXSSF writes the flushed rows as XML to the temp files, which are copied into the
+     *   workbook on write. With binary temp files, the cell values, style and shared string indexes
+     *   are stored in a compact binary format instead and the XML is only produced when the workbook
+     *   is written. This usually makes the temp files several times smaller and writing the rows faster.
+     *   The written workbook is the same.
+     * </p>
+     * <p>
+     *   This can be combined with {@link #setCompressTempFiles(boolean)}. Setting this option only affects
+     *   subsequent <code>createSheet()</code> calls.
+     * </p>
+     * @param binary whether to use binary temp files
+     * @see BinarySheetDataWriter
+     * @since POI 5.4.1
+     */
+    public void setBinaryTempFiles(boolean binary) {
+        _binaryTmpFiles = binary;
+    }
+
+    /**
+     * Sets an executor which is used to deflate the sheet entries in parallel when the workbook is written.<p>
+     *
+     * Each sheet is written and compressed by a task on the executor into a temp file. The calling thread
+     * then assembles the zip file, keeping the order of the entries. This speeds up writing workbooks with
+     * several large sheets on multi-core machines. The sheet rows are still written by one thread each, so
+     * this doesn't help for a single large sheet. The row generators of a {@link DeferredSXSSFWorkbook} are
+     * called on the executor threads, so they must not share unsynchronized state.<p>
+     *
+     * With the default {@link Zip64Mode#Always}, the output is byte-identical to the sequential output.
+     *
+     * @param writeExecutor the executor, or {@code null} to write the sheets on the calling thread (default)
+     * @since POI 5.4.1
+     */
+    public void setWriteExecutor(Executor writeExecutor) {
+        this.writeExecutor = writeExecutor;
+    }
+
+    /**
+     * @return the executor used to deflate the sheet entries, or {@code null} if they are written sequentially
+     * @see #setWriteExecutor(Executor)
+     * @since POI 5.4.1
+     */
+    public Executor getWriteExecutor() {
+        return writeExecutor;
+    }
+
     /**
      * @param shouldCalculateSheetDimensions defaults to <code>true</code>, set to <code>false</code> if
      *                                       the calculated dimensions are causing trouble
@@ -383,6 +464,9 @@ public class SXSSFWorkbook implements Workbook {
     }
 
     protected SheetDataWriter createSheetDataWriter() throws IOException {
+        if(_binaryTmpFiles) {
+            return new BinarySheetDataWriter(_sharedStringSource, _compressTmpFiles);
+        }
         if(_compressTmpFiles) {
             return new GZIPSheetDataWriter(_sharedStringSource);
         }
@@ -423,14 +507,23 @@ public class SXSSFWorkbook implements Workbook {
     }
 
     protected void injectData(ZipEntrySource zipEntrySource, OutputStream out) throws IOException {
+        Map<String, DeflatedSheet> deflatedSheets = Collections.emptyMap();
         ZipArchiveOutputStream zos = createArchiveOutputStream(out);
         try {
+            if (writeExecutor != null) {
+                deflatedSheets = deflateSheets(zipEntrySource, writeExecutor);
+            }
             Enumeration<? extends ZipArchiveEntry> en = zipEntrySource.getEntries();
             while (en.hasMoreElements()) {
                 ZipArchiveEntry ze = en.nextElement();
                 ZipArchiveEntry zeOut = new ZipArchiveEntry(ze.getName());
-                if (ze.getSize() >= 0) zeOut.setSize(ze.getSize());
                 if (ze.getTime() >= 0) zeOut.setTime(ze.getTime());
+                DeflatedSheet deflatedSheet = deflatedSheets.get(ze.getName());
+                if (deflatedSheet != null) {
+                    deflatedSheet.addTo(zos, zeOut);
+                    continue;
+                }
+                if (ze.getSize() >= 0) zeOut.setSize(ze.getSize());
                 zos.putArchiveEntry(zeOut);
                 try (final InputStream is = zipEntrySource.getInputStream(ze)) {
                     if (is instanceof ZipArchiveThresholdInputStream) {
@@ -453,6 +546,178 @@ public class SXSSFWorkbook implements Workbook {
         } finally {
             zos.finish();
             zipEntrySource.close();
+            for (DeflatedSheet deflatedSheet : deflatedSheets.values()) {
+                deflatedSheet.delete();
+            }
+        }
+    }
+
+    /**
+     * Writes and deflates the sheet entries in parallel to temp files
+     *
+     * @return the deflated sheets by entry name
+     */
+    private Map<String, DeflatedSheet> deflateSheets(ZipEntrySource zipEntrySource, Executor executor) throws IOException {
+        Map<String, DeflatedSheet> deflatedSheets = new LinkedHashMap<>();
+        List<FutureTask<Void>> tasks = new ArrayList<>();
+        AtomicBoolean failed = new AtomicBoolean();
+
+        // the template entries and the sheet injectors are prepared on the calling thread
+        Enumeration<? extends ZipArchiveEntry> en = zipEntrySource.getEntries();
+        while (en.hasMoreElements()) {
+            ZipArchiveEntry ze = en.nextElement();
+            XSSFSheet xSheet = getSheetFromZipEntryName(ze.getName());
+            // See bug 56557, we should not inject data into the special ChartSheets
+            if (xSheet == null || xSheet instanceof XSSFChartSheet) {
+                continue;
+            }
+            UnsynchronizedByteArrayOutputStream template = UnsynchronizedByteArrayOutputStream.builder().get();
+            try (final InputStream is = zipEntrySource.getInputStream(ze)) {
+                if (is instanceof ZipArchiveThresholdInputStream) {
+                    // #59743 - disable Threshold handling for SXSSF copy
+                    ((ZipArchiveThresholdInputStream)is).setGuardState(false);
+                }
+                IOUtils.copy(is, template);
+            }
+            DeflatedSheet deflatedSheet = new DeflatedSheet(template, createSheetInjector(getSXSSFSheet(xSheet)));
+            deflatedSheets.put(ze.getName(), deflatedSheet);
+            tasks.add(new FutureTask<>(() -> {
+                if (!failed.get()) {
+                    try {
+                        deflatedSheet.deflate();
+                    } catch (IOException | RuntimeException | Error e) {
+                        failed.set(true);
+                        throw e;
+                    }
+                }
+                return null;
+            }));
+        }
+
+        int submitted = 0;
+        try {
+            for (FutureTask<Void> task : tasks) {
+                executor.execute(task);
+                submitted++;
+            }
+        } catch (RuntimeException e) {
+            // e.g. RejectedExecutionException, skip the tasks which were already submitted
+            failed.set(true);
+            awaitQuietly(tasks.subList(0, submitted));
+            deleteAll(deflatedSheets);
+            throw e;
+        }
+
+        Throwable cause = null;
+        for (FutureTask<Void> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                failed.set(true);
+                Thread.currentThread().interrupt();
+                awaitQuietly(tasks);
+                deleteAll(deflatedSheets);
+                throw new InterruptedIOException("Interrupted while waiting for the sheets to be written");
+            } catch (ExecutionException e) {
+                if (cause == null) {
+                    cause = e.getCause();
+                }
+            }
+        }
+        if (cause != null) {
+            deleteAll(deflatedSheets);
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new POIXMLException("Failed to write the sheets", cause);
+        }
+        return deflatedSheets;
+    }
+
+    /**
+     * Waits for the tasks to finish, so that their temp files can be deleted
+     */
+    private static void awaitQuietly(List<FutureTask<Void>> tasks) {
+        boolean interrupted = false;
+        for (FutureTask<Void> task : tasks) {
+            while (true) {
+                try {
+                    task.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void deleteAll(Map<String, DeflatedSheet> deflatedSheets) {
+        for (DeflatedSheet deflatedSheet : deflatedSheets.values()) {
+            deflatedSheet.delete();
+        }
+    }
+
+    /**
+     * A sheet entry, which is deflated into a temp file and later copied as raw entry into the zip file
+     */
+    private static final class DeflatedSheet {
+        private final UnsynchronizedByteArrayOutputStream template;
+        private final ISheetInjector sheetInjector;
+        private File file;
+        private long size;
+        private long compressedSize;
+        private long crc;
+
+        DeflatedSheet(UnsynchronizedByteArrayOutputStream template, ISheetInjector sheetInjector) {
+            this.template = template;
+            this.sheetInjector = sheetInjector;
+        }
+
+        void deflate() throws IOException {
+            file = TempFile.createTempFile("poi-sxssf-sheet-deflated", ".tmp");
+            // same settings as the zip output streams, so the deflated data is the same as when written sequentially
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            try {
+                CRC32 checksum = new CRC32();
+                try (
+                        InputStream is = template.toInputStream();
+                        OutputStream os = new CheckedOutputStream(new DeflaterOutputStream(
+                                Files.newOutputStream(file.toPath()), deflater, 64 * 1024), checksum)
+                ) {
+                    copyStreamAndInjectWorksheet(is, os, sheetInjector);
+                }
+                size = deflater.getBytesRead();
+                compressedSize = deflater.getBytesWritten();
+                crc = checksum.getValue();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        void addTo(ZipArchiveOutputStream zos, ZipArchiveEntry zeOut) throws IOException {
+            zeOut.setMethod(ZipArchiveEntry.DEFLATED);
+            zeOut.setSize(size);
+            zeOut.setCompressedSize(compressedSize);
+            zeOut.setCrc(crc);
+            try (InputStream is = Files.newInputStream(file.toPath())) {
+                zos.addRawArchiveEntry(zeOut, is);
+            }
+        }
+
+        void delete() {
+            if (file != null && !file.delete() && file.exists()) {
+                LOG.atWarn().log("Could not delete temporary file {}", file);
+            }
+            file = null;
         }
     }
 
@@ -85,6 +85,15 @@ public class SheetDataWriter implements Closeable {
         this._sharedStringSource = sharedStringsTable;
     }
 
+    /**
+     * For subclasses which don't write the sheet data as XML through a {@link Writer}
+     */
+    SheetDataWriter(File fd, SharedStringsTable sharedStringsTable) {
+        _fd = fd;
+        _out = null;
+        _sharedStringSource = sharedStringsTable;
+    }
+
     /**
      * Create a temp file to write sheet data.
      * By default, temp files are created in the default temporary-file directory
@@ -384,7 +393,7 @@ public class SheetDataWriter implements Closeable {
      * @return  whether the string has leading / trailing spaces that
      *  need to be preserved with the xml:space=\"preserve\" attribute
      */
-    boolean hasLeadingTrailingSpaces(String str) {
+    static boolean hasLeadingTrailingSpaces(String str) {
         if (str != null && str.length() > 0) {
             char firstChar = str.charAt(0);
             char lastChar  = str.charAt(str.length() - 1);
@@ -394,6 +403,10 @@ public class SheetDataWriter implements Closeable {
     }
 
     protected void outputEscapedString(String s) throws IOException {
+        outputEscapedString(_out, s);
+    }
+
+    static void outputEscapedString(Writer _out, String s) throws IOException {
         if (s == null || s.length() == 0) {
             return;
         }
@@ -17,13 +17,18 @@
 
 package org.apache.poi.xssf.usermodel;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
 
 import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.formula.EvaluationName;
 import org.apache.poi.ss.formula.EvaluationWorkbook;
+import org.apache.poi.ss.formula.FormulaParseCache;
 import org.apache.poi.ss.formula.FormulaParser;
 import org.apache.poi.ss.formula.FormulaParsingWorkbook;
 import org.apache.poi.ss.formula.FormulaRenderingWorkbook;
@@ -57,6 +62,15 @@ public abstract class BaseXSSFEvaluationWorkbook implements FormulaRenderingWork
     // keys are lower-case to make this a quasi-case-insensitive map
     private Map<String, XSSFTable> _tableCache;
 
+    // parsed formula tokens keyed by formula cell, weakly referenced so removed or flushed cells
+    // drop out. Entries are checked against the formula source before reuse, so they can be kept
+    // across clearAllCachedResultValues() and repeated evaluation passes - except for tokens
+    // referring to defined names by index, which is changed by removing a name
+    private final Map<Object, FormulaTokens> _formulaTokensCache = new WeakHashMap<>();
+
+    // tokens of formulas which are copied over many cells, so they are parsed only once
+    private final FormulaParseCache _formulaParseCache = new FormulaParseCache();
+
 
     protected BaseXSSFEvaluationWorkbook(XSSFWorkbook book) {
         _uBook = book;
@@ -68,6 +82,56 @@ public abstract class BaseXSSFEvaluationWorkbook implements FormulaRenderingWork
     @Override
     public void clearAllCachedResultValues() {
         _tableCache = null;
+        _formulaParseCache.clear();
+        _formulaTokensCache.values().removeIf(t -> t.usesNameIndex);
+    }
+
+    /**
+     * @return the formulas parsed by this evaluation workbook, keyed by their relative formula text
+     * @since POI 5.4.1
+     */
+    public FormulaParseCache getFormulaParseCache() {
+        return _formulaParseCache;
+    }
+
+    /**
+     * Returns the parsed tokens for a formula cell, parsing the formula only if it has not been parsed
+     * before or if its source changed since it was last parsed. Formulas with structured references
+     * are always parsed again.
+     *
+     * @param cellKey the cell owning the formula, compared by identity
+     * @param formula the formula text the tokens are parsed from, for shared formulas the text of the master
+     * @param sharedRef the range of the shared formula master, or {@code null} if the formula is not shared
+     * @param sheetIndex the index of the sheet of the formula cell
+     * @param rowIndex the row of the formula cell
+     * @param columnIndex the column of the formula cell
+     * @param parser parses the formula, if no valid cached tokens are available
+     * @return the parsed formula tokens, which must not be modified by the caller
+     */
+    protected Ptg[] getCachedFormulaTokens(Object cellKey, String formula, String sharedRef,
+            int sheetIndex, int rowIndex, int columnIndex, Supplier<Ptg[]> parser) {
+        if (formula.indexOf('[') != -1) {
+            // structured (table) references are resolved to areas while parsing, so the
+            // tokens go stale when a table is resized, see bug 59814
+            return parser.get();
+        }
+        FormulaTokens entry = _formulaTokensCache.get(cellKey);
+        if (entry != null && entry.matches(formula, sharedRef, sheetIndex, rowIndex, columnIndex)) {
+            return entry.tokens;
+        }
+        Ptg[] tokens = parser.get();
+        _formulaTokensCache.put(cellKey, new FormulaTokens(formula, sharedRef, sheetIndex, rowIndex, columnIndex, tokens));
+        return tokens;
+    }
+
+    /**
+     * Drops the cached formula tokens of the given cell, called when the cell was
+     * updated or deleted
+     *
+     * @param cellKey the cell whose formula changed
+     */
+    public void notifyUpdateCell(Object cellKey) {
+        _formulaTokensCache.remove(cellKey);
     }
 
     private int convertFromExternalSheetIndex(int externSheetIndex) {
@@ -400,6 +464,31 @@ public abstract class BaseXSSFEvaluationWorkbook implements FormulaRenderingWork
         return SpreadsheetVersion.EXCEL2007;
     }
 
+    private static final class FormulaTokens {
+        private final String formula;
+        private final String sharedRef;
+        private final int sheetIndex;
+        private final int rowIndex;
+        private final int columnIndex;
+        private final Ptg[] tokens;
+        private final boolean usesNameIndex;
+
+        private FormulaTokens(String formula, String sharedRef, int sheetIndex, int rowIndex, int columnIndex, Ptg[] tokens) {
+            this.formula = formula;
+            this.sharedRef = sharedRef;
+            this.sheetIndex = sheetIndex;
+            this.rowIndex = rowIndex;
+            this.columnIndex = columnIndex;
+            this.tokens = tokens;
+            this.usesNameIndex = Arrays.stream(tokens).anyMatch(t -> t instanceof NamePtg || t instanceof NameXPtg);
+        }
+
+        private boolean matches(String formula, String sharedRef, int sheetIndex, int rowIndex, int columnIndex) {
+            return this.sheetIndex == sheetIndex && this.rowIndex == rowIndex && this.columnIndex == columnIndex
+                    && Objects.equals(this.formula, formula) && Objects.equals(this.sharedRef, sharedRef);
+        }
+    }
+
     private static final class Name implements EvaluationName {
 
         private final XSSFName _nameRecord;
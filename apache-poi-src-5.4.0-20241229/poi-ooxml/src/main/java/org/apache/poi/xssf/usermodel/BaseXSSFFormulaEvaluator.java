@@ -52,6 +52,17 @@ public abstract class BaseXSSFFormulaEvaluator extends BaseFormulaEvaluator {
      */
     protected abstract EvaluationCell toEvaluationCell(Cell cell);
 
+    /**
+     * Drops the parsed formula tokens cached for the given cell, as its formula
+     * may have been changed or removed
+     */
+    protected void dropCachedFormulaTokens(Cell cell) {
+        EvaluationWorkbook evaluationWorkbook = getEvaluationWorkbook();
+        if (evaluationWorkbook instanceof BaseXSSFEvaluationWorkbook) {
+            ((BaseXSSFEvaluationWorkbook) evaluationWorkbook).notifyUpdateCell(cell);
+        }
+    }
+
     /**
      * Returns a CellValue wrapper around the supplied ValueEval instance.
      */
@@ -0,0 +1,288 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.xssf.usermodel;
+
+import static org.apache.poi.ooxml.POIXMLTypeLoader.DEFAULT_XML_OPTIONS;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.xmlbeans.XmlException;
+import org.apache.xmlbeans.XmlOptions;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTRst;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellFormulaType;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellType;
+
+/**
+ * Filters the cells out of a worksheet part while it is loaded by XmlBeans.
+ * <p>
+ * The {@code <c>} elements below {@code <sheetData>} are consumed from the underlying StAX reader
+ * and collected as compact {@link CellData}, so the resulting XmlBeans document contains the
+ * worksheet and its rows, but no cells. The cell beans are only created on request,
+ * see {@link XSSFSheet#materializeCells()}.
+ */
+final class SheetDataStreamReader extends StreamReaderDelegate {
+
+    private static final XmlOptions FRAGMENT_OPTIONS =
+            new XmlOptions(DEFAULT_XML_OPTIONS).setLoadReplaceDocumentElement(null);
+
+    /**
+     * The values of a cell as found in the {@code <c>} element
+     */
+    static final class CellData {
+        final STCellType.Enum type;
+        /** the style index or -1, if the cell has no style */
+        final int style;
+        /** the raw value of the {@code <v>} element or {@code null} */
+        final String value;
+        /** the formula or {@code null} */
+        final FormulaData formula;
+        /** an inline string as {@code String} or {@link CTRst}, or {@code null} */
+        final Object inline;
+
+        CellData(STCellType.Enum type, int style, String value, FormulaData formula, Object inline) {
+            this.type = type;
+            this.style = style;
+            this.value = value;
+            this.formula = formula;
+            this.inline = inline;
+        }
+    }
+
+    /**
+     * The attributes and text of a {@code <f>} element
+     */
+    static final class FormulaData {
+        final STCellFormulaType.Enum type;
+        final String text;
+        final String ref;
+        final long si;
+
+        FormulaData(STCellFormulaType.Enum type, String text, String ref, long si) {
+            this.type = type;
+            this.text = text;
+            this.ref = ref;
+            this.si = si;
+        }
+    }
+
+    /**
+     * The cells of a row in document order together with their column indexes
+     */
+    static final class RowData {
+        private int[] columns = new int[8];
+        private CellData[] cells = new CellData[8];
+        private int size;
+        private int lastColumn = -1;
+
+        private void add(String ref, CellData cell) {
+            // cells without a reference follow the last cell of the row, same as in the XSSFCell constructor
+            int column = (ref != null) ? new CellReference(ref).getCol() : lastColumn + 1;
+            lastColumn = Math.max(lastColumn, column);
+            if (size == cells.length) {
+                columns = Arrays.copyOf(columns, size * 2);
+                cells = Arrays.copyOf(cells, size * 2);
+            }
+            columns[size] = column;
+            cells[size] = cell;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int getColumn(int index) {
+            return columns[index];
+        }
+
+        CellData getCell(int index) {
+            return cells[index];
+        }
+    }
+
+    private final List<RowData> rows = new ArrayList<>();
+    private RowData currentRow;
+    private int depth;
+    private boolean inSheetData;
+
+    private SheetDataStreamReader(XMLStreamReader reader) {
+        super(reader);
+    }
+
+    /**
+     * Creates a reader for the given worksheet part
+     *
+     * @param is the worksheet xml
+     * @return the filtering reader
+     * @throws XmlException if the stream cannot be read
+     */
+    static SheetDataStreamReader create(InputStream is) throws XmlException {
+        try {
+            return new SheetDataStreamReader(XMLHelper.newXMLInputFactory().createXMLStreamReader(is));
+        } catch (XMLStreamException e) {
+            throw new XmlException(e);
+        }
+    }
+
+    /**
+     * @return the cells of each {@code <row>} below {@code <sheetData>} in document order
+     */
+    List<RowData> getRows() {
+        return rows;
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+        while (true) {
+            int event = super.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+                if (depth == 1) {
+                    inSheetData = false;
+                } else if (depth == 2) {
+                    currentRow = null;
+                }
+                return event;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                return event;
+            }
+            depth++;
+            // only the local names are compared, so this works for transitional and strict files
+            String name = getLocalName();
+            if (depth == 2 && "sheetData".equals(name)) {
+                inSheetData = true;
+            } else if (depth == 3 && inSheetData && "row".equals(name)) {
+                currentRow = new RowData();
+                rows.add(currentRow);
+            } else if (depth == 4 && currentRow != null && "c".equals(name)) {
+                readCell(getParent());
+                depth--;
+                continue;
+            }
+            return event;
+        }
+    }
+
+    @Override
+    public int nextTag() throws XMLStreamException {
+        int event = next();
+        while ((event == XMLStreamConstants.CHARACTERS && isWhiteSpace())
+                || event == XMLStreamConstants.SPACE
+                || event == XMLStreamConstants.COMMENT
+                || event == XMLStreamConstants.PROCESSING_INSTRUCTION) {
+            event = next();
+        }
+        if (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT) {
+            throw new XMLStreamException("expected start or end tag", getLocation());
+        }
+        return event;
+    }
+
+    /**
+     * Reads a {@code <c>} element, the reader is positioned at its end tag afterwards
+     */
+    private void readCell(XMLStreamReader reader) throws XMLStreamException {
+        String ref = reader.getAttributeValue(null, "r");
+        String s = reader.getAttributeValue(null, "s");
+        String t = reader.getAttributeValue(null, "t");
+        STCellType.Enum type = STCellType.N;
+        if (t != null) {
+            type = STCellType.Enum.forString(t);
+            if (type == null) {
+                throw new XMLStreamException("Invalid cell type '" + t + "'", reader.getLocation());
+            }
+        }
+        int style = (s == null) ? -1 : Math.toIntExact(Long.parseLong(s));
+
+        String value = null;
+        FormulaData formula = null;
+        Object inline = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "v":
+                    value = reader.getElementText();
+                    break;
+                case "f":
+                    formula = readFormula(reader);
+                    break;
+                case "is":
+                    inline = readInlineString(reader);
+                    break;
+                default:
+                    skipElement(reader);
+                    break;
+            }
+        }
+        currentRow.add(ref, new CellData(type, style, value, formula, inline));
+    }
+
+    private static FormulaData readFormula(XMLStreamReader reader) throws XMLStreamException {
+        String t = reader.getAttributeValue(null, "t");
+        String ref = reader.getAttributeValue(null, "ref");
+        String si = reader.getAttributeValue(null, "si");
+        STCellFormulaType.Enum type = STCellFormulaType.NORMAL;
+        if (t != null) {
+            type = STCellFormulaType.Enum.forString(t);
+            if (type == null) {
+                throw new XMLStreamException("Invalid formula type '" + t + "'", reader.getLocation());
+            }
+        }
+        String text = reader.getElementText();
+        return new FormulaData(type, text, ref, (si == null) ? 0 : Long.parseLong(si));
+    }
+
+    /**
+     * @return the text of the inline string, or the {@link CTRst} if it contains formatting runs
+     *  or phonetic data
+     */
+    private static Object readInlineString(XMLStreamReader reader) throws XMLStreamException {
+        CTRst rst;
+        try {
+            rst = CTRst.Factory.parse(reader, FRAGMENT_OPTIONS);
+        } catch (XmlException e) {
+            throw new XMLStreamException(e);
+        }
+        if (rst.sizeOfRArray() == 0 && rst.sizeOfRPhArray() == 0 && !rst.isSetPhoneticPr()) {
+            return rst.isSetT() ? rst.getT() : "";
+        }
+        return rst;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int level = 1;
+        while (level > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                level++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                level--;
+            }
+        }
+    }
+}
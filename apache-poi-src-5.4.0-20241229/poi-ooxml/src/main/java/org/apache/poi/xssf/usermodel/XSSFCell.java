@@ -57,6 +57,7 @@ import org.apache.poi.xssf.model.SharedStringsTable;
 import org.apache.poi.xssf.model.StylesTable;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCell;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCellFormula;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTRst;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellFormulaType;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellType;
 
@@ -87,6 +88,12 @@ public final class XSSFCell extends CellBase {
      */
     private CTCell _cell;
 
+    /**
+     * the compact cell data, if the sheet was read with streamed cells and
+     * the xml bean was not created yet, otherwise {@code null}
+     */
+    private SheetDataStreamReader.CellData _data;
+
     /**
      * the XSSFRow this cell belongs to
      */
@@ -130,6 +137,21 @@ public final class XSSFCell extends CellBase {
         _stylesSource = row.getSheet().getWorkbook().getStylesSource();
     }
 
+    /**
+     * Construct a XSSFCell from the compact data of a sheet read with streamed cells.
+     *
+     * @param row the parent row.
+     * @param cellNum the 0-based column index
+     * @param data the cell values
+     */
+    XSSFCell(XSSFRow row, int cellNum, SheetDataStreamReader.CellData data) {
+        _data = data;
+        _row = row;
+        _cellNum = cellNum;
+        _sharedStringSource = row.getSheet().getWorkbook().getSharedStringSource();
+        _stylesSource = row.getSheet().getWorkbook().getStylesSource();
+    }
+
     @Override
     protected SpreadsheetVersion getSpreadsheetVersion() {
         return SpreadsheetVersion.EXCEL2007;
@@ -201,10 +223,10 @@ public final class XSSFCell extends CellBase {
             case BLANK:
                 return false;
             case BOOLEAN:
-                return _cell.isSetV() && TRUE_AS_STRING.equals(_cell.getV());
+                return TRUE_AS_STRING.equals(getRawValue());
             case FORMULA:
                 //YK: should throw an exception if requesting boolean value from a non-boolean formula
-                return _cell.isSetV() && TRUE_AS_STRING.equals(_cell.getV());
+                return TRUE_AS_STRING.equals(getRawValue());
             default:
                 throw typeMismatch(CellType.BOOLEAN, cellType, false);
         }
@@ -219,8 +241,9 @@ public final class XSSFCell extends CellBase {
      */
     @Override
     public void setCellValue(boolean value) {
-        _cell.setT(STCellType.B);
-        _cell.setV(value ? TRUE_AS_STRING : FALSE_AS_STRING);
+        CTCell cell = getCTCell();
+        cell.setT(STCellType.B);
+        cell.setV(value ? TRUE_AS_STRING : FALSE_AS_STRING);
     }
 
     /**
@@ -241,8 +264,8 @@ public final class XSSFCell extends CellBase {
             case BLANK:
                 return 0.0;
             case NUMERIC:
-                if(_cell.isSetV()) {
-                    String v = _cell.getV();
+                String v = getRawValue();
+                if(v != null) {
                     if (v.isEmpty()) {
                         return 0.0;
                     }
@@ -263,8 +286,9 @@ public final class XSSFCell extends CellBase {
 
     @Override
     public void setCellValueImpl(double value) {
-        _cell.setT(STCellType.N);
-        _cell.setV(String.valueOf(value));
+        CTCell cell = getCTCell();
+        cell.setT(STCellType.N);
+        cell.setV(String.valueOf(value));
     }
 
     /**
@@ -277,6 +301,21 @@ public final class XSSFCell extends CellBase {
      */
     @Override
     public String getStringCellValue() {
+        if (getCellType() == CellType.STRING && getXmlbeanCellType() == STCellType.S) {
+            // read the text only, so the shared strings table doesn't need to create the rich text item
+            String v = getRawValue();
+            if (v == null) {
+                return "";
+            }
+            try {
+                return _sharedStringSource.getStringAt(Integer.parseInt(v));
+            } catch (Throwable t) {
+                if (ExceptionUtil.isFatal(t)) {
+                    ExceptionUtil.rethrow(t);
+                }
+                return "";
+            }
+        }
         return getRichStringCellValue().getString();
     }
 
@@ -316,24 +355,28 @@ public final class XSSFCell extends CellBase {
 
     private XSSFRichTextString findStringValue() {
         XSSFRichTextString rt;
-        STCellType.Enum xmlbeanCellType = _cell.getT();
+        STCellType.Enum xmlbeanCellType = getXmlbeanCellType();
+        String v = getRawValue();
         if (xmlbeanCellType == STCellType.INLINE_STR) {
-            if(_cell.isSetIs()) {
+            Object inline = (_data != null) ? _data.inline : (_cell.isSetIs() ? _cell.getIs() : null);
+            if (inline instanceof CTRst) {
                 //string is expressed directly in the cell definition instead of implementing the shared string table.
-                rt = new XSSFRichTextString(_cell.getIs());
-            } else if (_cell.isSetV()) {
+                rt = new XSSFRichTextString((CTRst)inline);
+            } else if (inline != null) {
+                rt = new XSSFRichTextString((String)inline);
+            } else if (v != null) {
                 //cached result of a formula
-                rt = new XSSFRichTextString(_cell.getV());
+                rt = new XSSFRichTextString(v);
             } else {
                 rt = new XSSFRichTextString("");
             }
         } else if (xmlbeanCellType == STCellType.STR) {
             //cached formula value
-            rt = new XSSFRichTextString(_cell.isSetV() ? _cell.getV() : "");
+            rt = new XSSFRichTextString(v != null ? v : "");
         } else {
-            if (_cell.isSetV()) {
+            if (v != null) {
                 try {
-                    int idx = Integer.parseInt(_cell.getV());
+                    int idx = Integer.parseInt(v);
                     rt = (XSSFRichTextString)_sharedStringSource.getItemAt(idx);
                 } catch (Throwable t) {
                     if (ExceptionUtil.isFatal(t)) {
@@ -355,26 +398,27 @@ public final class XSSFCell extends CellBase {
 
     @Override
     protected void setCellValueImpl(RichTextString str) {
+        CTCell cell = getCTCell();
         CellType cellType = getCellType();
         if (cellType == CellType.FORMULA) {
-            _cell.setV(str.getString());
-            _cell.setT(STCellType.STR);
+            cell.setV(str.getString());
+            cell.setT(STCellType.STR);
         } else {
-            if(_cell.getT() == STCellType.INLINE_STR) {
+            if(cell.getT() == STCellType.INLINE_STR) {
                 //set the 'pre-evaluated result
-                _cell.setV(str.getString());
+                cell.setV(str.getString());
             } else if (str instanceof XSSFRichTextString) {
-                _cell.setT(STCellType.S);
+                cell.setT(STCellType.S);
                 XSSFRichTextString rt = (XSSFRichTextString)str;
                 rt.setStylesTableReference(_stylesSource);
                 int sRef = _sharedStringSource.addSharedStringItem(rt);
-                _cell.setV(Integer.toString(sRef));
+                cell.setV(Integer.toString(sRef));
             } else {
-                _cell.setT(STCellType.S);
+                cell.setT(STCellType.S);
                 XSSFRichTextString rt = new XSSFRichTextString(str.getString());
                 rt.setStylesTableReference(_stylesSource);
                 int sRef = _sharedStringSource.addSharedStringItem(rt);
-                _cell.setV(Integer.toString(sRef));
+                cell.setV(Integer.toString(sRef));
             }
         }
     }
@@ -404,6 +448,9 @@ public final class XSSFCell extends CellBase {
             throw typeMismatch(CellType.FORMULA, cellType, false);
         }
 
+        if (_data != null) {
+            return getStreamedCellFormula(fpb);
+        }
         CTCellFormula f = _cell.getF();
         if (isPartOfArrayFormulaGroup()) {
             /* In an excel generated array formula, the formula property might be set, but the string is empty in related cells */
@@ -422,6 +469,53 @@ public final class XSSFCell extends CellBase {
         }
     }
 
+    /**
+     * Same as {@link #getCellFormula(BaseXSSFEvaluationWorkbook)} for the compact data of streamed cells
+     */
+    private String getStreamedCellFormula(BaseXSSFEvaluationWorkbook fpb) {
+        SheetDataStreamReader.FormulaData f = _data.formula;
+        if (isPartOfArrayFormulaGroup()) {
+            if (f == null || f.text.isEmpty()) {
+                XSSFCell cell = getSheet().getFirstCellInArrayFormula(this);
+                return cell.getCellFormula(fpb);
+            }
+        }
+        if (f == null) {
+            return null;
+        } else if (f.type == STCellFormulaType.SHARED) {
+            return convertSharedFormula(Math.toIntExact(f.si),
+                    fpb == null ? XSSFEvaluationWorkbook.create(getSheet().getWorkbook()) : fpb);
+        } else {
+            return f.text;
+        }
+    }
+
+    /**
+     * package use only - the formula element this cell's formula is parsed from, i.e. the
+     * master formula for cells of a shared formula group
+     *
+     * @return the formula element, or {@code null} if the cell has no formula of its own
+     *  or takes it from the first cell of an array formula
+     */
+    CTCellFormula getFormulaSource() {
+        if (_data != null) {
+            // only the detached master formulas of shared formulas exist as beans for streamed cells
+            SheetDataStreamReader.FormulaData f = _data.formula;
+            if (f == null || f.type != STCellFormulaType.SHARED) {
+                return null;
+            }
+            return getSheet().getSharedFormula(Math.toIntExact(f.si));
+        }
+        CTCellFormula f = _cell.getF();
+        if (f == null || (f.getStringValue().isEmpty() && isPartOfArrayFormulaGroup())) {
+            return null;
+        }
+        if (f.getT() == STCellFormulaType.SHARED) {
+            return getSheet().getSharedFormula(Math.toIntExact(f.getSi()));
+        }
+        return f;
+    }
+
     /**
      * Creates a non shared formula from the shared formula counterpart
      *
@@ -446,7 +540,14 @@ public final class XSSFCell extends CellBase {
         int sheetIndex = sheet.getWorkbook().getSheetIndex(sheet);
         SharedFormula sf = new SharedFormula(SpreadsheetVersion.EXCEL2007);
 
-        Ptg[] ptgs = FormulaParser.parse(sharedFormula, fpb, FormulaType.CELL, sheetIndex, getRowIndex());
+        Ptg[] ptgs;
+        if (sharedFormula.indexOf('[') == -1) {
+            // all cells of the group parse the same text at the master cell, so this is parsed only once
+            ptgs = FormulaParser.parse(sharedFormula, fpb, FormulaType.CELL, sheetIndex,
+                    ref.getFirstRow(), ref.getFirstColumn(), fpb.getFormulaParseCache());
+        } else {
+            ptgs = FormulaParser.parse(sharedFormula, fpb, FormulaType.CELL, sheetIndex, getRowIndex());
+        }
         Ptg[] fmla = sf.convertSharedFormulas(ptgs,
                 getRowIndex() - ref.getFirstRow(), getColumnIndex() - ref.getFirstColumn());
         return FormulaRenderer.toFormulaString(fpb, fmla);
@@ -477,7 +578,7 @@ public final class XSSFCell extends CellBase {
 
     /* package */ void setCellArrayFormula(String formula, CellRangeAddress range) {
         setFormula(formula, FormulaType.ARRAY);
-        CTCellFormula cellFormula = _cell.getF();
+        CTCellFormula cellFormula = getCTCell().getF();
         cellFormula.setT(STCellFormulaType.ARRAY);
         cellFormula.setRef(range.formatAsString());
     }
@@ -492,12 +593,14 @@ public final class XSSFCell extends CellBase {
         if (wb.getCellFormulaValidation()) {
             XSSFEvaluationWorkbook fpb = XSSFEvaluationWorkbook.create(wb);
             //validate through the FormulaParser
-            FormulaParser.parse(formula, fpb, formulaType, wb.getSheetIndex(getSheet()), getRowIndex());
+            FormulaParser.parse(formula, fpb, formulaType, wb.getSheetIndex(getSheet()), getRowIndex(), getColumnIndex(),
+                    wb.getFormulaParseCache());
         }
 
+        CTCell cell = getCTCell();
         CTCellFormula f;
-        if (_cell.isSetF()) {
-            f = _cell.getF();
+        if (cell.isSetF()) {
+            f = cell.getF();
             f.setStringValue(formula);
             if(f.getT() == STCellFormulaType.SHARED){
                 getRow().getSheet().onReadCell(this);
@@ -505,16 +608,17 @@ public final class XSSFCell extends CellBase {
         } else {
             f = CTCellFormula.Factory.newInstance();
             f.setStringValue(formula);
-            _cell.setF(f);
+            cell.setF(f);
         }
     }
 
     @Override
     protected void removeFormulaImpl() {
+        CTCell cell = getCTCell();
         _row.getSheet().getWorkbook().onDeleteFormula(this);
-        if (_cell.isSetF()) {
+        if (cell.isSetF()) {
             _row.getSheet().onDeleteFormula(this, null);
-            _cell.unsetF();
+            cell.unsetF();
         }
     }
 
@@ -544,7 +648,7 @@ public final class XSSFCell extends CellBase {
      * @return A1 style reference to the location of this cell
      */
     public String getReference() {
-        String ref = _cell.getR();
+        String ref = (_data != null) ? null : _cell.getR();
         if(ref == null) {
             return getAddress().formatAsString();
         }
@@ -571,7 +675,11 @@ public final class XSSFCell extends CellBase {
     private XSSFCellStyle getExplicitCellStyle() {
         XSSFCellStyle style = null;
         if(_stylesSource.getNumCellStyles() > 0) {
-            if (_cell.isSetS()) {
+            if (_data != null) {
+                if (_data.style != -1) {
+                    style = _stylesSource.getStyleAt(_data.style);
+                }
+            } else if (_cell.isSetS()) {
                 long idx = _cell.getS();
                 style = _stylesSource.getStyleAt(Math.toIntExact(idx));
             }
@@ -614,16 +722,17 @@ public final class XSSFCell extends CellBase {
      */
     @Override
     public void setCellStyle(CellStyle style) {
+        CTCell cell = getCTCell();
         if(style == null) {
-            if(_cell.isSetS()) {
-                _cell.unsetS();
+            if(cell.isSetS()) {
+                cell.unsetS();
             }
         } else {
             XSSFCellStyle xStyle = (XSSFCellStyle)style;
             xStyle.verifyBelongsToStylesSource(_stylesSource);
 
             long idx = _stylesSource.putStyle(xStyle);
-            _cell.setS(idx);
+            cell.setS(idx);
         }
     }
 
@@ -638,6 +747,10 @@ public final class XSSFCell extends CellBase {
      * @return true if the cell is of a formula type POI can handle
      */
     private boolean isFormulaCell() {
+        if (_data != null) {
+            return (_data.formula != null && _data.formula.type != STCellFormulaType.DATA_TABLE)
+                    || getSheet().isCellInArrayFormulaContext(this);
+        }
         return (_cell.isSetF() && _cell.getF().getT() != STCellFormulaType.DATA_TABLE)
                 || getSheet().isCellInArrayFormulaContext(this);
     }
@@ -680,11 +793,12 @@ public final class XSSFCell extends CellBase {
      * Detect cell type based on the "t" attribute of the CTCell bean
      */
     private CellType getBaseCellType(boolean blankCells) {
-        switch (_cell.getT().intValue()) {
+        STCellType.Enum xmlbeanCellType = getXmlbeanCellType();
+        switch (xmlbeanCellType.intValue()) {
             case STCellType.INT_B:
                 return CellType.BOOLEAN;
             case STCellType.INT_N:
-                if (!_cell.isSetV() && blankCells) {
+                if (getRawValue() == null && blankCells) {
                     // ooxml does have a separate cell type of 'blank'.  A blank cell gets encoded as
                     // (either not present or) a numeric cell with no value set.
                     // The formula evaluator (and perhaps other clients of this interface) needs to
@@ -700,10 +814,17 @@ public final class XSSFCell extends CellBase {
             case STCellType.INT_STR:
                 return CellType.STRING;
             default:
-                throw new IllegalStateException("Illegal cell type: " + this._cell.getT());
+                throw new IllegalStateException("Illegal cell type: " + xmlbeanCellType);
         }
     }
 
+    /**
+     * @return the "t" attribute of the cell
+     */
+    private STCellType.Enum getXmlbeanCellType() {
+        return (_data != null) ? _data.type : _cell.getT();
+    }
+
     /**
      * Get the value of the cell as a date.
      * <p>
@@ -777,7 +898,7 @@ public final class XSSFCell extends CellBase {
             throw typeMismatch(CellType.ERROR, cellType, false);
         }
 
-        return _cell.getV();
+        return getRawValue();
     }
     /**
      * Get the value of the cell as an error code.
@@ -827,8 +948,9 @@ public final class XSSFCell extends CellBase {
      *        cell and set its value.
      */
     public void setCellErrorValue(FormulaError error) {
-        _cell.setT(STCellType.E);
-        _cell.setV(error.getString());
+        CTCell cell = getCTCell();
+        cell.setT(STCellType.E);
+        cell.setV(error.getString());
     }
 
     @Override
@@ -841,12 +963,13 @@ public final class XSSFCell extends CellBase {
      * This method erases all the data previously associated with this cell.
      */
     private void setBlankPrivate(){
+        CTCell cell = getCTCell();
         CTCell blank = CTCell.Factory.newInstance();
-        blank.setR(_cell.getR());
-        if(_cell.isSetS()) {
-            blank.setS(_cell.getS());
+        blank.setR(cell.getR());
+        if(cell.isSetS()) {
+            blank.setS(cell.getS());
         }
-        _cell.set(blank);
+        cell.set(blank);
     }
 
     /**
@@ -856,9 +979,10 @@ public final class XSSFCell extends CellBase {
      */
     protected void setCellNum(int num) {
         checkBounds(num);
+        CTCell cell = getCTCell();
         _cellNum = num;
         String ref = new CellReference(getRowIndex(), getColumnIndex()).formatAsString();
-        _cell.setR(ref);
+        cell.setR(ref);
     }
 
     @Override
@@ -872,9 +996,10 @@ public final class XSSFCell extends CellBase {
      * @param evalWb BaseXSSFEvaluationWorkbook already in use, or null if a new implicit one should be used
      */
     protected void setCellType(CellType cellType, BaseXSSFEvaluationWorkbook evalWb) {
+        CTCell cell = getCTCell();
         CellType prevType = getCellType();
         if(prevType == CellType.FORMULA && cellType != CellType.FORMULA) {
-            if (_cell.isSetF()) {
+            if (cell.isSetF()) {
                 _row.getSheet().onDeleteFormula(this, evalWb);
             }
             getSheet().getWorkbook().onDeleteFormula(this);
@@ -882,7 +1007,7 @@ public final class XSSFCell extends CellBase {
 
         switch (cellType) {
             case NUMERIC:
-                _cell.setT(STCellType.N);
+                cell.setT(STCellType.N);
                 break;
             case STRING:
                 if(prevType != CellType.STRING){
@@ -890,17 +1015,17 @@ public final class XSSFCell extends CellBase {
                     XSSFRichTextString rt = new XSSFRichTextString(str);
                     rt.setStylesTableReference(_stylesSource);
                     int sRef = _sharedStringSource.addSharedStringItem(rt);
-                    _cell.setV(Integer.toString(sRef));
+                    cell.setV(Integer.toString(sRef));
                 }
-                _cell.setT(STCellType.S);
+                cell.setT(STCellType.S);
                 break;
             case FORMULA:
-                if(!_cell.isSetF()){
+                if(!cell.isSetF()){
                     CTCellFormula f =  CTCellFormula.Factory.newInstance();
                     f.setStringValue("0");
-                    _cell.setF(f);
-                    if(_cell.isSetT()) {
-                        _cell.unsetT();
+                    cell.setF(f);
+                    if(cell.isSetT()) {
+                        cell.unsetT();
                     }
                 }
                 break;
@@ -909,20 +1034,20 @@ public final class XSSFCell extends CellBase {
                 break;
             case BOOLEAN:
                 String newVal = convertCellValueToBoolean() ? TRUE_AS_STRING : FALSE_AS_STRING;
-                _cell.setT(STCellType.B);
-                _cell.setV(newVal);
+                cell.setT(STCellType.B);
+                cell.setV(newVal);
                 break;
 
             case ERROR:
-                _cell.setT(STCellType.E);
+                cell.setT(STCellType.E);
                 break;
 
 
             default:
                 throw new IllegalArgumentException("Illegal cell type: " + cellType);
         }
-        if (cellType != CellType.FORMULA && _cell.isSetF()) {
-            _cell.unsetF();
+        if (cellType != CellType.FORMULA && cell.isSetF()) {
+            cell.unsetF();
         }
     }
 
@@ -972,7 +1097,7 @@ public final class XSSFCell extends CellBase {
      *     {@code null} for blank cells.
      */
     public String getRawValue() {
-        return _cell.getV();
+        return (_data != null) ? _data.value : _cell.getV();
     }
 
 
@@ -1090,6 +1215,10 @@ public final class XSSFCell extends CellBase {
      */
     @Internal
     public CTCell getCTCell(){
+        if (_data != null) {
+            // the cell was read with streamed cells, create the xml beans of the sheet now
+            getSheet().materializeCells();
+        }
         return _cell;
     }
 
@@ -1101,6 +1230,37 @@ public final class XSSFCell extends CellBase {
     @Internal
     public void setCTCell(CTCell cell) {
         _cell = cell;
+        _data = null;
+    }
+
+    /**
+     * package use only - whether this cell holds the compact data of a sheet read with streamed cells
+     */
+    boolean isStreamed() {
+        return _data != null;
+    }
+
+    /**
+     * package use only - for streamed cells, a detached bean of a formula applying to a range of cells,
+     * i.e. the master formula of a shared formula group or an array formula
+     *
+     * @return the formula bean or {@code null}, if the cell has no formula with a range
+     */
+    CTCellFormula getStreamedRangeFormula() {
+        SheetDataStreamReader.FormulaData data = _data.formula;
+        if (data == null || data.ref == null) {
+            return null;
+        }
+        CTCellFormula f = CTCellFormula.Factory.newInstance();
+        f.setStringValue(data.text);
+        f.setRef(data.ref);
+        if (data.type != STCellFormulaType.NORMAL) {
+            f.setT(data.type);
+        }
+        if (data.type == STCellFormulaType.SHARED) {
+            f.setSi(data.si);
+        }
+        return f;
     }
 
     /**
@@ -1122,14 +1282,13 @@ public final class XSSFCell extends CellBase {
 
         switch (cellType) {
             case BOOLEAN:
-                return TRUE_AS_STRING.equals(_cell.getV());
+                return TRUE_AS_STRING.equals(getRawValue());
             case STRING:
-                int sstIndex = Integer.parseInt(_cell.getV());
-                RichTextString rt = _sharedStringSource.getItemAt(sstIndex);
-                String text = rt.getString();
+                int sstIndex = Integer.parseInt(getRawValue());
+                String text = _sharedStringSource.getStringAt(sstIndex);
                 return Boolean.parseBoolean(text);
             case NUMERIC:
-                return Double.parseDouble(_cell.getV()) != 0;
+                return Double.parseDouble(getRawValue()) != 0;
 
             case ERROR:
                 // fall-through
@@ -1148,12 +1307,11 @@ public final class XSSFCell extends CellBase {
             case BLANK:
                 return "";
             case BOOLEAN:
-                return TRUE_AS_STRING.equals(_cell.getV()) ? TRUE : FALSE;
+                return TRUE_AS_STRING.equals(getRawValue()) ? TRUE : FALSE;
             case STRING:
                 try {
-                    int sstIndex = Integer.parseInt(_cell.getV());
-                    RichTextString rt = _sharedStringSource.getItemAt(sstIndex);
-                    return rt.getString();
+                    int sstIndex = Integer.parseInt(getRawValue());
+                    return _sharedStringSource.getStringAt(sstIndex);
                 } catch (Throwable t) {
                     if (ExceptionUtil.isFatal(t)) {
                         ExceptionUtil.rethrow(t);
@@ -1162,7 +1320,7 @@ public final class XSSFCell extends CellBase {
                 }
             case NUMERIC:
             case ERROR:
-                return _cell.getV();
+                return getRawValue();
             case FORMULA:
                 // should really evaluate, but HSSFCell can't call HSSFFormulaEvaluator
                 // just use cached formula result instead
@@ -1171,7 +1329,7 @@ public final class XSSFCell extends CellBase {
                 throw new IllegalStateException("Unexpected cell type (" + cellType + ")");
         }
         cellType = getBaseCellType(false);
-        String textValue = _cell.getV();
+        String textValue = getRawValue();
         switch (cellType) {
             case BOOLEAN:
                 if (TRUE_AS_STRING.equals(textValue)) {
@@ -1203,7 +1361,7 @@ public final class XSSFCell extends CellBase {
             throw new IllegalStateException("Cell " + new CellReference(this).formatAsString()
                     + " is not part of an array formula.");
         }
-        String formulaRef = cell._cell.getF().getRef();
+        String formulaRef = (cell._data != null) ? cell._data.formula.ref : cell._cell.getF().getRef();
         return CellRangeAddress.valueOf(formulaRef);
     }
 
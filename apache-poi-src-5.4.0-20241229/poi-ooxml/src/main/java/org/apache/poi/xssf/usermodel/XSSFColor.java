@@ -377,7 +377,19 @@ public class XSSFColor extends ExtendedColor {
 
     @Override
     public int hashCode(){
-        return ctColor.toString().hashCode();
+        // only hash the properties compared in equals(), so equivalent colors
+        // with a different XML representation end up in the same bucket
+        int hash = Boolean.hashCode(isAuto());
+        if (isRGB()) {
+            hash = 31 * hash + Arrays.hashCode(getARGB());
+        }
+        if (isThemed()) {
+            hash = 31 * hash + getTheme();
+        }
+        if (isIndexed()) {
+            hash = 31 * hash + getIndexed();
+        }
+        return hash;
     }
 
     // Helper methods for {@link #equals(Object)}
@@ -453,7 +453,7 @@ public final class XSSFDrawing extends POIXMLDocumentPart implements Drawing<XSS
             PackageRelationshipTypes.IMAGE_PART);
 
         // add OLE part metadata to sheet
-        CTWorksheet cwb = sh.getCTWorksheet();
+        CTWorksheet cwb = sh.getCTWorksheetWithoutCells();
         CTOleObjects oo = cwb.isSetOleObjects() ? cwb.getOleObjects() : cwb.addNewOleObjects();
 
         CTOleObject ole1 = oo.addNewOleObject();
@@ -82,7 +82,7 @@ final class XSSFEvaluationCell implements EvaluationCell {
     }
     @Override
     public String getStringCellValue() {
-        return _cell.getRichStringCellValue().getString();
+        return _cell.getStringCellValue();
     }
     
     @Override
@@ -19,6 +19,7 @@ package org.apache.poi.xssf.usermodel;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.apache.poi.ss.formula.EvaluationCell;
 import org.apache.poi.ss.formula.EvaluationSheet;
@@ -26,6 +27,8 @@ import org.apache.poi.ss.formula.FormulaParser;
 import org.apache.poi.ss.formula.FormulaType;
 import org.apache.poi.ss.formula.ptg.Ptg;
 import org.apache.poi.util.Internal;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCellFormula;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellFormulaType;
 
 /**
  * Internal POI use only
@@ -81,7 +84,17 @@ public final class XSSFEvaluationWorkbook extends BaseXSSFEvaluationWorkbook {
     public Ptg[] getFormulaTokens(EvaluationCell evalCell) {
         final XSSFCell cell = ((XSSFEvaluationCell)evalCell).getXSSFCell();
         final int sheetIndex = _uBook.getSheetIndex(cell.getSheet());
-        return FormulaParser.parse(cell.getCellFormula(this), this,
-                FormulaType.CELL, sheetIndex, cell.getRowIndex());
+        final Supplier<Ptg[]> parser = () -> FormulaParser.parse(cell.getCellFormula(this), this,
+                FormulaType.CELL, sheetIndex, cell.getRowIndex(), cell.getColumnIndex(), getFormulaParseCache());
+
+        // shared formulas are validated against their master formula and range,
+        // together with the cell position this determines the offset into the group
+        final CTCellFormula source = cell.getFormulaSource();
+        if (source == null) {
+            return parser.get();
+        }
+        final String sharedRef = (source.getT() == STCellFormulaType.SHARED) ? source.getRef() : null;
+        return getCachedFormulaTokens(cell, source.getStringValue(), sharedRef,
+                sheetIndex, cell.getRowIndex(), cell.getColumnIndex(), parser);
     }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.poi.xssf.usermodel;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.apache.poi.ss.formula.BaseFormulaEvaluator;
 import org.apache.poi.ss.formula.EvaluationCell;
 import org.apache.poi.ss.formula.IStabilityClassifier;
@@ -57,12 +59,15 @@ public final class XSSFFormulaEvaluator extends BaseXSSFFormulaEvaluator {
 
     public void notifySetFormula(Cell cell) {
         _bookEvaluator.notifyUpdateCell(new XSSFEvaluationCell((XSSFCell)cell));
+        dropCachedFormulaTokens(cell);
     }
     public void notifyDeleteCell(Cell cell) {
         _bookEvaluator.notifyDeleteCell(new XSSFEvaluationCell((XSSFCell)cell));
+        dropCachedFormulaTokens(cell);
     }
     public void notifyUpdateCell(Cell cell) {
         _bookEvaluator.notifyUpdateCell(new XSSFEvaluationCell((XSSFCell)cell));
+        dropCachedFormulaTokens(cell);
     }
 
     /**
@@ -100,6 +105,16 @@ public final class XSSFFormulaEvaluator extends BaseXSSFFormulaEvaluator {
         evaluateAllFormulaCells(_book, this);
     }
 
+    @Override
+    public void evaluateAll(ForkJoinPool pool) {
+        evaluateAllFormulaCells(_book, this, pool);
+    }
+
+    @Override
+    protected XSSFFormulaEvaluator createParallelEvaluator() {
+        return new XSSFFormulaEvaluator(_book, _bookEvaluator.copyFor(XSSFEvaluationWorkbook.create(_book)));
+    }
+
     /**
      * Turns a XSSFCell into a XSSFEvaluationCell
      */
@@ -231,6 +231,7 @@ public final class XSSFName implements Name {
         } else {
             _ctName.setLocalSheetId(index);
         }
+        _workbook.clearFormulaParseCache();
     }
 
     /**
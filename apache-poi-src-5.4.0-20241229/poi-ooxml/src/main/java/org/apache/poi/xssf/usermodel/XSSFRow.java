@@ -23,7 +23,6 @@ import java.util.Iterator;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
-import java.util.TreeMap;
 
 import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.formula.FormulaShifter;
@@ -36,9 +35,11 @@ import org.apache.poi.ss.usermodel.FormulaError;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.helpers.RowShifter;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
 import org.apache.poi.ss.util.CellUtil;
 import org.apache.poi.util.Beta;
 import org.apache.poi.util.Internal;
+import org.apache.poi.util.SortedIntMap;
 import org.apache.poi.xssf.model.StylesTable;
 import org.apache.poi.xssf.usermodel.helpers.XSSFRowShifter;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCell;
@@ -55,9 +56,9 @@ public class XSSFRow implements Row, Comparable<XSSFRow> {
 
     /**
      * Cells of this row keyed by their column indexes.
-     * The TreeMap ensures that the cells are ordered by columnIndex in the ascending order.
+     * The SortedIntMap ensures that the cells are ordered by columnIndex in the ascending order.
      */
-    private final TreeMap<Integer, XSSFCell> _cells;
+    private final SortedIntMap<XSSFCell> _cells;
 
     /**
      * the parent sheet
@@ -71,15 +72,35 @@ public class XSSFRow implements Row, Comparable<XSSFRow> {
      * @param sheet the parent sheet.
      */
     protected XSSFRow(CTRow row, XSSFSheet sheet) {
+        this(row, sheet, null);
+    }
+
+    /**
+     * Construct a XSSFRow, optionally from the compact cell data of a sheet read with streamed cells.
+     *
+     * @param row the xml bean containing all cell definitions for this row, or only the row properties
+     *  if {@code streamedCells} are given
+     * @param sheet the parent sheet.
+     * @param streamedCells the cells of this row or {@code null} to take them from {@code row}
+     */
+    XSSFRow(CTRow row, XSSFSheet sheet, SheetDataStreamReader.RowData streamedCells) {
         _row = row;
         _sheet = sheet;
-        _cells = new TreeMap<>();
-        for (CTCell c : row.getCArray()) {
-            XSSFCell cell = new XSSFCell(this, c);
-            // Performance optimization for bug 57840: explicit boxing is slightly faster than auto-unboxing, though may use more memory
-            final Integer colI = Integer.valueOf(cell.getColumnIndex()); // NOSONAR
-            _cells.put(colI, cell);
-            sheet.onReadCell(cell);
+        if (streamedCells == null) {
+            CTCell[] cArray = row.getCArray();
+            _cells = new SortedIntMap<>(Math.max(cArray.length, 1));
+            for (CTCell c : cArray) {
+                XSSFCell cell = new XSSFCell(this, c);
+                _cells.put(cell.getColumnIndex(), cell);
+                sheet.onReadCell(cell);
+            }
+        } else {
+            _cells = new SortedIntMap<>(Math.max(streamedCells.size(), 1));
+            for (int i = 0; i < streamedCells.size(); i++) {
+                XSSFCell cell = new XSSFCell(this, streamedCells.getColumn(i), streamedCells.getCell(i));
+                _cells.put(cell.getColumnIndex(), cell);
+                sheet.onReadCell(cell);
+            }
         }
 
         if (! row.isSetR()) {
@@ -210,10 +231,9 @@ public class XSSFRow implements Row, Comparable<XSSFRow> {
      */
     @Override
     public XSSFCell createCell(int columnIndex, CellType type) {
-        // Performance optimization for bug 57840: explicit boxing is slightly faster than auto-unboxing, though may use more memory
-        final Integer colI = Integer.valueOf(columnIndex); // NOSONAR
+        _sheet.materializeCells();
         CTCell ctCell;
-        XSSFCell prev = _cells.get(colI);
+        XSSFCell prev = _cells.get(columnIndex);
         if(prev != null){
             ctCell = prev.getCTCell();
             ctCell.set(CTCell.Factory.newInstance());
@@ -234,7 +254,7 @@ public class XSSFRow implements Row, Comparable<XSSFRow> {
             setDefaultValue(xcell, type);
         }
 
-        _cells.put(colI, xcell);
+        _cells.put(columnIndex, xcell);
         return xcell;
     }
 
@@ -280,9 +300,7 @@ public class XSSFRow implements Row, Comparable<XSSFRow> {
             throw new IllegalArgumentException("Cell index must be >= 0");
         }
 
-        // Performance optimization for bug 57840: explicit boxing is slightly faster than auto-unboxing, though may use more memory
-        final Integer colI = Integer.valueOf(cellnum); // NOSONAR
-        XSSFCell cell = _cells.get(colI);
+        XSSFCell cell = _cells.get(cellnum);
         switch (policy) {
             case RETURN_NULL_AND_BLANK:
                 return cell;
@@ -508,10 +526,10 @@ public class XSSFRow implements Row, Comparable<XSSFRow> {
         if (cell.getRow() != this) {
             throw new IllegalArgumentException("Specified cell does not belong to this row");
         }
-        //noinspection SuspiciousMethodCalls
-        if(!_cells.containsValue(cell)) {
+        if(_cells.get(cell.getColumnIndex()) != cell) {
             throw new IllegalArgumentException("the row does not contain this cell");
         }
+        _sheet.materializeCells();
 
         XSSFCell xcell = (XSSFCell)cell;
         if(xcell.isPartOfArrayFormulaGroup()) {
@@ -520,9 +538,7 @@ public class XSSFRow implements Row, Comparable<XSSFRow> {
         if(cell.getCellType() == CellType.FORMULA) {
             _sheet.getWorkbook().onDeleteFormula(xcell);
         }
-        // Performance optimization for bug 57840: explicit boxing is slightly faster than auto-unboxing, though may use more memory
-        final Integer colI = Integer.valueOf(cell.getColumnIndex()); // NOSONAR
-        XSSFCell removed = _cells.remove(colI);
+        XSSFCell removed = _cells.remove(cell.getColumnIndex());
 
         // also remove the corresponding CTCell from the _row.cArray,
         // it may not be at the same position right now
@@ -543,9 +559,32 @@ public class XSSFRow implements Row, Comparable<XSSFRow> {
      */
     @Internal
     public CTRow getCTRow(){
+        _sheet.materializeCells();
         return _row;
     }
 
+    /**
+     * Attaches the CTCell beans of this row to the cells read with streamed cells,
+     * called by {@link XSSFSheet#materializeCells()} after the beans were added to the CTRow.
+     */
+    void materializeCells() {
+        CTCell[] cArray = _row.getCArray();
+        int[] columns = new int[cArray.length];
+        int lastColumn = -1;
+        for (int i = 0; i < cArray.length; i++) {
+            String r = cArray[i].getR();
+            columns[i] = (r != null) ? new CellReference(r).getCol() : lastColumn + 1;
+            lastColumn = Math.max(lastColumn, columns[i]);
+        }
+        // if a column occurs more than once, the last cell was kept, so go backwards
+        for (int i = cArray.length - 1; i >= 0; i--) {
+            XSSFCell cell = _cells.get(columns[i]);
+            if (cell != null && cell.isStreamed()) {
+                cell.setCTCell(cArray[i]);
+            }
+        }
+    }
+
     /**
      * Fired when the document is written to an output stream.
      *
@@ -745,6 +784,7 @@ public class XSSFRow implements Row, Comparable<XSSFRow> {
     @Override
     public void shiftCellsRight(int firstShiftColumnIndex, int lastShiftColumnIndex, int step) {
         RowShifter.validateShiftParameters(firstShiftColumnIndex, lastShiftColumnIndex, step);
+        _sheet.materializeCells();
 
         for (int columnIndex = lastShiftColumnIndex; columnIndex >= firstShiftColumnIndex; columnIndex--){ // process cells backwards, because of shifting
             shiftCell(columnIndex, step);
@@ -768,6 +808,7 @@ public class XSSFRow implements Row, Comparable<XSSFRow> {
     @Override
     public void shiftCellsLeft(int firstShiftColumnIndex, int lastShiftColumnIndex, int step) {
         RowShifter.validateShiftLeftParameters(firstShiftColumnIndex, lastShiftColumnIndex, step);
+        _sheet.materializeCells();
 
         for (int columnIndex = firstShiftColumnIndex; columnIndex <= lastShiftColumnIndex; columnIndex++){
             shiftCell(columnIndex, -step);
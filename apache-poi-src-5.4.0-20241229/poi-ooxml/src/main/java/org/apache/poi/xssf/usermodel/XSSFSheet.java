@@ -53,6 +53,7 @@ import org.apache.poi.ss.util.SheetUtil;
 import org.apache.poi.util.Beta;
 import org.apache.poi.util.Internal;
 import org.apache.poi.util.Removal;
+import org.apache.poi.util.SortedIntMap;
 import org.apache.poi.util.Units;
 import org.apache.poi.xssf.model.Comments;
 import org.apache.poi.xssf.usermodel.XSSFPivotTable.PivotTableReferenceConfigurator;
@@ -90,7 +91,7 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
     protected CTSheet sheet;
     protected CTWorksheet worksheet;
 
-    private final SortedMap<Integer, XSSFRow> _rows = new TreeMap<>();
+    private final SortedIntMap<XSSFRow> _rows = new SortedIntMap<>();
     private List<XSSFHyperlink> hyperlinks;
     private ColumnHelper columnHelper;
     private Comments sheetComments;
@@ -104,6 +105,18 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
     private final XSSFDataValidationHelper dataValidationHelper;
     private XSSFVMLDrawing xssfvmlDrawing;
     private CellRangeAddress dimensionOverride;
+    /**
+     * true, if the cells were read in the compact form and the CTRow beans don't contain CTCell beans yet
+     */
+    private boolean cellsStreamed;
+    /**
+     * true, if the workbook was opened with lazily read sheets and the sheet part was not read yet
+     */
+    private boolean readDeferred;
+    /**
+     * true, if the pivot tables were added to the workbook before the sheet part was read
+     */
+    private boolean pivotTablesRegistered;
 
     /**
      * Creates new XSSFSheet   - called by XSSFWorkbook to create a sheet from scratch.
@@ -145,12 +158,45 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
     @Override
     protected void onDocumentRead() {
         try (InputStream stream = getPackagePart().getInputStream()) {
-            read(stream);
+            if (getWorkbook().isStreamingCells()
+                    && XSSFRelation.WORKSHEET.getContentType().equals(getPackagePart().getContentType())) {
+                readStreamingCells(stream);
+            } else {
+                read(stream);
+            }
         } catch (IOException | ArithmeticException e){
             throw new POIXMLException(e);
         }
     }
 
+    /**
+     * Marks this sheet to be read on first access instead of when the workbook is opened.
+     *
+     * @see XSSFWorkbook#XSSFWorkbook(org.apache.poi.openxml4j.opc.OPCPackage, boolean, boolean)
+     */
+    void deferRead() {
+        readDeferred = true;
+        // new pivot tables and caches are numbered by the count of the existing ones,
+        // so the pivot tables of unread sheets have to be known to the workbook
+        for (RelationPart rp : getRelationParts()) {
+            POIXMLDocumentPart p = rp.getDocumentPart();
+            if (p instanceof XSSFPivotTable) {
+                getWorkbook().getPivotTables().add((XSSFPivotTable) p);
+            }
+        }
+        pivotTablesRegistered = true;
+    }
+
+    /**
+     * Reads the sheet part, if this was deferred until the sheet is accessed
+     */
+    void readIfDeferred() {
+        if (readDeferred) {
+            readDeferred = false;
+            onDocumentRead();
+        }
+    }
+
     protected void read(InputStream is) throws IOException {
         try {
             worksheet = WorksheetDocument.Factory.parse(is, DEFAULT_XML_OPTIONS).getWorksheet();
@@ -158,8 +204,29 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
             throw new POIXMLException(e);
         }
 
+        initSheet(null);
+    }
+
+    /**
+     * Reads the worksheet without creating CTCell beans, the cells are kept in a compact form
+     * until {@link #materializeCells()} is called.
+     */
+    private void readStreamingCells(InputStream is) {
+        SheetDataStreamReader reader;
+        try {
+            reader = SheetDataStreamReader.create(is);
+            worksheet = WorksheetDocument.Factory.parse(reader, DEFAULT_XML_OPTIONS).getWorksheet();
+        } catch (XmlException e){
+            throw new POIXMLException(e);
+        }
+
+        cellsStreamed = true;
+        initSheet(reader.getRows());
+    }
+
+    private void initSheet(List<SheetDataStreamReader.RowData> streamedRows) {
         columnHelper = new ColumnHelper(worksheet);
-        initRows(worksheet);
+        initRows(worksheet, streamedRows);
         // Look for bits we're interested in
         for(RelationPart rp : getRelationParts()){
             POIXMLDocumentPart p = rp.getDocumentPart();
@@ -170,7 +237,7 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
             if(p instanceof XSSFTable) {
                 tables.put( rp.getRelationship().getId(), (XSSFTable)p );
             }
-            if(p instanceof XSSFPivotTable) {
+            if(p instanceof XSSFPivotTable && !pivotTablesRegistered) {
                 getWorkbook().getPivotTables().add((XSSFPivotTable) p);
             }
         }
@@ -191,6 +258,10 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
     }
 
     private void initRows(CTWorksheet worksheetParam) {
+        initRows(worksheetParam, null);
+    }
+
+    private void initRows(CTWorksheet worksheetParam, List<SheetDataStreamReader.RowData> streamedRows) {
         if (worksheetParam.getSheetData() == null || worksheetParam.getSheetData().getRowArray() == null) {
             throw new IllegalArgumentException("Had empty sheet data when initializing the sheet");
         }
@@ -199,12 +270,43 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
         tables = new TreeMap<>();
         sharedFormulas = new HashMap<>();
         arrayFormulas = new ArrayList<>();
-        for (CTRow row : worksheetParam.getSheetData().getRowArray()) {
-            XSSFRow r = new XSSFRow(row, this);
-            // Performance optimization: explicit boxing is slightly faster than auto-unboxing, though may use more memory
-            //noinspection UnnecessaryBoxing
-            final Integer rownumI = Integer.valueOf(r.getRowNum()); // NOSONAR
-            _rows.put(rownumI, r);
+        CTRow[] rowArray = worksheetParam.getSheetData().getRowArray();
+        for (int i = 0; i < rowArray.length; i++) {
+            XSSFRow r = new XSSFRow(rowArray[i], this, (streamedRows == null) ? null : streamedRows.get(i));
+            _rows.put(r.getRowNum(), r);
+        }
+    }
+
+    /**
+     * Creates the CTCell beans of a sheet, which was read with streamed cells.
+     * <p>
+     * The cells are parsed again from the package part and attached to the existing rows and cells.
+     * This is called before the cells or rows of the sheet are modified and before the sheet is written,
+     * it does nothing if the CTCell beans already exist.
+     *
+     * @see XSSFWorkbook#XSSFWorkbook(org.apache.poi.openxml4j.opc.OPCPackage, boolean)
+     */
+    void materializeCells() {
+        if (!cellsStreamed) {
+            return;
+        }
+        cellsStreamed = false;
+
+        CTWorksheet parsed;
+        try (InputStream stream = getPackagePart().getInputStream()) {
+            parsed = WorksheetDocument.Factory.parse(stream, DEFAULT_XML_OPTIONS).getWorksheet();
+        } catch (IOException | XmlException e) {
+            throw new POIXMLException(e);
+        }
+
+        // rows are only added or removed after materializing, so the rows still match the part
+        CTRow[] rowArray = worksheet.getSheetData().getRowArray();
+        CTRow[] parsedRows = parsed.getSheetData().getRowArray();
+        for (int i = 0; i < rowArray.length; i++) {
+            rowArray[i].setCArray(parsedRows[i].getCArray());
+        }
+        for (XSSFRow row : _rows.values()) {
+            row.materializeCells();
         }
     }
 
@@ -267,11 +369,23 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
 
     /**
      * Provide access to the CTWorksheet bean holding this sheet's data
+     * <p>
+     * If the sheet was read with streamed cells, the CTCell beans are created first,
+     * so the rows of the returned bean contain all their cells.
      *
      * @return the CTWorksheet bean holding this sheet's data
      */
     @Internal
     public CTWorksheet getCTWorksheet() {
+        materializeCells();
+        return this.worksheet;
+    }
+
+    /**
+     * @return the CTWorksheet bean without creating the CTCell beans of streamed cells,
+     *  for the parts of the worksheet outside the sheet data
+     */
+    CTWorksheet getCTWorksheetWithoutCells() {
         return this.worksheet;
     }
 
@@ -701,11 +815,9 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
      */
     @Override
     public XSSFRow createRow(int rownum) {
-        // Performance optimization: explicit boxing is slightly faster than auto-unboxing, though may use more memory
-        //noinspection UnnecessaryBoxing
-        final Integer rownumI = Integer.valueOf(rownum); // NOSONAR
+        materializeCells();
         CTRow ctRow;
-        XSSFRow prev = _rows.get(rownumI);
+        XSSFRow prev = _rows.get(rownum);
         if(prev != null){
             // the Cells in an existing row are invalidated on-purpose, in order to clean up correctly, we
             // need to call the remove, so things like ArrayFormulas and CalculationChain updates are done
@@ -725,13 +837,13 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
             } else {
                 // get number of rows where row index < rownum
                 // --> this tells us where our row should go
-                int idx = _rows.headMap(rownumI).size();
+                int idx = _rows.headSize(rownum);
                 ctRow = worksheet.getSheetData().insertNewRow(idx);
             }
         }
         XSSFRow r = new XSSFRow(ctRow, this);
         r.setRowNum(rownum);
-        _rows.put(rownumI, r);
+        _rows.put(rownum, r);
         return r;
     }
 
@@ -1191,10 +1303,7 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
 
     @Override
     public int getLastRowNum() {
-        // _rows.getLastKey() (O(logN)) or caching last row (O(1))?
-        // A test with 1_000_000 rows shows that querying getLastRowNum with lastKey() implementation takes ~40 ms,
-        // and ~1.2 ms with cached implementation. 40 ms is negligible compared to the time of evaluation a million
-        // cells, and the lastKey implementation is much more elegant and less error prone than caching.
+        // lastKey() is O(1), the keys are held in a sorted array
         return _rows.isEmpty() ? -1 : _rows.lastKey();
     }
 
@@ -1487,10 +1596,7 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
      */
     @Override
     public XSSFRow getRow(int rownum) {
-        // Performance optimization: explicit boxing is slightly faster than auto-unboxing, though may use more memory
-        //noinspection UnnecessaryBoxing
-        final Integer rownumI = Integer.valueOf(rownum); // NOSONAR
-        return _rows.get(rownumI);
+        return _rows.get(rownum);
     }
 
     /**
@@ -1520,13 +1626,10 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
             }
         }
         else {
-            // Performance optimization: explicit boxing is slightly faster than auto-unboxing, though may use more memory
-            //noinspection UnnecessaryBoxing
-            final Integer startI = Integer.valueOf(startRowNum); // NOSONAR
-            //noinspection UnnecessaryBoxing
-            final Integer endI = Integer.valueOf(endRowNum+1); // NOSONAR
-            final Collection<XSSFRow> inclusive = _rows.subMap(startI, endI).values();
-            rows.addAll(inclusive);
+            final int end = _rows.headSize(endRowNum+1);
+            for (int i = _rows.headSize(startRowNum); i < end; i++) {
+                rows.add(_rows.valueAt(i));
+            }
         }
         return rows;
     }
@@ -2030,6 +2133,7 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
         if (row.getSheet() != this) {
             throw new IllegalArgumentException("Specified row does not belong to this sheet");
         }
+        materializeCells();
         // collect cells into a temporary array to avoid ConcurrentModificationException
         ArrayList<XSSFCell> cellsToDelete = new ArrayList<>();
         for (Cell cell : row) {
@@ -2041,12 +2145,9 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
         }
 
         final int rowNum = row.getRowNum();
-        // Performance optimization: explicit boxing is slightly faster than auto-unboxing, though may use more memory
-        //noinspection UnnecessaryBoxing
-        final Integer rowNumI = Integer.valueOf(rowNum); // NOSONAR
         // this is not the physical row number!
-        final int idx = _rows.headMap(rowNumI).size();
-        _rows.remove(rowNumI);
+        final int idx = _rows.headSize(rowNum);
+        _rows.remove(rowNum);
         worksheet.getSheetData().removeRow(idx);
 
         // also remove any comment located in that row
@@ -3049,6 +3150,7 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
      */
     @Override
     public void shiftRows(int startRow, int endRow, final int n, boolean copyRowHeight, boolean resetOriginalRowHeight) {
+        materializeCells();
         List<XSSFTable> overlappingTables = new ArrayList<>();
         for (XSSFTable table : getTables()) {
             if ((table.getStartRowIndex() < startRow && table.getEndRowIndex() < startRow)
@@ -3090,6 +3192,7 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
      */
     @Override
     public void shiftColumns(int startColumn, int endColumn, final int n) {
+        materializeCells();
         List<XSSFTable> overlappingTables = new ArrayList<>();
         for (XSSFTable table : getTables()) {
             if ((table.getStartColIndex() < startColumn && table.getEndColIndex() < startColumn)
@@ -3143,9 +3246,10 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
     }
 
     private void rebuildRows() {
+        materializeCells();
         //rebuild the CTSheetData CTRow order
         SortedMap<Long, CTRow> ctRows = new TreeMap<>();
-        CTSheetData sheetData = getCTWorksheet().getSheetData();
+        CTSheetData sheetData = worksheet.getSheetData();
         for (CTRow ctRow : sheetData.getRowList()) {
             Long rownumL = ctRow.getR();
             ctRows.put(rownumL, ctRow);
@@ -3159,8 +3263,7 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
         _rows.clear();
         for (CTRow ctRow : sheetData.getRowList()) {
             XSSFRow row = new XSSFRow(ctRow, this);
-            Integer rownumI = Math.toIntExact(row.getRowNum());
-            _rows.put(rownumI, row);
+            _rows.put(row.getRowNum(), row);
         }
     }
 
@@ -3182,10 +3285,7 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
                     }
                 }
                 // remove row from worksheet.getSheetData row array
-                // Performance optimization: explicit boxing is slightly faster than auto-unboxing, though may use more memory
-                //noinspection UnnecessaryBoxing
-                final Integer rownumI = Integer.valueOf(row.getRowNum()); // NOSONAR
-                int idx = _rows.headMap(rownumI).size();
+                int idx = _rows.headSize(row.getRowNum());
                 worksheet.getSheetData().removeRow(idx);
 
                 // remove row from _rows
@@ -3755,8 +3855,7 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
 
     void onReadCell(XSSFCell cell){
         //collect cells holding shared formulas
-        CTCell ct = cell.getCTCell();
-        CTCellFormula f = ct.getF();
+        CTCellFormula f = cell.isStreamed() ? cell.getStreamedRangeFormula() : cell.getCTCell().getF();
         if (f != null && f.getT() == STCellFormulaType.SHARED && f.isSetRef() && f.getStringValue() != null) {
             // save a detached  copy to avoid XmlValueDisconnectedException,
             // this may happen when the master cell of a shared formula is changed
@@ -3781,8 +3880,22 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
         }
     }
 
+    @Override
+    protected void prepareForCommit() {
+        if (readDeferred) {
+            // the sheet was never read, its part is written unchanged
+            return;
+        }
+        // the cells are read from the part, so this has to happen before the part is cleared
+        materializeCells();
+        super.prepareForCommit();
+    }
+
     @Override
     protected void commit() throws IOException {
+        if (readDeferred) {
+            return;
+        }
         PackagePart part = getPackagePart();
         try (OutputStream out = part.getOutputStream()) {
             write(out);
@@ -3793,6 +3906,7 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
         if (worksheet == null) {
             throw new POIXMLException("Cannot write invalid sheet, internal data is missing");
         }
+        materializeCells();
 
         boolean setToNull = false;
         if(worksheet.sizeOfColsArray() == 1) {
@@ -3842,8 +3956,7 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
         CellRangeAddress cellRangeAddress = dimensionOverride;
         if (cellRangeAddress == null) {
             int minCell = Integer.MAX_VALUE, maxCell = Integer.MIN_VALUE;
-            for(Map.Entry<Integer, XSSFRow> entry : _rows.entrySet()) {
-                XSSFRow row = entry.getValue();
+            for(XSSFRow row : _rows.values()) {
 
                 // first perform the normal write actions for the row
                 row.onDocumentWrite();
@@ -4913,13 +5026,13 @@ public class XSSFSheet extends POIXMLDocumentPart implements Sheet, OoxmlSheetEx
      * @return the CTOleObject of the shape
      */
     protected CTOleObject readOleObject(long shapeId) {
-        if (!getCTWorksheet().isSetOleObjects()) {
+        if (!worksheet.isSetOleObjects()) {
             return null;
         }
 
         // we use a XmlCursor here to handle oleObject with-/out AlternateContent wrappers
         String xquery = "declare namespace p='"+XSSFRelation.NS_SPREADSHEETML+"' .//p:oleObject";
-        try (XmlCursor cur = getCTWorksheet().getOleObjects().newCursor()) {
+        try (XmlCursor cur = worksheet.getOleObjects().newCursor()) {
             cur.selectPath(xquery);
             CTOleObject coo = null;
             while (cur.toNextSelection()) {
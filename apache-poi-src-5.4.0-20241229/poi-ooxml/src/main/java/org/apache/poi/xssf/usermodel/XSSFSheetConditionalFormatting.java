@@ -203,13 +203,13 @@ public class XSSFSheetConditionalFormatting implements SheetConditionalFormattin
         }
 
         CellRangeAddress[] mergeCellRanges = CellRangeUtil.mergeCellRanges(regions);
-        CTConditionalFormatting cf = _sheet.getCTWorksheet().addNewConditionalFormatting();
+        CTConditionalFormatting cf = _sheet.getCTWorksheetWithoutCells().addNewConditionalFormatting();
         List<String> refs = new ArrayList<>();
         for(CellRangeAddress a : mergeCellRanges) refs.add(a.formatAsString());
         cf.setSqref(refs);
 
         int priority = 1;
-        for(CTConditionalFormatting c : _sheet.getCTWorksheet().getConditionalFormattingArray()){
+        for(CTConditionalFormatting c : _sheet.getCTWorksheetWithoutCells().getConditionalFormattingArray()){
             priority += c.sizeOfCfRuleArray();
         }
 
@@ -218,7 +218,7 @@ public class XSSFSheetConditionalFormatting implements SheetConditionalFormattin
             xRule.getCTCfRule().setPriority(priority++);
             cf.addNewCfRule().set(xRule.getCTCfRule());
         }
-        return _sheet.getCTWorksheet().sizeOfConditionalFormattingArray() - 1;
+        return _sheet.getCTWorksheetWithoutCells().sizeOfConditionalFormattingArray() - 1;
     }
 
     @Override
@@ -257,7 +257,7 @@ public class XSSFSheetConditionalFormatting implements SheetConditionalFormattin
     @Override
     public int addConditionalFormatting( ConditionalFormatting cf ) {
         XSSFConditionalFormatting xcf = (XSSFConditionalFormatting)cf;
-        CTWorksheet sh = _sheet.getCTWorksheet();
+        CTWorksheet sh = _sheet.getCTWorksheetWithoutCells();
         sh.addNewConditionalFormatting().set(xcf.getCTConditionalFormatting().copy());
         return sh.sizeOfConditionalFormattingArray() - 1;
     }
@@ -272,7 +272,7 @@ public class XSSFSheetConditionalFormatting implements SheetConditionalFormattin
     @Override
     public XSSFConditionalFormatting getConditionalFormattingAt(int index) {
         checkIndex(index);
-        CTConditionalFormatting cf = _sheet.getCTWorksheet().getConditionalFormattingArray(index);
+        CTConditionalFormatting cf = _sheet.getCTWorksheetWithoutCells().getConditionalFormattingArray(index);
         return new XSSFConditionalFormatting(_sheet, cf);
     }
 
@@ -281,7 +281,7 @@ public class XSSFSheetConditionalFormatting implements SheetConditionalFormattin
      */
     @Override
     public int getNumConditionalFormattings() {
-        return _sheet.getCTWorksheet().sizeOfConditionalFormattingArray();
+        return _sheet.getCTWorksheetWithoutCells().sizeOfConditionalFormattingArray();
     }
 
     /**
@@ -291,7 +291,7 @@ public class XSSFSheetConditionalFormatting implements SheetConditionalFormattin
     @Override
     public void removeConditionalFormatting(int index) {
         checkIndex(index);
-        _sheet.getCTWorksheet().removeConditionalFormatting(index);
+        _sheet.getCTWorksheetWithoutCells().removeConditionalFormatting(index);
     }
 
     private void checkIndex(int index) {
@@ -37,6 +37,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.regex.Pattern;
 
 import javax.xml.namespace.QName;
@@ -69,6 +70,7 @@ import org.apache.poi.poifs.filesystem.DirectoryNode;
 import org.apache.poi.poifs.filesystem.Ole10Native;
 import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.formula.FormulaParseCache;
 import org.apache.poi.ss.formula.SheetNameFormatter;
 import org.apache.poi.ss.formula.udf.AggregatingUDFFinder;
 import org.apache.poi.ss.formula.udf.IndexedUDFFinder;
@@ -189,6 +191,11 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
      */
     private boolean cellFormulaValidation = true;
 
+    /**
+     * The formulas parsed by {@link XSSFCell#setCellFormula(String)}, cleared when sheets or names change
+     */
+    private final FormulaParseCache formulaParseCache = new FormulaParseCache();
+
     /**
      * array of pictures for this workbook
      */
@@ -210,6 +217,16 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
 
     private final XSSFFactory xssfFactory;
 
+    /**
+     * Whether the cells of the worksheets are kept in a compact form until they are modified
+     */
+    private final boolean streamCells;
+
+    /**
+     * Whether the sheets are read on first access
+     */
+    private final boolean lazySheets;
+
     /**
      * Create a new SpreadsheetML workbook.
      */
@@ -232,6 +249,8 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
     private XSSFWorkbook(XSSFWorkbookType workbookType, XSSFFactory factory) {
         super(newPackage(workbookType));
         this.xssfFactory = (factory == null) ? XSSFFactory.getInstance() : factory;
+        this.streamCells = false;
+        this.lazySheets = false;
         onWorkbookCreate();
     }
 
@@ -253,8 +272,67 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
      * input format
      */
     public XSSFWorkbook(OPCPackage pkg) throws IOException {
+        this(pkg, false, false);
+    }
+
+    /**
+     * Constructs a XSSFWorkbook object given a OpenXML4J {@code Package} object,
+     *  optionally streaming the cells of the worksheets.
+     *
+     * <p>With {@code streamCells} set, the worksheets are loaded without building XmlBeans
+     * objects for their cells. The cell values, styles and formulas are kept in a compact form
+     * instead, which needs considerably less memory and time for large sheets. The XmlBeans
+     * cells of a sheet are created from the package part, when the cells of this sheet are
+     * modified, e.g. by setting a value or adding or removing rows and cells,
+     * or when the sheet is written.
+     *
+     * <p>Once you have finished working with the Workbook, you should close the package
+     * by calling either {@link #close()} or {@link OPCPackage#close()}, to avoid
+     * leaving file handles open.
+     *
+     * @param pkg the OpenXML4J {@code OPC Package} object.
+     * @param streamCells {@code true} to keep the cells of the worksheets in a compact form until
+     *  they are modified, {@code false} to load them as XmlBeans objects
+     * @throws IOException If reading data from the package fails
+     * @throws POIXMLException a RuntimeException that can be caused by invalid OOXML data
+     * @throws IllegalStateException a number of other runtime exceptions can be thrown, especially if there are problems with the
+     * input format
+     * @since POI 5.4.1
+     */
+    public XSSFWorkbook(OPCPackage pkg, boolean streamCells) throws IOException {
+        this(pkg, streamCells, false);
+    }
+
+    /**
+     * Constructs a XSSFWorkbook object given a OpenXML4J {@code Package} object,
+     *  optionally streaming the cells of the worksheets and reading the sheets on first access.
+     *
+     * <p>With {@code lazySheets} set, the sheets are registered when the workbook is opened,
+     * but their xml is only read, when the sheet is first accessed via {@link #getSheetAt(int)},
+     * {@link #getSheet(String)} or by iterating the sheets. The parts of sheets which were never
+     * accessed are written unchanged. Reading a single sheet of a workbook with many sheets
+     * therefore only costs the time and memory for this sheet.
+     *
+     * <p>Once you have finished working with the Workbook, you should close the package
+     * by calling either {@link #close()} or {@link OPCPackage#close()}, to avoid
+     * leaving file handles open.
+     *
+     * @param pkg the OpenXML4J {@code OPC Package} object.
+     * @param streamCells {@code true} to keep the cells of the worksheets in a compact form until
+     *  they are modified, see {@link #XSSFWorkbook(OPCPackage, boolean)}
+     * @param lazySheets {@code true} to read each sheet on first access, {@code false} to read
+     *  all sheets when the workbook is opened
+     * @throws IOException If reading data from the package fails
+     * @throws POIXMLException a RuntimeException that can be caused by invalid OOXML data
+     * @throws IllegalStateException a number of other runtime exceptions can be thrown, especially if there are problems with the
+     * input format
+     * @since POI 5.4.1
+     */
+    public XSSFWorkbook(OPCPackage pkg, boolean streamCells, boolean lazySheets) throws IOException {
         super(pkg);
         this.xssfFactory = XSSFFactory.getInstance();
+        this.streamCells = streamCells;
+        this.lazySheets = lazySheets;
 
         beforeDocumentRead();
 
@@ -497,7 +575,11 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
             return;
         }
         sh.sheet = ctSheet;
-        sh.onDocumentRead();
+        if (lazySheets) {
+            sh.deferRead();
+        } else {
+            sh.onDocumentRead();
+        }
         sheets.add(sh);
     }
 
@@ -659,7 +741,7 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
      */
     public XSSFSheet cloneSheet(int sheetNum, String newName) {
         validateSheetIndex(sheetNum);
-        XSSFSheet srcSheet = sheets.get(sheetNum);
+        XSSFSheet srcSheet = getSheetAt(sheetNum);
 
         if (newName == null) {
             String srcName = srcSheet.getSheetName();
@@ -871,6 +953,7 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
 
     private XSSFName createAndStoreName(CTDefinedName ctName) {
         XSSFName name = new XSSFName(ctName, this);
+        formulaParseCache.clear();
         namedRanges.add(name);
         namedRangesByName.put(ctName.getName() == null ? null : ctName.getName().toLowerCase(Locale.ENGLISH), name);
         return name;
@@ -959,6 +1042,7 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
         WorkbookUtil.validateSheetName(sheetname);
 
         CTSheet sheet = addSheet(sheetname);
+        formulaParseCache.clear();
 
         int sheetNumber = 1;
         outerloop:
@@ -1218,6 +1302,7 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
     public XSSFSheet getSheet(String name) {
         for (XSSFSheet sheet : sheets) {
             if (name.equalsIgnoreCase(sheet.getSheetName())) {
+                sheet.readIfDeferred();
                 return sheet;
             }
         }
@@ -1235,7 +1320,9 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
     @Override
     public XSSFSheet getSheetAt(int index) {
         validateSheetIndex(index);
-        return sheets.get(index);
+        XSSFSheet sheet = sheets.get(index);
+        sheet.readIfDeferred();
+        return sheet;
     }
 
     /**
@@ -1325,6 +1412,9 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
     @Override
     @SuppressWarnings("unchecked")
     public Spliterator<Sheet> spliterator() {
+        if (lazySheets) {
+            return Spliterators.spliterator(sheetIterator(), sheets.size(), Spliterator.ORDERED);
+        }
         return (Spliterator<Sheet>)(Spliterator<? extends Sheet>) sheets.spliterator();
     }
 
@@ -1340,7 +1430,9 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
         }
         @Override
         public T next() throws NoSuchElementException {
-            return it.next();
+            T sheet = it.next();
+            ((XSSFSheet)sheet).readIfDeferred();
+            return sheet;
         }
         /**
          * Unexpected behavior may occur if sheets are reordered after iterator
@@ -1375,6 +1467,7 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
                 || !namedRanges.remove(name)) {
             throw new IllegalArgumentException("Name was not found: " + name);
         }
+        formulaParseCache.clear();
     }
 
     void updateName(XSSFName name, String oldName) {
@@ -1382,6 +1475,7 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
             throw new IllegalArgumentException("Name was not found: " + name);
         }
         namedRangesByName.put(name.getNameName().toLowerCase(Locale.ENGLISH), name);
+        formulaParseCache.clear();
     }
 
 
@@ -1417,6 +1511,7 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
         validateSheetIndex(index);
 
         onSheetDelete(index);
+        formulaParseCache.clear();
 
         XSSFSheet sheet = getSheetAt(index);
         removeRelation(sheet);
@@ -1680,6 +1775,7 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
     public void setSelectedTab(int index) {
         int idx = 0;
         for (XSSFSheet sh : sheets) {
+            sh.readIfDeferred();
             sh.setSelected(idx == index);
             idx++;
         }
@@ -1725,6 +1821,7 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
         utils.updateSheetName(sheetIndex, oldSheetName, sheetname);
 
         workbook.getSheets().getSheetArray(sheetIndex).setName(sheetname);
+        formulaParseCache.clear();
     }
 
     /**
@@ -1753,6 +1850,7 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
 
         updateNamedRangesAfterSheetReorder(idx, pos);
         updateActiveSheetAfterSheetReorder(idx, pos);
+        formulaParseCache.clear();
     }
 
     /**
@@ -2325,6 +2423,7 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
     @Override
     public void addToolPack(UDFFinder toolpack){
         _udfFinder.add(toolpack);
+        formulaParseCache.clear();
     }
 
     /**
@@ -2489,6 +2588,7 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
     public XSSFTable getTable(String name) {
         if (name != null && sheets != null) {
             for (XSSFSheet sheet : sheets) {
+                sheet.readIfDeferred();
                 for (XSSFTable tbl : sheet.getTables()) {
                     if (name.equalsIgnoreCase(tbl.getName())) {
                         return tbl;
@@ -2559,6 +2659,43 @@ public class XSSFWorkbook extends POIXMLDocument implements Workbook, Date1904Su
         return this.cellFormulaValidation;
     }
 
+    /**
+     * @return the formulas parsed when validating cell formulas
+     */
+    FormulaParseCache getFormulaParseCache() {
+        return formulaParseCache;
+    }
+
+    /**
+     * Drops the formulas parsed when validating cell formulas, called when
+     * sheets or names referenced by formulas change
+     */
+    void clearFormulaParseCache() {
+        formulaParseCache.clear();
+    }
+
+    /**
+     * Whether the cells of the worksheets are kept in a compact form until they are modified.
+     *
+     * @return {@code true} if this workbook was loaded with streamed cells
+     * @see #XSSFWorkbook(OPCPackage, boolean)
+     * @since POI 5.4.1
+     */
+    public boolean isStreamingCells() {
+        return streamCells;
+    }
+
+    /**
+     * Whether the sheets are read on first access.
+     *
+     * @return {@code true} if this workbook was loaded with lazily read sheets
+     * @see #XSSFWorkbook(OPCPackage, boolean, boolean)
+     * @since POI 5.4.1
+     */
+    public boolean isLazySheets() {
+        return lazySheets;
+    }
+
     @Override
     public XSSFEvaluationWorkbook createEvaluationWorkbook() {
         return XSSFEvaluationWorkbook.create(this);
@@ -203,7 +203,15 @@ public class XSSFCellBorder {
 
 
     public int hashCode() {
-        return border.toString().hashCode();
+        // consistent with equals(), see bug 60845
+        int hash = 0;
+        for (BorderSide side : BorderSide.values()) {
+            hash = 31 * hash + Objects.hash(getBorderColor(side), getBorderStyle(side));
+        }
+        hash = 31 * hash + (border.isSetDiagonalUp() ? Boolean.hashCode(border.getDiagonalUp()) : -1);
+        hash = 31 * hash + (border.isSetDiagonalDown() ? Boolean.hashCode(border.getDiagonalDown()) : -1);
+        hash = 31 * hash + (border.isSetOutline() ? Boolean.hashCode(border.getOutline()) : -1);
+        return hash;
     }
 
     public boolean equals(Object o) {
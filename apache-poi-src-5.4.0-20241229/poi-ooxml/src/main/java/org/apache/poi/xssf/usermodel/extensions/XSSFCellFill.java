@@ -169,7 +169,8 @@ public final class XSSFCellFill {
 
 
     public int hashCode() {
-        return _fill.toString().hashCode();
+        // consistent with equals(), see bug 60845
+        return Objects.hash(getFillBackgroundColor(), getFillForegroundColor(), getPatternType());
     }
 
     public boolean equals(Object o) {
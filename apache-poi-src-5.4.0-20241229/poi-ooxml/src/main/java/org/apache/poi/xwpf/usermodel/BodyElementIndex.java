@@ -0,0 +1,120 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+package org.apache.poi.xwpf.usermodel;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Identity index over one element list of a body, e.g. the paragraphs of a document,
+ * finding the wrapper of a XML bean like {@code CTP} and the position of a wrapper
+ * without scanning the list.
+ * <p>
+ * The list stays the reference: the index is only a cache which is checked against the
+ * list on each lookup. Positions which moved, e.g. after an insert in front of them, are
+ * searched near the old position, and elements unknown to the index rebuild it from the
+ * list. So the list can still be modified without updating the index, elements added by
+ * the body are only {@link #inserted(Object, int) registered} to save the rebuild.
+ *
+ * @param <K> the type of the XML beans, compared by identity
+ * @param <V> the type of the wrappers, compared by identity
+ */
+final class BodyElementIndex<K, V> {
+    private final Function<? super V, ? extends K> keyOf;
+    private final Map<K, V> byKey = new IdentityHashMap<>();
+    private final Map<V, Integer> positions = new IdentityHashMap<>();
+
+    /**
+     * @param keyOf returns the XML bean of a wrapper, or null if the index is only used for positions
+     */
+    BodyElementIndex(Function<? super V, ? extends K> keyOf) {
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * @return the position of the element in the list, or -1 if it isn't in the list
+     */
+    int indexOf(List<? extends V> list, V value) {
+        if (value == null) {
+            return -1;
+        }
+        final Integer pos = positions.get(value);
+        if (pos == null) {
+            rebuild(list);
+            final Integer rebuilt = positions.get(value);
+            return rebuilt == null ? -1 : rebuilt;
+        }
+        final int size = list.size();
+        final int start = Math.min(pos, size);
+        // elements usually move back by the number of elements inserted before them
+        for (int i = start; i < size; i++) {
+            if (list.get(i) == value) {
+                positions.put(value, i);
+                return i;
+            }
+        }
+        for (int i = start - 1; i >= 0; i--) {
+            if (list.get(i) == value) {
+                positions.put(value, i);
+                return i;
+            }
+        }
+        positions.remove(value);
+        return -1;
+    }
+
+    /**
+     * @return the first wrapper of the list for the XML bean, or null if there is none
+     */
+    V get(List<? extends V> list, K key) {
+        V value = byKey.get(key);
+        if (value == null || keyOf.apply(value) != key || indexOf(list, value) < 0) {
+            rebuild(list);
+            value = byKey.get(key);
+        }
+        return value;
+    }
+
+    /**
+     * Registers an element which has just been added to the list at the given position.
+     * The positions of the elements behind it are corrected on their next lookup.
+     */
+    void inserted(V value, int pos) {
+        positions.put(value, pos);
+        if (keyOf != null) {
+            byKey.putIfAbsent(keyOf.apply(value), value);
+        }
+    }
+
+    private void rebuild(List<? extends V> list) {
+        byKey.clear();
+        positions.clear();
+        // backwards, so the first of duplicate elements wins
+        for (int i = list.size() - 1; i >= 0; i--) {
+            final V value = list.get(i);
+            if (value == null) {
+                continue;
+            }
+            positions.put(value, i);
+            if (keyOf != null) {
+                byKey.put(keyOf.apply(value), value);
+            }
+        }
+    }
+}
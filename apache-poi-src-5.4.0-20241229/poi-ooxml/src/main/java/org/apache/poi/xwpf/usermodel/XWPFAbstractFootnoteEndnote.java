@@ -48,6 +48,8 @@ public abstract class XWPFAbstractFootnoteEndnote  implements Iterable<XWPFParag
     private final List<XWPFTable> tables = new ArrayList<>();
     private final List<XWPFPictureData> pictures = new ArrayList<>();
     private final List<IBodyElement> bodyElements = new ArrayList<>();
+    private final BodyElementIndex<CTP, XWPFParagraph> paragraphIndex = new BodyElementIndex<>(XWPFParagraph::getCTP);
+    private final BodyElementIndex<CTTbl, XWPFTable> tableIndex = new BodyElementIndex<>(XWPFTable::getCTTbl);
     protected CTFtnEdn ctFtnEdn;
     protected XWPFAbstractFootnotesEndnotes footnotes;
     protected XWPFDocument document;
@@ -208,22 +210,12 @@ public abstract class XWPFAbstractFootnoteEndnote  implements Iterable<XWPFParag
      */
     @Override
     public XWPFTable getTable(CTTbl ctTable) {
-        for (XWPFTable table : tables) {
-            if (table == null)
-                return null;
-            if (table.getCTTbl().equals(ctTable))
-                return table;
-        }
-        return null;
+        return tableIndex.get(tables, ctTable);
     }
 
     @Override
     public XWPFParagraph getParagraph(CTP p) {
-        for (XWPFParagraph paragraph : paragraphs) {
-            if (paragraph.getCTP().equals(p))
-                return paragraph;
-        }
-        return null;
+        return paragraphIndex.get(paragraphs, p);
     }
 
     /**
@@ -314,9 +306,11 @@ public abstract class XWPFAbstractFootnoteEndnote  implements Iterable<XWPFParag
             }
             if (!(o instanceof CTTbl)) {
                 tables.add(0, newT);
+                tableIndex.inserted(newT, 0);
             } else {
-                int pos = tables.indexOf(getTable((CTTbl) o)) + 1;
+                int pos = tableIndex.indexOf(tables, getTable((CTTbl) o)) + 1;
                 tables.add(pos, newT);
+                tableIndex.inserted(newT, pos);
             }
             int i = 0;
             try (XmlCursor cursor1 = t.newCursor()) {
@@ -356,9 +350,11 @@ public abstract class XWPFAbstractFootnoteEndnote  implements Iterable<XWPFParag
             }
             if ((!(o instanceof CTP)) || o == p) {
                 paragraphs.add(0, newP);
+                paragraphIndex.inserted(newP, 0);
             } else {
-                int pos = paragraphs.indexOf(getParagraph((CTP) o)) + 1;
+                int pos = paragraphIndex.indexOf(paragraphs, getParagraph((CTP) o)) + 1;
                 paragraphs.add(pos, newP);
+                paragraphIndex.inserted(newP, pos);
             }
             int i = 0;
             try (XmlCursor p2 = p.newCursor()) {
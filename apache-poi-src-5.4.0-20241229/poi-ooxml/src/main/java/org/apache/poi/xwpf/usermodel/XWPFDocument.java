@@ -112,6 +112,9 @@ public class XWPFDocument extends POIXMLDocument implements Document, IBody {
     protected List<XWPFTable> tables = new ArrayList<>();
     protected List<XWPFSDT> contentControls = new ArrayList<>();
     protected List<IBodyElement> bodyElements = new ArrayList<>();
+    private final BodyElementIndex<CTP, XWPFParagraph> paragraphIndex = new BodyElementIndex<>(XWPFParagraph::getCTP);
+    private final BodyElementIndex<CTTbl, XWPFTable> tableIndex = new BodyElementIndex<>(XWPFTable::getCTTbl);
+    private final BodyElementIndex<Object, IBodyElement> bodyElementIndex = new BodyElementIndex<>(null);
     protected List<XWPFPictureData> pictures = new ArrayList<>();
     protected Map<Long, List<XWPFPictureData>> packagePictures = new HashMap<>();
     protected XWPFEndnotes endnotes;
@@ -661,6 +664,13 @@ public class XWPFDocument extends POIXMLDocument implements Document, IBody {
                 return -1;
             }
 
+            if (list == paragraphs) {
+                return paragraphIndex.indexOf(paragraphs, (XWPFParagraph) needle);
+            }
+            if (list == tables) {
+                return tableIndex.indexOf(tables, (XWPFTable) needle);
+            }
+
             // Work back until we find it
             int startPos = Math.min(pos, list.size() - 1);
             for (int i = startPos; i >= 0; i--) {
@@ -769,10 +779,9 @@ public class XWPFDocument extends POIXMLDocument implements Document, IBody {
             }
         } else {
             CTTbl ctTbl = (CTTbl) path.pop(); //first object is always the body, we want the second one
-            for (XWPFTable xwpfTable : tables) {
-                if (ctTbl == xwpfTable.getCTTbl()) {
-                    insertElementIntoTable(xwpfTable, iBodyElement, path);
-                }
+            XWPFTable xwpfTable = getTable(ctTbl);
+            if (xwpfTable != null) {
+                insertElementIntoTable(xwpfTable, iBodyElement, path);
             }
         }
     }
@@ -801,11 +810,17 @@ public class XWPFDocument extends POIXMLDocument implements Document, IBody {
              * in the body. Otherwise, take the previous paragraph and calculate
              * the new index for the new paragraph.
              */
+            int pos;
             if ((!(o instanceof CTP)) || o == p) {
-                paragraphs.add(0, newP);
+                pos = 0;
+            } else if (paragraphs == this.paragraphs) {
+                pos = paragraphIndex.indexOf(paragraphs, getParagraph((CTP) o)) + 1;
             } else {
-                int pos = paragraphs.indexOf(getParagraph((CTP) o)) + 1;
-                paragraphs.add(pos, newP);
+                pos = paragraphs.indexOf(getParagraph((CTP) o)) + 1;
+            }
+            paragraphs.add(pos, newP);
+            if (paragraphs == this.paragraphs) {
+                paragraphIndex.inserted(newP, pos);
             }
         }
     }
@@ -834,11 +849,17 @@ public class XWPFDocument extends POIXMLDocument implements Document, IBody {
              * in the body. Otherwise, take the previous paragraph and calculate
              * the new index for the new paragraph.
              */
+            int pos;
             if (!(o instanceof CTTbl)) {
-                tables.add(0, newT);
+                pos = 0;
+            } else if (tables == this.tables) {
+                pos = tableIndex.indexOf(tables, getTable((CTTbl) o)) + 1;
             } else {
-                int pos = tables.indexOf(getTable((CTTbl) o)) + 1;
-                tables.add(pos, newT);
+                pos = tables.indexOf(getTable((CTTbl) o)) + 1;
+            }
+            tables.add(pos, newT);
+            if (tables == this.tables) {
+                tableIndex.inserted(newT, pos);
             }
         }
     }
@@ -855,15 +876,21 @@ public class XWPFDocument extends POIXMLDocument implements Document, IBody {
              * Calculate the paragraphs index in the list of all body
              * elements
              */
-            int i = 0;
-            cursor.toCursor(newParaPos);
-            while (cursor.toPrevSibling()) {
-                o = cursor.getObject();
-                if (o instanceof CTP || o instanceof CTTbl || o instanceof CTSdtBlock) {
-                    i++;
+            int i = bodyElements == this.bodyElements ? getPosAfterPrevBodyElement(cursor) : -1;
+            if (i < 0) {
+                i = 0;
+                cursor.toCursor(newParaPos);
+                while (cursor.toPrevSibling()) {
+                    o = cursor.getObject();
+                    if (o instanceof CTP || o instanceof CTTbl || o instanceof CTSdtBlock) {
+                        i++;
+                    }
                 }
             }
             bodyElements.add(i, iBodyElement);
+            if (bodyElements == this.bodyElements) {
+                bodyElementIndex.inserted(iBodyElement, i);
+            }
             cursor.toCursor(newParaPos);
             cursor.toEndToken();
         } catch (NoSuchElementException ignored) {
@@ -871,6 +898,32 @@ public class XWPFDocument extends POIXMLDocument implements Document, IBody {
         }
     }
 
+    /**
+     * Finds the position behind the previous paragraph or table in the body elements,
+     * instead of counting all the body elements before the cursor
+     *
+     * @param cursor the cursor on the new element, it is moved to the previous element
+     * @return the position, or -1 if the previous element isn't a known paragraph or table
+     */
+    private int getPosAfterPrevBodyElement(XmlCursor cursor) {
+        while (cursor.toPrevSibling()) {
+            XmlObject o = cursor.getObject();
+            IBodyElement prev;
+            if (o instanceof CTP) {
+                prev = getParagraph((CTP) o);
+            } else if (o instanceof CTTbl) {
+                prev = getTable((CTTbl) o);
+            } else if (o instanceof CTSdtBlock) {
+                return -1;
+            } else {
+                continue;
+            }
+            int pos = bodyElementIndex.indexOf(bodyElements, prev);
+            return pos < 0 ? -1 : pos + 1;
+        }
+        return 0;
+    }
+
     private Optional<XmlCursor> getNewCursor(IBodyElement iBodyElement) {
         if (iBodyElement instanceof XWPFParagraph) {
             return Optional.ofNullable(((XWPFParagraph) iBodyElement).getCTP().newCursor());
@@ -913,17 +966,7 @@ public class XWPFDocument extends POIXMLDocument implements Document, IBody {
     }
 
     private int getPosOfBodyElement(IBodyElement needle) {
-        BodyElementType type = needle.getElementType();
-        IBodyElement current;
-        for (int i = 0; i < bodyElements.size(); i++) {
-            current = bodyElements.get(i);
-            if (current.getElementType() == type) {
-                if (current.equals(needle)) {
-                    return i;
-                }
-            }
-        }
-        return -1;
+        return bodyElementIndex.indexOf(bodyElements, needle);
     }
 
     /**
@@ -984,6 +1027,8 @@ public class XWPFDocument extends POIXMLDocument implements Document, IBody {
         XWPFParagraph p = new XWPFParagraph(ctDocument.getBody().addNewP(), this);
         bodyElements.add(p);
         paragraphs.add(p);
+        bodyElementIndex.inserted(p, bodyElements.size() - 1);
+        paragraphIndex.inserted(p, paragraphs.size() - 1);
         return p;
     }
 
@@ -1168,6 +1213,8 @@ public class XWPFDocument extends POIXMLDocument implements Document, IBody {
         XWPFTable table = new XWPFTable(ctDocument.getBody().addNewTbl(), this);
         bodyElements.add(table);
         tables.add(table);
+        bodyElementIndex.inserted(table, bodyElements.size() - 1);
+        tableIndex.inserted(table, tables.size() - 1);
         return table;
     }
 
@@ -1178,6 +1225,8 @@ public class XWPFDocument extends POIXMLDocument implements Document, IBody {
         XWPFTable table = new XWPFTable(ctDocument.getBody().addNewTbl(), this, rows, cols);
         bodyElements.add(table);
         tables.add(table);
+        bodyElementIndex.inserted(table, bodyElements.size() - 1);
+        tableIndex.inserted(table, tables.size() - 1);
         return table;
     }
 
@@ -1785,12 +1834,7 @@ public class XWPFDocument extends POIXMLDocument implements Document, IBody {
 
     @Override
     public XWPFParagraph getParagraph(CTP p) {
-        for (XWPFParagraph paragraph : paragraphs) {
-            if (paragraph.getCTP() == p) {
-                return paragraph;
-            }
-        }
-        return null;
+        return paragraphIndex.get(paragraphs, p);
     }
 
     /**
@@ -1800,12 +1844,7 @@ public class XWPFDocument extends POIXMLDocument implements Document, IBody {
      */
     @Override
     public XWPFTable getTable(CTTbl ctTbl) {
-        for (int i = 0; i < tables.size(); i++) {
-            if (getTables().get(i).getCTTbl() == ctTbl) {
-                return getTables().get(i);
-            }
-        }
-        return null;
+        return tableIndex.get(tables, ctTbl);
     }
 
     public Iterator<XWPFTable> getTablesIterator() {
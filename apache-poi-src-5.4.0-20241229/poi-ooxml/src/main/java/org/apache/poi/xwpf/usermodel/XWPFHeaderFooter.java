@@ -47,6 +47,8 @@ public abstract class XWPFHeaderFooter extends POIXMLDocumentPart implements IBo
     List<XWPFTable> tables = new ArrayList<>();
     List<XWPFPictureData> pictures = new ArrayList<>();
     List<IBodyElement> bodyElements = new ArrayList<>();
+    private final BodyElementIndex<CTP, XWPFParagraph> paragraphIndex = new BodyElementIndex<>(XWPFParagraph::getCTP);
+    private final BodyElementIndex<CTTbl, XWPFTable> tableIndex = new BodyElementIndex<>(XWPFTable::getCTTbl);
 
     CTHdrFtr headerFooter;
     XWPFDocument document;
@@ -174,22 +176,12 @@ public abstract class XWPFHeaderFooter extends POIXMLDocumentPart implements IBo
      */
     @Override
     public XWPFTable getTable(CTTbl ctTable) {
-        for (XWPFTable table : tables) {
-            if (table == null)
-                return null;
-            if (table.getCTTbl().equals(ctTable))
-                return table;
-        }
-        return null;
+        return tableIndex.get(tables, ctTable);
     }
 
     @Override
     public XWPFParagraph getParagraph(CTP p) {
-        for (XWPFParagraph paragraph : paragraphs) {
-            if (paragraph.getCTP().equals(p))
-                return paragraph;
-        }
-        return null;
+        return paragraphIndex.get(paragraphs, p);
     }
 
     /**
@@ -420,9 +412,11 @@ public abstract class XWPFHeaderFooter extends POIXMLDocumentPart implements IBo
             }
             if ((!(o instanceof CTP)) || o == p) {
                 paragraphs.add(0, newP);
+                paragraphIndex.inserted(newP, 0);
             } else {
-                int pos = paragraphs.indexOf(getParagraph((CTP) o)) + 1;
+                int pos = paragraphIndex.indexOf(paragraphs, getParagraph((CTP) o)) + 1;
                 paragraphs.add(pos, newP);
+                paragraphIndex.inserted(newP, pos);
             }
             int i = 0;
             try (final XmlCursor p2 = p.newCursor()) {
@@ -463,9 +457,11 @@ public abstract class XWPFHeaderFooter extends POIXMLDocumentPart implements IBo
             }
             if (!(o instanceof CTTbl)) {
                 tables.add(0, newT);
+                tableIndex.inserted(newT, 0);
             } else {
-                int pos = tables.indexOf(getTable((CTTbl) o)) + 1;
+                int pos = tableIndex.indexOf(tables, getTable((CTTbl) o)) + 1;
                 tables.add(pos, newT);
+                tableIndex.inserted(newT, pos);
             }
             int i = 0;
             try (final XmlCursor cursor2 = t.newCursor()) {
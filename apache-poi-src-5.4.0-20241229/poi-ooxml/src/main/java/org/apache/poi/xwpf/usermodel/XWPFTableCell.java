@@ -70,6 +70,8 @@ public class XWPFTableCell implements IBody, ICell {
     protected List<XWPFParagraph> paragraphs;
     protected List<XWPFTable> tables;
     protected List<IBodyElement> bodyElements;
+    private final BodyElementIndex<CTP, XWPFParagraph> paragraphIndex = new BodyElementIndex<>(XWPFParagraph::getCTP);
+    private final BodyElementIndex<CTTbl, XWPFTable> tableIndex = new BodyElementIndex<>(XWPFTable::getCTTbl);
 
     protected IBody part;
     private final XWPFTableRow tableRow;
@@ -175,12 +177,7 @@ public class XWPFTableCell implements IBody, ICell {
 
     @Override
     public XWPFParagraph getParagraph(CTP p) {
-        for (XWPFParagraph paragraph : paragraphs) {
-            if (p.equals(paragraph.getCTP())) {
-                return paragraph;
-            }
-        }
-        return null;
+        return paragraphIndex.get(paragraphs, p);
     }
 
     public XWPFTableRow getTableRow() {
@@ -271,9 +268,11 @@ public class XWPFTableCell implements IBody, ICell {
         }
         if ((!(o instanceof CTP)) || o == p) {
             paragraphs.add(0, newP);
+            paragraphIndex.inserted(newP, 0);
         } else {
-            int pos = paragraphs.indexOf(getParagraph((CTP) o)) + 1;
+            int pos = paragraphIndex.indexOf(paragraphs, getParagraph((CTP) o)) + 1;
             paragraphs.add(pos, newP);
+            paragraphIndex.inserted(newP, pos);
         }
         int i = 0;
         try (XmlCursor p2 = p.newCursor()) {
@@ -308,9 +307,11 @@ public class XWPFTableCell implements IBody, ICell {
             }
             if (!(o instanceof CTTbl)) {
                 tables.add(0, newT);
+                tableIndex.inserted(newT, 0);
             } else {
-                int pos = tables.indexOf(getTable((CTTbl) o)) + 1;
+                int pos = tableIndex.indexOf(tables, getTable((CTTbl) o)) + 1;
                 tables.add(pos, newT);
+                tableIndex.inserted(newT, pos);
             }
             int i = 0;
             try (XmlCursor cursor2 = t.newCursor()) {
@@ -366,10 +367,7 @@ public class XWPFTableCell implements IBody, ICell {
      */
     @Override
     public XWPFTable getTable(CTTbl ctTable) {
-        for (int i = 0; i < tables.size(); i++) {
-            if (getTables().get(i).getCTTbl() == ctTable) return getTables().get(i);
-        }
-        return null;
+        return tableIndex.get(tables, ctTable);
     }
 
     @Override
@@ -0,0 +1,121 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.formula.ConditionalFormattingEvaluator;
+import org.apache.poi.ss.usermodel.ComparisonOperator;
+import org.apache.poi.ss.usermodel.ConditionalFormattingRule;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.SheetConditionalFormatting;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.usermodel.XSSFFormulaEvaluator;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Evaluates the conditional formatting of all cells of a sheet with many formatted ranges,
+ * once cell by cell and once with {@link ConditionalFormattingEvaluator#getConditionalFormattingForRange}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ConditionalFormattingEvalBench {
+
+    private static final int COLUMNS = 10;
+
+    @Param({"20000"})
+    private int rows;
+
+    @Param({"2000"})
+    private int ranges;
+
+    private XSSFWorkbook wb;
+    private XSSFSheet sheet;
+    private ConditionalFormattingEvaluator cfe;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        wb = new XSSFWorkbook();
+        sheet = wb.createSheet("Report");
+        for (int r = 0; r < rows; r++) {
+            Row row = sheet.createRow(r);
+            for (int c = 0; c < COLUMNS; c++) {
+                row.createCell(c).setCellValue((r * 31 + c * 7) % 1000);
+            }
+        }
+
+        // bands of rows, each column of a band is formatted separately
+        SheetConditionalFormatting scf = sheet.getSheetConditionalFormatting();
+        int bandRows = Math.max(1, rows * COLUMNS / ranges);
+        for (int i = 0; i < ranges; i++) {
+            int firstRow = (i / COLUMNS) * bandRows;
+            int col = i % COLUMNS;
+            ConditionalFormattingRule rule = scf.createConditionalFormattingRule(ComparisonOperator.GT, String.valueOf(100 + i % 800));
+            rule.createPatternFormatting().setFillBackgroundColor((short)10);
+            scf.addConditionalFormatting(new CellRangeAddress[]{
+                new CellRangeAddress(firstRow, firstRow + bandRows - 1, col, col)}, rule);
+        }
+
+        cfe = new ConditionalFormattingEvaluator(wb, new XSSFFormulaEvaluator(wb));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        wb.close();
+    }
+
+    @Benchmark
+    public int perCell() {
+        cfe.clearAllCachedValues();
+        int formatted = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < COLUMNS; c++) {
+                CellReference ref = new CellReference(sheet.getSheetName(), r, c, false, false);
+                formatted += cfe.getConditionalFormattingForCell(ref).size();
+            }
+        }
+        return formatted;
+    }
+
+    @Benchmark
+    public int range() {
+        return cfe.getConditionalFormattingForRange(sheet, new CellRangeAddress(0, rows - 1, 0, COLUMNS - 1)).size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + ConditionalFormattingEvalBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,111 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.xssf.usermodel.XSSFFormulaEvaluator;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures a full evaluateAll pass over a dashboard of COUNTIF, SUMIF and *IFS formulas,
+ * which all filter the same columns of a large data sheet by region, product and day.
+ * The equality and comparison criteria use the shared criteria indexes of the columns
+ * instead of scanning every row for every formula.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class CountIfsBench {
+
+    private static final String[] REGIONS = {"North", "East", "South", "West", "Central", "Online", "Export", "Other"};
+
+    @Param({"50000"})
+    private int rows;
+
+    @Param({"40"})
+    private int products;
+
+    private XSSFWorkbook wb;
+    private XSSFFormulaEvaluator evaluator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        wb = new XSSFWorkbook();
+        XSSFSheet data = wb.createSheet("Data");
+        for (int r = 0; r < rows; r++) {
+            XSSFRow row = data.createRow(r);
+            row.createCell(0).setCellValue(REGIONS[r % REGIONS.length]);
+            row.createCell(1).setCellValue((r * 7) % products);
+            row.createCell(2).setCellValue(r % 365);
+            row.createCell(3).setCellValue((r % 1000) * 0.5);
+        }
+        String region = "Data!$A$1:$A$" + rows;
+        String product = "Data!$B$1:$B$" + rows;
+        String day = "Data!$C$1:$C$" + rows;
+        String amount = "Data!$D$1:$D$" + rows;
+
+        XSSFSheet dashboard = wb.createSheet("Dashboard");
+        for (int p = 0; p < products; p++) {
+            XSSFRow row = dashboard.createRow(p);
+            int rn = p + 1;
+            row.createCell(0).setCellValue(p);
+            row.createCell(1).setCellValue(REGIONS[p % REGIONS.length]);
+            row.createCell(2).setCellFormula("SUMIF(" + product + ",A" + rn + "," + amount + ")");
+            row.createCell(3).setCellFormula("COUNTIF(" + product + ",A" + rn + ")");
+            row.createCell(4).setCellFormula("SUMIFS(" + amount + "," + region + ",B" + rn + "," + product + ",A" + rn + ")");
+            row.createCell(5).setCellFormula("COUNTIFS(" + region + ",B" + rn + "," + day + ",\">=\"&(A" + rn + "*9))");
+            row.createCell(6).setCellFormula("AVERAGEIFS(" + amount + "," + product + ",A" + rn + "," + day + ",\"<180\")");
+            row.createCell(7).setCellFormula("MAXIFS(" + amount + "," + region + ",B" + rn + "," + day + ",\"<\"&(A" + rn + "+10))");
+            row.createCell(8).setCellFormula("MINIFS(" + amount + "," + product + ",A" + rn + "," + amount + ",\">100\")");
+        }
+        evaluator = wb.getCreationHelper().createFormulaEvaluator();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        wb.close();
+    }
+
+    @Benchmark
+    public void evaluateAll() {
+        evaluator.clearAllCachedResultValues();
+        evaluator.evaluateAll();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + CountIfsBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,125 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures {@link DataFormatter#formatCellValue(Cell)} over cells with number, date, fraction
+ * and special formats with 1, 8 and 32 threads, either sharing one formatter or creating
+ * a new formatter per pass, which reuses the compiled formats cached across instances.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class DataFormatterBench {
+
+    private static final String[] FORMATS = {
+        "General", "0.00", "#,##0.00", "0.00%", "0.00E+00", "# ?/?", "000-00-0000",
+        "m/d/yy", "m/d/yy h:mm", "[h]:mm:ss", "dddd, mmmm dd, yyyy", "$#,##0.00_);($#,##0.00)"
+    };
+
+    @Param({"1000"})
+    private int cellCount;
+
+    @Param({"shared", "perPass"})
+    private String formatter;
+
+    private XSSFWorkbook wb;
+    private List<Cell> cells;
+    private DataFormatter sharedFormatter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        wb = new XSSFWorkbook();
+        Sheet sheet = wb.createSheet();
+        CellStyle[] styles = new CellStyle[FORMATS.length];
+        for (int i = 0; i < FORMATS.length; i++) {
+            styles[i] = wb.createCellStyle();
+            styles[i].setDataFormat(wb.createDataFormat().getFormat(FORMATS[i]));
+        }
+        cells = new ArrayList<>(cellCount);
+        for (int i = 0; i < cellCount; i++) {
+            Row row = sheet.createRow(i);
+            Cell cell = row.createCell(0);
+            cell.setCellValue(36000 + i * 13.37);
+            cell.setCellStyle(styles[i % styles.length]);
+            cells.add(cell);
+        }
+        sharedFormatter = new DataFormatter();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        wb.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void format1Thread(Blackhole bh) {
+        formatAll(bh);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void format8Threads(Blackhole bh) {
+        formatAll(bh);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void format32Threads(Blackhole bh) {
+        formatAll(bh);
+    }
+
+    private void formatAll(Blackhole bh) {
+        DataFormatter df = "shared".equals(formatter) ? sharedFormatter : new DataFormatter();
+        for (Cell cell : cells) {
+            bh.consume(df.formatCellValue(cell));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + DataFormatterBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
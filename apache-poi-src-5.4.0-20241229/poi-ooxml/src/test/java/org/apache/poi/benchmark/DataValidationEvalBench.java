@@ -0,0 +1,133 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.formula.DataValidationEvaluator;
+import org.apache.poi.ss.usermodel.DataValidationConstraint.OperatorType;
+import org.apache.poi.ss.usermodel.DataValidationHelper;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellRangeAddressList;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.usermodel.XSSFFormulaEvaluator;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Validates an imported sheet with list and numeric validations,
+ * once cell by cell and once with {@link DataValidationEvaluator#validateSheet}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class DataValidationEvalBench {
+
+    private static final int COLUMNS = 4;
+
+    private static final String[] STATUS = {"Open", "Closed", "Pending", "open", "Unknown"};
+
+    @Param({"200000"})
+    private int rows;
+
+    @Param({"100"})
+    private int listSize;
+
+    private XSSFWorkbook wb;
+    private XSSFSheet sheet;
+    private DataValidationEvaluator dve;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        wb = new XSSFWorkbook();
+        XSSFSheet codes = wb.createSheet("Codes");
+        for (int r = 0; r < listSize; r++) {
+            codes.createRow(r).createCell(0).setCellValue(r * 10);
+        }
+
+        sheet = wb.createSheet("Import");
+        for (int r = 0; r < rows; r++) {
+            Row row = sheet.createRow(r);
+            row.createCell(0).setCellValue(STATUS[r % STATUS.length]);
+            row.createCell(1).setCellValue((r % (listSize + 5)) * 10);
+            row.createCell(2).setCellValue(r % 150);
+            row.createCell(3).setCellValue("Row " + r);
+        }
+
+        DataValidationHelper helper = sheet.getDataValidationHelper();
+        sheet.addValidationData(helper.createValidation(
+            helper.createExplicitListConstraint(new String[]{"Open", "Closed", "Pending"}),
+            new CellRangeAddressList(0, rows - 1, 0, 0)));
+        sheet.addValidationData(helper.createValidation(
+            helper.createFormulaListConstraint("Codes!$A$1:$A$" + listSize),
+            new CellRangeAddressList(0, rows - 1, 1, 1)));
+        sheet.addValidationData(helper.createValidation(
+            helper.createIntegerConstraint(OperatorType.BETWEEN, "0", "99"),
+            new CellRangeAddressList(0, rows - 1, 2, 2)));
+
+        dve = new DataValidationEvaluator(wb, new XSSFFormulaEvaluator(wb));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        wb.close();
+    }
+
+    @Benchmark
+    public int perCell() {
+        int invalid = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < COLUMNS; c++) {
+                if (!dve.isValidCell(new CellReference(sheet.getSheetName(), r, c, false, false))) {
+                    invalid++;
+                }
+            }
+        }
+        return invalid;
+    }
+
+    @Benchmark
+    public int range() {
+        return dve.validateRange(sheet, new CellRangeAddress(0, rows - 1, 0, COLUMNS - 1)).getInvalidCount();
+    }
+
+    @Benchmark
+    public int sheet() {
+        return dve.validateSheet(sheet).getInvalidCount();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + DataValidationEvalBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,99 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.formula.FormulaParseCache;
+import org.apache.poi.ss.formula.FormulaParser;
+import org.apache.poi.ss.formula.FormulaType;
+import org.apache.poi.ss.formula.ptg.Ptg;
+import org.apache.poi.xssf.usermodel.XSSFEvaluationWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Parses a column of formulas with and without a {@link FormulaParseCache}, once for a formula
+ * copied down the column ({@code repetitive}) and once for formulas which all differ ({@code unique}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class FormulaParseCacheBench {
+
+    @Param({"20000"})
+    private int rows;
+
+    @Param({"repetitive", "unique"})
+    private String formulas;
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private XSSFWorkbook wb;
+    private XSSFEvaluationWorkbook fpb;
+    private String[] texts;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        wb = new XSSFWorkbook();
+        wb.createSheet("Data");
+        fpb = XSSFEvaluationWorkbook.create(wb);
+        texts = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            int r = i + 1;
+            texts[i] = "repetitive".equals(formulas)
+                    ? "IF(A" + r + ">0,A" + r + "*B" + r + "+SUM($C$1:C" + r + "),Data!$D$1-B" + r + ")"
+                    : "IF(A" + r + ">" + i + ",A" + r + "*" + (i % 97) + ".5+SUM($C$1:C" + r + "),$D$1-B" + r + "/" + i + ")";
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        wb.close();
+    }
+
+    @Benchmark
+    public int parse() {
+        FormulaParseCache cache = cached ? new FormulaParseCache() : null;
+        int tokens = 0;
+        for (int i = 0; i < rows; i++) {
+            Ptg[] ptgs = FormulaParser.parse(texts[i], fpb, FormulaType.CELL, 0, i, 4, cache);
+            tokens += ptgs.length;
+        }
+        return tokens;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + FormulaParseCacheBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
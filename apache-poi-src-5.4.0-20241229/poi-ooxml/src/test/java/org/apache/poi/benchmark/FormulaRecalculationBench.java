@@ -0,0 +1,109 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.xssf.usermodel.XSSFFormulaEvaluator;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures single cell edits in a model of 100,000 formulas, comparing
+ * {@link org.apache.poi.ss.usermodel.FormulaEvaluator#recalculate(java.util.Collection)},
+ * which only calculates the affected formulas, with notifyUpdateCell followed by evaluateAll.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class FormulaRecalculationBench {
+
+    @Param({"50000"})
+    private int rows;
+
+    private XSSFWorkbook wb;
+    private XSSFFormulaEvaluator evaluator;
+    private Cell[] inputs;
+    private int edit;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        wb = new XSSFWorkbook();
+        XSSFSheet sheet = wb.createSheet();
+        inputs = new Cell[rows];
+        for (int r = 0; r < rows; r++) {
+            XSSFRow row = sheet.createRow(r);
+            int rn = r + 1;
+            inputs[r] = row.createCell(0);
+            inputs[r].setCellValue(r);
+            row.createCell(1).setCellFormula("A" + rn + "*2");
+            row.createCell(2).setCellFormula("IF(B" + rn + ">100,B" + rn + "-A" + rn + ",A" + rn + ")");
+        }
+        evaluator = wb.getCreationHelper().createFormulaEvaluator();
+        evaluator.evaluateAll();
+        // builds the dependency graph
+        evaluator.recalculate(Collections.singleton(inputs[0]));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        wb.close();
+    }
+
+    @Benchmark
+    public int recalculate() {
+        Cell cell = nextEdit();
+        return evaluator.recalculate(Collections.singleton(cell)).size();
+    }
+
+    @Benchmark
+    public void notifyAndEvaluateAll() {
+        Cell cell = nextEdit();
+        evaluator.notifyUpdateCell(cell);
+        evaluator.evaluateAll();
+    }
+
+    private Cell nextEdit() {
+        edit = (edit + 7919) % rows;
+        Cell cell = inputs[edit];
+        cell.setCellValue(cell.getNumericCellValue() + 1);
+        return cell;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + FormulaRecalculationBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
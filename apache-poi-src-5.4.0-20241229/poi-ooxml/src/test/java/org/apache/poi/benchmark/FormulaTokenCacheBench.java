@@ -0,0 +1,100 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
+import org.apache.poi.xssf.usermodel.XSSFFormulaEvaluator;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares repeated evaluateAll passes over a formula-heavy .xlsx with a reused evaluator,
+ * which keeps the parsed formula tokens, against a fresh evaluator, which has to parse
+ * every formula again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class FormulaTokenCacheBench {
+
+    @Param({"20000"})
+    private int rows;
+
+    private XSSFWorkbook wb;
+    private XSSFFormulaEvaluator evaluator;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        UnsynchronizedByteArrayOutputStream bos = UnsynchronizedByteArrayOutputStream.builder().get();
+        try (XSSFWorkbook source = new XSSFWorkbook()) {
+            XSSFSheet sheet = source.createSheet();
+            for (int r = 0; r < rows; r++) {
+                XSSFRow row = sheet.createRow(r);
+                int rn = r + 1;
+                row.createCell(0).setCellValue(r);
+                row.createCell(1).setCellValue(r % 17);
+                row.createCell(2).setCellFormula("A" + rn + "*B" + rn);
+                row.createCell(3).setCellFormula("SUM(A" + rn + ":C" + rn + ")/2");
+                row.createCell(4).setCellFormula("IF(B" + rn + ">8,ROUND(C" + rn + "/3,2),D" + rn + "-1)");
+                row.createCell(5).setCellFormula("MAX(A" + rn + ",B" + rn + ",C" + rn + ")+MIN(D" + rn + ":E" + rn + ")");
+                row.createCell(6).setCellFormula("CONCATENATE(\"row \",A" + rn + ",\"/\",TEXT(F" + rn + ",\"0.00\"))");
+            }
+            source.write(bos);
+        }
+        wb = new XSSFWorkbook(bos.toInputStream());
+        evaluator = wb.getCreationHelper().createFormulaEvaluator();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        wb.close();
+    }
+
+    @Benchmark
+    public void evaluateAllCachedTokens() {
+        evaluator.clearAllCachedResultValues();
+        evaluator.evaluateAll();
+    }
+
+    @Benchmark
+    public void evaluateAllParsingTokens() {
+        wb.getCreationHelper().createFormulaEvaluator().evaluateAll();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + FormulaTokenCacheBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,106 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.usermodel.HSSFRow;
+import org.apache.poi.hssf.usermodel.HSSFSheet;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Reads the cell values of a 65k row .xls with the event API, with new and with reused cell value records.
+ * Run with the GC profiler to compare the allocation rate (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class HSSFEventReadBench {
+
+    @Param({"65535"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean reuse;
+
+    private POIFSFileSystem fs;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        UnsynchronizedByteArrayOutputStream bos = UnsynchronizedByteArrayOutputStream.builder().get();
+        try (HSSFWorkbook wb = new HSSFWorkbook()) {
+            HSSFSheet sheet = wb.createSheet();
+            for (int r = 0; r < rows; r++) {
+                HSSFRow row = sheet.createRow(r);
+                for (int c = 0; c < 8; c++) {
+                    row.createCell(c).setCellValue(r * 8 + c + 0.5);
+                }
+                row.createCell(8).setCellValue("text " + (r % 100));
+                row.createCell(9).setBlank();
+                row.createCell(10).setBlank();
+            }
+            wb.write(bos);
+        }
+        try (InputStream is = bos.toInputStream()) {
+            fs = new POIFSFileSystem(is);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fs.close();
+    }
+
+    @Benchmark
+    public double readValues() throws IOException {
+        double[] sum = new double[1];
+        HSSFRequest req = new HSSFRequest();
+        req.addListener(r -> sum[0] += ((NumberRecord) r).getValue(), NumberRecord.sid);
+        req.addListener(r -> sum[0] += ((LabelSSTRecord) r).getSSTIndex(), LabelSSTRecord.sid);
+        HSSFEventFactory factory = new HSSFEventFactory();
+        factory.setReuseCellValueRecords(reuse);
+        factory.processWorkbookEvents(req, fs);
+        return sum[0];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + HSSFEventReadBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,103 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.input.UnsynchronizedByteArrayInputStream;
+import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Opens a workbook with many sheets and reads the cells of a single sheet,
+ * with all sheets read when opening the workbook and with sheets read on first access.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class LazySheetLoadBench {
+
+    @Param({"40"})
+    private int sheets;
+
+    @Param({"2000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean lazySheets;
+
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        UnsynchronizedByteArrayOutputStream bos = UnsynchronizedByteArrayOutputStream.builder().get();
+        try (SXSSFWorkbook wb = new SXSSFWorkbook()) {
+            for (int s = 0; s < sheets; s++) {
+                Sheet sheet = wb.createSheet("Sheet" + s);
+                for (int r = 0; r < rows; r++) {
+                    Row row = sheet.createRow(r);
+                    row.createCell(0).setCellValue("text " + (r % 100));
+                    row.createCell(1).setCellValue(r * 1.5);
+                    row.createCell(2).setCellValue(r % 2 == 0);
+                    row.createCell(3).setCellFormula("B" + (r + 1) + "*2");
+                }
+            }
+            wb.write(bos);
+        }
+        data = bos.toByteArray();
+    }
+
+    @Benchmark
+    public int readSingleSheet() throws IOException, InvalidFormatException {
+        OPCPackage pkg = OPCPackage.open(UnsynchronizedByteArrayInputStream.builder().setByteArray(data).get());
+        try (XSSFWorkbook wb = new XSSFWorkbook(pkg, false, lazySheets)) {
+            int columns = 0;
+            for (Row row : wb.getSheet("Sheet" + (sheets / 2))) {
+                for (Cell cell : row) {
+                    columns += cell.getColumnIndex();
+                }
+            }
+            return columns;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + LazySheetLoadBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
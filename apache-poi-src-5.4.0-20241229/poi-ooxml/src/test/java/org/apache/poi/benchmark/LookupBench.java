@@ -0,0 +1,100 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.xssf.usermodel.XSSFFormulaEvaluator;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures a full evaluateAll pass over a lookup-heavy model: a product table and an order sheet,
+ * where every order row looks up the product by id with VLOOKUP, MATCH/INDEX and XLOOKUP.
+ * The exact match lookups use the cached lookup index of the id column instead of a linear scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class LookupBench {
+
+    @Param({"5000"})
+    private int products;
+
+    @Param({"5000"})
+    private int orders;
+
+    private XSSFWorkbook wb;
+    private XSSFFormulaEvaluator evaluator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        wb = new XSSFWorkbook();
+        XSSFSheet productSheet = wb.createSheet("Products");
+        for (int p = 0; p < products; p++) {
+            XSSFRow row = productSheet.createRow(p);
+            row.createCell(0).setCellValue("P-" + (100000 + p));
+            row.createCell(1).setCellValue("Product " + p);
+            row.createCell(2).setCellValue(1 + (p % 97) * 0.25);
+        }
+        String ids = "Products!$A$1:$A$" + products;
+        String table = "Products!$A$1:$C$" + products;
+        XSSFSheet orderSheet = wb.createSheet("Orders");
+        for (int o = 0; o < orders; o++) {
+            XSSFRow row = orderSheet.createRow(o);
+            int rn = o + 1;
+            row.createCell(0).setCellValue("p-" + (100000 + (o * 7919) % products));
+            row.createCell(1).setCellValue(1 + o % 5);
+            row.createCell(2).setCellFormula("VLOOKUP(A" + rn + "," + table + ",3,FALSE)*B" + rn);
+            row.createCell(3).setCellFormula("INDEX(Products!$B$1:$B$" + products + ",MATCH(A" + rn + "," + ids + ",0))");
+            row.createCell(4).setCellFormula("XLOOKUP(A" + rn + "," + ids + ",Products!$C$1:$C$" + products + ",0)");
+        }
+        evaluator = wb.getCreationHelper().createFormulaEvaluator();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        wb.close();
+    }
+
+    @Benchmark
+    public void evaluateAll() {
+        evaluator.clearAllCachedResultValues();
+        evaluator.evaluateAll();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + LookupBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
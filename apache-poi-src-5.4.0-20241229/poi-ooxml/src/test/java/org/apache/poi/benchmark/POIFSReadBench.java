@@ -0,0 +1,123 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.poifs.filesystem.DirectoryNode;
+import org.apache.poi.poifs.filesystem.DocumentInputStream;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.util.TempFile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares sequential and random document reads from a large POIFS file opened
+ * read-only, with and without memory-mapping the file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class POIFSReadBench {
+
+    private static final int DOCUMENTS = 16;
+    private static final int DOCUMENT_SIZE = 4 * 1024 * 1024;
+    private static final int RANDOM_READS = 1000;
+
+    @Param({"false", "true"})
+    private boolean mapped;
+
+    private File file;
+    private POIFSFileSystem fs;
+    private final byte[] buffer = new byte[4096];
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = TempFile.createTempFile("POIFSReadBench", ".ole2");
+        byte[] data = new byte[DOCUMENT_SIZE];
+        new Random(1).nextBytes(data);
+        try (POIFSFileSystem out = new POIFSFileSystem();
+             OutputStream os = new FileOutputStream(file)) {
+            for (int i = 0; i < DOCUMENTS; i++) {
+                out.createDocument(new ByteArrayInputStream(data), "doc" + i);
+            }
+            out.writeFilesystem(os);
+        }
+        fs = new POIFSFileSystem(file, true, mapped);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fs.close();
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    @Benchmark
+    public long sequentialRead() throws IOException {
+        DirectoryNode root = fs.getRoot();
+        long total = 0;
+        for (int i = 0; i < DOCUMENTS; i++) {
+            try (DocumentInputStream dis = root.createDocumentInputStream("doc" + i)) {
+                int read;
+                while ((read = dis.read(buffer)) > 0) {
+                    total += read;
+                }
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long randomRead() throws IOException {
+        DirectoryNode root = fs.getRoot();
+        long total = 0;
+        for (int i = 0; i < RANDOM_READS; i++) {
+            try (DocumentInputStream dis = root.createDocumentInputStream("doc" + random.nextInt(DOCUMENTS))) {
+                dis.skip(random.nextInt(DOCUMENT_SIZE - 512));
+                dis.readFully(buffer, 0, 512);
+                total += buffer[0];
+            }
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + POIFSReadBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
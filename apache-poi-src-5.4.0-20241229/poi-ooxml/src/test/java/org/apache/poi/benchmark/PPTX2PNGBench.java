@@ -0,0 +1,83 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.POIDataSamples;
+import org.apache.poi.xslf.util.PPTX2PNG;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Renders all slides of a HSLF and a XSLF deck with PPTX2PNG, sequentially and in parallel.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class PPTX2PNGBench {
+
+    @Param({"alterman_security.ppt", "alterman_security.pptx"})
+    private String fileName;
+
+    @Param({"1", "4"})
+    private String threads;
+
+    private String[] args;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        File outdir = new File("build/tmp/");
+        if (!outdir.exists() && !outdir.mkdirs()) {
+            throw new IOException("Can't create " + outdir);
+        }
+        args = new String[]{
+            "-format", "null",
+            "-slide", "-1",
+            "-outdir", outdir.getCanonicalPath(),
+            "-quiet",
+            "-fixside", "long",
+            "-scale", "800",
+            "-threads", threads,
+            POIDataSamples.getSlideShowInstance().getFile(fileName).getAbsolutePath()
+        };
+    }
+
+    @Benchmark
+    public void renderSlides() throws Exception {
+        PPTX2PNG.main(args);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + PPTX2PNGBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,106 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.xssf.usermodel.XSSFFormulaEvaluator;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the evaluation of all formulas of a workbook with independent sheets, comparing
+ * {@link org.apache.poi.ss.usermodel.FormulaEvaluator#evaluateAll(ForkJoinPool)} on pools of
+ * different sizes with the serial evaluateAll. The speedup is bounded by the number of cores
+ * of the machine running the benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ParallelEvaluationBench {
+
+    @Param({"32"})
+    private int sheets;
+
+    @Param({"2000"})
+    private int rows;
+
+    @Param({"4", "8", "16"})
+    private int threads;
+
+    private XSSFWorkbook wb;
+    private XSSFFormulaEvaluator evaluator;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        wb = new XSSFWorkbook();
+        for (int s = 0; s < sheets; s++) {
+            XSSFSheet sheet = wb.createSheet();
+            for (int r = 0; r < rows; r++) {
+                XSSFRow row = sheet.createRow(r);
+                int rn = r + 1;
+                row.createCell(0).setCellValue(r + s);
+                row.createCell(1).setCellFormula("A" + rn + "*2+IF(MOD(A" + rn + ",3)=0,1,0)");
+                row.createCell(2).setCellFormula(r == 0 ? "B1" : "C" + r + "+B" + rn);
+                row.createCell(3).setCellFormula("COUNTIF($A$1:$A$" + rows + ",\">\"&A" + rn + ")");
+            }
+        }
+        evaluator = wb.getCreationHelper().createFormulaEvaluator();
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        wb.close();
+    }
+
+    @Benchmark
+    public void serial() {
+        evaluator.clearAllCachedResultValues();
+        evaluator.evaluateAll();
+    }
+
+    @Benchmark
+    public void parallel() {
+        evaluator.clearAllCachedResultValues();
+        evaluator.evaluateAll(pool);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + ParallelEvaluationBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
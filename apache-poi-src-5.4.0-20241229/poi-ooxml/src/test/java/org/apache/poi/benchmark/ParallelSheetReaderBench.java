@@ -0,0 +1,122 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.io.input.UnsynchronizedByteArrayInputStream;
+import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.eventusermodel.ParallelSheetReader;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.xml.sax.SAXException;
+
+/**
+ * Reads a workbook with many sheets with {@link ParallelSheetReader} using thread pools
+ * of different sizes, to show how the event model reading scales across cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ParallelSheetReaderBench {
+
+    @Param({"30"})
+    private int sheets;
+
+    @Param({"5000"})
+    private int rows;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private byte[] data;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        UnsynchronizedByteArrayOutputStream bos = UnsynchronizedByteArrayOutputStream.builder().get();
+        try (SXSSFWorkbook wb = new SXSSFWorkbook()) {
+            for (int s = 0; s < sheets; s++) {
+                Sheet sheet = wb.createSheet("Sheet" + s);
+                for (int r = 0; r < rows; r++) {
+                    Row row = sheet.createRow(r);
+                    row.createCell(0).setCellValue("text " + (r % 100));
+                    row.createCell(1).setCellValue(r * 1.5);
+                    row.createCell(2).setCellValue(r % 2 == 0);
+                    row.createCell(3).setCellFormula("B" + (r + 1) + "*2");
+                }
+            }
+            wb.write(bos);
+        }
+        data = bos.toByteArray();
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public long readAllSheets() throws IOException, OpenXML4JException, SAXException {
+        LongAdder cells = new LongAdder();
+        try (OPCPackage pkg = OPCPackage.open(UnsynchronizedByteArrayInputStream.builder().setByteArray(data).get())) {
+            new ParallelSheetReader(new XSSFReader(pkg)).process(executor, (sheetIndex, sheetName) -> new SheetContentsHandler() {
+                @Override
+                public void startRow(int rowNum) {
+                }
+
+                @Override
+                public void endRow(int rowNum) {
+                }
+
+                @Override
+                public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+                    cells.increment();
+                }
+            });
+        }
+        return cells.sum();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + ParallelSheetReaderBench.class.getSimpleName() + ".*")
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,109 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.xssf.usermodel.XSSFFormulaEvaluator;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares a full evaluateAll pass over SUM, AVERAGE and SUMPRODUCT formulas aggregating
+ * a 1M cell data sheet, with the default evaluator reading every cell through the cell
+ * wrappers and the dependency tracking, against the read-only mode reading the cells from
+ * columnar snapshots.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ReadOnlyEvaluationBench {
+
+    private static final int COLUMNS = 10;
+
+    @Param({"100000"})
+    private int rows;
+
+    private XSSFWorkbook wb;
+    private XSSFFormulaEvaluator tracking;
+    private XSSFFormulaEvaluator readOnly;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        wb = new XSSFWorkbook();
+        XSSFSheet data = wb.createSheet("Data");
+        for (int r = 0; r < rows; r++) {
+            XSSFRow row = data.createRow(r);
+            for (int c = 0; c < COLUMNS; c++) {
+                row.createCell(c).setCellValue((r % 100) * 0.5 + c);
+            }
+        }
+        String n = Integer.toString(rows);
+        XSSFRow report = wb.createSheet("Report").createRow(0);
+        String[] formulas = {
+            "SUM(Data!A1:J" + n + ")",
+            "AVERAGE(Data!A1:J" + n + ")",
+            "SUMPRODUCT(Data!A1:A" + n + ",Data!B1:B" + n + ")",
+            "SUMPRODUCT(Data!C1:E" + n + ",Data!F1:H" + n + ")",
+            "SUM(Data!I1:I" + n + ")/COUNT(Data!J1:J" + n + ")"
+        };
+        for (int i = 0; i < formulas.length; i++) {
+            report.createCell(i).setCellFormula(formulas[i]);
+        }
+        tracking = wb.getCreationHelper().createFormulaEvaluator();
+        readOnly = wb.getCreationHelper().createFormulaEvaluator();
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        wb.close();
+    }
+
+    @Benchmark
+    public void evaluateAllTracking() {
+        tracking.clearAllCachedResultValues();
+        tracking.evaluateAll();
+    }
+
+    @Benchmark
+    public void evaluateAllReadOnly() {
+        readOnly.clearAllCachedResultValues();
+        readOnly.evaluateAll();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + ReadOnlyEvaluationBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
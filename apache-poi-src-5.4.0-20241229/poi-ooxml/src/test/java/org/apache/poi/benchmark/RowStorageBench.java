@@ -0,0 +1,155 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.util.SortedIntMap;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the row/cell storage of XSSFSheet and XSSFRow, a {@link SortedIntMap}, with the
+ * {@code TreeMap<Integer, ...>} used before, for filling and iterating a map per row index.
+ * The GC profiler shows the allocated bytes per operation (gc.alloc.rate.norm), which is
+ * the memory held by the filled map.<p>
+ *
+ * The sheet benchmarks fill and iterate a real XSSFSheet.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class RowStorageBench {
+
+    @Param({"1000000"})
+    private int rows;
+
+    private final Object value = new Object();
+    private SortedIntMap<Object> sortedIntMap;
+    private TreeMap<Integer, Object> treeMap;
+    private XSSFWorkbook wb;
+    private XSSFSheet sheet;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sortedIntMap = fillSortedIntMap();
+        treeMap = fillTreeMap();
+
+        wb = new XSSFWorkbook();
+        sheet = wb.createSheet();
+        for (int r = 0; r < rows / 10; r++) {
+            XSSFRow row = sheet.createRow(r);
+            for (int c = 0; c < 5; c++) {
+                row.createCell(c).setCellValue(r + c);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        wb.close();
+    }
+
+    @Benchmark
+    public SortedIntMap<Object> fillSortedIntMap() {
+        SortedIntMap<Object> map = new SortedIntMap<>();
+        for (int i = 0; i < rows; i++) {
+            map.put(i, value);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public TreeMap<Integer, Object> fillTreeMap() {
+        TreeMap<Integer, Object> map = new TreeMap<>();
+        for (int i = 0; i < rows; i++) {
+            map.put(i, value);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public void iterateSortedIntMap(Blackhole bh) {
+        for (Object o : sortedIntMap.values()) {
+            bh.consume(o);
+        }
+    }
+
+    @Benchmark
+    public void iterateTreeMap(Blackhole bh) {
+        for (Object o : treeMap.values()) {
+            bh.consume(o);
+        }
+    }
+
+    @Benchmark
+    public void lookupSortedIntMap(Blackhole bh) {
+        for (int i = 0; i < rows; i++) {
+            bh.consume(sortedIntMap.get(i));
+        }
+    }
+
+    @Benchmark
+    public void lookupTreeMap(Blackhole bh) {
+        for (int i = 0; i < rows; i++) {
+            bh.consume(treeMap.get(i));
+        }
+    }
+
+    @Benchmark
+    public void iterateSheet(Blackhole bh) {
+        for (Row row : sheet) {
+            for (Iterator<Cell> it = row.cellIterator(); it.hasNext(); ) {
+                bh.consume(it.next());
+            }
+        }
+    }
+
+    @Benchmark
+    public void getRowAndCell(Blackhole bh) {
+        int last = sheet.getLastRowNum();
+        for (int r = 0; r <= last; r++) {
+            bh.consume(sheet.getRow(r).getCell(r % 5));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + RowStorageBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,102 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures {@link SXSSFWorkbook#write} of a multi-sheet export, comparing the sequential write
+ * ({@code threads = 0}) with the sheet entries being deflated in parallel on an executor.
+ * The rows are written to the temp files once in the setup, each invocation only writes the zip file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SXSSFParallelWriteBench {
+
+    @Param({"20"})
+    private int sheets;
+
+    @Param({"20000"})
+    private int rows;
+
+    @Param({"0", "2", "4", "8"})
+    private int threads;
+
+    private SXSSFWorkbook wb;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        wb = new SXSSFWorkbook();
+        for (int s = 0; s < sheets; s++) {
+            SXSSFSheet sheet = wb.createSheet();
+            for (int r = 0; r < rows; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue("item " + r);
+                row.createCell(1).setCellValue(r * 1.5);
+                row.createCell(2).setCellValue(s);
+                row.createCell(3).setCellValue("category " + (r % 50));
+                row.createCell(4).setCellValue(r % 7 == 0);
+            }
+        }
+        if (threads > 0) {
+            executor = Executors.newFixedThreadPool(threads);
+            wb.setWriteExecutor(executor);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        wb.close();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        wb.write(NullOutputStream.INSTANCE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + SXSSFParallelWriteBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
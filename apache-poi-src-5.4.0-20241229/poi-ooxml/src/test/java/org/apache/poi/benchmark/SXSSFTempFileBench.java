@@ -0,0 +1,122 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.util.DefaultTempFileCreationStrategy;
+import org.apache.poi.util.TempFile;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures an SXSSF export of {@code rows * 10} cells, i.e. 10 million cells by default,
+ * with the XML (optionally gzipped) and the binary temp files.
+ * The size of the sheet temp files is reported as the {@code tempBytes} secondary result.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@State(Scope.Benchmark)
+public class SXSSFTempFileBench {
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"XML", "XML_GZIP", "BINARY", "BINARY_GZIP"})
+    private String mode;
+
+    private final List<File> tempFiles = new CopyOnWriteArrayList<>();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TempBytes {
+        public long tempBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        TempFile.setTempFileCreationStrategy(new DefaultTempFileCreationStrategy() {
+            @Override
+            public File createTempFile(String prefix, String suffix) throws IOException {
+                File file = super.createTempFile(prefix, suffix);
+                if (prefix.startsWith("poi-sxssf-sheet")) {
+                    tempFiles.add(file);
+                }
+                return file;
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TempFile.setTempFileCreationStrategy(new DefaultTempFileCreationStrategy());
+    }
+
+    @Benchmark
+    public void export(TempBytes counter) throws IOException {
+        tempFiles.clear();
+        try (SXSSFWorkbook wb = new SXSSFWorkbook(null, SXSSFWorkbook.DEFAULT_WINDOW_SIZE,
+                mode.endsWith("GZIP"), true)) {
+            wb.setBinaryTempFiles(mode.startsWith("BINARY"));
+            SXSSFSheet sheet = wb.createSheet();
+            for (int r = 0; r < rows; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue(r);
+                row.createCell(1).setCellValue("customer " + (r % 1000));
+                row.createCell(2).setCellValue(r * 0.25);
+                row.createCell(3).setCellValue(r % 3 == 0);
+                row.createCell(4).setCellValue("region " + (r % 20));
+                row.createCell(5).setCellValue(r * 1.1);
+                row.createCell(6).setCellValue(r % 365);
+                row.createCell(7).setCellValue("status " + (r % 5));
+                row.createCell(8).setCellValue(r / 7.0);
+                row.createCell(9).setCellFormula("C" + (r + 1) + "*2");
+            }
+            sheet.flushRows();
+            sheet.flushBufferedData();
+            for (File file : tempFiles) {
+                counter.tempBytes += file.length();
+            }
+            wb.write(NullOutputStream.INSTANCE);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + SXSSFTempFileBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
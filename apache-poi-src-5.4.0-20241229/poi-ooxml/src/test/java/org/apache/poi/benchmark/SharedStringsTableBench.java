@@ -0,0 +1,120 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.input.UnsynchronizedByteArrayInputStream;
+import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.TempFileSharedStringsTable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.xml.sax.SAXException;
+
+/**
+ * Compares loading a shared strings part with many unique strings into a
+ * {@link ReadOnlySharedStringsTable}, which keeps all strings on the heap, and a
+ * {@link TempFileSharedStringsTable}, which keeps them in a memory mapped temp file.
+ * The lookup benchmarks read the strings in sheet order, i.e. mostly sequentially.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SharedStringsTableBench {
+
+    @Param({"500000"})
+    private int strings;
+
+    private byte[] sstData;
+    private ReadOnlySharedStringsTable readOnlyTable;
+    private TempFileSharedStringsTable tempFileTable;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SAXException {
+        StringBuilder sb = new StringBuilder(strings * 60);
+        sb.append("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"")
+                .append(strings).append("\" uniqueCount=\"").append(strings).append("\">");
+        for (int i = 0; i < strings; i++) {
+            sb.append("<si><t>customer ").append(i).append(" of some fairly long text</t></si>");
+        }
+        sb.append("</sst>");
+        sstData = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        readOnlyTable = new ReadOnlySharedStringsTable(stream(), true);
+        tempFileTable = new TempFileSharedStringsTable(stream(), true, TempFileSharedStringsTable.DEFAULT_CACHE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        tempFileTable.close();
+    }
+
+    @Benchmark
+    public ReadOnlySharedStringsTable loadReadOnly() throws IOException, SAXException {
+        return new ReadOnlySharedStringsTable(stream(), true);
+    }
+
+    @Benchmark
+    public int loadTempFile() throws IOException, SAXException {
+        try (TempFileSharedStringsTable table = new TempFileSharedStringsTable(
+                stream(), true, TempFileSharedStringsTable.DEFAULT_CACHE_SIZE)) {
+            return table.getUniqueCount();
+        }
+    }
+
+    @Benchmark
+    public int lookupReadOnly() {
+        return lookupAll(readOnlyTable);
+    }
+
+    @Benchmark
+    public int lookupTempFile() {
+        return lookupAll(tempFileTable);
+    }
+
+    private int lookupAll(ReadOnlySharedStringsTable table) {
+        int len = 0;
+        for (int i = 0; i < strings; i++) {
+            len += table.getItemAt(i).length();
+        }
+        return len;
+    }
+
+    private UnsynchronizedByteArrayInputStream stream() throws IOException {
+        return UnsynchronizedByteArrayInputStream.builder().setByteArray(sstData).get();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + SharedStringsTableBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,132 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.input.UnsynchronizedByteArrayInputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Loads, fills, reads and writes a {@link SharedStringsTable} with millions of unique plain strings.
+ * {@link #main(String[])} also prints the heap retained by the loaded table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SharedStringsTableMemoryBench {
+
+    @Param({"5000000"})
+    private int strings;
+
+    private byte[] sstData;
+    private SharedStringsTable table;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        sstData = createSharedStrings(strings);
+        table = load(sstData);
+    }
+
+    @Benchmark
+    public SharedStringsTable load() throws IOException {
+        return load(sstData);
+    }
+
+    @Benchmark
+    public int addItems() {
+        SharedStringsTable sst = new SharedStringsTable();
+        for (int i = 0; i < strings; i++) {
+            // every string is added twice, the second time it is found in the index
+            sst.addSharedStringItem(new XSSFRichTextString(text(i)));
+            sst.addSharedStringItem(new XSSFRichTextString(text(i >> 1)));
+        }
+        return sst.getUniqueCount();
+    }
+
+    @Benchmark
+    public int readItems() {
+        int len = 0;
+        for (int i = 0; i < strings; i++) {
+            len += table.getStringAt(i).length();
+        }
+        return len;
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        table.writeTo(NullOutputStream.INSTANCE);
+    }
+
+    private static String text(int i) {
+        return "customer " + i + " of some fairly long text";
+    }
+
+    private static SharedStringsTable load(byte[] sstData) throws IOException {
+        SharedStringsTable sst = new SharedStringsTable();
+        sst.readFrom(UnsynchronizedByteArrayInputStream.builder().setByteArray(sstData).get());
+        return sst;
+    }
+
+    private static byte[] createSharedStrings(int strings) {
+        StringBuilder sb = new StringBuilder(strings * 60);
+        sb.append("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"")
+                .append(strings).append("\" uniqueCount=\"").append(strings).append("\">");
+        for (int i = 0; i < strings; i++) {
+            sb.append("<si><t>").append(text(i)).append("</t></si>");
+        }
+        sb.append("</sst>");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long retainedHeap(byte[] sstData) throws IOException {
+        Runtime rt = Runtime.getRuntime();
+        System.gc();
+        long before = rt.totalMemory() - rt.freeMemory();
+        SharedStringsTable sst = load(sstData);
+        System.gc();
+        long after = rt.totalMemory() - rt.freeMemory();
+        // keep the table reachable until it was measured
+        return sst.getUniqueCount() > 0 ? after - before : 0;
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        byte[] sstData = createSharedStrings(5000000);
+        System.out.println("retained heap of 5000000 unique strings: " + (retainedHeap(sstData) >> 20) + " MB");
+
+        Options opt = new OptionsBuilder()
+                .include(".*" + SharedStringsTableMemoryBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,106 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.POIDataSamples;
+import org.apache.poi.sl.draw.BitmapImageRenderer;
+import org.apache.poi.sl.usermodel.PictureData;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFPictureData;
+import org.apache.poi.xslf.usermodel.XSLFPictureShape;
+import org.apache.poi.xslf.usermodel.XSLFSlide;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Renders a deck with the same picture on each slide, with and without the
+ * decoded image cache of {@link BitmapImageRenderer}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SlideImageRenderBench {
+
+    @Param({"20"})
+    private int slides;
+
+    @Param({"true", "false"})
+    private boolean imageCache;
+
+    private XMLSlideShow ppt;
+    private BufferedImage canvas;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ppt = new XMLSlideShow();
+        byte[] data = POIDataSamples.getSlideShowInstance().readFile("tomcat.png");
+        XSLFPictureData pd = ppt.addPicture(data, PictureData.PictureType.PNG);
+        for (int i = 0; i < slides; i++) {
+            XSLFSlide slide = ppt.createSlide();
+            XSLFPictureShape pic = slide.createPicture(pd);
+            pic.setAnchor(new Rectangle2D.Double(50, 50, 300, 200));
+        }
+        Dimension pgsize = ppt.getPageSize();
+        canvas = new BufferedImage(pgsize.width, pgsize.height, BufferedImage.TYPE_INT_ARGB);
+        BitmapImageRenderer.clearImageCache();
+        BitmapImageRenderer.setMaxImageCacheSize(imageCache ? 64L * 1024 * 1024 : 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BitmapImageRenderer.setMaxImageCacheSize(64L * 1024 * 1024);
+        BitmapImageRenderer.clearImageCache();
+        ppt.close();
+    }
+
+    @Benchmark
+    public BufferedImage renderSlides() {
+        for (XSLFSlide slide : ppt.getSlides()) {
+            Graphics2D graphics = canvas.createGraphics();
+            try {
+                slide.draw(graphics);
+            } finally {
+                graphics.dispose();
+            }
+        }
+        return canvas;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + SlideImageRenderBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
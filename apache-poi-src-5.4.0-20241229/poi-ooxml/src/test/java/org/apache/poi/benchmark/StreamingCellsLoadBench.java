@@ -0,0 +1,132 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.input.UnsynchronizedByteArrayInputStream;
+import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Loads a large workbook with and without streamed cells and reads all cell values,
+ * to compare the load time and allocations of both modes.
+ * {@link #main(String[])} also prints the heap retained by the loaded workbooks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class StreamingCellsLoadBench {
+
+    @Param({"50000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean streamCells;
+
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        data = createWorkbook(rows);
+    }
+
+    @Benchmark
+    public double loadAndRead() throws IOException, InvalidFormatException {
+        try (XSSFWorkbook wb = load(data, streamCells)) {
+            double sum = 0;
+            for (Row row : wb.getSheetAt(0)) {
+                for (Cell cell : row) {
+                    if (cell.getCellType() == CellType.STRING) {
+                        sum += cell.getStringCellValue().length();
+                    } else if (cell.getCellType() == CellType.FORMULA) {
+                        sum += cell.getCellFormula().length();
+                    } else {
+                        sum += cell.getNumericCellValue();
+                    }
+                }
+            }
+            return sum;
+        }
+    }
+
+    private static XSSFWorkbook load(byte[] data, boolean streamCells) throws IOException, InvalidFormatException {
+        return new XSSFWorkbook(OPCPackage.open(UnsynchronizedByteArrayInputStream.builder().setByteArray(data).get()), streamCells);
+    }
+
+    private static byte[] createWorkbook(int rows) throws IOException {
+        UnsynchronizedByteArrayOutputStream bos = UnsynchronizedByteArrayOutputStream.builder().get();
+        try (SXSSFWorkbook wb = new SXSSFWorkbook()) {
+            Sheet sheet = wb.createSheet();
+            for (int r = 0; r < rows; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue("text " + (r % 100));
+                row.createCell(1).setCellValue(r * 1.5);
+                row.createCell(2).setCellValue(r);
+                row.createCell(3).setCellValue(r % 7);
+                row.createCell(4).setCellFormula("B" + (r + 1) + "*C" + (r + 1));
+            }
+            wb.write(bos);
+        }
+        return bos.toByteArray();
+    }
+
+    private static long retainedHeap(byte[] data, boolean streamCells) throws IOException, InvalidFormatException {
+        Runtime rt = Runtime.getRuntime();
+        System.gc();
+        long before = rt.totalMemory() - rt.freeMemory();
+        try (XSSFWorkbook wb = load(data, streamCells)) {
+            System.gc();
+            long after = rt.totalMemory() - rt.freeMemory();
+            // keep the workbook reachable until it was measured
+            return wb.getSheetAt(0).getLastRowNum() >= 0 ? after - before : 0;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException, InvalidFormatException {
+        byte[] data = createWorkbook(50000);
+        for (boolean streamCells : new boolean[]{false, true}) {
+            System.out.println("retained heap, streamCells=" + streamCells + ": "
+                    + (retainedHeap(data, streamCells) >> 20) + " MB");
+        }
+
+        Options opt = new OptionsBuilder()
+                .include(".*" + StreamingCellsLoadBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
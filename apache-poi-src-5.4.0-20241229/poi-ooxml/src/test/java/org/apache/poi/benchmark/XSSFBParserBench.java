@@ -0,0 +1,135 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.util.LittleEndian;
+import org.apache.poi.xssf.binary.XSSFBParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the record dispatch of {@link XSSFBParser} over a synthetic .xlsb sheet stream,
+ * comparing handlers using the reused record buffer with handlers receiving a copy of each record.
+ * Run with the GC profiler to compare the allocation rate (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class XSSFBParserBench {
+
+    private static final int BRT_ROW_HDR = 0;
+    private static final int BRT_CELL_REAL = 5;
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"10"})
+    private int columns;
+
+    private byte[] sheetData;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        byte[] rowHdr = new byte[17];
+        byte[] cellReal = new byte[16];
+        for (int r = 0; r < rows; r++) {
+            LittleEndian.putInt(rowHdr, 0, r);
+            writeRecord(bos, BRT_ROW_HDR, rowHdr);
+            for (int c = 0; c < columns; c++) {
+                LittleEndian.putInt(cellReal, 0, c);
+                LittleEndian.putDouble(cellReal, 8, r * 0.5 + c);
+                writeRecord(bos, BRT_CELL_REAL, cellReal);
+            }
+        }
+        sheetData = bos.toByteArray();
+    }
+
+    @Benchmark
+    public double reusedBuffer() throws IOException {
+        SumParser parser = new SumParser(sheetData) {
+            @Override
+            public void handleRecord(int recordType, byte[] data, int offset, int length) {
+                if (recordType == BRT_CELL_REAL) {
+                    sum += LittleEndian.getDouble(data, offset + 8);
+                }
+            }
+        };
+        parser.parse();
+        return parser.sum;
+    }
+
+    @Benchmark
+    public double copiedRecords() throws IOException {
+        SumParser parser = new SumParser(sheetData) {
+            @Override
+            public void handleRecord(int recordType, byte[] data) {
+                if (recordType == BRT_CELL_REAL) {
+                    sum += LittleEndian.getDouble(data, 8);
+                }
+            }
+        };
+        parser.parse();
+        return parser.sum;
+    }
+
+    private abstract static class SumParser extends XSSFBParser {
+        double sum;
+
+        SumParser(byte[] data) {
+            super(new ByteArrayInputStream(data));
+        }
+
+        @Override
+        public void handleRecord(int recordType, byte[] data) {
+            handleRecord(recordType, data, 0, data.length);
+        }
+    }
+
+    private static void writeRecord(ByteArrayOutputStream bos, int recordType, byte[] data) {
+        bos.write(recordType);
+        int len = data.length;
+        do {
+            int b = len & 0x7F;
+            len >>>= 7;
+            bos.write(len > 0 ? b | 0x80 : b);
+        } while (len > 0);
+        bos.write(data, 0, data.length);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + XSSFBParserBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
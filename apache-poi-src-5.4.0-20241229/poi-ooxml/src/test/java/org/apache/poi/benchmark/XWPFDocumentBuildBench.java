@@ -0,0 +1,91 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.xmlbeans.XmlCursor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Builds a document of many paragraphs and tables, then edits it at cursors in the middle
+ * of the body, which needs the paragraph of a {@code CTP} and the positions of body elements.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class XWPFDocumentBuildBench {
+
+    @Param({"100000"})
+    private int paragraphs;
+
+    @Param({"5000"})
+    private int inserts;
+
+    @Benchmark
+    public int buildAndInsert() throws IOException {
+        try (XWPFDocument doc = new XWPFDocument()) {
+            for (int i = 0; i < paragraphs; i++) {
+                doc.createParagraph().createRun().setText("Clause " + i);
+                if (i % 1000 == 999) {
+                    doc.createTable(2, 2);
+                }
+            }
+
+            // amendments, each inserted behind the previous one from the middle of the document
+            XWPFParagraph last = doc.getParagraphs().get(paragraphs / 2);
+            for (int i = 0; i < inserts; i++) {
+                try (XmlCursor cursor = last.getCTP().newCursor()) {
+                    cursor.toNextSibling();
+                    if (i % 100 == 99) {
+                        doc.insertNewTbl(cursor);
+                        continue;
+                    }
+                    last = doc.insertNewParagraph(cursor);
+                    last.createRun().setText("Amendment " + i);
+                }
+            }
+
+            int sum = 0;
+            for (int i = 0; i < paragraphs; i += 100) {
+                sum += doc.getPosOfParagraph(doc.getParagraphs().get(i));
+            }
+            return sum;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + XWPFDocumentBuildBench.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -23,6 +23,8 @@ import org.apache.poi.ss.formula.EvaluationConditionalFormatRule;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Color;
 import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellReference;
 import org.apache.poi.xssf.XSSFTestDataSamples;
 import org.apache.poi.xssf.usermodel.XSSFColor;
@@ -33,6 +35,7 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -185,6 +188,34 @@ class TestConditionalFormattingEval {
         }
     }
 
+    @Test
+    void testRangeEvaluation() throws IOException {
+        for (String sample : new String[]{"ConditionalFormattingSamples.xlsx", "conditional_formatting_multiple_ranges.xlsx"}) {
+            try (XSSFWorkbook wb = XSSFTestDataSamples.openSampleWorkbook(sample)) {
+                XSSFFormulaEvaluator formulaEval = new XSSFFormulaEvaluator(wb);
+                ConditionalFormattingEvaluator cfe = new ConditionalFormattingEvaluator(wb, formulaEval);
+
+                for (Sheet sheet : wb) {
+                    CellRangeAddress range = new CellRangeAddress(0, sheet.getLastRowNum() + 2, 0, 20);
+                    Map<CellAddress, List<EvaluationConditionalFormatRule>> rules =
+                        cfe.getConditionalFormattingForRange(sheet, range);
+
+                    int matching = 0;
+                    for (CellAddress cell : range) {
+                        List<EvaluationConditionalFormatRule> expected = getRulesFor(cell.getRow(), cell.getColumn(), sheet, cfe);
+                        if (expected.isEmpty()) {
+                            assertFalse(rules.containsKey(cell), sample + " " + sheet.getSheetName() + " " + cell);
+                        } else {
+                            assertEquals(expected, rules.get(cell), sample + " " + sheet.getSheetName() + " " + cell);
+                            matching++;
+                        }
+                    }
+                    assertEquals(matching, rules.size());
+                }
+            }
+        }
+    }
+
     private RuleResult getRuleResultFor(int row, int col, Sheet sheet, ConditionalFormattingEvaluator cfe) {
         CellReference ref = new CellReference(sheet.getSheetName(), row, col, false, false);
         return new RuleResult(ref, cfe.getConditionalFormattingForCell(ref));
@@ -20,31 +20,49 @@
 package org.apache.poi.xslf.usermodel;
 
 import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.awt.image.BufferedImage;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+import javax.imageio.ImageIO;
+
 import org.apache.commons.compress.archivers.sevenz.SevenZArchiveEntry;
 import org.apache.commons.compress.archivers.sevenz.SevenZFile;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
 import org.apache.poi.POIDataSamples;
 import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.sl.usermodel.SlideShow;
+import org.apache.poi.sl.usermodel.SlideShowFactory;
+import org.apache.poi.util.TempFile;
 import org.apache.poi.xslf.util.PPTX2PNG;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.internal.util.io.IOUtil;
 
 /**
@@ -132,6 +150,78 @@ class TestPPTX2PNG {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"alterman_security.ppt", "alterman_security.pptx"})
+    void renderParallel(String fileName) throws Exception {
+        assumeTrue((xslfOnly ? XSLF_EXT : ALL_EXT).matcher(fileName).find());
+        File file = samples.getFile(fileName);
+        int slideCount;
+        try (SlideShow<?,?> ppt = SlideShowFactory.create(file, null, true)) {
+            slideCount = ppt.getSlides().size();
+        }
+        assertTrue(slideCount > 2);
+
+        File sequentialDir = TempFile.createTempDirectory("pptx2png-sequential");
+        File parallelDir = TempFile.createTempDirectory("pptx2png-parallel");
+        try {
+            PPTX2PNG.main(getPngArgs(file, sequentialDir, "1", true));
+
+            // not quiet, to check that the slides are rendered in parallel
+            PrintStream defStdout = System.out;
+            UnsynchronizedByteArrayOutputStream bos = UnsynchronizedByteArrayOutputStream.builder().get();
+            try (PrintStream ps = new PrintStream(bos, true, "UTF-8")) {
+                System.setOut(ps);
+                PPTX2PNG.main(getPngArgs(file, parallelDir, "2", false));
+            } finally {
+                System.setOut(defStdout);
+            }
+            String output = bos.toString(StandardCharsets.UTF_8);
+            assertTrue(output.contains("Rendering " + slideCount + " slides with 2 threads"), output);
+            List<String> rendered = Stream.of(output.split("\\R"))
+                .filter(line -> line.startsWith("Rendering slide "))
+                .map(line -> line.replaceFirst("^Rendering slide (\\d+).*$", "$1"))
+                .collect(Collectors.toList());
+            assertEquals(slideCount, rendered.size(), output);
+            assertEquals(slideCount, new HashSet<>(rendered).size(), output);
+
+            String[] expected = sequentialDir.list();
+            String[] actual = parallelDir.list();
+            assertNotNull(expected);
+            assertNotNull(actual);
+            Arrays.sort(expected);
+            Arrays.sort(actual);
+            assertEquals(slideCount, expected.length);
+            assertArrayEquals(expected, actual);
+
+            for (String name : expected) {
+                BufferedImage expectedImg = ImageIO.read(new File(sequentialDir, name));
+                BufferedImage actualImg = ImageIO.read(new File(parallelDir, name));
+                assertNotNull(actualImg, name);
+                assertEquals(expectedImg.getWidth(), actualImg.getWidth(), name);
+                assertEquals(expectedImg.getHeight(), actualImg.getHeight(), name);
+            }
+        } finally {
+            FileUtils.deleteDirectory(sequentialDir);
+            FileUtils.deleteDirectory(parallelDir);
+        }
+    }
+
+    private static String[] getPngArgs(File file, File outdir, String threads, boolean quiet) {
+        final List<String> args = new ArrayList<>(asList(
+            "-format", "png",
+            "-slide", "-1",
+            "-outdir", outdir.getAbsolutePath(),
+            "-fixside", "long",
+            "-scale", "200",
+            "-threads", threads
+        ));
+        if (quiet) {
+            args.add("-quiet");
+        }
+        args.add(file.getAbsolutePath());
+        return args.toArray(new String[0]);
+    }
+
     private String[] getArgs(String fileName, Object fileObj, Object fileContainer, String format) throws IOException {
         File tmpDir = new File("build/tmp/");
 
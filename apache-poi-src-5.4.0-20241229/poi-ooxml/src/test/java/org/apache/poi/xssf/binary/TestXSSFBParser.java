@@ -0,0 +1,139 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.xssf.binary;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.junit.jupiter.api.Test;
+
+class TestXSSFBParser {
+
+    private static final byte[][] RECORDS = {
+            {1, 2, 3},
+            new byte[300],
+            {4},
+            {}
+    };
+
+    @Test
+    void legacyHandlerGetsRecordCopies() throws IOException {
+        List<byte[]> seen = new ArrayList<>();
+        XSSFBParser parser = new XSSFBParser(new ByteArrayInputStream(recordStream())) {
+            @Override
+            public void handleRecord(int recordType, byte[] data) {
+                assertEquals(7, recordType);
+                seen.add(data);
+            }
+        };
+        parser.parse();
+
+        assertEquals(RECORDS.length, seen.size());
+        for (int i = 0; i < RECORDS.length; i++) {
+            assertArrayEquals(RECORDS[i], seen.get(i));
+        }
+    }
+
+    @Test
+    void sliceHandlerReusesBuffer() throws IOException {
+        List<byte[]> seen = new ArrayList<>();
+        List<byte[]> buffers = new ArrayList<>();
+        XSSFBParser parser = new XSSFBParser(new ByteArrayInputStream(recordStream())) {
+            @Override
+            public void handleRecord(int recordType, byte[] data) {
+                fail("records are handled without a copy");
+            }
+
+            @Override
+            public void handleRecord(int recordType, byte[] data, int offset, int length) {
+                assertEquals(7, recordType);
+                seen.add(Arrays.copyOfRange(data, offset, offset + length));
+                buffers.add(data);
+            }
+        };
+        parser.parse();
+
+        assertEquals(RECORDS.length, seen.size());
+        for (int i = 0; i < RECORDS.length; i++) {
+            assertArrayEquals(RECORDS[i], seen.get(i));
+        }
+        // the buffer only grows for the 300 byte record
+        assertSame(buffers.get(2), buffers.get(3));
+    }
+
+    @Test
+    void truncatedRecordsDontReadStaleBytes() {
+        // a row header followed by a real number cell, which lacks the number
+        byte[] rowHdr = new byte[17];
+        byte[] cellReal = new byte[4];
+        byte[] stream = recordStream(new int[]{0, 5}, rowHdr, cellReal);
+        XSSFBSheetHandler handler = new XSSFBSheetHandler(new ByteArrayInputStream(stream),
+                null, null, null, new SheetContentsHandler() {
+                    @Override
+                    public void startRow(int rowNum) {}
+
+                    @Override
+                    public void endRow(int rowNum) {}
+
+                    @Override
+                    public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+                        fail("the cell is truncated");
+                    }
+                }, new DataFormatter(), false);
+        assertThrows(XSSFBParseException.class, handler::parse);
+
+        StringBuilder sb = new StringBuilder();
+        assertThrows(XSSFBParseException.class, () -> XSSFBUtils.readXLWideString(new byte[16], 0, 2, sb));
+        assertThrows(XSSFBParseException.class, () -> XSSFBRichStr.build(new byte[16], 4, 4));
+    }
+
+    private static byte[] recordStream() {
+        int[] types = new int[RECORDS.length];
+        Arrays.fill(types, 7);
+        return recordStream(types, RECORDS);
+    }
+
+    private static byte[] recordStream(int[] types, byte[]... records) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        for (int i = 0; i < records.length; i++) {
+            byte[] rec = records[i];
+            bos.write(types[i]);
+            int len = rec.length;
+            do {
+                int b = len & 0x7F;
+                len >>>= 7;
+                bos.write(len > 0 ? b | 0x80 : b);
+            } while (len > 0);
+            bos.write(rec, 0, rec.length);
+        }
+        return bos.toByteArray();
+    }
+}
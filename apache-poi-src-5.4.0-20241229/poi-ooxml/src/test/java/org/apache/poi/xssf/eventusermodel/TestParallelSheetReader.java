@@ -0,0 +1,130 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.xssf.eventusermodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.poi.POIDataSamples;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+class TestParallelSheetReader {
+    private static final POIDataSamples _ssTests = POIDataSamples.getSpreadSheetInstance();
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sameContentsAsSequentialReading() throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(_ssTests.openResourceAsStream("SampleSS.xlsx"))) {
+            XSSFReader reader = new XSSFReader(pkg);
+            List<String> expected = new ArrayList<>();
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            XSSFReader.SheetIterator iter = reader.getSheetIterator();
+            while (iter.hasNext()) {
+                try (InputStream stream = iter.next()) {
+                    CollectingHandler handler = new CollectingHandler();
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(
+                            reader.getStylesTable(), iter.getSheetComments(), strings, handler, new DataFormatter(), false));
+                    parser.parse(new InputSource(stream));
+                    expected.add(iter.getSheetName() + handler.contents);
+                }
+            }
+            assertFalse(expected.isEmpty());
+
+            Map<Integer, CollectingHandler> handlers = new ConcurrentHashMap<>();
+            Map<Integer, String> names = new ConcurrentHashMap<>();
+            new ParallelSheetReader(reader).process(executor, (sheetIndex, sheetName) -> {
+                names.put(sheetIndex, sheetName);
+                return handlers.computeIfAbsent(sheetIndex, i -> new CollectingHandler());
+            });
+
+            assertEquals(expected.size(), handlers.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), names.get(i) + handlers.get(i).contents);
+            }
+        }
+    }
+
+    @Test
+    void failureIsRethrown() throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(_ssTests.openResourceAsStream("SampleSS.xlsx"))) {
+            ParallelSheetReader reader = new ParallelSheetReader(new XSSFReader(pkg));
+            IllegalStateException ex = assertThrows(IllegalStateException.class, () ->
+                    reader.process(executor, (sheetIndex, sheetName) -> new CollectingHandler() {
+                        @Override
+                        public void startRow(int rowNum) {
+                            throw new IllegalStateException("failed in sheet " + sheetIndex);
+                        }
+                    }));
+            // the first failing sheet depends on the scheduling
+            assertTrue(ex.getMessage().startsWith("failed in sheet "));
+        }
+    }
+
+    private static class CollectingHandler implements SheetContentsHandler {
+        final StringBuilder contents = new StringBuilder();
+
+        @Override
+        public void startRow(int rowNum) {
+            contents.append('\n').append(rowNum).append(':');
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            contents.append(cellReference).append('=').append(formattedValue);
+            if (comment != null) {
+                contents.append(" [").append(comment.getString()).append(']');
+            }
+            contents.append(';');
+        }
+    }
+}
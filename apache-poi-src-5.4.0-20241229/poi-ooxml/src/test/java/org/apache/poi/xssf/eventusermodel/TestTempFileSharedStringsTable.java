@@ -0,0 +1,111 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.xssf.eventusermodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.apache.poi.POIDataSamples;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TestTempFileSharedStringsTable {
+    private static final POIDataSamples _ssTests = POIDataSamples.getSpreadSheetInstance();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"SampleSS.xlsx", "MalformedSSTCount.xlsx", "51519.xlsx"})
+    void testSameAsReadOnlyTable(String file) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(_ssTests.openResourceAsStream(file))) {
+            List<PackagePart> parts = pkg.getPartsByName(Pattern.compile("/xl/sharedStrings.xml"));
+            assertEquals(1, parts.size());
+
+            ReadOnlySharedStringsTable rtbl = new ReadOnlySharedStringsTable(parts.get(0));
+            // a tiny cache, so strings are evicted and decoded again
+            try (TempFileSharedStringsTable ttbl = new TempFileSharedStringsTable(parts.get(0), true, 2)) {
+                assertEquals(rtbl.getCount(), ttbl.getCount());
+                assertEquals(rtbl.getUniqueCount(), ttbl.getUniqueCount());
+                for (int pass = 0; pass < 2; pass++) {
+                    for (int i = 0; i < rtbl.getUniqueCount(); i++) {
+                        assertEquals(rtbl.getItemAt(i).getString(), ttbl.getItemAt(i).getString());
+                    }
+                }
+
+                assertThrows(IllegalStateException.class, () -> ttbl.getItemAt(rtbl.getUniqueCount()));
+                assertThrows(IndexOutOfBoundsException.class, () -> ttbl.getItemAt(-1));
+            }
+        }
+    }
+
+    @Test
+    void testNonAsciiAndPhoneticRuns() throws Exception {
+        String xml = "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"3\" uniqueCount=\"3\">" +
+                "<si><t>日本語 äöü 😀</t></si>" +
+                "<si><t></t></si>" +
+                "<si><r><t>東京</t></r><rPh sb=\"0\" eb=\"2\"><t>トウキョウ</t></rPh></si>" +
+                "</sst>";
+        for (boolean phonetic : new boolean[]{true, false}) {
+            ReadOnlySharedStringsTable rtbl = new ReadOnlySharedStringsTable(stream(xml), phonetic);
+            try (TempFileSharedStringsTable ttbl = new TempFileSharedStringsTable(stream(xml), phonetic, 0)) {
+                assertEquals(3, ttbl.getUniqueCount());
+                for (int i = 0; i < 3; i++) {
+                    assertEquals(rtbl.getItemAt(i).getString(), ttbl.getItemAt(i).getString());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testClose() throws Exception {
+        TempFileSharedStringsTable ttbl = new TempFileSharedStringsTable(stream(
+                "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><si><t>a</t></si></sst>"),
+                true, TempFileSharedStringsTable.DEFAULT_CACHE_SIZE);
+        assertEquals("a", ttbl.getItemAt(0).getString());
+        ttbl.close();
+        assertThrows(IllegalStateException.class, () -> ttbl.getItemAt(0));
+        // closing twice is fine
+        ttbl.close();
+    }
+
+    @Test
+    void testXSSFReaderOption() throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(_ssTests.openResourceAsStream("SampleSS.xlsx"))) {
+            XSSFReader reader = new XSSFReader(pkg);
+            reader.setUseTempFileSharedStringsTable(true);
+            SharedStrings sst = reader.getSharedStringsTable();
+            try (TempFileSharedStringsTable ttbl = assertInstanceOf(TempFileSharedStringsTable.class, sst)) {
+                assertEquals(new ReadOnlySharedStringsTable(pkg).getUniqueCount(), ttbl.getUniqueCount());
+            }
+        }
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -19,7 +19,11 @@ package org.apache.poi.xssf.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -29,6 +33,8 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
+import org.apache.poi.ss.usermodel.RichTextString;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.XSSFTestDataSamples;
@@ -241,4 +247,138 @@ public final class TestSharedStringsTable {
         assertNotNull(w3);
         w3.close();
     }
+
+    @Test
+    void testPlainAndRichStrings() throws IOException {
+        SharedStringsTable sst = new SharedStringsTable();
+        String[] texts = { "plain", " leading space", "trailing tab\t", "a<b>&c\"d\r\nline", "", "\u00e4\u20ac\uD83D\uDE00" };
+        for (int i = 0; i < texts.length; i++) {
+            assertEquals(i, sst.addSharedStringItem(new XSSFRichTextString(texts[i])));
+        }
+
+        XSSFFont font = new XSSFFont();
+        font.setBold(true);
+        XSSFRichTextString rich = new XSSFRichTextString();
+        rich.append("pl", font);
+        rich.append("ain");
+        assertEquals(texts.length, sst.addSharedStringItem(rich));
+        assertEquals(texts.length, sst.addSharedStringItem(rich));
+        assertEquals(2, sst.addSharedStringItem(new XSSFRichTextString("trailing tab\t")));
+        assertEquals(texts.length + 3, sst.getCount());
+        assertEquals(texts.length + 1, sst.getUniqueCount());
+
+        UnsynchronizedByteArrayOutputStream bos = UnsynchronizedByteArrayOutputStream.builder().get();
+        sst.writeTo(bos);
+        SharedStringsTable readBack = new SharedStringsTable();
+        readBack.readFrom(bos.toInputStream());
+
+        for (SharedStringsTable table : new SharedStringsTable[]{sst, readBack}) {
+            assertEquals(texts.length + 3, table.getCount());
+            assertEquals(texts.length + 1, table.getUniqueCount());
+            List<RichTextString> items = table.getSharedStringItems();
+            assertEquals(texts.length + 1, items.size());
+            for (int i = 0; i < texts.length; i++) {
+                assertEquals(texts[i], table.getStringAt(i));
+                assertEquals(texts[i], table.getItemAt(i).getString());
+                assertEquals(texts[i], items.get(i).getString());
+                assertEquals(0, items.get(i).numFormattingRuns());
+            }
+            assertEquals("plain", table.getItemAt(texts.length).getString());
+            assertEquals(2, table.getItemAt(texts.length).numFormattingRuns());
+            assertThrows(IndexOutOfBoundsException.class, () -> table.getItemAt(texts.length + 1));
+
+            // existing items are found again
+            assertEquals(3, table.addSharedStringItem(new XSSFRichTextString(texts[3])));
+            assertEquals(texts.length, table.addSharedStringItem(rich));
+        }
+    }
+
+    @Test
+    void testReadItems() throws IOException {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+            + "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"6\" uniqueCount=\"5\">"
+            + "<si><t>one</t></si>"
+            + "<si><r><rPr><b/></rPr><t>t</t></r><r><t xml:space=\"preserve\">wo </t></r></si>"
+            + "<si><t>one</t></si>"
+            + "<si><t>\u3042</t><rPh sb=\"0\" eb=\"1\"><t>\u30a2</t></rPh><phoneticPr fontId=\"1\"/></si>"
+            + "<si/>"
+            + "<extLst><ext uri=\"{00000000-0000-0000-0000-000000000000}\"/></extLst>"
+            + "</sst>";
+        SharedStringsTable sst = new SharedStringsTable();
+        sst.readFrom(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(6, sst.getCount());
+        assertEquals(5, sst.getUniqueCount());
+        assertEquals("one", sst.getItemAt(0).getString());
+        assertEquals("two ", sst.getItemAt(1).getString());
+        assertEquals(2, sst.getItemAt(1).numFormattingRuns());
+        // duplicated items keep their index
+        assertEquals("one", sst.getItemAt(2).getString());
+        assertEquals(0, sst.addSharedStringItem(new XSSFRichTextString("one")));
+        CTRst phonetic = ((XSSFRichTextString)sst.getItemAt(3)).getCTRst();
+        assertEquals("\u3042", phonetic.getT());
+        assertEquals(1, phonetic.sizeOfRPhArray());
+        assertTrue(phonetic.isSetPhoneticPr());
+        // an empty item has no text at all
+        assertNull(sst.getItemAt(4).getString());
+
+        UnsynchronizedByteArrayOutputStream bos = UnsynchronizedByteArrayOutputStream.builder().get();
+        sst.writeTo(bos);
+        String written = bos.toString(StandardCharsets.UTF_8);
+        assertTrue(written.contains("<si><t>one</t></si>"), written);
+        assertTrue(written.contains("<extLst>"), written);
+
+        SharedStringsTable readBack = new SharedStringsTable();
+        readBack.readFrom(bos.toInputStream());
+        assertEquals(5, readBack.getSharedStringItems().size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(sst.getItemAt(i).getString(), readBack.getItemAt(i).getString());
+            assertEquals(sst.getItemAt(i).numFormattingRuns(), readBack.getItemAt(i).numFormattingRuns());
+        }
+        assertEquals(1, ((XSSFRichTextString)readBack.getItemAt(3)).getCTRst().sizeOfRPhArray());
+    }
+
+    @Test
+    void testModifyItem() throws IOException {
+        SharedStringsTable sst = new SharedStringsTable();
+        sst.addSharedStringItem(new XSSFRichTextString("first"));
+        sst.addSharedStringItem(new XSSFRichTextString("hello world"));
+
+        // the returned item is part of the table, so changes are written out
+        XSSFFont font = new XSSFFont();
+        font.setBold(true);
+        sst.getItemAt(1).applyFont(0, 5, font);
+        assertEquals(2, sst.getItemAt(1).numFormattingRuns());
+        assertEquals("hello world", sst.getStringAt(1));
+
+        UnsynchronizedByteArrayOutputStream bos = UnsynchronizedByteArrayOutputStream.builder().get();
+        sst.writeTo(bos);
+        SharedStringsTable readBack = new SharedStringsTable();
+        readBack.readFrom(bos.toInputStream());
+        assertEquals("first", readBack.getStringAt(0));
+        assertEquals("hello world", readBack.getStringAt(1));
+        assertEquals(2, readBack.getItemAt(1).numFormattingRuns());
+    }
+
+    @Test
+    void testManyStrings() throws IOException {
+        SharedStringsTable sst = new SharedStringsTable();
+        // enough text for several pages and index resizes
+        String padding = new String(new char[200]).replace('\0', 'x');
+        int strings = 20_000;
+        for (int i = 0; i < strings; i++) {
+            assertEquals(i, sst.addSharedStringItem(new XSSFRichTextString(padding + i)));
+        }
+        String large = new String(new char[1_500_000]).replace('\0', 'y');
+        assertEquals(strings, sst.addSharedStringItem(new XSSFRichTextString(large)));
+        assertEquals(strings + 1, sst.addSharedStringItem(new XSSFRichTextString("after large")));
+
+        for (int i = 0; i < strings; i += 7) {
+            assertEquals(i, sst.addSharedStringItem(new XSSFRichTextString(padding + i)));
+            assertEquals(padding + i, sst.getItemAt(i).getString());
+        }
+        assertEquals(large, sst.getItemAt(strings).getString());
+        assertEquals("after large", sst.getItemAt(strings + 1).getString());
+        assertEquals(strings + 2, sst.getUniqueCount());
+    }
 }
@@ -34,12 +34,21 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Map;
 
+import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.BuiltinFormats;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.xssf.XSSFTestDataSamples;
+import org.apache.poi.ss.usermodel.FillPatternType;
 import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFColor;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.usermodel.extensions.XSSFCellBorder;
+import org.apache.poi.xssf.usermodel.extensions.XSSFCellFill;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTBorder;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTFill;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTXf;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STPatternType;
 
 public final class TestStylesTable {
     private static final String testFile = "Formatting.xlsx";
@@ -353,4 +362,66 @@ public final class TestStylesTable {
             assertNotNull(XSSFTestDataSamples.writeOutAndReadBack(workbook));
         }
     }
+
+    @Test
+    void testPutReusesEquivalentEntries() throws IOException {
+        try (XSSFWorkbook wb = XSSFTestDataSamples.openSampleWorkbook(testFile)) {
+            StylesTable st = wb.getStylesSource();
+            int numFills = st.getFills().size();
+
+            // a fill built from a separate fragment is equal to the registered one
+            CTFill ctFill = CTFill.Factory.newInstance();
+            ctFill.addNewPatternFill().setPatternType(STPatternType.SOLID);
+            ctFill.getPatternFill().addNewFgColor().setRgb(new byte[]{(byte)0xFF, 0x12, 0x34, 0x56});
+            int fillId = st.putFill(new XSSFCellFill(ctFill, st.getIndexedColors()));
+            assertEquals(numFills, fillId);
+
+            CTFill copy = (CTFill)ctFill.copy();
+            XSSFCellFill equalFill = new XSSFCellFill(copy, st.getIndexedColors());
+            assertEquals(st.getFillAt(fillId), equalFill);
+            assertEquals(st.getFillAt(fillId).hashCode(), equalFill.hashCode());
+            assertEquals(fillId, st.putFill(equalFill));
+            assertEquals(numFills + 1, st.getFills().size());
+
+            // styles using the same colors share fills and borders
+            XSSFCellStyle style1 = wb.createCellStyle();
+            style1.setFillForegroundColor(new XSSFColor(new byte[]{0x12, 0x34, 0x56}));
+            style1.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            style1.setBorderTop(BorderStyle.THIN);
+            numFills = st.getFills().size();
+            int numBorders = st.getBorders().size();
+            XSSFCellStyle style2 = wb.createCellStyle();
+            style2.setFillForegroundColor(new XSSFColor(new byte[]{0x12, 0x34, 0x56}));
+            style2.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            style2.setBorderTop(BorderStyle.THIN);
+            assertEquals(style1.getCoreXf().getFillId(), style2.getCoreXf().getFillId());
+            assertEquals(style1.getCoreXf().getBorderId(), style2.getCoreXf().getBorderId());
+            assertEquals(numFills, st.getFills().size());
+            assertEquals(numBorders, st.getBorders().size());
+
+            // cell xfs are matched by identity
+            assertEquals(style1.getIndex(), st.putStyle(style1));
+            int numXfs = st._getXfsSize();
+            CTXf xf = (CTXf)style1.getCoreXf().copy();
+            st.replaceCellXfAt(style2.getIndex(), xf);
+            assertEquals(style2.getIndex(), st.putStyle(st.getStyleAt(style2.getIndex())));
+            assertEquals(numXfs, st._getXfsSize());
+        }
+    }
+
+    @Test
+    void testPutBorderWithThemeColor() throws IOException {
+        // the borders are read before the theme is set
+        try (XSSFWorkbook wb = XSSFTestDataSamples.openSampleWorkbook("50846-border_colours.xlsx")) {
+            StylesTable st = wb.getStylesSource();
+            assertNotNull(st.getTheme());
+            int numBorders = st.getBorders().size();
+
+            XSSFCellBorder themed = st.getBorderAt(1);
+            assertTrue(themed.getCTBorder().getBottom().getColor().isSetTheme());
+            CTBorder copy = (CTBorder)themed.getCTBorder().copy();
+            assertEquals(1, st.putBorder(new XSSFCellBorder(copy, st.getTheme(), st.getIndexedColors())));
+            assertEquals(numBorders, st.getBorders().size());
+        }
+    }
 }
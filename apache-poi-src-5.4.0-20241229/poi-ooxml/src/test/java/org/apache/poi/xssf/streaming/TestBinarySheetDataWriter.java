@@ -0,0 +1,151 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.xssf.streaming;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.xssf.SXSSFITestDataProvider;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class TestBinarySheetDataWriter {
+
+    @ParameterizedTest
+    @CsvSource({"false, false", "false, true", "true, false", "true, true"})
+    void rendersSameXmlAsSheetDataWriter(boolean useSharedStrings, boolean compress) throws IOException {
+        try (
+                SXSSFWorkbook xmlWb = new SXSSFWorkbook(null, 2, compress, useSharedStrings);
+                SXSSFWorkbook binaryWb = new SXSSFWorkbook(null, 2, compress, useSharedStrings)
+        ) {
+            binaryWb.setBinaryTempFiles(true);
+            SXSSFSheet xmlSheet = populate(xmlWb);
+            SXSSFSheet binarySheet = populate(binaryWb);
+            assertInstanceOf(BinarySheetDataWriter.class, binarySheet.getSheetDataWriter());
+            assertFalse(xmlSheet.getSheetDataWriter() instanceof BinarySheetDataWriter);
+
+            String expected = readXml(xmlSheet);
+            assertTrue(expected.contains("<f>"));
+            assertEquals(expected, readXml(binarySheet));
+            // can be read more than once, e.g. when writing the workbook twice
+            assertEquals(expected, readXml(binarySheet));
+        }
+    }
+
+    @Test
+    void writeAndReadBack() throws IOException {
+        try (SXSSFWorkbook wb = new SXSSFWorkbook(10)) {
+            wb.setBinaryTempFiles(true);
+            populate(wb);
+            try (XSSFWorkbook xwb = SXSSFITestDataProvider.instance.writeOutAndReadBack(wb)) {
+                XSSFSheet sheet = xwb.getSheetAt(0);
+                XSSFRow row = sheet.getRow(0);
+                assertEquals(" leading & <trailing> ", row.getCell(0).getStringCellValue());
+                assertEquals(1.5, row.getCell(1).getNumericCellValue(), 0);
+                assertTrue(row.getCell(2).getBooleanCellValue());
+                assertEquals(FormulaError.DIV0.getCode(), row.getCell(3).getErrorCellValue());
+                assertEquals("B1*2", row.getCell(4).getCellFormula());
+                assertEquals("Ünïcödé 𝝊", sheet.getRow(1).getCell(0).getStringCellValue());
+                assertEquals(20f, sheet.getRow(2).getHeightInPoints(), 0);
+                assertEquals(99, sheet.getLastRowNum());
+            }
+        }
+    }
+
+    @Test
+    void disposeDeletesTempFile() throws IOException {
+        try (SXSSFWorkbook wb = new SXSSFWorkbook(1)) {
+            wb.setBinaryTempFiles(true);
+            SXSSFSheet sheet = populate(wb);
+            sheet.flushBufferedData();
+            File tempFile = sheet.getSheetDataWriter().getTempFile();
+            assertTrue(tempFile.exists());
+            assertTrue(tempFile.length() > 0);
+            assertTrue(wb.dispose());
+            assertFalse(tempFile.exists());
+        }
+    }
+
+    private static SXSSFSheet populate(SXSSFWorkbook wb) {
+        CellStyle style = wb.createCellStyle();
+        style.setWrapText(true);
+        SXSSFSheet sheet = wb.createSheet("data");
+
+        Row row = sheet.createRow(0);
+        row.createCell(0).setCellValue(" leading & <trailing> ");
+        row.createCell(1).setCellValue(1.5);
+        row.createCell(2).setCellValue(true);
+        row.createCell(3).setCellErrorValue(FormulaError.DIV0.getCode());
+        row.createCell(4).setCellFormula("B1*2");
+        row.getCell(4).setCellStyle(style);
+        row.createCell(6).setCellFormula("IF(C1,\"yes\",\"no\")");
+        row.getCell(6).setCellValue("yes");
+        row.createCell(7).setCellFormula("NOT(C1)");
+        row.getCell(7).setCellValue(false);
+        row.createCell(8).setCellFormula("1/0");
+        row.getCell(8).setCellErrorValue(FormulaError.DIV0.getCode());
+        row.createCell(9).setCellFormula("B1+1");
+        row.getCell(9).setCellValue(Double.NaN);
+        row.createCell(30).setBlank();
+        row.getCell(30).setCellStyle(style);
+
+        row = sheet.createRow(1);
+        row.createCell(0).setCellValue("Ünïcödé 𝝊");
+        row.createCell(1).setCellValue("line\r\nbreak\ttab\u0001 " + new String(new char[200]).replace('\0', 'x'));
+        row.createCell(2).setCellValue("");
+        row.setRowStyle(style);
+
+        row = sheet.createRow(2);
+        row.setHeightInPoints(20);
+        row.setZeroHeight(true);
+        row.createCell(16383).setCellValue(-0.0);
+
+        for (int i = 3; i < 100; i++) {
+            SXSSFRow srow = sheet.createRow(i);
+            srow.createCell(i % 10).setCellValue("value " + (i % 7));
+            srow.createCell(10).setCellValue(i * 1e-12);
+            if (i >= 5 && i <= 10) {
+                srow.setOutlineLevel(1);
+                srow.setHidden(i < 10);
+                srow.setCollapsed(i == 10);
+            }
+        }
+        return sheet;
+    }
+
+    private static String readXml(SXSSFSheet sheet) throws IOException {
+        try (InputStream is = sheet.getWorksheetXMLInputStream()) {
+            return new String(IOUtils.toByteArray(is), StandardCharsets.UTF_8);
+        }
+    }
+}
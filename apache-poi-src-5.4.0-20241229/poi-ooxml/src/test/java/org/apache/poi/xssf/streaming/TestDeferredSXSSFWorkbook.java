@@ -27,7 +27,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.apache.commons.io.output.NullOutputStream;
 import org.apache.poi.ss.tests.usermodel.BaseTestXWorkbook;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
@@ -265,6 +269,43 @@ public final class TestDeferredSXSSFWorkbook extends BaseTestXWorkbook {
         }
     }
 
+    @Test
+    void writeWithExecutor() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (DeferredSXSSFWorkbook wb = new DeferredSXSSFWorkbook()) {
+            wb.setWriteExecutor(executor);
+            populateData(wb);
+            try (XSSFWorkbook xwb = DeferredSXSSFITestDataProvider.instance.writeOutAndReadBack(wb)) {
+                assertEquals(5, xwb.getNumberOfSheets());
+                for (int i = 0; i < 5; i++) {
+                    XSSFSheet sheet = xwb.getSheetAt(i);
+                    assertEquals(999, sheet.getLastRowNum());
+                    assertEquals(i, sheet.getRow(999).getCell(1).getNumericCellValue(), 0);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void writeWithExecutorFailingGenerator() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (DeferredSXSSFWorkbook wb = new DeferredSXSSFWorkbook()) {
+            wb.setWriteExecutor(executor);
+            populateData(wb);
+            wb.getStreamingSheetAt(3).setRowGenerator((sh) -> {
+                throw new IllegalStateException("broken generator");
+            });
+            try (OutputStream out = NullOutputStream.INSTANCE) {
+                IOException e = assertThrows(IOException.class, () -> wb.write(out));
+                assertEquals("broken generator", e.getCause().getMessage());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     void sheetdataWriter() throws IOException {
         try (DeferredSXSSFWorkbook wb = new DeferredSXSSFWorkbook()) {
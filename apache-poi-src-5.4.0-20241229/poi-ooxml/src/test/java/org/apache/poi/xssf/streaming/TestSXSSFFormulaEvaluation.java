@@ -55,6 +55,12 @@ public final class TestSXSSFFormulaEvaluation  extends BaseTestFormulaEvaluator
         /* not implemented */
     }
 
+    @Override
+    @Disabled("the chain doesn't fit into the window")
+    protected void testRecalculateLongChain() throws IOException {
+        /* not implemented */
+    }
+
     /**
      * EvaluateAll will normally fail, as any reference or
      *  formula outside of the window will fail, and any
@@ -137,6 +143,38 @@ public final class TestSXSSFFormulaEvaluation  extends BaseTestFormulaEvaluator
         }
     }
 
+    @Test
+    void testReadOnlyWithFlushedRows() throws IOException {
+        try (SXSSFWorkbook wb = new SXSSFWorkbook(5)) {
+            SXSSFSheet s = wb.createSheet();
+            for (int i = 0; i < 20; i++) {
+                s.createRow(i).createCell(0).setCellValue(i + 1);
+            }
+            SXSSFRow row = s.createRow(20);
+            Cell sum = row.createCell(0);
+            sum.setCellFormula("SUM(A17:A20)");
+            Cell flushed = row.createCell(1);
+            flushed.setCellFormula("A1+100");
+            assertEquals(15, s.getLastFlushedRowNum());
+
+            SXSSFFormulaEvaluator eval = wb.getCreationHelper().createFormulaEvaluator();
+            eval.setReadOnly(true);
+            assertEquals(74, eval.evaluate(sum).getNumberValue(), 0);
+            assertThrows(RowFlushedException.class, () -> eval.evaluate(flushed),
+                "Evaluate shouldn't work, as reference outside the window");
+
+            // more rows written and flushed
+            for (int i = 21; i < 30; i++) {
+                s.createRow(i).createCell(0).setCellValue(i + 1);
+            }
+            Cell sum2 = s.getRow(29).createCell(1);
+            sum2.setCellFormula("SUM(A27:A30)");
+            eval.notifySetFormula(sum2);
+            assertEquals(24, s.getLastFlushedRowNum());
+            assertEquals(114, eval.evaluate(sum2).getNumberValue(), 0);
+        }
+    }
+
     /**
      * If all formula cells + their references are inside the window,
      *  then evaluation works
@@ -21,6 +21,7 @@ package org.apache.poi.xssf.streaming;
 
 import static org.apache.poi.POITestCase.assertEndsWith;
 import static org.apache.poi.POITestCase.assertStartsWith;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -36,7 +37,11 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
 import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
 import org.apache.poi.POIDataSamples;
@@ -756,4 +761,60 @@ public final class TestSXSSFWorkbook extends BaseTestXWorkbook {
             }
         }
     }
+
+    @Test
+    void writeWithExecutorIsByteIdentical() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try (SXSSFWorkbook wb = new SXSSFWorkbook()) {
+            populateData(wb);
+            try (
+                    UnsynchronizedByteArrayOutputStream sequential = UnsynchronizedByteArrayOutputStream.builder().get();
+                    UnsynchronizedByteArrayOutputStream parallel = UnsynchronizedByteArrayOutputStream.builder().get()
+            ) {
+                wb.write(sequential);
+                wb.setWriteExecutor(executor);
+                wb.write(parallel);
+                assertArrayEquals(sequential.toByteArray(), parallel.toByteArray());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"AsNeeded", "Never"})
+    void writeWithExecutorAndZip64Mode(String zip64Mode) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try (SXSSFWorkbook wb = new SXSSFWorkbook()) {
+            wb.setZip64Mode(Zip64Mode.valueOf(zip64Mode));
+            wb.setWriteExecutor(executor);
+            populateData(wb);
+            try (XSSFWorkbook xwb = SXSSFITestDataProvider.instance.writeOutAndReadBack(wb)) {
+                assertEquals(5, xwb.getNumberOfSheets());
+                for (int i = 0; i < 5; i++) {
+                    XSSFSheet sheet = xwb.getSheetAt(i);
+                    assertEquals("sheet" + i, sheet.getSheetName());
+                    assertEquals(999, sheet.getLastRowNum());
+                    assertEquals("sheet" + i + "!A1000", sheet.getRow(999).getCell(0).getStringCellValue());
+                    assertEquals(i, sheet.getRow(999).getCell(1).getNumericCellValue(), 0);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void writeWithRejectingExecutor() throws IOException {
+        try (SXSSFWorkbook wb = new SXSSFWorkbook()) {
+            populateData(wb);
+            wb.setWriteExecutor(r -> {
+                throw new RejectedExecutionException("rejected");
+            });
+            try (OutputStream out = NullOutputStream.INSTANCE) {
+                RejectedExecutionException e = assertThrows(RejectedExecutionException.class, () -> wb.write(out));
+                assertEquals("rejected", e.getMessage());
+            }
+        }
+    }
 }
@@ -18,13 +18,17 @@ package org.apache.poi.xssf.usermodel;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.List;
 
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.formula.DataValidationEvaluator;
+import org.apache.poi.ss.formula.DataValidationEvaluator.DataValidationResult;
 import org.apache.poi.ss.formula.eval.ValueEval;
 import org.apache.poi.ss.usermodel.BaseTestDataValidation;
 import org.apache.poi.ss.usermodel.Cell;
@@ -34,6 +38,8 @@ import org.apache.poi.ss.usermodel.DataValidationConstraint.OperatorType;
 import org.apache.poi.ss.usermodel.DataValidationConstraint.ValidationType;
 import org.apache.poi.ss.usermodel.DataValidationHelper;
 import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellAddress;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellRangeAddressList;
 import org.apache.poi.ss.util.CellReference;
@@ -377,4 +383,64 @@ class TestXSSFDataValidation extends BaseTestDataValidation {
             assertEquals(32, values.size(), "wrong # of valid values");
         }
     }
+
+    @Test
+    void testValidateRangeMatchesCells() throws IOException {
+        try (XSSFWorkbook wb = XSSFTestDataSamples.openSampleWorkbook("DataValidationEvaluations.xlsx")) {
+            XSSFFormulaEvaluator fEval = wb.getCreationHelper().createFormulaEvaluator();
+            DataValidationEvaluator dve = new DataValidationEvaluator(wb, fEval);
+
+            for (Sheet sheet : wb) {
+                CellRangeAddress range = new CellRangeAddress(0, sheet.getLastRowNum() + 2, 0, 20);
+                DataValidationResult result = dve.validateRange(sheet, range);
+                int invalid = 0;
+                for (int r = range.getFirstRow(); r <= range.getLastRow(); r++) {
+                    for (int c = range.getFirstColumn(); c <= range.getLastColumn(); c++) {
+                        boolean valid = dve.isValidCell(new CellReference(sheet.getSheetName(), r, c, false, false));
+                        assertEquals(valid, result.isValid(r, c), sheet.getSheetName() + "!" + new CellAddress(r, c));
+                        if (!valid) invalid++;
+                    }
+                }
+                assertEquals(invalid, result.getInvalidCount());
+            }
+        }
+    }
+
+    @Test
+    void testValidateSheet() throws IOException {
+        try (XSSFWorkbook wb = new XSSFWorkbook()) {
+            XSSFSheet sheet = wb.createSheet();
+            XSSFSheet lists = wb.createSheet("Lists");
+            for (int r = 0; r < 3; r++) {
+                lists.createRow(r).createCell(0).setCellValue(r + 1);
+            }
+
+            DataValidationHelper helper = sheet.getDataValidationHelper();
+            DataValidation explicit = helper.createValidation(
+                helper.createExplicitListConstraint(new String[]{"Yes", "No"}), new CellRangeAddressList(0, 9, 0, 0));
+            explicit.setEmptyCellAllowed(false);
+            sheet.addValidationData(explicit);
+            sheet.addValidationData(helper.createValidation(
+                helper.createFormulaListConstraint("Lists!$A$1:$A$3"), new CellRangeAddressList(0, SpreadsheetVersion.EXCEL2007.getLastRowIndex(), 1, 1)));
+
+            String[] answers = {"yes", "NO", "maybe", null, "Yes"};
+            for (int r = 0; r < answers.length; r++) {
+                Row row = sheet.createRow(r);
+                if (answers[r] != null) row.createCell(0).setCellValue(answers[r]);
+                row.createCell(1).setCellValue(r);
+            }
+
+            DataValidationEvaluator dve = new DataValidationEvaluator(wb, wb.getCreationHelper().createFormulaEvaluator());
+            DataValidationResult result = dve.validateSheet(sheet);
+            assertEquals(new CellRangeAddress(0, 4, 0, 1), result.getRange());
+            assertEquals(Arrays.asList(new CellAddress("B1"), new CellAddress("A3"), new CellAddress("A4"), new CellAddress("B5")),
+                result.getInvalidCells());
+            assertFalse(result.isValid(2, 0));
+            assertTrue(result.isValid(1, 1));
+            assertTrue(result.isValid(20, 0));
+
+            assertNull(dve.validateSheet(lists).getRange());
+            assertEquals(0, dve.validateSheet(lists).getInvalidCount());
+        }
+    }
 }
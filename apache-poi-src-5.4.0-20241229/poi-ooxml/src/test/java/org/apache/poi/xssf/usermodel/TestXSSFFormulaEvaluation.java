@@ -20,6 +20,7 @@ package org.apache.poi.xssf.usermodel;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -30,6 +31,8 @@ import java.util.function.Function;
 
 import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
 import org.apache.poi.hssf.HSSFTestDataSamples;
+import org.apache.poi.ss.formula.FormulaRenderer;
+import org.apache.poi.ss.formula.ptg.Ptg;
 import org.apache.poi.ss.usermodel.BaseTestFormulaEvaluator;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellValue;
@@ -485,4 +488,80 @@ public final class TestXSSFFormulaEvaluation extends BaseTestFormulaEvaluator {
             assertEquals("Male", value.getStringValue());
         }
     }
+
+    @Test
+    void testFormulaTokensCached() throws IOException {
+        try (XSSFWorkbook wb = new XSSFWorkbook()) {
+            XSSFSheet sheet = wb.createSheet();
+            XSSFRow row = sheet.createRow(0);
+            row.createCell(0).setCellValue(2);
+            XSSFCell cell = row.createCell(1);
+            cell.setCellFormula("A1*2");
+
+            XSSFEvaluationWorkbook evalWb = XSSFEvaluationWorkbook.create(wb);
+            XSSFEvaluationCell evalCell = new XSSFEvaluationCell(cell);
+            Ptg[] tokens = evalWb.getFormulaTokens(evalCell);
+            assertSame(tokens, evalWb.getFormulaTokens(evalCell));
+
+            // the cached tokens survive clearing the cached results
+            evalWb.clearAllCachedResultValues();
+            assertSame(tokens, evalWb.getFormulaTokens(evalCell));
+
+            // a changed formula is parsed again, even without a notification
+            cell.setCellFormula("A1*3");
+            Ptg[] changed = evalWb.getFormulaTokens(evalCell);
+            assertNotSame(tokens, changed);
+            assertEquals("A1*3", FormulaRenderer.toFormulaString(evalWb, changed));
+
+            evalWb.notifyUpdateCell(cell);
+            assertNotSame(changed, evalWb.getFormulaTokens(evalCell));
+
+            XSSFFormulaEvaluator evaluator = wb.getCreationHelper().createFormulaEvaluator();
+            assertEquals(6, evaluator.evaluate(cell).getNumberValue(), 0);
+            cell.setCellFormula("A1*4");
+            evaluator.notifyUpdateCell(cell);
+            assertEquals(8, evaluator.evaluate(cell).getNumberValue(), 0);
+        }
+    }
+
+    @Test
+    void testFormulaTokensWithRemovedName() throws IOException {
+        try (XSSFWorkbook wb = new XSSFWorkbook()) {
+            XSSFSheet sheet = wb.createSheet("Sheet1");
+            XSSFRow row = sheet.createRow(0);
+            row.createCell(0).setCellValue(1);
+            row.createCell(1).setCellValue(2);
+            XSSFName first = wb.createName();
+            first.setNameName("First");
+            first.setRefersToFormula("Sheet1!$A$1");
+            XSSFName second = wb.createName();
+            second.setNameName("Second");
+            second.setRefersToFormula("Sheet1!$B$1");
+            XSSFCell cell = row.createCell(2);
+            cell.setCellFormula("Second*10");
+
+            XSSFFormulaEvaluator evaluator = wb.getCreationHelper().createFormulaEvaluator();
+            assertEquals(20, evaluator.evaluate(cell).getNumberValue(), 0);
+
+            // the tokens refer to the names by index, which is shifted by the removal
+            wb.removeName(first);
+            evaluator.clearAllCachedResultValues();
+            assertEquals(20, evaluator.evaluate(cell).getNumberValue(), 0);
+        }
+    }
+
+    @Test
+    void testSharedFormulaTokensCached() throws IOException {
+        try (XSSFWorkbook wb = XSSFTestDataSamples.openSampleWorkbook("49872.xlsx")) {
+            XSSFEvaluationWorkbook evalWb = XSSFEvaluationWorkbook.create(wb);
+            XSSFRow row = wb.getSheetAt(0).getRow(2);
+            for (int col = 1; col <= 3; col++) {
+                XSSFCell cell = row.getCell(col);
+                XSSFEvaluationCell evalCell = new XSSFEvaluationCell(cell);
+                Ptg[] tokens = evalWb.getFormulaTokens(evalCell);
+                assertSame(tokens, evalWb.getFormulaTokens(evalCell));
+                assertEquals(cell.getCellFormula(), FormulaRenderer.toFormulaString(evalWb, tokens));
+            }
+        }
+    }
 }
@@ -0,0 +1,172 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.xssf.usermodel;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.AreaReference;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.xssf.XSSFTestDataSamples;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for workbooks with sheets read on first access, see
+ * {@link XSSFWorkbook#XSSFWorkbook(OPCPackage, boolean, boolean)}
+ */
+final class TestXSSFLazySheets {
+
+    private static final String SAMPLE = "SampleSS.xlsx";
+
+    @Test
+    void readOnAccess() throws IOException {
+        try (XSSFWorkbook expected = XSSFTestDataSamples.openSampleWorkbook(SAMPLE);
+             XSSFWorkbook lazy = openLazy(false)) {
+            assertTrue(lazy.isLazySheets());
+            assertEquals(expected.getNumberOfSheets(), lazy.getNumberOfSheets());
+            for (int i = 0; i < expected.getNumberOfSheets(); i++) {
+                assertEquals(expected.getSheetName(i), lazy.getSheetName(i));
+            }
+
+            assertEquals(describe(expected.getSheetAt(1)), describe(lazy.getSheetAt(1)));
+            assertEquals(describe(expected.getSheet(expected.getSheetName(0))),
+                    describe(lazy.getSheet(expected.getSheetName(0))));
+            assertNull(lazy.getSheet("no such sheet"));
+
+            List<List<String>> expectedSheets = new ArrayList<>();
+            expected.forEach(sh -> expectedSheets.add(describe(sh)));
+            List<List<String>> lazySheets = new ArrayList<>();
+            lazy.spliterator().forEachRemaining(sh -> lazySheets.add(describe(sh)));
+            assertEquals(expectedSheets, lazySheets);
+        }
+    }
+
+    @Test
+    void writeUnreadSheetsUnchanged() throws IOException, InvalidFormatException {
+        try (XSSFWorkbook lazy = openLazy(true)) {
+            XSSFSheet sheet = lazy.getSheetAt(0);
+            sheet.getRow(0).createCell(20).setCellValue("changed");
+            String changedPart = sheet.getPackagePart().getPartName().getName();
+
+            UnsynchronizedByteArrayOutputStream bos = XSSFTestDataSamples.writeOut(lazy);
+            try (OPCPackage original = XSSFTestDataSamples.openSamplePackage(SAMPLE);
+                 OPCPackage written = OPCPackage.open(bos.toInputStream())) {
+                int unchanged = 0;
+                for (PackagePart part : original.getPartsByContentType(XSSFRelation.WORKSHEET.getContentType())) {
+                    if (part.getPartName().getName().equals(changedPart)) {
+                        continue;
+                    }
+                    PackagePart writtenPart = written.getPart(part.getPartName());
+                    assertNotNull(writtenPart);
+                    assertArrayEquals(toByteArray(part), toByteArray(writtenPart), part.getPartName().getName());
+                    unchanged++;
+                }
+                assertTrue(unchanged > 0);
+            }
+
+            try (XSSFWorkbook readBack = XSSFTestDataSamples.writeOutAndReadBack(lazy);
+                 XSSFWorkbook expected = XSSFTestDataSamples.openSampleWorkbook(SAMPLE)) {
+                assertEquals("changed", readBack.getSheetAt(0).getRow(0).getCell(20).getStringCellValue());
+                for (int i = 1; i < expected.getNumberOfSheets(); i++) {
+                    assertEquals(describe(expected.getSheetAt(i)), describe(readBack.getSheetAt(i)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void cloneAndRemoveUnreadSheets() throws IOException {
+        try (XSSFWorkbook expected = XSSFTestDataSamples.openSampleWorkbook(SAMPLE);
+             XSSFWorkbook lazy = openLazy(false)) {
+            XSSFSheet clone = lazy.cloneSheet(1, "clone");
+            assertEquals(describe(expected.getSheetAt(1)), describe(clone));
+
+            int sheets = lazy.getNumberOfSheets();
+            lazy.removeSheetAt(0);
+            assertEquals(sheets - 1, lazy.getNumberOfSheets());
+
+            try (XSSFWorkbook readBack = XSSFTestDataSamples.writeOutAndReadBack(lazy)) {
+                assertEquals(describe(expected.getSheetAt(1)), describe(readBack.getSheetAt(0)));
+                assertEquals(describe(expected.getSheetAt(1)), describe(readBack.getSheet("clone")));
+            }
+        }
+    }
+
+    @Test
+    void pivotTablesOfUnreadSheets() throws IOException {
+        try (XSSFWorkbook lazy = new XSSFWorkbook(
+                XSSFTestDataSamples.openSamplePackage("ExcelPivotTableSample.xlsx"), false, true)) {
+            // the pivot tables are on the second and third sheet
+            assertEquals(2, lazy.getPivotTables().size());
+
+            XSSFSheet sheet = lazy.getSheetAt(0);
+            XSSFPivotTable pivotTable = sheet.createPivotTable(new AreaReference("A1:C4", SpreadsheetVersion.EXCEL2007),
+                    new CellReference("J1"));
+            assertEquals(3, lazy.getPivotTables().size());
+            assertEquals("/xl/pivotTables/pivotTable3.xml", pivotTable.getPackagePart().getPartName().getName());
+
+            // reading the sheets doesn't add their pivot tables again
+            lazy.forEach(sh -> {});
+            assertEquals(3, lazy.getPivotTables().size());
+
+            try (XSSFWorkbook readBack = XSSFTestDataSamples.writeOutAndReadBack(lazy)) {
+                assertEquals(3, readBack.getPivotTables().size());
+            }
+        }
+    }
+
+    private static XSSFWorkbook openLazy(boolean streamCells) throws IOException {
+        return new XSSFWorkbook(XSSFTestDataSamples.openSamplePackage(SAMPLE), streamCells, true);
+    }
+
+    private static byte[] toByteArray(PackagePart part) throws IOException {
+        try (InputStream is = part.getInputStream()) {
+            return IOUtils.toByteArray(is);
+        }
+    }
+
+    private static List<String> describe(Sheet sheet) {
+        DataFormatter formatter = new DataFormatter();
+        List<String> lines = new ArrayList<>();
+        lines.add("merged regions: " + sheet.getNumMergedRegions());
+        for (Row row : sheet) {
+            for (Cell cell : row) {
+                lines.add(cell.getAddress() + " " + cell.getCellType() + " " + formatter.formatCellValue(cell));
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,185 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.xssf.usermodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.CellValue;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.XSSFTestDataSamples;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTRow;
+
+/**
+ * Tests for workbooks read with streamed cells, see {@link XSSFWorkbook#XSSFWorkbook(org.apache.poi.openxml4j.opc.OPCPackage, boolean)}
+ */
+final class TestXSSFStreamedCells {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "sample.xlsx", "shared_formulas.xlsx", "InlineStrings.xlsx", "WithVariousData.xlsx",
+        "MatrixFormulaEvalTestData.xlsx", "TestShiftRowSharedFormula.xlsx", "Formatting.xlsx"
+    })
+    void readsSameValues(String sample) throws IOException {
+        try (XSSFWorkbook expected = XSSFTestDataSamples.openSampleWorkbook(sample);
+             XSSFWorkbook streamed = openStreamed(sample)) {
+            assertTrue(streamed.isStreamingCells());
+            assertFalse(expected.isStreamingCells());
+            assertEquals(describe(expected), describe(streamed));
+
+            // reading and evaluating must not create the xml beans
+            for (Sheet sheet : streamed) {
+                for (Row row : sheet) {
+                    for (Cell cell : row) {
+                        assertTrue(((XSSFCell)cell).isStreamed(), sample + " " + cell.getAddress());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void writeWithoutChanges() throws IOException {
+        try (XSSFWorkbook expected = XSSFTestDataSamples.openSampleWorkbook("shared_formulas.xlsx");
+             XSSFWorkbook streamed = openStreamed("shared_formulas.xlsx");
+             XSSFWorkbook readBack = XSSFTestDataSamples.writeOutAndReadBack(streamed)) {
+            assertEquals(describe(expected), describe(readBack));
+        }
+    }
+
+    @Test
+    void changeCells() throws IOException {
+        try (XSSFWorkbook expected = XSSFTestDataSamples.openSampleWorkbook("shared_formulas.xlsx");
+             XSSFWorkbook streamed = openStreamed("shared_formulas.xlsx")) {
+            modify(expected);
+            modify(streamed);
+            assertEquals(describe(expected), describe(streamed));
+            for (Row row : streamed.getSheetAt(0)) {
+                for (Cell cell : row) {
+                    assertFalse(((XSSFCell)cell).isStreamed());
+                }
+            }
+
+            try (XSSFWorkbook readBack = XSSFTestDataSamples.writeOutAndReadBack(streamed)) {
+                assertEquals(describe(expected), describe(readBack));
+            }
+        }
+    }
+
+    @Test
+    void rowAndCellStructure() throws IOException {
+        try (XSSFWorkbook expected = XSSFTestDataSamples.openSampleWorkbook("sample.xlsx");
+             XSSFWorkbook streamed = openStreamed("sample.xlsx")) {
+            for (XSSFWorkbook wb : new XSSFWorkbook[]{expected, streamed}) {
+                XSSFSheet sheet = wb.getSheetAt(0);
+                sheet.shiftRows(2, sheet.getLastRowNum(), 3);
+                sheet.removeRow(sheet.getRow(0));
+                sheet.createRow(1).createCell(4).setCellValue("new");
+                sheet.getRow(6).removeCell(sheet.getRow(6).getCell(0));
+            }
+            assertEquals(describe(expected), describe(streamed));
+
+            try (XSSFWorkbook readBack = XSSFTestDataSamples.writeOutAndReadBack(streamed)) {
+                assertEquals(describe(expected), describe(readBack));
+            }
+        }
+    }
+
+    @Test
+    void ctWorksheetContainsCells() throws IOException {
+        try (XSSFWorkbook expected = XSSFTestDataSamples.openSampleWorkbook("sample.xlsx");
+             XSSFWorkbook streamed = openStreamed("sample.xlsx")) {
+            CTRow[] expectedRows = expected.getSheetAt(0).getCTWorksheet().getSheetData().getRowArray();
+            CTRow[] streamedRows = streamed.getSheetAt(0).getCTWorksheet().getSheetData().getRowArray();
+            assertEquals(expectedRows.length, streamedRows.length);
+            for (int i = 0; i < expectedRows.length; i++) {
+                assertEquals(expectedRows[i].xmlText(), streamedRows[i].xmlText());
+            }
+            for (Row row : streamed.getSheetAt(0)) {
+                for (Cell cell : row) {
+                    assertFalse(((XSSFCell)cell).isStreamed());
+                }
+            }
+        }
+    }
+
+    private static void modify(XSSFWorkbook wb) {
+        XSSFSheet sheet = wb.getSheetAt(0);
+        // the master cell of a shared formula
+        sheet.getRow(1).getCell(1).setCellValue(42);
+        sheet.getRow(2).getCell(0).setCellFormula("A2*2");
+        sheet.getRow(0).createCell(10).setCellValue("added");
+    }
+
+    private static XSSFWorkbook openStreamed(String sample) throws IOException {
+        return new XSSFWorkbook(XSSFTestDataSamples.openSamplePackage(sample), true);
+    }
+
+    /**
+     * @return the values, formulas, styles and evaluated results of all cells
+     */
+    private static List<String> describe(XSSFWorkbook wb) {
+        FormulaEvaluator fe = wb.getCreationHelper().createFormulaEvaluator();
+        List<String> lines = new ArrayList<>();
+        for (Sheet sheet : wb) {
+            lines.add(sheet.getSheetName() + " " + sheet.getFirstRowNum() + "-" + sheet.getLastRowNum());
+            for (Row row : sheet) {
+                lines.add("row " + row.getRowNum() + " " + row.getFirstCellNum() + "-" + row.getLastCellNum()
+                        + " " + row.getHeight());
+                for (Cell c : row) {
+                    XSSFCell cell = (XSSFCell)c;
+                    StringBuilder sb = new StringBuilder();
+                    sb.append(cell.getReference()).append(' ').append(cell.getCellType())
+                        .append(' ').append(cell.getCellStyle().getIndex())
+                        .append(' ').append(cell.getRawValue())
+                        .append(' ').append(cell);
+                    if (cell.getCellType() == CellType.FORMULA) {
+                        sb.append(' ').append(cell.getCachedFormulaResultType())
+                            .append(' ').append(cell.isPartOfArrayFormulaGroup())
+                            .append(' ').append(evaluate(fe, cell));
+                    } else if (cell.getCellType() == CellType.STRING) {
+                        sb.append(' ').append(cell.getRichStringCellValue().numFormattingRuns());
+                    }
+                    lines.add(sb.toString());
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static String evaluate(FormulaEvaluator fe, Cell cell) {
+        try {
+            CellValue cv = fe.evaluate(cell);
+            return (cv == null) ? null : cv.formatAsString();
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+}
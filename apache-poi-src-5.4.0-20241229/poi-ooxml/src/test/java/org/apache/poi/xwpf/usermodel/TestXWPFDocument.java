@@ -285,6 +285,67 @@ public final class TestXWPFDocument {
         }
     }
 
+    @Test
+    void testInsertKeepsPositions() throws IOException {
+        try (XWPFDocument doc = new XWPFDocument()) {
+            for (int i = 0; i < 10; i++) {
+                doc.createParagraph().createRun().setText("p" + i);
+                if (i == 4) {
+                    doc.createTable();
+                }
+            }
+
+            // insert before every 2nd paragraph, then a run of paragraphs one after the other
+            for (int i = 0; i < 10; i += 2) {
+                XWPFParagraph before = doc.getParagraphs().get(i + i / 2);
+                try (XmlCursor cursor = before.getCTP().newCursor()) {
+                    doc.insertNewParagraph(cursor).createRun().setText("n" + i);
+                }
+            }
+            XWPFParagraph last = doc.getParagraphs().get(3);
+            for (int i = 0; i < 5; i++) {
+                try (XmlCursor cursor = last.getCTP().newCursor()) {
+                    cursor.toNextSibling();
+                    last = doc.insertNewParagraph(cursor);
+                }
+            }
+            XWPFTable table = doc.getTables().get(0);
+            try (XmlCursor cursor = table.getCTTbl().newCursor()) {
+                doc.insertNewTbl(cursor);
+            }
+
+            assertEquals(20, doc.getParagraphs().size());
+            assertEquals(2, doc.getTables().size());
+            assertEquals(22, doc.getBodyElements().size());
+
+            List<CTP> ctps = doc.getDocument().getBody().getPList();
+            int paragraphPos = 0;
+            int tablePos = 0;
+            for (int i = 0; i < doc.getBodyElements().size(); i++) {
+                IBodyElement element = doc.getBodyElements().get(i);
+                if (element instanceof XWPFParagraph) {
+                    XWPFParagraph p = (XWPFParagraph) element;
+                    assertSame(ctps.get(paragraphPos), p.getCTP());
+                    assertSame(p, doc.getParagraphs().get(paragraphPos));
+                    assertSame(p, doc.getParagraph(p.getCTP()));
+                    assertEquals(i, doc.getPosOfParagraph(p));
+                    assertEquals(paragraphPos++, doc.getParagraphPos(i));
+                } else {
+                    XWPFTable t = (XWPFTable) element;
+                    assertSame(t, doc.getTable(t.getCTTbl()));
+                    assertEquals(i, doc.getPosOfTable(t));
+                    assertEquals(tablePos++, doc.getTablePos(i));
+                }
+            }
+
+            XWPFParagraph removed = doc.getParagraphs().get(5);
+            assertTrue(doc.removeBodyElement(doc.getPosOfParagraph(removed)));
+            assertEquals(-1, doc.getPosOfParagraph(removed));
+            assertNull(doc.getParagraph(removed.getCTP()));
+            assertEquals(5, doc.getPosOfParagraph(doc.getParagraphs().get(5)));
+        }
+    }
+
     @Test
     void testRegisterPackagePictureData() throws IOException, InvalidFormatException {
         try (XWPFDocument doc = XWPFTestDataSamples.openSampleDocument("issue_51265_1.docx")) {
@@ -39,9 +39,34 @@ import static org.apache.poi.hssf.model.InternalWorkbook.WORKBOOK_DIR_ENTRY_NAME
  * to your associated HSSFListener.
  */
 public class HSSFEventFactory {
+    private boolean reuseCellValueRecords;
+
     /** Creates a new instance of HSSFEventFactory */
     public HSSFEventFactory() {
-        // no instance fields
+    }
+
+    /**
+     * Controls whether the cell value records passed to the listeners are reused.<p>
+     *
+     * If set, the {@link NumberRecord}s (also those converted from RK and MulRK records),
+     * {@link BlankRecord}s and {@link LabelSSTRecord}s are decoded into the same record instance
+     * again and again, which avoids most allocations when only the cell values are needed.
+     * The listeners must not keep references to these records, but copy the values.
+     *
+     * @param reuseCellValueRecords if true, the cell value records are reused
+     * @see RecordFactoryInputStream#setReuseCellValueRecords(boolean)
+     * @since POI 5.4.1
+     */
+    public void setReuseCellValueRecords(boolean reuseCellValueRecords) {
+        this.reuseCellValueRecords = reuseCellValueRecords;
+    }
+
+    /**
+     * @return whether the cell value records passed to the listeners are reused
+     * @since POI 5.4.1
+     */
+    public boolean isReuseCellValueRecords() {
+        return reuseCellValueRecords;
     }
 
     /**
@@ -164,6 +189,7 @@ public class HSSFEventFactory {
 
         // Create a new RecordStream and use that
         RecordFactoryInputStream recordStream = new RecordFactoryInputStream(in, false);
+        recordStream.setReuseCellValueRecords(reuseCellValueRecords);
 
         // Process each record as they come in
         while(true) {
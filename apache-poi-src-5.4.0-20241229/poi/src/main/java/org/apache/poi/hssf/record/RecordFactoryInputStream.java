@@ -27,6 +27,7 @@ import org.apache.poi.hssf.eventusermodel.HSSFListener;
 import org.apache.poi.hssf.record.crypto.Biff8EncryptionKey;
 import org.apache.poi.poifs.crypt.Decryptor;
 import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.hssf.util.RKUtil;
 import org.apache.poi.util.RecordFormatException;
 
 /**
@@ -173,6 +174,22 @@ public final class RecordFactoryInputStream {
 
     private boolean _lastRecordWasEOFLevelZero;
 
+    /**
+     * If set, the cell value records are decoded into the reused records below
+     */
+    private boolean _reuseCellValueRecords;
+    private final NumberRecord _numberRecord = new NumberRecord();
+    private final BlankRecord _blankRecord = new BlankRecord();
+    private final LabelSSTRecord _labelSSTRecord = new LabelSSTRecord();
+
+    /**
+     * The number of cells of the current {@link MulRKRecord}, which have not been returned yet.
+     * The cells are read one at a time from the underlying stream.
+     */
+    private int _mulRKRemaining;
+    private int _mulRKRow;
+    private int _mulRKColumn;
+
 
     /**
      * @param in the InputStream to read from
@@ -221,6 +238,30 @@ public final class RecordFactoryInputStream {
         _lastRecordWasEOFLevelZero = false;
     }
 
+    /**
+     * Controls whether the cell value records are decoded into reused record instances.<p>
+     *
+     * If set, {@link NumberRecord}s (also those converted from {@link RKRecord}s and {@link MulRKRecord}s),
+     * {@link BlankRecord}s and {@link LabelSSTRecord}s are not created for each cell, but the same instance
+     * is updated and returned again. This avoids most allocations when reading the cell values of large
+     * workbooks, but the returned cell value records are only valid until the next call of
+     * {@link #nextRecord()} and must be copied if they are kept.
+     *
+     * @param reuseCellValueRecords if true, the cell value records are reused
+     * @since POI 5.4.1
+     */
+    public void setReuseCellValueRecords(boolean reuseCellValueRecords) {
+        _reuseCellValueRecords = reuseCellValueRecords;
+    }
+
+    /**
+     * @return whether the cell value records are decoded into reused record instances
+     * @since POI 5.4.1
+     */
+    public boolean isReuseCellValueRecords() {
+        return _reuseCellValueRecords;
+    }
+
     /**
      * @return the next (complete) record from the stream, or null if there are no more.
      */
@@ -231,6 +272,9 @@ public final class RecordFactoryInputStream {
             // found an unread record
             return r;
         }
+        if (_mulRKRemaining > 0) {
+            return nextMulRKCell();
+        }
         while (true) {
             if (!_recStream.hasNextRecord()) {
                 // recStream is exhausted;
@@ -252,7 +296,10 @@ public final class RecordFactoryInputStream {
             // step underlying RecordInputStream to the next record
             _recStream.nextRecord();
 
-            r = readNextRecord();
+            r = _reuseCellValueRecords ? readCellValueRecord() : null;
+            if (r == null) {
+                r = readNextRecord();
+            }
             if (r == null) {
                 // some record types may get skipped (e.g. DBCellRecord and ContinueRecord)
                 continue;
@@ -279,6 +326,82 @@ public final class RecordFactoryInputStream {
         return null;
     }
 
+    /**
+     * Decodes the current record into one of the reused cell value records
+     *
+     * @return the reused record, or <code>null</code> if the current record is not a cell value record
+     */
+    private Record readCellValueRecord() {
+        Record record;
+        switch (_recStream.getSid()) {
+            case NumberRecord.sid:
+                readCellHeader(_numberRecord);
+                _numberRecord.setValue(_recStream.readDouble());
+                record = _numberRecord;
+                break;
+            case RKRecord.sid:
+                // like the RKRecord conversion, this does not change the last record
+                readCellHeader(_numberRecord);
+                _numberRecord.setValue(RKUtil.decodeNumber(_recStream.readInt()));
+                _lastRecordWasEOFLevelZero = false;
+                return _numberRecord;
+            case MulRKRecord.sid:
+                // 4 bytes row and first column, each cell has 2 bytes xf and 4 bytes rk,
+                // followed by 2 bytes last column
+                int numCells = (_recStream.remaining() - 6) / 6;
+                if (numCells <= 0) {
+                    // leave malformed records to the MulRKRecord conversion
+                    return null;
+                }
+                _mulRKRow = _recStream.readUShort();
+                _mulRKColumn = _recStream.readShort();
+                _mulRKRemaining = numCells;
+                _lastRecordWasEOFLevelZero = false;
+                return nextMulRKCell();
+            case BlankRecord.sid:
+                readCellHeader(_blankRecord);
+                record = _blankRecord;
+                break;
+            case LabelSSTRecord.sid:
+                readCellHeader(_labelSSTRecord);
+                _labelSSTRecord.setSSTIndex(_recStream.readInt());
+                record = _labelSSTRecord;
+                break;
+            default:
+                return null;
+        }
+        _lastRecordWasEOFLevelZero = false;
+        _lastRecord = record;
+        return record;
+    }
+
+    private void readCellHeader(CellRecord record) {
+        record.setRow(_recStream.readUShort());
+        record.setColumn((short)_recStream.readUShort());
+        record.setXFIndex((short)_recStream.readUShort());
+    }
+
+    private void readCellHeader(BlankRecord record) {
+        record.setRow(_recStream.readUShort());
+        record.setColumn(_recStream.readShort());
+        record.setXFIndex(_recStream.readShort());
+    }
+
+    /**
+     * @return the next cell of the current {@link MulRKRecord} as reused {@link NumberRecord}
+     */
+    private NumberRecord nextMulRKCell() {
+        _numberRecord.setRow(_mulRKRow);
+        _numberRecord.setColumn((short)_mulRKColumn++);
+        _numberRecord.setXFIndex(_recStream.readShort());
+        _numberRecord.setValue(RKUtil.decodeNumber(_recStream.readInt()));
+        if (--_mulRKRemaining == 0) {
+            // last column
+            _recStream.readShort();
+        }
+        return _numberRecord;
+    }
+
     /**
      * @return the next available record, or <code>null</code> if
      * this pass didn't return a record that's
@@ -18,9 +18,11 @@
 package org.apache.poi.hssf.usermodel;
 
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.poi.ss.formula.BaseFormulaEvaluator;
 import org.apache.poi.ss.formula.CollaboratingWorkbooksEnvironment;
+import org.apache.poi.ss.formula.EvaluationCell;
 import org.apache.poi.ss.formula.IStabilityClassifier;
 import org.apache.poi.ss.formula.WorkbookEvaluator;
 import org.apache.poi.ss.formula.eval.BoolEval;
@@ -70,6 +72,11 @@ public class HSSFFormulaEvaluator extends BaseFormulaEvaluator {
         _book = workbook;
     }
 
+    private HSSFFormulaEvaluator(WorkbookEvaluator bookEvaluator, HSSFWorkbook workbook) {
+        super(bookEvaluator);
+        _book = workbook;
+    }
+
     /**
      * @param workbook  The workbook to perform the formula evaluations in
      * @param stabilityClassifier used to optimise caching performance. Pass {@code null}
@@ -141,6 +148,14 @@ public class HSSFFormulaEvaluator extends BaseFormulaEvaluator {
         _bookEvaluator.notifyUpdateCell(new HSSFEvaluationCell((HSSFCell)cell));
     }
 
+    /**
+     * Turns a HSSFCell into a HSSFEvaluationCell
+     */
+    @Override
+    protected EvaluationCell toEvaluationCell(Cell cell) {
+        return new HSSFEvaluationCell((HSSFCell)cell);
+    }
+
     @Override
     public HSSFCell evaluateInCell(Cell cell) {
         return (HSSFCell) super.evaluateInCell(cell);
@@ -192,6 +207,16 @@ public class HSSFFormulaEvaluator extends BaseFormulaEvaluator {
         evaluateAllFormulaCells(_book, this);
     }
 
+    @Override
+    public void evaluateAll(ForkJoinPool pool) {
+        evaluateAllFormulaCells(_book, this, pool);
+    }
+
+    @Override
+    protected HSSFFormulaEvaluator createParallelEvaluator() {
+        return new HSSFFormulaEvaluator(_bookEvaluator.copyFor(HSSFEvaluationWorkbook.create(_book)), _book);
+    }
+
     /**
      * Returns a CellValue wrapper around the supplied ValueEval instance.
      * @param cell The cell with the formula
@@ -27,7 +27,6 @@ import java.nio.ByteBuffer;
 import java.util.Iterator;
 
 import org.apache.poi.poifs.property.DocumentProperty;
-import org.apache.poi.util.IOUtils;
 import org.apache.poi.util.LittleEndian;
 import org.apache.poi.util.LittleEndianInput;
 
@@ -61,6 +60,9 @@ public final class DocumentInputStream extends InputStream implements LittleEndi
     private Iterator<ByteBuffer> _data;
     private ByteBuffer _buffer;
 
+    /** reused for reading the primitive values */
+    private final byte[] _scratch = new byte[LONG_SIZE];
+
     /**
      * Create an InputStream from the specified DocumentEntry
      *
@@ -152,9 +154,8 @@ public final class DocumentInputStream extends InputStream implements LittleEndi
         if (atEOD()) {
             return EOF;
         }
-        byte[] b = new byte[1];
-        int result = read(b, 0, 1);
-        return (result == EOF) ? EOF : (b[0] & 0xFF);
+        int result = read(_scratch, 0, 1);
+        return (result == EOF) ? EOF : (_scratch[0] & 0xFF);
     }
 
     @Override
@@ -243,9 +244,19 @@ public final class DocumentInputStream extends InputStream implements LittleEndi
 
         long rval = new_offset - _current_offset;
 
-        // TODO Do this better
-        byte[] skip = IOUtils.safelyAllocate(rval, Integer.MAX_VALUE);
-        readFully(skip);
+        // move through the blocks without copying their contents
+        long remaining = rval;
+        while (remaining > 0) {
+            if (_buffer == null || _buffer.remaining() == 0) {
+                _current_block_count++;
+                _buffer = _data.next();
+            }
+
+            int limit = (int) Math.min(remaining, _buffer.remaining());
+            _buffer.position(_buffer.position() + limit);
+            _current_offset += limit;
+            remaining -= limit;
+        }
         return rval;
     }
 
@@ -315,25 +326,22 @@ public final class DocumentInputStream extends InputStream implements LittleEndi
    @Override
     public long readLong() {
         checkAvaliable(LONG_SIZE);
-        byte[] data = new byte[LONG_SIZE];
-        readFully(data, 0, LONG_SIZE);
-        return LittleEndian.getLong(data, 0);
+        readFully(_scratch, 0, LONG_SIZE);
+        return LittleEndian.getLong(_scratch, 0);
     }
 
    @Override
    public short readShort() {
       checkAvaliable(SHORT_SIZE);
-      byte[] data = new byte[SHORT_SIZE];
-      readFully(data, 0, SHORT_SIZE);
-      return LittleEndian.getShort(data);
+      readFully(_scratch, 0, SHORT_SIZE);
+      return LittleEndian.getShort(_scratch);
    }
 
    @Override
     public int readInt() {
         checkAvaliable(INT_SIZE);
-      byte[] data = new byte[INT_SIZE];
-      readFully(data, 0, INT_SIZE);
-      return LittleEndian.getInt(data);
+      readFully(_scratch, 0, INT_SIZE);
+      return LittleEndian.getInt(_scratch);
     }
 
     public long readUInt() {
@@ -344,18 +352,14 @@ public final class DocumentInputStream extends InputStream implements LittleEndi
     @Override
     public int readUShort() {
         checkAvaliable(SHORT_SIZE);
-      byte[] data = new byte[SHORT_SIZE];
-      readFully(data, 0, SHORT_SIZE);
-      return LittleEndian.getUShort(data);
+      readFully(_scratch, 0, SHORT_SIZE);
+      return LittleEndian.getUShort(_scratch);
     }
 
     @Override
     public int readUByte() {
         checkAvaliable(1);
-        byte[] data = new byte[1];
-        readFully(data, 0, 1);
-        if (data[0] >= 0)
-            return data[0];
-        return data[0] + 256;
+        readFully(_scratch, 0, 1);
+        return _scratch[0] & 0xFF;
     }
 }
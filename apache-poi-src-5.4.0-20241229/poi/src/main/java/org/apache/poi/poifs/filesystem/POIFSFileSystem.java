@@ -180,7 +180,27 @@ public class POIFSFileSystem extends BlockStore
      */
     public POIFSFileSystem(File file, boolean readOnly)
             throws IOException {
-        this(null, file, readOnly, true, true);
+        this(file, readOnly, false);
+    }
+
+    /**
+     * <p>Creates a POIFSFileSystem from a {@code File}, optionally memory-mapping
+     * the file in read-only mode.</p>
+     *
+     * <p>When memory-mapped, the blocks are read as slices of the mapped file instead
+     * of being copied into a new buffer each time, which speeds up reading large files.
+     * The file system can't be changed in this mode, and no data read from it must be
+     * used after {@link #close()}.</p>
+     *
+     * @param file         the File from which to read or read/write the data
+     * @param readOnly     whether the POIFileSystem will only be used in read-only mode
+     * @param memoryMapped whether to memory-map the file, only applies in read-only mode
+     * @throws IOException on errors reading, or on invalid data
+     * @since POI 5.4.1
+     */
+    public POIFSFileSystem(File file, boolean readOnly, boolean memoryMapped)
+            throws IOException {
+        this(null, file, readOnly, memoryMapped, true, true);
     }
 
     /**
@@ -220,7 +240,7 @@ public class POIFSFileSystem extends BlockStore
      */
     public POIFSFileSystem(FileChannel channel, boolean readOnly)
             throws IOException {
-        this(channel, null, readOnly, false, true);
+        this(channel, null, readOnly, false, false, true);
     }
 
     /**
@@ -241,12 +261,12 @@ public class POIFSFileSystem extends BlockStore
      */
     public POIFSFileSystem(FileChannel channel, boolean readOnly, boolean closeChannel)
             throws IOException {
-        this(channel, null, readOnly, closeChannel, closeChannel);
+        this(channel, null, readOnly, false, closeChannel, closeChannel);
     }
 
     @SuppressWarnings("java:S2095")
-    private POIFSFileSystem(FileChannel channel, File srcFile, boolean readOnly, boolean closeChannelOnError,
-                            boolean closeChannelOnClose) throws IOException {
+    private POIFSFileSystem(FileChannel channel, File srcFile, boolean readOnly, boolean memoryMapped,
+                            boolean closeChannelOnError, boolean closeChannelOnClose) throws IOException {
         this(false);
 
         try {
@@ -255,7 +275,7 @@ public class POIFSFileSystem extends BlockStore
                 if (srcFile.length() == 0)
                     throw new EmptyFileException(srcFile);
 
-                FileBackedDataSource d = new FileBackedDataSource(srcFile, readOnly);
+                FileBackedDataSource d = new FileBackedDataSource(srcFile, readOnly, memoryMapped);
                 channel = d.getChannel();
                 _data = d;
             } else {
@@ -757,8 +777,11 @@ public class POIFSFileSystem extends BlockStore
      * @throws IOException thrown on errors writing to the stream
      */
     public void writeFilesystem(final OutputStream stream) throws IOException {
-        // Have the datasource updated
-        syncWithDataSource();
+        // Have the datasource updated, unless it is a memory-mapped
+        // read-only file, which can't have been changed
+        if (!(_data instanceof FileBackedDataSource && ((FileBackedDataSource) _data).isMemoryMapped())) {
+            syncWithDataSource();
+        }
 
         // Now copy the contents to the stream
         _data.copyTo(stream);
@@ -39,10 +39,14 @@ import org.apache.poi.util.IOUtils;
 public class FileBackedDataSource extends DataSource implements Closeable {
     private static final Logger LOG = PoiLogManager.getLogger(FileBackedDataSource.class);
 
+    /** size of the windows in which a memory-mapped read-only file is mapped */
+    private static final long MAPPED_WINDOW_SIZE = 1L << 28;
+
     private final FileChannel channel;
     private Long channelSize;
 
     private final boolean writable;
+    private final boolean memoryMapped;
     private final boolean closeChannelOnClose;
     // remember file base, which needs to be closed too
     private final RandomAccessFile srcFile;
@@ -53,6 +57,9 @@ public class FileBackedDataSource extends DataSource implements Closeable {
     // See https://bz.apache.org/bugzilla/show_bug.cgi?id=58480,
     private final IdentityHashMap<ByteBuffer,ByteBuffer> buffersToClean = new IdentityHashMap<>();
 
+    // the lazily mapped windows of a memory-mapped read-only file
+    private ByteBuffer[] mappedWindows;
+
     public FileBackedDataSource(File file) throws FileNotFoundException {
         this(newSrcFile(file, "r"), true);
     }
@@ -61,8 +68,26 @@ public class FileBackedDataSource extends DataSource implements Closeable {
         this(newSrcFile(file, readOnly ? "r" : "rw"), readOnly);
     }
 
+    /**
+     * Opens the file, optionally memory-mapping it in read-only mode.<p>
+     *
+     * When memory-mapped, the file is mapped read-only in large windows and {@link #read(int, long)}
+     * returns read-only slices of the mapping instead of copying each block into a new buffer.
+     * The returned buffers must not be used after the data source is closed.
+     *
+     * @param file the file to read
+     * @param readOnly whether the file is only read
+     * @param memoryMapped whether to memory-map the file, only applies in read-only mode -
+     *  in read/write mode the blocks are always mapped
+     * @throws FileNotFoundException if the file doesn't exist
+     * @since POI 5.4.1
+     */
+    public FileBackedDataSource(File file, boolean readOnly, boolean memoryMapped) throws FileNotFoundException {
+        this(newSrcFile(file, readOnly ? "r" : "rw"), null, readOnly, memoryMapped, false);
+    }
+
     public FileBackedDataSource(RandomAccessFile srcFile, boolean readOnly) {
-        this(srcFile, srcFile.getChannel(), readOnly, false);
+        this(srcFile, srcFile.getChannel(), readOnly, false, false);
     }
 
     public FileBackedDataSource(FileChannel channel, boolean readOnly) {
@@ -73,13 +98,15 @@ public class FileBackedDataSource extends DataSource implements Closeable {
      * @since POI 5.1.0
      */
     public FileBackedDataSource(FileChannel channel, boolean readOnly, boolean closeChannelOnClose) {
-        this(null, channel, readOnly, closeChannelOnClose);
+        this(null, channel, readOnly, false, closeChannelOnClose);
     }
 
-    private FileBackedDataSource(RandomAccessFile srcFile, FileChannel channel, boolean readOnly, boolean closeChannelOnClose) {
+    private FileBackedDataSource(RandomAccessFile srcFile, FileChannel channel, boolean readOnly, boolean memoryMapped,
+                                 boolean closeChannelOnClose) {
         this.srcFile = srcFile;
-        this.channel = channel;
+        this.channel = channel != null ? channel : srcFile.getChannel();
         this.writable = !readOnly;
+        this.memoryMapped = readOnly && memoryMapped;
         this.closeChannelOnClose = closeChannelOnClose;
     }
 
@@ -88,6 +115,14 @@ public class FileBackedDataSource extends DataSource implements Closeable {
         return this.writable;
     }
 
+    /**
+     * @return whether the file is memory-mapped in read-only mode
+     * @since POI 5.4.1
+     */
+    public boolean isMemoryMapped() {
+        return this.memoryMapped;
+    }
+
     public FileChannel getChannel() {
         return this.channel;
     }
@@ -103,6 +138,14 @@ public class FileBackedDataSource extends DataSource implements Closeable {
         // Or should we have 3 modes instead of the current boolean -
         //  read-write, read-only, read-to-write-elsewhere?
 
+        if (memoryMapped) {
+            ByteBuffer slice = readMapped(length, position);
+            if (slice != null) {
+                return slice;
+            }
+            // the range is not inside one window, or past the end of the file
+        }
+
         // Do we read or map (for read/write)?
         ByteBuffer dst;
         if (writable) {
@@ -130,6 +173,38 @@ public class FileBackedDataSource extends DataSource implements Closeable {
         return dst;
     }
 
+    /**
+     * @return a slice of the mapped window containing the range, or {@code null} if
+     *  the range crosses a window boundary or the end of the file
+     */
+    private ByteBuffer readMapped(int length, long position) throws IOException {
+        long fileSize = size();
+        int windowIndex = (int) (position / MAPPED_WINDOW_SIZE);
+        int offset = (int) (position % MAPPED_WINDOW_SIZE);
+        if (position + length > fileSize || offset + length > MAPPED_WINDOW_SIZE) {
+            return null;
+        }
+
+        if (mappedWindows == null) {
+            mappedWindows = new ByteBuffer[(int) ((fileSize + MAPPED_WINDOW_SIZE - 1) / MAPPED_WINDOW_SIZE)];
+        }
+        ByteBuffer window = mappedWindows[windowIndex];
+        if (window == null) {
+            long windowStart = windowIndex * MAPPED_WINDOW_SIZE;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                    Math.min(MAPPED_WINDOW_SIZE, fileSize - windowStart));
+            mappedWindows[windowIndex] = window;
+
+            // remember this buffer for cleanup
+            buffersToClean.put(window, window);
+        }
+
+        ByteBuffer dst = window.duplicate();
+        dst.position(offset);
+        dst.limit(offset + length);
+        return dst.slice();
+    }
+
     @Override
     public void write(ByteBuffer src, long position) throws IOException {
         channel.write(src, position);
@@ -173,6 +248,7 @@ public class FileBackedDataSource extends DataSource implements Closeable {
         // We consider it a bug if a Buffer is still in use now!
         buffersToClean.forEach((k,v) -> unmap(v));
         buffersToClean.clear();
+        mappedWindows = null;
 
         if (srcFile != null) {
             // see http://bugs.java.com/bugdatabase/view_bug.do?bug_id=4796385
@@ -0,0 +1,135 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.sl.draw;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size bounded cache of decoded images, shared by all {@link BitmapImageRenderer}s,
+ * so a picture which appears on many slides, e.g. a logo on the master, is only decoded once.
+ * <p>
+ * Images are keyed by the checksum of their data and their size in pixels, -1 is used
+ * for the size as decoded. The data is compared on each hit, so checksum collisions
+ * are harmless. The least recently used images are dropped when the cached images
+ * use more than {@link #getMaxSize()} bytes.
+ * <p>
+ * The cached images are shared and must not be modified.
+ */
+final class BitmapImageCache {
+    /** 64 MB, i.e. 16 million ARGB pixels */
+    static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+    static final BitmapImageCache INSTANCE = new BitmapImageCache();
+
+    private final LinkedHashMap<Key, Entry> images = new LinkedHashMap<>(16, 0.75f, true);
+    private long maxSize = DEFAULT_MAX_SIZE;
+    private long size;
+
+    private BitmapImageCache() {}
+
+    synchronized long getMaxSize() {
+        return maxSize;
+    }
+
+    synchronized void setMaxSize(long maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+        evict();
+    }
+
+    synchronized void clear() {
+        images.clear();
+        size = 0;
+    }
+
+    /**
+     * @return the cached image, or null if it isn't cached
+     */
+    synchronized BufferedImage get(byte[] data, long checksum, int width, int height) {
+        Entry entry = images.get(new Key(checksum, data.length, width, height));
+        return (entry != null && Arrays.equals(entry.data, data)) ? entry.image : null;
+    }
+
+    synchronized void put(byte[] data, long checksum, int width, int height, BufferedImage image) {
+        long imageSize = sizeOf(image);
+        if (imageSize > maxSize) {
+            return;
+        }
+        Entry old = images.put(new Key(checksum, data.length, width, height), new Entry(data.clone(), image));
+        if (old != null) {
+            size -= sizeOf(old.image);
+        }
+        size += imageSize;
+        evict();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Key, Entry>> iter = images.entrySet().iterator();
+        while (size > maxSize && iter.hasNext()) {
+            size -= sizeOf(iter.next().getValue().image);
+            iter.remove();
+        }
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        return 4L * image.getWidth() * image.getHeight();
+    }
+
+    private static final class Key {
+        private final long checksum;
+        private final int length;
+        private final int width;
+        private final int height;
+
+        Key(long checksum, int length, int width, int height) {
+            this.checksum = checksum;
+            this.length = length;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return checksum == other.checksum && length == other.length && width == other.width && height == other.height;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Long.hashCode(checksum);
+            result = 31 * result + length;
+            result = 31 * result + width;
+            return 31 * result + height;
+        }
+    }
+
+    private static final class Entry {
+        private final byte[] data;
+        private final BufferedImage image;
+
+        Entry(byte[] data, BufferedImage image) {
+            this.data = data;
+            this.image = image;
+        }
+    }
+}
@@ -50,6 +50,9 @@ import org.apache.poi.util.IOUtils;
 
 /**
  * For now this class renders only images supported by the javax.imageio.ImageIO framework.
+ * <p>
+ * Decoded images are kept in a size bounded cache shared by all instances, so the same
+ * picture data is only decoded once, see {@link #setMaxImageCacheSize(long)}.
  **/
 public class BitmapImageRenderer implements ImageRenderer {
     private static final Logger LOG = PoiLogManager.getLogger(BitmapImageRenderer.class);
@@ -68,6 +71,11 @@ public class BitmapImageRenderer implements ImageRenderer {
 
     protected BufferedImage img;
     private boolean doCache;
+    /** the data of {@link #imgSource}, to look up scaled versions in the image cache */
+    private byte[] imgData;
+    private long imgChecksum;
+    /** the decoded image for {@link #imgData}, {@link #img} may be changed e.g. by {@link #setAlpha(double)} */
+    private BufferedImage imgSource;
     private byte[] cachedImage;
     private String cachedContentType;
 
@@ -83,16 +91,15 @@ public class BitmapImageRenderer implements ImageRenderer {
 
     @Override
     public void loadImage(InputStream data, String contentType) throws IOException {
-        InputStream in = data;
-        if (doCache) {
-            try (UnsynchronizedByteArrayOutputStream bos = UnsynchronizedByteArrayOutputStream.builder().get()) {
-                IOUtils.copy(data, bos);
-                cachedImage = bos.toByteArray();
+        try (UnsynchronizedByteArrayOutputStream bos = UnsynchronizedByteArrayOutputStream.builder().get()) {
+            IOUtils.copy(data, bos);
+            byte[] bytes = bos.toByteArray();
+            if (doCache) {
+                cachedImage = bytes;
                 cachedContentType = contentType;
-                in = bos.toInputStream();
             }
+            loadCachedImage(bytes, contentType);
         }
-        img = readImage(in, contentType);
     }
 
     @Override
@@ -104,7 +111,49 @@ public class BitmapImageRenderer implements ImageRenderer {
             cachedImage = data.clone();
             cachedContentType = contentType;
         }
-        img = readImage(UnsynchronizedByteArrayInputStream.builder().setByteArray(data).get(), contentType);
+        loadCachedImage(data, contentType);
+    }
+
+    private void loadCachedImage(byte[] data, String contentType) throws IOException {
+        final long checksum = IOUtils.calculateChecksum(data);
+        img = BitmapImageCache.INSTANCE.get(data, checksum, -1, -1);
+        if (img == null) {
+            img = readImage(UnsynchronizedByteArrayInputStream.builder().setByteArray(data).get(), contentType);
+            if (img != null) {
+                BitmapImageCache.INSTANCE.put(data, checksum, -1, -1, img);
+            }
+        }
+        imgData = data;
+        imgChecksum = checksum;
+        imgSource = img;
+    }
+
+    /**
+     * Sets the maximum size of the decoded images cached by all bitmap image renderers.
+     * The least recently used images are dropped first.
+     *
+     * @param maxSize the maximum size in bytes, counting 4 bytes per pixel, 0 disables the cache
+     * @since POI 5.4.1
+     */
+    public static void setMaxImageCacheSize(long maxSize) {
+        BitmapImageCache.INSTANCE.setMaxSize(maxSize);
+    }
+
+    /**
+     * @return the maximum size in bytes of the decoded images cached by all bitmap image renderers
+     * @since POI 5.4.1
+     */
+    public static long getMaxImageCacheSize() {
+        return BitmapImageCache.INSTANCE.getMaxSize();
+    }
+
+    /**
+     * Drops all decoded images cached by the bitmap image renderers
+     *
+     * @since POI 5.4.1
+     */
+    public static void clearImageCache() {
+        BitmapImageCache.INSTANCE.clear();
     }
 
     /**
@@ -264,11 +313,22 @@ public class BitmapImageRenderer implements ImageRenderer {
         if (w_old == w_new && h_old == h_new) {
             return img;
         }
+        // only the unmodified image of the data is cached
+        final boolean cacheable = img == imgSource && imgData != null;
+        if (cacheable) {
+            BufferedImage scaled = BitmapImageCache.INSTANCE.get(imgData, imgChecksum, (int)w_new, (int)h_new);
+            if (scaled != null) {
+                return scaled;
+            }
+        }
         BufferedImage scaled = new BufferedImage((int)w_new, (int)h_new, BufferedImage.TYPE_INT_ARGB);
         AffineTransform at = new AffineTransform();
         at.scale(w_new/w_old, h_new/h_old);
         AffineTransformOp scaleOp = new AffineTransformOp(at, AffineTransformOp.TYPE_BILINEAR);
         scaleOp.filter(img, scaled);
+        if (cacheable) {
+            BitmapImageCache.INSTANCE.put(imgData, imgChecksum, (int)w_new, (int)h_new, scaled);
+        }
         return scaled;
     }
 
@@ -24,9 +24,13 @@ import java.awt.Paint;
 import java.awt.geom.Rectangle2D;
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.logging.PoiLogManager;
@@ -40,6 +44,12 @@ import org.apache.poi.sl.usermodel.RectAlign;
 public class DrawPictureShape extends DrawSimpleShape {
     private static final Logger LOG = PoiLogManager.getLogger(DrawPictureShape.class);
 
+    /**
+     * The class of the service loaded renderer for each content type, or empty if there is none,
+     * so the service loader is only run once per content type
+     */
+    private static final Map<String, Optional<Class<? extends ImageRenderer>>> RENDERERS = new ConcurrentHashMap<>();
+
     public DrawPictureShape(PictureShape<?,?> shape) {
         super(shape);
     }
@@ -92,6 +102,37 @@ public class DrawPictureShape extends DrawSimpleShape {
             return fallback;
         }
 
+        final String key = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        final Optional<Class<? extends ImageRenderer>> cached = RENDERERS.get(key);
+        if (cached != null) {
+            if (!cached.isPresent()) {
+                return fallback;
+            }
+            try {
+                return cached.get().getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // e.g. not accessible on the module-path, use the service loader again
+                LOG.atDebug().withThrowable(e).log("Can't instantiate cached image renderer {}", cached.get().getName());
+            }
+        }
+
+        final ImageRenderer ir = loadImageRenderer(contentType);
+        RENDERERS.put(key, Optional.ofNullable(ir == null ? null : ir.getClass()));
+        if (ir != null) {
+            return ir;
+        }
+
+        // the fallback is the BitmapImageRenderer, at least it gracefully handles invalid images
+        LOG.atWarn().log("No suitable image renderer found for content-type '{}' - include " +
+            "poi-scratchpad (for wmf/emf) or poi-ooxml (for svg) jars - " +
+            "svgs/batik doesn't work on the module-path!", contentType);
+        return fallback;
+    }
+
+    /**
+     * @return the first service loaded image renderer for the content type, or null if there is none
+     */
+    private static ImageRenderer loadImageRenderer(String contentType) {
         ClassLoader cl = DrawPictureShape.class.getClassLoader();
         Iterator<ImageRenderer> iter = ServiceLoader.load(ImageRenderer.class, cl).iterator();
         for (;;) {
@@ -106,12 +147,7 @@ public class DrawPictureShape extends DrawSimpleShape {
             } catch (Exception | ServiceConfigurationError ignored) {
             }
         }
-
-        // the fallback is the BitmapImageRenderer, at least it gracefully handles invalid images
-        LOG.atWarn().log("No suitable image renderer found for content-type '{}' - include " +
-            "poi-scratchpad (for wmf/emf) or poi-ooxml (for svg) jars - " +
-            "svgs/batik doesn't work on the module-path!", contentType);
-        return fallback;
+        return null;
     }
 
     @Override
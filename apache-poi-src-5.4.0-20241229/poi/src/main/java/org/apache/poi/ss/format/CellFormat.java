@@ -22,7 +22,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -131,9 +131,12 @@ public class CellFormat {
         };
     }
 
-    /** Maps a format string to its parsed version for efficiencies sake. */
+    /**
+     * Maps a format string to its parsed version for efficiencies sake.
+     * The parsed formats are thread-safe, so the cache can be read without locking.
+     */
     private static final Map<Locale, Map<String, CellFormat>> formatCache =
-            new WeakHashMap<>();
+            new ConcurrentHashMap<>();
 
     /**
      * Returns a CellFormat that applies the given format.  Two calls
@@ -156,15 +159,19 @@ public class CellFormat {
      *
      * @return A CellFormat that applies the given format.
      */
-    public static synchronized CellFormat getInstance(Locale locale, String format) {
-        Map<String, CellFormat> formatMap = formatCache.computeIfAbsent(locale, k -> new WeakHashMap<>());
+    public static CellFormat getInstance(Locale locale, String format) {
+        Map<String, CellFormat> formatMap = formatCache.computeIfAbsent(locale, k -> new ConcurrentHashMap<>());
         CellFormat fmt = formatMap.get(format);
         if (fmt == null) {
+            // parse outside of the map, a concurrent duplicate parse is harmless
             if (format.equals("General") || format.equals("@"))
                 fmt = createGeneralFormat(locale);
             else
                 fmt = new CellFormat(locale, format);
-            formatMap.put(format, fmt);
+            CellFormat existing = formatMap.putIfAbsent(format, fmt);
+            if (existing != null) {
+                fmt = existing;
+            }
         }
         return fmt;
     }
@@ -17,7 +17,18 @@
 
 package org.apache.poi.ss.formula;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
@@ -27,6 +38,7 @@ import org.apache.poi.ss.usermodel.RichTextString;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.util.LocaleUtil;
 
 /**
  * Common functionality across file formats for evaluating formula cells.
@@ -34,6 +46,9 @@ import org.apache.poi.ss.usermodel.Workbook;
 public abstract class BaseFormulaEvaluator implements FormulaEvaluator, WorkbookEvaluatorProvider {
     protected final WorkbookEvaluator _bookEvaluator;
 
+    /** built on the first call of {@link #recalculate(Collection)} */
+    private FormulaDependencyGraph _dependencyGraph;
+
     protected BaseFormulaEvaluator(WorkbookEvaluator bookEvaluator) {
         this._bookEvaluator = bookEvaluator;
     }
@@ -82,6 +97,7 @@ public abstract class BaseFormulaEvaluator implements FormulaEvaluator, Workbook
     @Override
     public void clearAllCachedResultValues() {
         _bookEvaluator.clearAllCachedResultValues();
+        _dependencyGraph = null;
     }
 
     /**
@@ -110,7 +126,7 @@ public abstract class BaseFormulaEvaluator implements FormulaEvaluator, Workbook
             case NUMERIC:
                 return new CellValue(cell.getNumericCellValue());
             case STRING:
-                return new CellValue(cell.getRichStringCellValue().getString());
+                return new CellValue(cell.getStringCellValue());
             case BLANK:
                 return null;
             default:
@@ -281,6 +297,248 @@ public abstract class BaseFormulaEvaluator implements FormulaEvaluator, Workbook
         }
     }
 
+    /**
+     * Evaluates all formula cells of the workbook on the threads of the given pool,
+     * see {@link FormulaEvaluator#evaluateAll(ForkJoinPool)}. Falls back to the serial
+     * evaluation if the evaluator doesn't support {@link #createParallelEvaluator()},
+     * uses collaborating workbooks or if the pool has a single thread.
+     *
+     * @param wb the workbook of the evaluator
+     * @param evaluator the evaluator, which saves the results
+     * @param pool the pool to run the evaluation on
+     * @since POI 5.4.1
+     */
+    protected static void evaluateAllFormulaCells(Workbook wb, BaseFormulaEvaluator evaluator, ForkJoinPool pool) {
+        if (pool.getParallelism() < 2
+                || evaluator._bookEvaluator.getEnvironment() != CollaboratingWorkbooksEnvironment.EMPTY) {
+            evaluateAllFormulaCells(wb, evaluator);
+            return;
+        }
+        BaseFormulaEvaluator firstWorker = evaluator.createParallelEvaluator();
+        if (firstWorker == null) {
+            evaluateAllFormulaCells(wb, evaluator);
+            return;
+        }
+
+        List<List<Cell>> chunks = splitIntoChunks(
+                evaluator.buildDependencyGraph(wb).getIndependentGroups(), pool.getParallelism() * 4);
+        // the date and text functions use the thread-local settings of the calling thread
+        final Thread caller = Thread.currentThread();
+        final TimeZone timeZone = LocaleUtil.getUserTimeZone();
+        final Locale locale = LocaleUtil.getUserLocale();
+        List<Callable<CellValue[]>> tasks = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            List<Cell> chunk = chunks.get(i);
+            BaseFormulaEvaluator worker = (i == 0) ? firstWorker : null;
+            tasks.add(() -> {
+                // the pool may run a task on the waiting caller, which keeps its settings
+                boolean pooled = Thread.currentThread() != caller;
+                if (pooled) {
+                    LocaleUtil.setUserTimeZone(timeZone);
+                    LocaleUtil.setUserLocale(locale);
+                }
+                try {
+                    // each chunk is calculated by its own evaluator, so nothing is shared between the threads
+                    BaseFormulaEvaluator chunkEvaluator = (worker != null) ? worker : evaluator.createParallelEvaluator();
+                    CellValue[] values = new CellValue[chunk.size()];
+                    for (int j = 0; j < values.length; j++) {
+                        values[j] = chunkEvaluator.evaluateFormulaCellValue(chunk.get(j));
+                    }
+                    return values;
+                } finally {
+                    if (pooled) {
+                        LocaleUtil.resetUserTimeZone();
+                        LocaleUtil.resetUserLocale();
+                    }
+                }
+            });
+        }
+
+        List<Future<CellValue[]>> results = pool.invokeAll(tasks);
+        for (int i = 0; i < chunks.size(); i++) {
+            List<Cell> chunk = chunks.get(i);
+            CellValue[] values = getChunkResult(results.get(i));
+            for (int j = 0; j < values.length; j++) {
+                evaluator.setCellValue(chunk.get(j), values[j]);
+            }
+        }
+    }
+
+    /**
+     * Distributes the groups over at most {@code maxChunks} chunks of about the same number
+     * of cells, largest group first
+     */
+    private static List<List<Cell>> splitIntoChunks(List<List<Cell>> groups, int maxChunks) {
+        List<List<Cell>> chunks = new ArrayList<>();
+        if (groups.size() <= maxChunks) {
+            chunks.addAll(groups);
+            return chunks;
+        }
+        groups.sort(Comparator.comparingInt((List<Cell> group) -> group.size()).reversed());
+        for (List<Cell> group : groups) {
+            if (chunks.size() < maxChunks) {
+                chunks.add(new ArrayList<>(group));
+                continue;
+            }
+            List<Cell> smallest = chunks.get(0);
+            for (List<Cell> chunk : chunks) {
+                if (chunk.size() < smallest.size()) {
+                    smallest = chunk;
+                }
+            }
+            smallest.addAll(group);
+        }
+        return chunks;
+    }
+
+    private static CellValue[] getChunkResult(Future<CellValue[]> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating the formula cells", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Creates an evaluator for one of the threads of {@link #evaluateAll(ForkJoinPool)}.
+     * The evaluator needs its own evaluation workbook and cache, and the settings
+     * of this evaluator, see {@link WorkbookEvaluator#copyFor(EvaluationWorkbook)}.
+     *
+     * @return the new evaluator, or {@code null} if the formula cells need to be evaluated
+     *  one by one on the calling thread
+     * @since POI 5.4.1
+     */
+    protected BaseFormulaEvaluator createParallelEvaluator() {
+        return null;
+    }
+
+    /**
+     * Recalculates the formula cells affected by changes to the given cells, and saves their
+     * results like {@link #evaluateFormulaCell(Cell)} does.<p>
+     *
+     * On the first call, the dependencies of all formula cells in the workbook are collected
+     * into a dependency graph, which is then kept up to date with the formulas of the changed
+     * cells. Only the formula cells depending on the changed cells are calculated, in dependency
+     * order, so that each calculation finds its precedents already in the cache.
+     *
+     * @param changedCells the cells whose value or formula was changed
+     * @return the formula cells which were recalculated, in calculation order
+     * @since POI 5.4.1
+     */
+    @Override
+    public List<Cell> recalculate(Collection<? extends Cell> changedCells) {
+        if (changedCells.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // drop the cached results before looking at the (possibly changed) formulas
+        for (Cell cell : changedCells) {
+            notifyUpdateCell(cell);
+        }
+
+        EvaluationWorkbook workbook = getEvaluationWorkbook();
+        FormulaDependencyGraph graph = _dependencyGraph;
+        List<Long> changedLocations = new ArrayList<>(changedCells.size());
+        if (graph == null) {
+            graph = buildDependencyGraph(changedCells.iterator().next().getSheet().getWorkbook());
+            _dependencyGraph = graph;
+            for (Cell cell : changedCells) {
+                changedLocations.add(FormulaDependencyGraph.location(getSheetIndex(cell),
+                        cell.getRowIndex(), cell.getColumnIndex()));
+            }
+        } else {
+            for (Cell cell : changedCells) {
+                int sheetIndex = getSheetIndex(cell);
+                long location = FormulaDependencyGraph.location(sheetIndex, cell.getRowIndex(), cell.getColumnIndex());
+                if (cell.getCellType() == CellType.FORMULA) {
+                    graph.addFormulaCell(cell, sheetIndex, workbook.getFormulaTokens(toEvaluationCell(cell)));
+                } else {
+                    graph.removeCell(location);
+                }
+                changedLocations.add(location);
+            }
+        }
+
+        // volatile formulas are calculated again, even if none of their inputs changed
+        for (Cell cell : graph.getVolatileCells()) {
+            _bookEvaluator.notifyUpdateCell(toEvaluationCell(cell));
+        }
+
+        List<Cell> affected = graph.getAffectedFormulaCells(changedLocations);
+        for (Cell cell : affected) {
+            evaluateFormulaCell(cell);
+        }
+        return affected;
+    }
+
+    private FormulaDependencyGraph buildDependencyGraph(Workbook wb) {
+        EvaluationWorkbook workbook = getEvaluationWorkbook();
+        FormulaDependencyGraph graph = new FormulaDependencyGraph(workbook);
+        for (int i = 0; i < wb.getNumberOfSheets(); i++) {
+            for (Row r : wb.getSheetAt(i)) {
+                for (Cell c : r) {
+                    if (c.getCellType() == CellType.FORMULA) {
+                        graph.addFormulaCell(c, i, workbook.getFormulaTokens(toEvaluationCell(c)));
+                    }
+                }
+            }
+        }
+        return graph;
+    }
+
+    private static int getSheetIndex(Cell cell) {
+        Sheet sheet = cell.getSheet();
+        return sheet.getWorkbook().getSheetIndex(sheet);
+    }
+
+    /**
+     * Turns a cell into the matching {@link EvaluationCell}, e.g. for {@link #recalculate(Collection)}
+     *
+     * @param cell the cell of this evaluator's workbook
+     * @return the evaluation cell wrapping the cell
+     * @since POI 5.4.1
+     */
+    protected abstract EvaluationCell toEvaluationCell(Cell cell);
+
+    /**
+     * Switches the read-only evaluation mode on or off.<p>
+     *
+     * In read-only mode, the plain cell values of the referenced sheets are copied into primitive
+     * arrays, column by column, when they are first read. Formulas read them from there without
+     * recording each cell as an input, which speeds up functions aggregating large ranges,
+     * like SUM or SUMPRODUCT.<p>
+     *
+     * The mode is meant for workbooks which aren't changed while being evaluated. As the inputs
+     * of the formulas aren't tracked, {@link #notifyUpdateCell(Cell)}, {@link #notifySetFormula(Cell)}
+     * and {@link #notifyDeleteCell(Cell)} clear all cached results and snapshots in this mode,
+     * like {@link #clearAllCachedResultValues()} does.
+     *
+     * @param readOnly {@code true} to evaluate from snapshots of the cell values
+     * @since POI 5.4.1
+     */
+    public void setReadOnly(boolean readOnly) {
+        _bookEvaluator.setReadOnly(readOnly);
+    }
+
+    /**
+     * @return {@code true} if the read-only evaluation mode is switched on
+     * @see #setReadOnly(boolean)
+     * @since POI 5.4.1
+     */
+    public boolean isReadOnly() {
+        return _bookEvaluator.isReadOnly();
+    }
+
     @Override
     public void setIgnoreMissingWorkbooks(boolean ignore){
         _bookEvaluator.setIgnoreMissingWorkbooks(ignore);
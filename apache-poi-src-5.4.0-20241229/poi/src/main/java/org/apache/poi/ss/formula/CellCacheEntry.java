@@ -17,6 +17,9 @@
 
 package org.apache.poi.ss.formula;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 import org.apache.poi.ss.formula.eval.BlankEval;
 import org.apache.poi.ss.formula.eval.BoolEval;
 import org.apache.poi.ss.formula.eval.ErrorEval;
@@ -104,18 +107,20 @@ abstract class CellCacheEntry implements ICacheEntry {
     }
 
     /**
-     * Calls formulaCell.setFormulaResult(null, null) recursively all the way up the tree of
+     * Calls formulaCell.setFormulaResult(null, null) all the way up the tree of
      * dependencies. Calls usedCell.clearConsumingCell(fc) for each child of a cell that is
-     * cleared along the way.
+     * cleared along the way.<p>
+     *
+     * The tree is walked depth first with an explicit stack instead of recursion, so long
+     * chains of dependent formulas cannot overflow the call stack.
      */
     protected final void recurseClearCachedFormulaResults() {
-        FormulaCellCacheEntry[] formulaCells = getConsumingCells();
-
-        for (FormulaCellCacheEntry fc : formulaCells) {
+        Deque<FormulaCellCacheEntry> pending = new ArrayDeque<>();
+        pushConsumingCells(pending, getConsumingCells(), null);
+        while (!pending.isEmpty()) {
+            FormulaCellCacheEntry fc = pending.pop();
             fc.clearFormulaEntry();
-            if (fc != this) {
-                fc.recurseClearCachedFormulaResults();
-            }
+            pushConsumingCells(pending, fc.getConsumingCells(), fc);
         }
     }
 
@@ -123,13 +128,41 @@ abstract class CellCacheEntry implements ICacheEntry {
      * Identical to {@link #recurseClearCachedFormulaResults()} except for the listener call-backs
      */
     protected final void recurseClearCachedFormulaResults(IEvaluationListener listener, int depth) {
+        Deque<FormulaCellCacheEntry> pending = new ArrayDeque<>();
+        Deque<Integer> depths = new ArrayDeque<>();
         FormulaCellCacheEntry[] formulaCells = getConsumingCells();
-
         listener.sortDependentCachedValues(formulaCells);
-        for (FormulaCellCacheEntry fc : formulaCells) {
-            listener.onClearDependentCachedValue(fc, depth);
+        pushConsumingCells(pending, formulaCells, null);
+        for (int i = 0; i < formulaCells.length; i++) {
+            depths.push(depth);
+        }
+        while (!pending.isEmpty()) {
+            FormulaCellCacheEntry fc = pending.pop();
+            int fcDepth = depths.pop();
+            listener.onClearDependentCachedValue(fc, fcDepth);
             fc.clearFormulaEntry();
-            fc.recurseClearCachedFormulaResults(listener, depth + 1);
+
+            formulaCells = fc.getConsumingCells();
+            listener.sortDependentCachedValues(formulaCells);
+            pushConsumingCells(pending, formulaCells, null);
+            for (int i = 0; i < formulaCells.length; i++) {
+                depths.push(fcDepth + 1);
+            }
+        }
+    }
+
+    /**
+     * Pushes the consuming cells in reverse order, so that they are popped in their
+     * original order.
+     *
+     * @param skip a cell which is not pushed again, i.e. a cell consuming itself
+     */
+    private static void pushConsumingCells(Deque<FormulaCellCacheEntry> pending,
+            FormulaCellCacheEntry[] formulaCells, CellCacheEntry skip) {
+        for (int i = formulaCells.length - 1; i >= 0; i--) {
+            if (formulaCells[i] != skip) {
+                pending.push(formulaCells[i]);
+            }
         }
     }
 }
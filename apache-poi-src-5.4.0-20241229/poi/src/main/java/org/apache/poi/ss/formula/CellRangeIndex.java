@@ -0,0 +1,175 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.poi.ss.util.CellRangeAddressBase;
+
+/**
+ * A static R-tree over cell ranges, used to find the ranges containing a cell or overlapping
+ * another range without checking every range, e.g. the regions of conditional formats and
+ * data validations of a sheet.
+ * <p>
+ * The tree is bulk loaded once with the sort-tile-recursive algorithm: the ranges are sorted
+ * into vertical slices by their center column, each slice by the center row, and packed into
+ * leaves of {@value #NODE_SIZE} ranges. Each upper level packs the nodes of the level below.
+ * <p>
+ * Ranges are identified by their position in the list given to the constructor and the
+ * queries return these positions in ascending order.
+ */
+final class CellRangeIndex {
+
+    private static final int NODE_SIZE = 16;
+
+    /** the range positions in leaf order */
+    private final int[] ids;
+
+    /**
+     * the bounds of each level, four values (first row, first column, last row, last column) per entry.
+     * Level 0 holds the ranges in leaf order, the last level the root node
+     */
+    private final int[][] levels;
+
+    CellRangeIndex(List<? extends CellRangeAddressBase> ranges) {
+        final int size = ranges.size();
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+
+        // sort-tile-recursive: slices by column, then rows within each slice
+        Arrays.sort(order, Comparator.comparingInt(i -> centerColumn(ranges.get(i))));
+        int leaves = (size + NODE_SIZE - 1) / NODE_SIZE;
+        int sliceSize = NODE_SIZE * (int)Math.ceil(Math.sqrt(leaves));
+        for (int start = 0; start < size; start += sliceSize) {
+            Arrays.sort(order, start, Math.min(size, start + sliceSize), Comparator.comparingInt(i -> centerRow(ranges.get(i))));
+        }
+
+        ids = new int[size];
+        int[] bounds = new int[size * 4];
+        for (int i = 0; i < size; i++) {
+            CellRangeAddressBase range = ranges.get(order[i]);
+            ids[i] = order[i];
+            bounds[i * 4] = range.getFirstRow();
+            bounds[i * 4 + 1] = range.getFirstColumn();
+            bounds[i * 4 + 2] = range.getLastRow();
+            bounds[i * 4 + 3] = range.getLastColumn();
+        }
+
+        List<int[]> levelList = new ArrayList<>();
+        levelList.add(bounds);
+        int count = size;
+        while (count > 1) {
+            int nodes = (count + NODE_SIZE - 1) / NODE_SIZE;
+            int[] parent = new int[nodes * 4];
+            for (int n = 0; n < nodes; n++) {
+                int firstRow = Integer.MAX_VALUE, firstCol = Integer.MAX_VALUE;
+                int lastRow = Integer.MIN_VALUE, lastCol = Integer.MIN_VALUE;
+                for (int c = n * NODE_SIZE; c < Math.min(count, (n + 1) * NODE_SIZE); c++) {
+                    firstRow = Math.min(firstRow, bounds[c * 4]);
+                    firstCol = Math.min(firstCol, bounds[c * 4 + 1]);
+                    lastRow = Math.max(lastRow, bounds[c * 4 + 2]);
+                    lastCol = Math.max(lastCol, bounds[c * 4 + 3]);
+                }
+                parent[n * 4] = firstRow;
+                parent[n * 4 + 1] = firstCol;
+                parent[n * 4 + 2] = lastRow;
+                parent[n * 4 + 3] = lastCol;
+            }
+            levelList.add(parent);
+            bounds = parent;
+            count = nodes;
+        }
+        levels = levelList.toArray(new int[0][]);
+    }
+
+    /**
+     * @return the number of indexed ranges
+     */
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * @return the positions of the ranges containing the cell, in ascending order
+     */
+    int[] findContaining(int row, int column) {
+        return findOverlapping(row, column, row, column);
+    }
+
+    /**
+     * @return the positions of the ranges overlapping the given range, in ascending order
+     */
+    int[] findOverlapping(CellRangeAddressBase range) {
+        return findOverlapping(range.getFirstRow(), range.getFirstColumn(), range.getLastRow(), range.getLastColumn());
+    }
+
+    /**
+     * @return the positions of the ranges overlapping the given bounds, in ascending order
+     */
+    int[] findOverlapping(int firstRow, int firstColumn, int lastRow, int lastColumn) {
+        if (ids.length == 0) {
+            return ids;
+        }
+        Result result = new Result();
+        search(levels.length - 1, 0, firstRow, firstColumn, lastRow, lastColumn, result);
+        int[] found = Arrays.copyOf(result.ids, result.size);
+        Arrays.sort(found);
+        return found;
+    }
+
+    private void search(int level, int node, int firstRow, int firstColumn, int lastRow, int lastColumn, Result result) {
+        final int[] bounds = levels[level];
+        final int b = node * 4;
+        if (bounds[b] > lastRow || bounds[b + 2] < firstRow || bounds[b + 1] > lastColumn || bounds[b + 3] < firstColumn) {
+            return;
+        }
+        if (level == 0) {
+            result.add(ids[node]);
+            return;
+        }
+        final int children = levels[level - 1].length / 4;
+        for (int c = node * NODE_SIZE; c < Math.min(children, (node + 1) * NODE_SIZE); c++) {
+            search(level - 1, c, firstRow, firstColumn, lastRow, lastColumn, result);
+        }
+    }
+
+    private static int centerColumn(CellRangeAddressBase range) {
+        return (range.getFirstColumn() + range.getLastColumn()) >>> 1;
+    }
+
+    private static int centerRow(CellRangeAddressBase range) {
+        return (range.getFirstRow() + range.getLastRow()) >>> 1;
+    }
+
+    private static final class Result {
+        private int[] ids = new int[8];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
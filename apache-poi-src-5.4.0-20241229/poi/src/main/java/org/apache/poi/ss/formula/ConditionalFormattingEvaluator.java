@@ -18,8 +18,10 @@
 package org.apache.poi.ss.formula;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -31,6 +33,7 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.SheetConditionalFormatting;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellAddress;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellRangeAddressBase;
 import org.apache.poi.ss.util.CellReference;
@@ -38,12 +41,18 @@ import org.apache.poi.ss.util.CellReference;
 /**
  * Evaluates Conditional Formatting constraints.<p>
  *
- * For performance reasons, this class keeps a cache of all previously evaluated rules and cells.
+ * For performance reasons, this class keeps a cache of all previously evaluated rules and
+ * the results of the last {@value #MAX_CACHED_CELLS} evaluated cells.
  * Be sure to call {@link #clearAllCachedFormats()} if any conditional formats are modified, added, or deleted,
  * and {@link #clearAllCachedValues()} whenever cell values change.
  */
 public class ConditionalFormattingEvaluator {
 
+    /**
+     * The number of cells whose matching rules are cached, the least recently used are dropped first
+     */
+    private static final int MAX_CACHED_CELLS = 100_000;
+
     private final WorkbookEvaluator workbookEvaluator;
     private final Workbook workbook;
 
@@ -60,15 +69,27 @@ public class ConditionalFormattingEvaluator {
      */
     private final Map<String, List<EvaluationConditionalFormatRule>> formats = new HashMap<>();
 
+    /**
+     * The regions of the rules in {@link #formats} by sheet name, so only the rules
+     * whose regions contain a cell need to be checked
+     */
+    private final Map<String, RuleIndex> indexes = new HashMap<>();
+
     /**
      * Evaluating rules for cells in their region(s) is expensive, so we want to cache them,
      * and empty/reevaluate the cache when values change.
      * <p>
      * Rule lists are in priority order, as evaluated by Excel (smallest priority # for XSSF, definition order for HSSF)
      * <p>
-     * CellReference implements equals().
+     * CellReference implements equals().  Cells outside of all regions are not cached.
      */
-    private final Map<CellReference, List<EvaluationConditionalFormatRule>> values = new HashMap<>();
+    private final Map<CellReference, List<EvaluationConditionalFormatRule>> values =
+        new LinkedHashMap<CellReference, List<EvaluationConditionalFormatRule>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CellReference, List<EvaluationConditionalFormatRule>> eldest) {
+                return size() > MAX_CACHED_CELLS;
+            }
+        };
 
     public ConditionalFormattingEvaluator(Workbook wb, WorkbookEvaluatorProvider provider) {
         this.workbook = wb;
@@ -85,6 +106,7 @@ public class ConditionalFormattingEvaluator {
      */
     public void clearAllCachedFormats() {
         formats.clear();
+        indexes.clear();
     }
 
     /**
@@ -130,6 +152,19 @@ public class ConditionalFormattingEvaluator {
         return Collections.unmodifiableList(rules);
     }
 
+    /**
+     * @param sheet The sheet to look at
+     * @return the rules of the sheet together with the index of their regions
+     */
+    private RuleIndex getRuleIndex(Sheet sheet) {
+        RuleIndex index = indexes.get(sheet.getSheetName());
+        if (index == null) {
+            index = new RuleIndex(getRules(sheet));
+            indexes.put(sheet.getSheetName(), index);
+        }
+        return index;
+    }
+
     /**
      * This checks all applicable {@link ConditionalFormattingRule}s for the cell's sheet,
      * in defined "priority" order, returning the matches if any.  This is a property currently
@@ -156,9 +191,6 @@ public class ConditionalFormattingEvaluator {
         List<EvaluationConditionalFormatRule> rules = values.get(cellRef);
 
         if (rules == null) {
-            // compute and cache them
-            rules = new ArrayList<>();
-
             final Sheet sheet;
             if (cellRef.getSheetName() != null) {
                 sheet = workbook.getSheet(cellRef.getSheetName());
@@ -166,31 +198,116 @@ public class ConditionalFormattingEvaluator {
                 sheet = workbook.getSheetAt(workbook.getActiveSheetIndex());
             }
 
-            /*
-             * Per Excel help:
-             * https://support.office.com/en-us/article/Manage-conditional-formatting-rule-precedence-e09711a3-48df-4bcb-b82c-9d8b8b22463d#__toc269129417
-             * stopIfTrue is true for all rules from HSSF files, and an explicit value for XSSF files.
-             * thus the explicit ordering of the rule lists in #getFormattingRulesForSheet(Sheet)
-             */
-            boolean stopIfTrue = false;
-            for (EvaluationConditionalFormatRule rule : getRules(sheet)) {
-
-                if (stopIfTrue) {
-                    continue; // a previous rule matched and wants no more evaluations
-                }
-
-                if (rule.matches(cellRef)) {
-                    rules.add(rule);
-                    stopIfTrue = rule.getRule().getStopIfTrue();
-                }
+            final RuleIndex index = getRuleIndex(sheet);
+            final int[] regions = index.regions.findContaining(cellRef.getRow(), cellRef.getCol());
+            if (regions.length == 0) {
+                // cell not in the range of any rule
+                return Collections.emptyList();
             }
-            Collections.sort(rules);
+
+            // compute and cache them
+            rules = evaluateRules(index, regions, cellRef);
             values.put(cellRef, rules);
         }
 
         return Collections.unmodifiableList(rules);
     }
 
+    /**
+     * Evaluates the conditional formatting rules for all cells of a range at once.
+     * Only the rules whose regions overlap the range are checked, and only for the cells
+     * within their regions. The results are not added to the cache of
+     * {@link #getConditionalFormattingForCell(CellReference)}, so large ranges can be
+     * evaluated without filling it.
+     * <p>
+     * As for single cells, the cached values of formula cells may be used for rule evaluation,
+     * so make sure they are up to date.
+     *
+     * @param sheet The sheet containing the range
+     * @param range The cells to evaluate
+     * @return Unmodifiable map of the cells with at least one matching rule in row-major order, to their
+     *         {@link EvaluationConditionalFormatRule}s in priority order
+     * @see #getConditionalFormattingForCell(CellReference)
+     * @since POI 5.4.1
+     */
+    public Map<CellAddress, List<EvaluationConditionalFormatRule>> getConditionalFormattingForRange(
+            Sheet sheet, CellRangeAddressBase range) {
+        final RuleIndex index = getRuleIndex(sheet);
+        final String sheetName = sheet.getSheetName();
+        final Map<CellAddress, List<EvaluationConditionalFormatRule>> result = new LinkedHashMap<>();
+
+        for (int r = range.getFirstRow(); r <= range.getLastRow(); r++) {
+            final int[] rowRegions = index.regions.findOverlapping(r, range.getFirstColumn(), r, range.getLastColumn());
+            if (rowRegions.length == 0) {
+                continue;
+            }
+            int firstCol = Integer.MAX_VALUE;
+            int lastCol = Integer.MIN_VALUE;
+            for (int region : rowRegions) {
+                firstCol = Math.min(firstCol, index.getRegion(region).getFirstColumn());
+                lastCol = Math.max(lastCol, index.getRegion(region).getLastColumn());
+            }
+            firstCol = Math.max(firstCol, range.getFirstColumn());
+            lastCol = Math.min(lastCol, range.getLastColumn());
+
+            final int[] cellRegions = new int[rowRegions.length];
+            for (int c = firstCol; c <= lastCol; c++) {
+                int count = 0;
+                for (int region : rowRegions) {
+                    if (index.getRegion(region).containsColumn(c)) {
+                        cellRegions[count++] = region;
+                    }
+                }
+                if (count == 0) {
+                    continue;
+                }
+                final CellReference ref = new CellReference(sheetName, r, c, false, false);
+                final List<EvaluationConditionalFormatRule> rules =
+                    evaluateRules(index, Arrays.copyOf(cellRegions, count), ref);
+                if (!rules.isEmpty()) {
+                    result.put(new CellAddress(r, c), Collections.unmodifiableList(rules));
+                }
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * @param index the rules of the cell's sheet
+     * @param regions the regions containing the cell, in ascending order
+     * @param cellRef the cell to evaluate
+     * @return the matching rules in priority order
+     */
+    private static List<EvaluationConditionalFormatRule> evaluateRules(RuleIndex index, int[] regions, CellReference cellRef) {
+        final List<EvaluationConditionalFormatRule> rules = new ArrayList<>();
+
+        /*
+         * Per Excel help:
+         * https://support.office.com/en-us/article/Manage-conditional-formatting-rule-precedence-e09711a3-48df-4bcb-b82c-9d8b8b22463d#__toc269129417
+         * stopIfTrue is true for all rules from HSSF files, and an explicit value for XSSF files.
+         * thus the explicit ordering of the rule lists in #getFormattingRulesForSheet(Sheet)
+         */
+        int lastRule = -1;
+        for (int region : regions) {
+            // regions are indexed in rule order, a rule with several regions containing the cell is checked once
+            final int ruleIndex = index.ruleOfRegion[region];
+            if (ruleIndex == lastRule) {
+                continue;
+            }
+            lastRule = ruleIndex;
+
+            final EvaluationConditionalFormatRule rule = index.rules.get(ruleIndex);
+            if (rule.matches(cellRef)) {
+                rules.add(rule);
+                if (rule.getRule().getStopIfTrue()) {
+                    break; // the rule matched and wants no more evaluations
+                }
+            }
+        }
+        Collections.sort(rules);
+        return rules;
+    }
+
     /**
      * This checks all applicable {@link ConditionalFormattingRule}s for the cell's sheet,
      * in defined "priority" order, returning the matches if any.  This is a property currently
@@ -292,4 +409,32 @@ public class ConditionalFormattingEvaluator {
         }
         return Collections.unmodifiableList(cells);
     }
+
+    /**
+     * The rules of a sheet in priority order together with an index of their regions
+     */
+    private static final class RuleIndex {
+        private final List<EvaluationConditionalFormatRule> rules;
+        private final List<CellRangeAddress> regionList = new ArrayList<>();
+        /** the position in {@link #rules} of each region */
+        private final int[] ruleOfRegion;
+        private final CellRangeIndex regions;
+
+        RuleIndex(List<EvaluationConditionalFormatRule> rules) {
+            this.rules = rules;
+            List<Integer> owners = new ArrayList<>();
+            for (int i = 0; i < rules.size(); i++) {
+                for (CellRangeAddress region : rules.get(i).getRegions()) {
+                    regionList.add(region);
+                    owners.add(i);
+                }
+            }
+            ruleOfRegion = owners.stream().mapToInt(Integer::intValue).toArray();
+            regions = new CellRangeIndex(regionList);
+        }
+
+        CellRangeAddress getRegion(int region) {
+            return regionList.get(region);
+        }
+    }
 }
@@ -18,10 +18,13 @@
 package org.apache.poi.ss.formula;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.poi.ss.formula.eval.BlankEval;
 import org.apache.poi.ss.formula.eval.BoolEval;
@@ -30,14 +33,20 @@ import org.apache.poi.ss.formula.eval.NumberEval;
 import org.apache.poi.ss.formula.eval.RefEval;
 import org.apache.poi.ss.formula.eval.StringEval;
 import org.apache.poi.ss.formula.eval.ValueEval;
+import org.apache.poi.ss.formula.ptg.AbstractFunctionPtg;
+import org.apache.poi.ss.formula.ptg.Ptg;
+import org.apache.poi.ss.formula.ptg.RefPtgBase;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.DataValidation;
 import org.apache.poi.ss.usermodel.DataValidationConstraint;
 import org.apache.poi.ss.usermodel.DataValidationConstraint.OperatorType;
 import org.apache.poi.ss.usermodel.DataValidationConstraint.ValidationType;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellRangeAddressBase;
 import org.apache.poi.ss.util.CellRangeAddressList;
 import org.apache.poi.ss.util.CellReference;
@@ -66,6 +75,12 @@ public class DataValidationEvaluator {
      */
     private final Map<String, List<? extends DataValidation>> validations = new HashMap<>();
 
+    /**
+     * The regions of the validations in {@link #validations} by sheet name, so only the
+     * regions containing a cell need to be checked
+     */
+    private final Map<String, ValidationIndex> indexes = new HashMap<>();
+
     private final Workbook workbook;
     private final WorkbookEvaluator workbookEvaluator;
 
@@ -93,6 +108,7 @@ public class DataValidationEvaluator {
      */
     public void clearAllCachedValues() {
         validations.clear();
+        indexes.clear();
     }
 
     /**
@@ -110,6 +126,19 @@ public class DataValidationEvaluator {
         return dvs;
     }
 
+    /**
+     * @param sheet The {@link Sheet} to load validations for.
+     * @return The {@link DataValidation}s of the sheet together with the index of their regions
+     */
+    private ValidationIndex getValidationIndex(Sheet sheet) {
+        ValidationIndex index = indexes.get(sheet.getSheetName());
+        if (index == null) {
+            index = new ValidationIndex(getValidations(sheet));
+            indexes.put(sheet.getSheetName(), index);
+        }
+        return index;
+    }
+
     /**
      * Finds and returns the {@link DataValidation} for the cell, if there is
      * one. Lookup is based on the first match from
@@ -140,19 +169,120 @@ public class DataValidationEvaluator {
     public DataValidationContext getValidationContextForCell(CellReference cell) {
         final Sheet sheet = workbook.getSheet(cell.getSheetName());
         if (sheet == null) return null;
-        final List<? extends DataValidation> dataValidations = getValidations(sheet);
-        if (dataValidations == null) return null;
-        for (DataValidation dv : dataValidations) {
-            final CellRangeAddressList regions = dv.getRegions();
-            if (regions == null) return null;
-            // current implementation can't return null
-            for (CellRangeAddressBase range : regions.getCellRangeAddresses()) {
-                if (range.isInRange(cell)) {
-                    return new DataValidationContext(dv, this, range, cell);
+        final ValidationIndex index = getValidationIndex(sheet);
+        // regions are indexed in validation order, so the first one found is the first match
+        final int[] regions = index.regions.findContaining(cell.getRow(), cell.getCol());
+        if (regions.length == 0) return null;
+        return new DataValidationContext(index.getValidation(regions[0]), this, index.getRegion(regions[0]), cell);
+    }
+
+    /**
+     * Validates all cells of a range in one pass, with the same rules as {@link #isValidCell(CellReference)}.
+     * Only the validations whose regions overlap the range are checked, and the allowed values of
+     * list validations are evaluated once per validation instead of once per cell, as long as
+     * they don't depend on the position of the cell.
+     * <p>
+     * As for single cells, the cached values of formula cells are validated,
+     * so make sure they are up to date.
+     *
+     * @param sheet The sheet containing the range
+     * @param range The cells to validate
+     * @return the invalid cells of the range
+     * @throws IllegalArgumentException if the range has more than {@link Integer#MAX_VALUE} cells
+     * @see #isValidCell(CellReference)
+     * @since POI 5.4.1
+     */
+    public DataValidationResult validateRange(Sheet sheet, CellRangeAddressBase range) {
+        final CellRangeAddress validated = new CellRangeAddress(range.getFirstRow(), range.getLastRow(), range.getFirstColumn(), range.getLastColumn());
+        final DataValidationResult result = new DataValidationResult(validated);
+        final ValidationIndex index = getValidationIndex(sheet);
+        final String sheetName = sheet.getSheetName();
+        final int sheetIndex = getWorkbookEvaluator().getSheetIndex(sheetName);
+
+        // allowed values of the list validations, by validation position
+        final Map<Integer, ListValues> lists = new HashMap<>();
+
+        for (int r = range.getFirstRow(); r <= range.getLastRow(); r++) {
+            final int[] rowRegions = index.regions.findOverlapping(r, range.getFirstColumn(), r, range.getLastColumn());
+            if (rowRegions.length == 0) {
+                continue;
+            }
+            int firstCol = Integer.MAX_VALUE;
+            int lastCol = Integer.MIN_VALUE;
+            for (int region : rowRegions) {
+                firstCol = Math.min(firstCol, index.getRegion(region).getFirstColumn());
+                lastCol = Math.max(lastCol, index.getRegion(region).getLastColumn());
+            }
+            firstCol = Math.max(firstCol, range.getFirstColumn());
+            lastCol = Math.min(lastCol, range.getLastColumn());
+
+            final Row row = sheet.getRow(r);
+            for (int c = firstCol; c <= lastCol; c++) {
+                // regions are in ascending order, the first one containing the column is the first match
+                int region = -1;
+                for (int candidate : rowRegions) {
+                    if (index.getRegion(candidate).containsColumn(c)) {
+                        region = candidate;
+                        break;
+                    }
+                }
+                if (region < 0) {
+                    continue;
+                }
+
+                final DataValidation dv = index.getValidation(region);
+                final Cell cell = row == null ? null : row.getCell(c);
+                final boolean valid;
+                if (isEmpty(cell)) {
+                    valid = dv.getEmptyCellAllowed();
+                } else {
+                    final CellReference ref = new CellReference(sheetName, r, c, false, false);
+                    final DataValidationContext context = new DataValidationContext(dv, this, index.getRegion(region), ref);
+                    if (dv.getValidationConstraint().getValidationType() == ValidationType.LIST) {
+                        final int validation = index.validationOfRegion[region];
+                        ListValues values = lists.get(validation);
+                        if (values == null) {
+                            values = ListValues.create(context, sheetIndex);
+                            lists.put(validation, values);
+                        }
+                        valid = values == ListValues.POSITIONAL ? ValidationEnum.isValid(cell, context) : values.contains(cell);
+                    } else {
+                        valid = ValidationEnum.isValid(cell, context);
+                    }
+                }
+                if (!valid) {
+                    result.setInvalid(r, c);
                 }
             }
         }
-        return null;
+        return result;
+    }
+
+    /**
+     * Validates all cells of a sheet within the regions of its validations, see {@link #validateRange(Sheet, CellRangeAddressBase)}.
+     * Regions reaching below the last row of the sheet, e.g. whole columns, are only
+     * validated down to the last row.
+     *
+     * @param sheet The sheet to validate
+     * @return the invalid cells of the sheet, {@link DataValidationResult#getRange()} is
+     *         {@code null} if no cells of the sheet are validated
+     * @since POI 5.4.1
+     */
+    public DataValidationResult validateSheet(Sheet sheet) {
+        final ValidationIndex index = getValidationIndex(sheet);
+        int firstRow = Integer.MAX_VALUE, firstCol = Integer.MAX_VALUE;
+        int lastRow = Integer.MIN_VALUE, lastCol = Integer.MIN_VALUE;
+        for (CellRangeAddressBase region : index.regionList) {
+            firstRow = Math.min(firstRow, region.getFirstRow());
+            firstCol = Math.min(firstCol, region.getFirstColumn());
+            lastRow = Math.max(lastRow, region.getLastRow());
+            lastCol = Math.max(lastCol, region.getLastColumn());
+        }
+        lastRow = Math.min(lastRow, sheet.getLastRowNum());
+        if (firstRow > lastRow || firstCol > lastCol) {
+            return new DataValidationResult(null);
+        }
+        return validateRange(sheet, new CellRangeAddress(firstRow, lastRow, firstCol, lastCol));
     }
 
     /**
@@ -236,12 +366,7 @@ public class DataValidationEvaluator {
         // now we can validate the cell
 
         // if empty, return not allowed flag
-        if (   cell == null
-            || isType(cell, CellType.BLANK)
-            || (isType(cell,CellType.STRING)
-                && (cell.getStringCellValue() == null || cell.getStringCellValue().isEmpty())
-               )
-           ) {
+        if (isEmpty(cell)) {
             return context.getValidation().getEmptyCellAllowed();
         }
 
@@ -250,6 +375,18 @@ public class DataValidationEvaluator {
         return ValidationEnum.isValid(cell, context);
     }
 
+    /**
+     * @return true if the cell is missing, blank or an empty string, which is checked
+     *         by {@link DataValidation#getEmptyCellAllowed()} instead of the constraint
+     */
+    private static boolean isEmpty(Cell cell) {
+        return cell == null
+            || isType(cell, CellType.BLANK)
+            || (isType(cell,CellType.STRING)
+                && (cell.getStringCellValue() == null || cell.getStringCellValue().isEmpty())
+               );
+    }
+
     /**
     * Note that this assumes the cell cached value is up to date and in sync with data edits
      *
@@ -584,4 +721,206 @@ public class DataValidationEvaluator {
         }
 
     }
+
+    /**
+     * The validations of a sheet together with an index of their regions.
+     * Regions are indexed in validation order, so the lowest region position containing a cell
+     * belongs to the validation that applies to it.
+     */
+    private static final class ValidationIndex {
+        private final List<? extends DataValidation> validations;
+        private final List<CellRangeAddressBase> regionList = new ArrayList<>();
+        /** the position in {@link #validations} of each region */
+        private final int[] validationOfRegion;
+        private final CellRangeIndex regions;
+
+        ValidationIndex(List<? extends DataValidation> validations) {
+            this.validations = validations == null ? Collections.emptyList() : validations;
+            List<Integer> owners = new ArrayList<>();
+            for (int i = 0; i < this.validations.size(); i++) {
+                final CellRangeAddressList dvRegions = this.validations.get(i).getRegions();
+                // the validations after one without regions were never matched
+                if (dvRegions == null) break;
+                for (CellRangeAddressBase region : dvRegions.getCellRangeAddresses()) {
+                    regionList.add(region);
+                    owners.add(i);
+                }
+            }
+            validationOfRegion = owners.stream().mapToInt(Integer::intValue).toArray();
+            regions = new CellRangeIndex(regionList);
+        }
+
+        CellRangeAddressBase getRegion(int region) {
+            return regionList.get(region);
+        }
+
+        DataValidation getValidation(int region) {
+            return validations.get(validationOfRegion[region]);
+        }
+    }
+
+    /**
+     * The allowed values of a list validation, hashed by type with the same matching rules
+     * as {@link ValidationEnum#LIST}.
+     */
+    private static final class ListValues {
+        /** marks lists depending on the position of the validated cell, which are checked per cell */
+        static final ListValues POSITIONAL = new ListValues();
+
+        private final Set<String> strings = new HashSet<>();
+        private final Set<Double> numbers = new HashSet<>();
+        private boolean allowTrue;
+        private boolean allowFalse;
+        /** any value is valid if the list contains a blank value */
+        private boolean allowAny;
+
+        static ListValues create(DataValidationContext context, int sheetIndex) {
+            final DataValidationConstraint val = context.getValidation().getValidationConstraint();
+            final String[] explicit = val.getExplicitListValues();
+            if ((explicit == null || explicit.length == 0) && isPositional(context, sheetIndex)) {
+                return POSITIONAL;
+            }
+
+            final ListValues list = new ListValues();
+            final List<ValueEval> values = getValidationValuesForConstraint(context);
+            if (values == null) {
+                // not a list, same as the special case in ValidationEnum.LIST
+                list.allowAny = true;
+                return list;
+            }
+            for (ValueEval listVal : values) {
+                ValueEval comp = listVal instanceof RefEval ? ((RefEval) listVal).getInnerValueEval(sheetIndex) : listVal;
+                if (comp instanceof BlankEval) {
+                    list.allowAny = true;
+                } else if (comp instanceof BoolEval) {
+                    if (((BoolEval) comp).getBooleanValue()) {
+                        list.allowTrue = true;
+                    } else {
+                        list.allowFalse = true;
+                    }
+                } else if (comp instanceof NumberEval) {
+                    list.numbers.add(numberKey(((NumberEval) comp).getNumberValue()));
+                } else if (comp instanceof StringEval) {
+                    list.strings.add(stringKey(((StringEval) comp).getStringValue()));
+                }
+                // errors never match
+            }
+            return list;
+        }
+
+        /**
+         * Only single cell references are shifted by the position of the validated cell, and
+         * functions like ROW() may depend on it, so only lists without both are evaluated once.
+         */
+        private static boolean isPositional(DataValidationContext context, int sheetIndex) {
+            final String formula = context.getFormula1();
+            if (formula == null) return false;
+            final WorkbookEvaluator evaluator = context.getEvaluator().getWorkbookEvaluator();
+            final Ptg[] ptgs = FormulaParser.parse(formula, (FormulaParsingWorkbook) evaluator.getWorkbook(),
+                FormulaType.DATAVALIDATION_LIST, sheetIndex, context.getTarget().getRow());
+            for (Ptg ptg : ptgs) {
+                if (ptg instanceof AbstractFunctionPtg) return true;
+                if (ptg instanceof RefPtgBase && (((RefPtgBase) ptg).isRowRelative() || ((RefPtgBase) ptg).isColRelative())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean contains(Cell cell) {
+            if (allowAny) return true;
+            if (isType(cell, CellType.BOOLEAN)) {
+                return cell.getBooleanCellValue() ? allowTrue : allowFalse;
+            }
+            if (isType(cell, CellType.NUMERIC)) {
+                return numbers.contains(numberKey(cell.getNumericCellValue()));
+            }
+            if (isType(cell, CellType.STRING)) {
+                return strings.contains(stringKey(cell.getStringCellValue()));
+            }
+            return false;
+        }
+
+        /**
+         * Excel compares numbers with ==, so 0.0 and -0.0 are the same value
+         */
+        private static Double numberKey(double value) {
+            return value == 0 ? 0d : value;
+        }
+
+        /**
+         * Folds the case of each char like {@link String#equalsIgnoreCase(String)}, so
+         * equal keys match case insensitively.
+         */
+        private static String stringKey(String value) {
+            final char[] chars = value.toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+            }
+            return new String(chars);
+        }
+    }
+
+    /**
+     * The result of validating a range of cells with {@link #validateRange(Sheet, CellRangeAddressBase)}.
+     * The invalid cells are kept as a bitmap over the range in row-major order.
+     */
+    public static final class DataValidationResult {
+        private final CellRangeAddress range;
+        private final BitSet invalid = new BitSet();
+
+        DataValidationResult(CellRangeAddress range) {
+            if (range != null && (range.getLastRow() - range.getFirstRow() + 1L)
+                    * (range.getLastColumn() - range.getFirstColumn() + 1L) > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Range " + range.formatAsString() + " has too many cells to validate at once");
+            }
+            this.range = range;
+        }
+
+        private int bit(int row, int column) {
+            final int width = range.getLastColumn() - range.getFirstColumn() + 1;
+            return (row - range.getFirstRow()) * width + column - range.getFirstColumn();
+        }
+
+        void setInvalid(int row, int column) {
+            invalid.set(bit(row, column));
+        }
+
+        /**
+         * @return the validated cells, or null if no cells were validated
+         */
+        public CellRangeAddress getRange() {
+            return range;
+        }
+
+        /**
+         * @param row the row index of the cell
+         * @param column the column index of the cell
+         * @return false if the cell was validated and failed its validation,
+         *         true for valid cells and cells outside of the validated range
+         */
+        public boolean isValid(int row, int column) {
+            return range == null || !range.isInRange(row, column) || !invalid.get(bit(row, column));
+        }
+
+        /**
+         * @return the number of invalid cells
+         */
+        public int getInvalidCount() {
+            return invalid.cardinality();
+        }
+
+        /**
+         * @return the invalid cells in row-major order
+         */
+        public List<CellAddress> getInvalidCells() {
+            final List<CellAddress> cells = new ArrayList<>(invalid.cardinality());
+            if (range == null) return cells;
+            final int width = range.getLastColumn() - range.getFirstColumn() + 1;
+            for (int i = invalid.nextSetBit(0); i >= 0; i = invalid.nextSetBit(i + 1)) {
+                cells.add(new CellAddress(range.getFirstRow() + i / width, range.getFirstColumn() + i % width));
+            }
+            return cells;
+        }
+    }
 }
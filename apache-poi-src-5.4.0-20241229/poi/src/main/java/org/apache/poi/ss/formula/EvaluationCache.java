@@ -21,10 +21,14 @@ import org.apache.poi.ss.formula.FormulaUsedBlankCellSet.BookSheetKey;
 import org.apache.poi.ss.formula.PlainCellCache.Loc;
 import org.apache.poi.ss.formula.eval.BlankEval;
 import org.apache.poi.ss.formula.eval.BoolEval;
+import org.apache.poi.ss.formula.eval.AreaEval;
 import org.apache.poi.ss.formula.eval.ErrorEval;
 import org.apache.poi.ss.formula.eval.NumberEval;
 import org.apache.poi.ss.formula.eval.StringEval;
 import org.apache.poi.ss.formula.eval.ValueEval;
+import org.apache.poi.ss.formula.functions.CriteriaIndex;
+import org.apache.poi.ss.formula.functions.LookupIndex;
+import org.apache.poi.ss.formula.functions.LookupUtils.ValueVector;
 import org.apache.poi.ss.usermodel.CellType;
 
 /**
@@ -36,6 +40,7 @@ final class EvaluationCache {
 
     private final PlainCellCache _plainCellCache;
     private final FormulaCellCache _formulaCellCache;
+    private final LookupIndexCache _lookupIndexCache;
     /** only used for testing. <code>null</code> otherwise */
     final IEvaluationListener _evaluationListener;
 
@@ -43,6 +48,7 @@ final class EvaluationCache {
         _evaluationListener = evaluationListener;
         _plainCellCache = new PlainCellCache();
         _formulaCellCache = new FormulaCellCache();
+        _lookupIndexCache = new LookupIndexCache();
     }
 
     public void notifyUpdateCell(int bookIndex, int sheetIndex, EvaluationCell cell) {
@@ -50,6 +56,7 @@ final class EvaluationCache {
 
         int rowIndex = cell.getRowIndex();
         int columnIndex = cell.getColumnIndex();
+        _lookupIndexCache.notifyUpdateCell(bookIndex, sheetIndex, rowIndex, columnIndex, _evaluationListener);
         Loc loc = new Loc(bookIndex, sheetIndex, rowIndex, columnIndex);
         PlainValueCellCacheEntry pcce = _plainCellCache.get(loc);
 
@@ -167,6 +174,23 @@ final class EvaluationCache {
         throw new IllegalStateException("Unexpected value class (" + cls.getName() + ")");
     }
 
+    /**
+     * @return the lookup index of the specified cells, or {@code null} if the cells should be searched without index
+     * @see LookupIndexCache
+     */
+    public LookupIndex getLookupIndex(int bookIndex, int sheetIndex, int firstRow, int firstColumn,
+            int lastRow, int lastColumn, ValueVector vector, EvaluationTracker tracker) {
+        return _lookupIndexCache.getLookupIndex(bookIndex, sheetIndex, firstRow, firstColumn, lastRow, lastColumn, vector, tracker);
+    }
+
+    /**
+     * @return the criteria index of the area, or {@code null} if the area should be scanned without index
+     * @see LookupIndexCache
+     */
+    public CriteriaIndex getCriteriaIndex(int bookIndex, int sheetIndex, AreaEval area, EvaluationTracker tracker) {
+        return _lookupIndexCache.getCriteriaIndex(bookIndex, sheetIndex, area, tracker);
+    }
+
     public FormulaCellCacheEntry getOrCreateFormulaCellEntry(EvaluationCell cell) {
         FormulaCellCacheEntry result = _formulaCellCache.get(cell);
         if (result == null) {
@@ -186,8 +210,10 @@ final class EvaluationCache {
         }
         _plainCellCache.clear();
         _formulaCellCache.clear();
+        _lookupIndexCache.clear();
     }
     public void notifyDeleteCell(int bookIndex, int sheetIndex, EvaluationCell cell) {
+        _lookupIndexCache.notifyUpdateCell(bookIndex, sheetIndex, cell.getRowIndex(), cell.getColumnIndex(), _evaluationListener);
 
         if (cell.getCellType() == CellType.FORMULA) {
             FormulaCellCacheEntry fcce = _formulaCellCache.remove(cell);
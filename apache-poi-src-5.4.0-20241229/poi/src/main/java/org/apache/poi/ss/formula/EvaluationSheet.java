@@ -45,6 +45,15 @@ public interface EvaluationSheet {
      */
     int getLastRowNum();
 
+    /**
+     * @return the first row index which can still be read by {@link #getCell(int, int)},
+     *  e.g. streaming sheets can't read the rows they have already flushed
+     * @since POI 5.4.1
+     */
+    default int getFirstReadableRowNum() {
+        return 0;
+    }
+
     /**
      * Used by SUBTOTAL and similar functions that have options to ignore hidden rows
      * @return true if the row is hidden, false if not
@@ -0,0 +1,473 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.poi.ss.formula.EvaluationWorkbook.ExternalSheet;
+import org.apache.poi.ss.formula.EvaluationWorkbook.ExternalSheetRange;
+import org.apache.poi.ss.formula.ptg.AbstractFunctionPtg;
+import org.apache.poi.ss.formula.ptg.Area3DPtg;
+import org.apache.poi.ss.formula.ptg.Area3DPxg;
+import org.apache.poi.ss.formula.ptg.AreaPtg;
+import org.apache.poi.ss.formula.ptg.ExpPtg;
+import org.apache.poi.ss.formula.ptg.NamePtg;
+import org.apache.poi.ss.formula.ptg.NameXPtg;
+import org.apache.poi.ss.formula.ptg.NameXPxg;
+import org.apache.poi.ss.formula.ptg.Ptg;
+import org.apache.poi.ss.formula.ptg.Ref3DPtg;
+import org.apache.poi.ss.formula.ptg.Ref3DPxg;
+import org.apache.poi.ss.formula.ptg.RefPtg;
+import org.apache.poi.ss.formula.ptg.TblPtg;
+import org.apache.poi.ss.usermodel.Cell;
+
+/**
+ * Static dependency graph of the formula cells of a workbook, derived from the cell and area
+ * references in their formula tokens.<p>
+ *
+ * The graph is used to find the formula cells affected by a set of changed cells, and to
+ * order them so that each formula is calculated after its precedents. Formulas whose precedents
+ * can't be derived from their tokens, e.g. because they use INDIRECT, OFFSET, external names or
+ * a volatile function, are flagged as volatile and are always treated as affected.
+ */
+final class FormulaDependencyGraph {
+
+    /**
+     * Functions which either reference cells not visible in their arguments or
+     * return a different result on each evaluation
+     */
+    private static final Set<String> DYNAMIC_FUNCTIONS = new HashSet<>(Arrays.asList(
+            "INDIRECT", "OFFSET", "RAND", "RANDBETWEEN", "NOW", "TODAY", "CELL", "INFO"));
+
+    /** names referring to names are followed up to this depth */
+    private static final int MAX_NAME_DEPTH = 16;
+
+    /** areas are indexed in blocks of 64 columns */
+    private static final int COLUMN_BLOCK_SHIFT = 6;
+
+    private final EvaluationWorkbook _workbook;
+
+    private final Map<Long, Node> _nodesByLocation = new LinkedHashMap<>();
+    private final Map<Long, List<Node>> _cellDependents = new HashMap<>();
+    private final Map<Long, List<Area>> _areaDependents = new HashMap<>();
+    private final Set<Node> _volatileNodes = new LinkedHashSet<>();
+
+    FormulaDependencyGraph(EvaluationWorkbook workbook) {
+        _workbook = workbook;
+    }
+
+    private static final class Node {
+        private final Cell _cell;
+        private final long _location;
+        private final int _sheetIndex;
+        private final List<Long> _cellPrecedents = new ArrayList<>();
+        private final List<Area> _areaPrecedents = new ArrayList<>();
+        private boolean _volatile;
+
+        // state of the current sort
+        private boolean _affected;
+        private int _pendingPrecedents;
+        private Node _lastPrecedent;
+        private List<Node> _affectedDependents;
+
+        // state of the current grouping
+        private int _index;
+
+        Node(Cell cell, int sheetIndex) {
+            _cell = cell;
+            _sheetIndex = sheetIndex;
+            _location = location(sheetIndex, cell.getRowIndex(), cell.getColumnIndex());
+        }
+    }
+
+    private static final class Area {
+        private final Node _node;
+        private final int _sheetIndex;
+        private final int _firstRow;
+        private final int _lastRow;
+        private final int _firstColumn;
+        private final int _lastColumn;
+
+        Area(Node node, int sheetIndex, int firstRow, int lastRow, int firstColumn, int lastColumn) {
+            _node = node;
+            _sheetIndex = sheetIndex;
+            _firstRow = firstRow;
+            _lastRow = lastRow;
+            _firstColumn = firstColumn;
+            _lastColumn = lastColumn;
+        }
+
+        boolean contains(int row, int column) {
+            return _firstRow <= row && row <= _lastRow && _firstColumn <= column && column <= _lastColumn;
+        }
+    }
+
+    static long location(int sheetIndex, int rowIndex, int columnIndex) {
+        return ((long) sheetIndex << 40) | ((long) rowIndex << 16) | columnIndex;
+    }
+
+    private static long areaKey(int sheetIndex, int columnBlock) {
+        return ((long) sheetIndex << 32) | columnBlock;
+    }
+
+    /**
+     * Adds or replaces the formula cell at the location of the given cell
+     *
+     * @param cell the formula cell
+     * @param sheetIndex the index of the sheet of the cell
+     * @param ptgs the parsed formula of the cell
+     */
+    void addFormulaCell(Cell cell, int sheetIndex, Ptg[] ptgs) {
+        Node node = new Node(cell, sheetIndex);
+        removeCell(node._location);
+        try {
+            addPrecedents(node, ptgs, 0);
+        } catch (RuntimeException e) {
+            // the formula can't be analysed, so it is recalculated each time
+            node._volatile = true;
+        }
+
+        _nodesByLocation.put(node._location, node);
+        for (Long precedent : node._cellPrecedents) {
+            _cellDependents.computeIfAbsent(precedent, k -> new ArrayList<>()).add(node);
+        }
+        for (Area area : node._areaPrecedents) {
+            for (int block = area._firstColumn >>> COLUMN_BLOCK_SHIFT;
+                 block <= area._lastColumn >>> COLUMN_BLOCK_SHIFT; block++) {
+                _areaDependents.computeIfAbsent(areaKey(area._sheetIndex, block), k -> new ArrayList<>()).add(area);
+            }
+        }
+        if (node._volatile) {
+            _volatileNodes.add(node);
+        }
+    }
+
+    /**
+     * Removes the formula cell at the given location, if there is one
+     */
+    void removeCell(long location) {
+        Node node = _nodesByLocation.remove(location);
+        if (node == null) {
+            return;
+        }
+        for (Long precedent : node._cellPrecedents) {
+            List<Node> dependents = _cellDependents.get(precedent);
+            dependents.remove(node);
+            if (dependents.isEmpty()) {
+                _cellDependents.remove(precedent);
+            }
+        }
+        for (Area area : node._areaPrecedents) {
+            for (int block = area._firstColumn >>> COLUMN_BLOCK_SHIFT;
+                 block <= area._lastColumn >>> COLUMN_BLOCK_SHIFT; block++) {
+                long key = areaKey(area._sheetIndex, block);
+                List<Area> areas = _areaDependents.get(key);
+                areas.removeIf(a -> a._node == node);
+                if (areas.isEmpty()) {
+                    _areaDependents.remove(key);
+                }
+            }
+        }
+        _volatileNodes.remove(node);
+    }
+
+    /**
+     * @return the formula cells flagged as volatile
+     */
+    List<Cell> getVolatileCells() {
+        List<Cell> result = new ArrayList<>(_volatileNodes.size());
+        for (Node node : _volatileNodes) {
+            result.add(node._cell);
+        }
+        return result;
+    }
+
+    /**
+     * Splits the formula cells into groups which don't reference each other, i.e. the
+     * connected components of the graph. The formulas of a group can be calculated without
+     * calculating any formula of another group.<p>
+     *
+     * All volatile formula cells are put into the same group, together with everything
+     * connected to them, as their precedents aren't known and as cells using RAND or
+     * RANDBETWEEN need to be calculated only once to get consistent results.
+     *
+     * @return the groups, each listing its cells in the order they were added to the graph
+     */
+    List<List<Cell>> getIndependentGroups() {
+        List<Node> nodes = new ArrayList<>(_nodesByLocation.values());
+        int[] parents = new int[nodes.size()];
+        for (int i = 0; i < parents.length; i++) {
+            nodes.get(i)._index = i;
+            parents[i] = i;
+        }
+
+        List<Node> dependents = new ArrayList<>();
+        Node firstVolatile = null;
+        for (Node node : nodes) {
+            findDependents(node._location, dependents);
+            for (Node dependent : dependents) {
+                union(parents, node._index, dependent._index);
+            }
+            if (node._volatile) {
+                if (firstVolatile == null) {
+                    firstVolatile = node;
+                } else {
+                    union(parents, firstVolatile._index, node._index);
+                }
+            }
+        }
+
+        Map<Integer, List<Cell>> groups = new LinkedHashMap<>();
+        for (Node node : nodes) {
+            groups.computeIfAbsent(find(parents, node._index), k -> new ArrayList<>()).add(node._cell);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private static int find(int[] parents, int index) {
+        while (parents[index] != index) {
+            // path halving
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+        return index;
+    }
+
+    private static void union(int[] parents, int index1, int index2) {
+        int root1 = find(parents, index1);
+        int root2 = find(parents, index2);
+        if (root1 != root2) {
+            parents[Math.max(root1, root2)] = Math.min(root1, root2);
+        }
+    }
+
+    /**
+     * Collects the formula cells which directly or indirectly depend on the given locations,
+     * including the formula cells at these locations and all volatile formula cells.
+     *
+     * @param changedLocations the locations of the changed cells, see {@link #location(int, int, int)}
+     * @return the affected formula cells, ordered so that each cell follows its affected precedents.
+     *  Cells which are part of a circular reference are appended at the end.
+     */
+    List<Cell> getAffectedFormulaCells(Collection<Long> changedLocations) {
+        List<Node> affected = new ArrayList<>();
+        ArrayDeque<Node> pending = new ArrayDeque<>();
+        List<Node> dependents = new ArrayList<>();
+        try {
+            for (Long location : changedLocations) {
+                Node node = _nodesByLocation.get(location);
+                if (node != null) {
+                    markAffected(node, affected, pending);
+                } else {
+                    // a plain value cell - there is no formula to calculate for it
+                    findDependents(location, dependents);
+                    for (Node dependent : dependents) {
+                        markAffected(dependent, affected, pending);
+                    }
+                }
+            }
+            for (Node node : _volatileNodes) {
+                markAffected(node, affected, pending);
+            }
+
+            // breadth first walk through the dependents, recording the edges between affected cells
+            while (!pending.isEmpty()) {
+                Node node = pending.poll();
+                findDependents(node._location, dependents);
+                for (Node dependent : dependents) {
+                    if (dependent == node) {
+                        continue;
+                    }
+                    markAffected(dependent, affected, pending);
+                    if (dependent._lastPrecedent != node) {
+                        dependent._lastPrecedent = node;
+                        dependent._pendingPrecedents++;
+                        node._affectedDependents.add(dependent);
+                    }
+                }
+            }
+
+            return sortAffected(affected);
+        } finally {
+            for (Node node : affected) {
+                node._affected = false;
+                node._pendingPrecedents = 0;
+                node._lastPrecedent = null;
+                node._affectedDependents = null;
+            }
+        }
+    }
+
+    private static void markAffected(Node node, List<Node> affected, ArrayDeque<Node> pending) {
+        if (!node._affected) {
+            node._affected = true;
+            node._affectedDependents = new ArrayList<>();
+            affected.add(node);
+            pending.add(node);
+        }
+    }
+
+    /**
+     * Topological sort of the affected cells (Kahn's algorithm)
+     */
+    private static List<Cell> sortAffected(List<Node> affected) {
+        List<Cell> result = new ArrayList<>(affected.size());
+        ArrayDeque<Node> ready = new ArrayDeque<>();
+        for (Node node : affected) {
+            if (node._pendingPrecedents == 0) {
+                ready.add(node);
+            }
+        }
+        while (!ready.isEmpty()) {
+            Node node = ready.poll();
+            result.add(node._cell);
+            for (Node dependent : node._affectedDependents) {
+                if (--dependent._pendingPrecedents == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (result.size() < affected.size()) {
+            // circular references - the evaluator deals with them
+            for (Node node : affected) {
+                if (node._pendingPrecedents > 0) {
+                    result.add(node._cell);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fills {@code result} with the formula cells referencing the given location
+     */
+    private void findDependents(long location, List<Node> result) {
+        result.clear();
+        List<Node> cellDependents = _cellDependents.get(location);
+        if (cellDependents != null) {
+            result.addAll(cellDependents);
+        }
+        int sheetIndex = (int) (location >>> 40);
+        int rowIndex = (int) (location >>> 16) & 0xFFFFFF;
+        int columnIndex = (int) location & 0xFFFF;
+        List<Area> areas = _areaDependents.get(areaKey(sheetIndex, columnIndex >>> COLUMN_BLOCK_SHIFT));
+        if (areas != null) {
+            for (Area area : areas) {
+                if (area.contains(rowIndex, columnIndex)) {
+                    result.add(area._node);
+                }
+            }
+        }
+    }
+
+    private void addPrecedents(Node node, Ptg[] ptgs, int nameDepth) {
+        for (Ptg ptg : ptgs) {
+            if (ptg instanceof RefPtg) {
+                RefPtg rptg = (RefPtg) ptg;
+                node._cellPrecedents.add(location(node._sheetIndex, rptg.getRow(), rptg.getColumn()));
+            } else if (ptg instanceof AreaPtg) {
+                AreaPtg aptg = (AreaPtg) ptg;
+                addArea(node, node._sheetIndex, node._sheetIndex, aptg.getFirstRow(), aptg.getLastRow(),
+                        aptg.getFirstColumn(), aptg.getLastColumn());
+            } else if (ptg instanceof Ref3DPtg) {
+                Ref3DPtg rptg = (Ref3DPtg) ptg;
+                addSheetRange(node, _workbook.getExternalSheet(rptg.getExternSheetIndex()),
+                        rptg.getRow(), rptg.getRow(), rptg.getColumn(), rptg.getColumn());
+            } else if (ptg instanceof Ref3DPxg) {
+                Ref3DPxg rptg = (Ref3DPxg) ptg;
+                addSheetRange(node, _workbook.getExternalSheet(rptg.getSheetName(), rptg.getLastSheetName(),
+                        rptg.getExternalWorkbookNumber()), rptg.getRow(), rptg.getRow(), rptg.getColumn(), rptg.getColumn());
+            } else if (ptg instanceof Area3DPtg) {
+                Area3DPtg aptg = (Area3DPtg) ptg;
+                addSheetRange(node, _workbook.getExternalSheet(aptg.getExternSheetIndex()),
+                        aptg.getFirstRow(), aptg.getLastRow(), aptg.getFirstColumn(), aptg.getLastColumn());
+            } else if (ptg instanceof Area3DPxg) {
+                Area3DPxg aptg = (Area3DPxg) ptg;
+                addSheetRange(node, _workbook.getExternalSheet(aptg.getSheetName(), aptg.getLastSheetName(),
+                        aptg.getExternalWorkbookNumber()), aptg.getFirstRow(), aptg.getLastRow(),
+                        aptg.getFirstColumn(), aptg.getLastColumn());
+            } else if (ptg instanceof NamePtg) {
+                EvaluationName name = _workbook.getName((NamePtg) ptg);
+                if (name == null || name.isFunctionName()) {
+                    // nothing to depend on
+                } else if (name.hasFormula() && nameDepth < MAX_NAME_DEPTH) {
+                    addPrecedents(node, name.getNameDefinition(), nameDepth + 1);
+                } else {
+                    node._volatile = true;
+                }
+            } else if (ptg instanceof NameXPtg || ptg instanceof NameXPxg
+                    || ptg instanceof ExpPtg || ptg instanceof TblPtg) {
+                node._volatile = true;
+            } else if (ptg instanceof AbstractFunctionPtg) {
+                String functionName = ((AbstractFunctionPtg) ptg).getName();
+                if (DYNAMIC_FUNCTIONS.contains(functionName.toUpperCase(Locale.ROOT))) {
+                    node._volatile = true;
+                }
+            }
+        }
+    }
+
+    private void addSheetRange(Node node, ExternalSheet externalSheet,
+            int firstRow, int lastRow, int firstColumn, int lastColumn) {
+        int firstSheetIndex;
+        int lastSheetIndex;
+        if (externalSheet == null) {
+            // same as the evaluator - see OperationEvaluationContext.createExternSheetRefEvaluator
+            firstSheetIndex = 0;
+            lastSheetIndex = 0;
+        } else if (externalSheet.getWorkbookName() != null) {
+            // cells of other workbooks can't be tracked
+            node._volatile = true;
+            return;
+        } else {
+            firstSheetIndex = _workbook.getSheetIndex(externalSheet.getSheetName());
+            lastSheetIndex = externalSheet instanceof ExternalSheetRange
+                    ? _workbook.getSheetIndex(((ExternalSheetRange) externalSheet).getLastSheetName())
+                    : firstSheetIndex;
+        }
+        if (firstSheetIndex < 0 || lastSheetIndex < 0) {
+            // invalid sheet reference, evaluates to an error
+            return;
+        }
+        addArea(node, firstSheetIndex, lastSheetIndex, firstRow, lastRow, firstColumn, lastColumn);
+    }
+
+    private static void addArea(Node node, int firstSheetIndex, int lastSheetIndex,
+            int firstRow, int lastRow, int firstColumn, int lastColumn) {
+        for (int sheetIndex = firstSheetIndex; sheetIndex <= lastSheetIndex; sheetIndex++) {
+            if (firstRow == lastRow && firstColumn == lastColumn) {
+                node._cellPrecedents.add(location(sheetIndex, firstRow, firstColumn));
+            } else {
+                node._areaPrecedents.add(new Area(node, sheetIndex,
+                        Math.min(firstRow, lastRow), Math.max(firstRow, lastRow),
+                        Math.min(firstColumn, lastColumn), Math.max(firstColumn, lastColumn)));
+            }
+        }
+    }
+}
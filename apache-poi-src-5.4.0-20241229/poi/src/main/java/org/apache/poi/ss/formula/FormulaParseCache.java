@@ -0,0 +1,395 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.formula.ptg.AreaPtgBase;
+import org.apache.poi.ss.formula.ptg.OperandPtg;
+import org.apache.poi.ss.formula.ptg.Ptg;
+import org.apache.poi.ss.formula.ptg.RefPtgBase;
+
+/**
+ * Caches the parsed tokens of cell formulas, so that a formula which is copied over many cells
+ * (e.g. {@code A2*B2}, {@code A3*B3}, ...) is parsed only once.
+ * <p>
+ * The formulas are compared in R1C1 notation relative to their cell, i.e. {@code A2*B2} in C2 and
+ * {@code A3*B3} in C3 share the key {@code R[0]C[-2]*R[0]C[-1]}. The tokens parsed for the first
+ * cell are kept as template and are relocated to the other cells by moving the relative
+ * parts of their cell and area references, similar to the tokens of a shared formula.
+ * <p>
+ * Formulas with structured or external references ({@code [}) and formulas whose references
+ * cannot be matched to their text, like whole column or row areas, are not cached.
+ * If many formulas in a row are not found in the cache, e.g. because all formulas of a sheet differ,
+ * the cache is bypassed for the following formulas, so the keys aren't built in vain.
+ * <p>
+ * A cache belongs to a single workbook and needs to be {@link #clear() cleared} when sheets or
+ * names of the workbook are added, removed or renamed. This class is not thread-safe.
+ *
+ * @since POI 5.4.1
+ */
+public final class FormulaParseCache {
+
+    /** the number of formulas kept by the default constructor */
+    public static final int DEFAULT_MAX_ENTRIES = 4096;
+
+    /** marks the relative references in the key, so they can't be mistaken for other text */
+    private static final char REF_MARKER = '\uFFFF';
+
+    /** the number of consecutive misses after which the cache is bypassed */
+    private static final int MAX_MISSES = 100;
+
+    /** the number of formulas parsed without the cache after {@link #MAX_MISSES} */
+    private static final int BYPASSED_FORMULAS = 1000;
+
+    private final Map<String, Template> templates;
+    private int misses;
+    private int bypassed;
+
+    /**
+     * Creates a cache keeping up to {@value #DEFAULT_MAX_ENTRIES} formulas
+     */
+    public FormulaParseCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries the number of formulas to keep, the least recently used are dropped first
+     */
+    public FormulaParseCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive, but was " + maxEntries);
+        }
+        templates = new LinkedHashMap<String, Template>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Parses a formula of a cell or returns the relocated tokens of an identical formula parsed before.
+     *
+     * @param formula     the formula to parse
+     * @param workbook    the parent workbook
+     * @param formulaType the type of the formula
+     * @param sheetIndex  the 0-based index of the sheet this formula belongs to
+     * @param rowIndex    the 0-based row of the formula cell
+     * @param columnIndex the 0-based column of the formula cell
+     * @return array of parsed tokens, which may be modified by the caller
+     * @throws FormulaParseException if the formula has incorrect syntax or is otherwise invalid
+     * @see FormulaParser#parse(String, FormulaParsingWorkbook, FormulaType, int, int)
+     */
+    public Ptg[] parse(String formula, FormulaParsingWorkbook workbook, FormulaType formulaType,
+            int sheetIndex, int rowIndex, int columnIndex) {
+        if (rowIndex < 0 || columnIndex < 0 || formula.indexOf('[') != -1) {
+            return FormulaParser.parse(formula, workbook, formulaType, sheetIndex, rowIndex);
+        }
+        if (bypassed > 0) {
+            bypassed--;
+            return FormulaParser.parse(formula, workbook, formulaType, sheetIndex, rowIndex);
+        }
+        Normalizer normalizer = new Normalizer(formula, workbook.getSpreadsheetVersion(), rowIndex, columnIndex);
+        String key = normalizer.normalize(formulaType.ordinal() + ":" + sheetIndex + ":");
+        if (key == null) {
+            return FormulaParser.parse(formula, workbook, formulaType, sheetIndex, rowIndex);
+        }
+        Template template = templates.get(key);
+        if (template != null) {
+            misses = 0;
+            return template.relocate(rowIndex, columnIndex);
+        }
+        if (++misses >= MAX_MISSES) {
+            misses = 0;
+            bypassed = BYPASSED_FORMULAS;
+        }
+
+        Ptg[] ptgs = FormulaParser.parse(formula, workbook, formulaType, sheetIndex, rowIndex);
+        if (countCoordinates(ptgs) == normalizer.getReferences()) {
+            templates.put(key, new Template(ptgs, rowIndex, columnIndex));
+        }
+        return ptgs;
+    }
+
+    /**
+     * Drops all cached formulas
+     */
+    public void clear() {
+        templates.clear();
+        misses = 0;
+        bypassed = 0;
+    }
+
+    /**
+     * @return the number of cached formulas
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    /**
+     * @return the number of cell coordinates of the references in the tokens, which is compared
+     *  to the references found in the formula text to detect references the key doesn't cover
+     */
+    private static int countCoordinates(Ptg[] ptgs) {
+        int count = 0;
+        for (Ptg ptg : ptgs) {
+            if (ptg instanceof RefPtgBase) {
+                count++;
+            } else if (ptg instanceof AreaPtgBase) {
+                count += 2;
+            }
+        }
+        return count;
+    }
+
+    private static final class Template {
+        private final Ptg[] ptgs;
+        private final int row;
+        private final int column;
+
+        Template(Ptg[] ptgs, int row, int column) {
+            // keep a copy, the parsed tokens are handed out to the caller
+            this.ptgs = relocate(ptgs, 0, 0);
+            this.row = row;
+            this.column = column;
+        }
+
+        Ptg[] relocate(int rowIndex, int columnIndex) {
+            return relocate(ptgs, rowIndex - row, columnIndex - column);
+        }
+
+        private static Ptg[] relocate(Ptg[] ptgs, int rowOffset, int columnOffset) {
+            Ptg[] result = new Ptg[ptgs.length];
+            for (int i = 0; i < ptgs.length; i++) {
+                Ptg ptg = ptgs[i];
+                if (ptg instanceof RefPtgBase) {
+                    RefPtgBase ref = (RefPtgBase)((RefPtgBase)ptg).copy();
+                    if (ref.isRowRelative()) {
+                        ref.setRow(ref.getRow() + rowOffset);
+                    }
+                    if (ref.isColRelative()) {
+                        ref.setColumn(ref.getColumn() + columnOffset);
+                    }
+                    ptg = ref;
+                } else if (ptg instanceof AreaPtgBase) {
+                    AreaPtgBase area = (AreaPtgBase)((AreaPtgBase)ptg).copy();
+                    if (area.isFirstRowRelative()) {
+                        area.setFirstRow(area.getFirstRow() + rowOffset);
+                    }
+                    if (area.isLastRowRelative()) {
+                        area.setLastRow(area.getLastRow() + rowOffset);
+                    }
+                    if (area.isFirstColRelative()) {
+                        area.setFirstColumn(area.getFirstColumn() + columnOffset);
+                    }
+                    if (area.isLastColRelative()) {
+                        area.setLastColumn(area.getLastColumn() + columnOffset);
+                    }
+                    sortCorners(area);
+                    ptg = area;
+                } else if (ptg instanceof OperandPtg) {
+                    // Any subclass of OperandPtg is mutable, so it's safest to not share these instances.
+                    ptg = ((OperandPtg)ptg).copy();
+                }
+                // all other Ptgs are immutable and can be shared
+                result[i] = ptg;
+            }
+            return result;
+        }
+
+        /**
+         * A relative corner may pass an absolute one, e.g. {@code A$5:A1} moved down by 9 rows,
+         * so swap the rows or columns like the parser does for {@code A$5:A10}
+         */
+        private static void sortCorners(AreaPtgBase area) {
+            if (area.getFirstRow() > area.getLastRow()) {
+                int row = area.getFirstRow();
+                boolean rowRelative = area.isFirstRowRelative();
+                area.setFirstRow(area.getLastRow());
+                area.setFirstRowRelative(area.isLastRowRelative());
+                area.setLastRow(row);
+                area.setLastRowRelative(rowRelative);
+            }
+            if (area.getFirstColumn() > area.getLastColumn()) {
+                int column = area.getFirstColumn();
+                boolean colRelative = area.isFirstColRelative();
+                area.setFirstColumn(area.getLastColumn());
+                area.setFirstColRelative(area.isLastColRelative());
+                area.setLastColumn(column);
+                area.setLastColRelative(colRelative);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the A1 cell references of a formula in R1C1 notation relative to the formula cell.
+     * String literals and quoted sheet names are kept as they are.
+     */
+    private static final class Normalizer {
+        private final String formula;
+        private final SpreadsheetVersion version;
+        private final int rowIndex;
+        private final int columnIndex;
+        private final StringBuilder sb;
+        private int references;
+
+        Normalizer(String formula, SpreadsheetVersion version, int rowIndex, int columnIndex) {
+            this.formula = formula;
+            this.version = version;
+            this.rowIndex = rowIndex;
+            this.columnIndex = columnIndex;
+            this.sb = new StringBuilder(formula.length() + 32);
+        }
+
+        /**
+         * @param prefix the text to start the normalized formula with
+         * @return the normalized formula or {@code null}, if the formula can't be cached
+         */
+        String normalize(String prefix) {
+            sb.append(prefix);
+            final int len = formula.length();
+            int i = 0;
+            while (i < len) {
+                char ch = formula.charAt(i);
+                if (ch == '"' || ch == '\'') {
+                    int end = formula.indexOf(ch, i + 1);
+                    if (end == -1) {
+                        return null;
+                    }
+                    // doubled quotes are just two adjacent quoted parts
+                    sb.append(formula, i, end + 1);
+                    i = end + 1;
+                } else if (ch == REF_MARKER) {
+                    return null;
+                } else if (isDigit(ch) || (ch == '.' && i + 1 < len && isDigit(formula.charAt(i + 1)))) {
+                    i = appendNumber(i);
+                } else if (isIdentifierPart(ch)) {
+                    int end = i + 1;
+                    while (end < len && isIdentifierPart(formula.charAt(end))) {
+                        end++;
+                    }
+                    char next = (end < len) ? formula.charAt(end) : 0;
+                    if (next == '(' || next == '!' || !appendReference(i, end)) {
+                        sb.append(formula, i, end);
+                    }
+                    i = end;
+                } else {
+                    sb.append(ch);
+                    i++;
+                }
+            }
+            return sb.toString();
+        }
+
+        int getReferences() {
+            return references;
+        }
+
+        private int appendNumber(int start) {
+            final int len = formula.length();
+            int i = start;
+            while (i < len && (isDigit(formula.charAt(i)) || formula.charAt(i) == '.')) {
+                i++;
+            }
+            if (i + 1 < len && (formula.charAt(i) == 'e' || formula.charAt(i) == 'E')) {
+                int exp = i + 1;
+                if (formula.charAt(exp) == '+' || formula.charAt(exp) == '-') {
+                    exp++;
+                }
+                if (exp < len && isDigit(formula.charAt(exp))) {
+                    i = exp;
+                    while (i < len && isDigit(formula.charAt(i))) {
+                        i++;
+                    }
+                }
+            }
+            sb.append(formula, start, i);
+            return i;
+        }
+
+        /**
+         * @return {@code true} if the identifier is a cell reference and was appended in R1C1 notation
+         */
+        private boolean appendReference(int start, int end) {
+            int i = start;
+            boolean columnAbsolute = formula.charAt(i) == '$';
+            if (columnAbsolute) {
+                i++;
+            }
+            int letters = i;
+            int column = 0;
+            while (i < end && isLetter(formula.charAt(i))) {
+                column = column * 26 + (Character.toUpperCase(formula.charAt(i)) - 'A' + 1);
+                i++;
+            }
+            if (i == letters || i - letters > 3) {
+                return false;
+            }
+            column--;
+            boolean rowAbsolute = i < end && formula.charAt(i) == '$';
+            if (rowAbsolute) {
+                i++;
+            }
+            int digits = i;
+            int row = 0;
+            while (i < end && isDigit(formula.charAt(i)) && i - digits < 8) {
+                row = row * 10 + (formula.charAt(i) - '0');
+                i++;
+            }
+            if (i == digits || i != end) {
+                return false;
+            }
+            row--;
+            if (column > version.getLastColumnIndex() || row < 0 || row > version.getLastRowIndex()) {
+                return false;
+            }
+
+            sb.append(REF_MARKER).append('R');
+            if (rowAbsolute) {
+                sb.append(row);
+            } else {
+                sb.append('[').append(row - rowIndex).append(']');
+            }
+            sb.append('C');
+            if (columnAbsolute) {
+                sb.append(column);
+            } else {
+                sb.append('[').append(column - columnIndex).append(']');
+            }
+            sb.append(REF_MARKER);
+            references++;
+            return true;
+        }
+
+        private static boolean isDigit(char ch) {
+            return ch >= '0' && ch <= '9';
+        }
+
+        private static boolean isLetter(char ch) {
+            return (ch >= 'A' && ch <= 'Z') || (ch >= 'a' && ch <= 'z');
+        }
+
+        private static boolean isIdentifierPart(char ch) {
+            return Character.isLetterOrDigit(ch) || ch == '$' || ch == '_' || ch == '.' || ch == '\\' || ch == '?';
+        }
+    }
+}
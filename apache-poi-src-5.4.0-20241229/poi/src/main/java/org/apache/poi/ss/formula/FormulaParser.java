@@ -176,6 +176,33 @@ public final class FormulaParser {
         return fp.getRPNPtg(formulaType);
     }
 
+    /**
+     * Parse a cell formula into an array of tokens, reusing the tokens of an identical
+     * formula of another cell if the given cache contains them.
+     * Side effect: creates name ({@link Workbook#createName})
+     *     if formula contains unrecognized names (names are likely UDFs)
+     *
+     * @param formula     the formula to parse
+     * @param workbook    the parent workbook
+     * @param formulaType the type of the formula
+     * @param sheetIndex  the 0-based index of the sheet this formula belongs to
+     * @param rowIndex    the 0-based row of the formula cell
+     * @param columnIndex the 0-based column of the formula cell
+     * @param cache       the parsed formulas of the workbook, or {@code null} to always parse the formula
+     *
+     * @return array of parsed tokens
+     * @throws FormulaParseException if the formula has incorrect syntax or is otherwise invalid
+     * @see FormulaParseCache
+     * @since POI 5.4.1
+     */
+    public static Ptg[] parse(String formula, FormulaParsingWorkbook workbook, FormulaType formulaType,
+            int sheetIndex, int rowIndex, int columnIndex, FormulaParseCache cache) {
+        if (cache == null) {
+            return parse(formula, workbook, formulaType, sheetIndex, rowIndex);
+        }
+        return cache.parse(formula, workbook, formulaType, sheetIndex, rowIndex, columnIndex);
+    }
+
     /**
      * Parse a formula into an array of tokens
      * Side effect: creates name ({@link Workbook#createName})
@@ -20,6 +20,10 @@ package org.apache.poi.ss.formula;
 import org.apache.poi.ss.formula.eval.AreaEval;
 import org.apache.poi.ss.formula.eval.AreaEvalBase;
 import org.apache.poi.ss.formula.eval.ValueEval;
+import org.apache.poi.ss.formula.functions.CriteriaIndex;
+import org.apache.poi.ss.formula.functions.LookupIndex;
+import org.apache.poi.ss.formula.functions.LookupUtils.LookupIndexProvider;
+import org.apache.poi.ss.formula.functions.LookupUtils.ValueVector;
 import org.apache.poi.ss.formula.ptg.AreaI;
 import org.apache.poi.ss.formula.ptg.AreaI.OffsetArea;
 import org.apache.poi.ss.util.CellReference;
@@ -27,7 +31,7 @@ import org.apache.poi.ss.util.CellReference;
 /**
  * Provides Lazy Evaluation to 3D Ranges
  */
-final class LazyAreaEval extends AreaEvalBase {
+final class LazyAreaEval extends AreaEvalBase implements LookupIndexProvider, CriteriaIndex.Provider {
     private final SheetRangeEvaluator _evaluator;
 
     LazyAreaEval(AreaI ptg, SheetRangeEvaluator evaluator) {
@@ -82,6 +86,28 @@ final class LazyAreaEval extends AreaEvalBase {
         return new LazyAreaEval(getFirstRow(), absColIx, getLastRow(), absColIx, _evaluator);
     }
 
+    @Override
+    public LookupIndex getLookupIndex(boolean isRow, int relativeIndex, ValueVector vector) {
+        if (getFirstSheetIndex() != getLastSheetIndex()) {
+            return null;
+        }
+        SheetRefEvaluator sre = _evaluator.getSheetEvaluator(getFirstSheetIndex());
+        if (isRow) {
+            int rowIx = getFirstRow() + relativeIndex;
+            return sre.getLookupIndex(rowIx, getFirstColumn(), rowIx, getLastColumn(), vector);
+        }
+        int colIx = getFirstColumn() + relativeIndex;
+        return sre.getLookupIndex(getFirstRow(), colIx, getLastRow(), colIx, vector);
+    }
+
+    @Override
+    public CriteriaIndex getCriteriaIndex() {
+        if (getFirstSheetIndex() != getLastSheetIndex()) {
+            return null;
+        }
+        return _evaluator.getSheetEvaluator(getFirstSheetIndex()).getCriteriaIndex(this);
+    }
+
     public String toString() {
         CellReference crA = new CellReference(getFirstRow(), getFirstColumn());
         CellReference crB = new CellReference(getLastRow(), getLastColumn());
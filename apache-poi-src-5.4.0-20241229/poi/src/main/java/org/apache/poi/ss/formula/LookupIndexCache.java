@@ -0,0 +1,170 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.poi.ss.formula.eval.AreaEval;
+import org.apache.poi.ss.formula.eval.BoolEval;
+import org.apache.poi.ss.formula.functions.CriteriaIndex;
+import org.apache.poi.ss.formula.functions.LookupIndex;
+import org.apache.poi.ss.formula.functions.LookupUtils.ValueVector;
+
+/**
+ * Caches the {@link LookupIndex}es of the rows and columns searched by the lookup functions
+ * and the {@link CriteriaIndex}es of the ranges filtered by the COUNTIF, SUMIF and *IFS functions.
+ * <p>
+ * Each index is guarded by a formula cache entry which isn't attached to a cell.
+ * The entry is evaluated while the index is built and thereby consumes all indexed cells.
+ * Formulas using the index in turn consume the entry, so a change to an indexed cell clears
+ * the index together with the cached results of all formulas which looked up a value in it.
+ */
+final class LookupIndexCache {
+    /** below this number of cells, a linear search is cheap enough */
+    private static final int MIN_INDEXED_CELLS = 16;
+    /** the index is only built once the same cells are searched again */
+    private static final int MIN_LOOKUPS = 2;
+
+    private final Map<Key, Entry> _entries = new HashMap<>();
+
+    /**
+     * @return the lookup index of the cells, or {@code null} if the cells should be searched without index
+     */
+    public LookupIndex getLookupIndex(int bookIndex, int sheetIndex, int firstRow, int firstColumn,
+            int lastRow, int lastColumn, ValueVector vector, EvaluationTracker tracker) {
+        if (vector.getSize() < MIN_INDEXED_CELLS) {
+            return null;
+        }
+        Key key = new Key(false, bookIndex, sheetIndex, firstRow, firstColumn, lastRow, lastColumn);
+        return getIndex(key, () -> new LookupIndex(vector), tracker);
+    }
+
+    /**
+     * @return the criteria index of the area, or {@code null} if the area should be scanned without index
+     */
+    public CriteriaIndex getCriteriaIndex(int bookIndex, int sheetIndex, AreaEval area, EvaluationTracker tracker) {
+        if (area.getHeight() * area.getWidth() < MIN_INDEXED_CELLS) {
+            return null;
+        }
+        Key key = new Key(true, bookIndex, sheetIndex,
+                area.getFirstRow(), area.getFirstColumn(), area.getLastRow(), area.getLastColumn());
+        return getIndex(key, () -> new CriteriaIndex(area), tracker);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getIndex(Key key, Supplier<T> indexBuilder, EvaluationTracker tracker) {
+        Entry entry = _entries.computeIfAbsent(key, k -> new Entry());
+        if (entry._index == null || entry._guard.getValue() == null) {
+            entry._index = null;
+            if (++entry._lookups < MIN_LOOKUPS) {
+                return null;
+            }
+            // collect the indexed cells as the inputs of the guard entry
+            if (!tracker.startEvaluate(entry._guard)) {
+                // the index is being built further up the stack
+                return null;
+            }
+            try {
+                Object index = indexBuilder.get();
+                tracker.updateCacheResult(BoolEval.TRUE);
+                entry._index = index;
+            } finally {
+                tracker.endEvaluate(entry._guard);
+            }
+        }
+        tracker.acceptFormulaDependency(entry._guard);
+        return (T) entry._index;
+    }
+
+    /**
+     * Clears the indexes containing the specified cell. Besides the consumer tracking of the
+     * guard entries, this is required for blank cells, which have no cache entry to consume.
+     */
+    public void notifyUpdateCell(int bookIndex, int sheetIndex, int rowIndex, int columnIndex,
+            IEvaluationListener evaluationListener) {
+        for (Map.Entry<Key, Entry> me : _entries.entrySet()) {
+            Entry entry = me.getValue();
+            if (entry._index != null && me.getKey().contains(bookIndex, sheetIndex, rowIndex, columnIndex)) {
+                entry._guard.recurseClearCachedFormulaResults(evaluationListener);
+                entry._guard.clearFormulaEntry();
+                entry._index = null;
+            }
+        }
+    }
+
+    public void clear() {
+        _entries.clear();
+    }
+
+    private static final class Entry {
+        private final FormulaCellCacheEntry _guard = new FormulaCellCacheEntry();
+        private Object _index;
+        private int _lookups;
+    }
+
+    private static final class Key {
+        private final boolean _criteria;
+        private final int _bookIndex;
+        private final int _sheetIndex;
+        private final int _firstRow;
+        private final int _firstColumn;
+        private final int _lastRow;
+        private final int _lastColumn;
+
+        Key(boolean criteria, int bookIndex, int sheetIndex, int firstRow, int firstColumn, int lastRow, int lastColumn) {
+            _criteria = criteria;
+            _bookIndex = bookIndex;
+            _sheetIndex = sheetIndex;
+            _firstRow = firstRow;
+            _firstColumn = firstColumn;
+            _lastRow = lastRow;
+            _lastColumn = lastColumn;
+        }
+
+        boolean contains(int bookIndex, int sheetIndex, int rowIndex, int columnIndex) {
+            return _bookIndex == bookIndex && _sheetIndex == sheetIndex
+                    && rowIndex >= _firstRow && rowIndex <= _lastRow
+                    && columnIndex >= _firstColumn && columnIndex <= _lastColumn;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Boolean.hashCode(_criteria);
+            result = 31 * result + _bookIndex;
+            result = 31 * result + _sheetIndex;
+            result = 31 * result + _firstRow;
+            result = 31 * result + _firstColumn;
+            result = 31 * result + _lastRow;
+            return 31 * result + _lastColumn;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return _criteria == other._criteria
+                    && _bookIndex == other._bookIndex && _sheetIndex == other._sheetIndex
+                    && _firstRow == other._firstRow && _firstColumn == other._firstColumn
+                    && _lastRow == other._lastRow && _lastColumn == other._lastColumn;
+        }
+    }
+}
@@ -17,7 +17,11 @@
 
 package org.apache.poi.ss.formula;
 
+import org.apache.poi.ss.formula.eval.AreaEval;
 import org.apache.poi.ss.formula.eval.ValueEval;
+import org.apache.poi.ss.formula.functions.CriteriaIndex;
+import org.apache.poi.ss.formula.functions.LookupIndex;
+import org.apache.poi.ss.formula.functions.LookupUtils.ValueVector;
 import org.apache.poi.ss.formula.ptg.FuncVarPtg;
 import org.apache.poi.ss.formula.ptg.Ptg;
 import org.apache.poi.ss.usermodel.CellType;
@@ -48,6 +52,21 @@ final class SheetRefEvaluator {
         return _bookEvaluator.evaluateReference(getSheet(), _sheetIndex, rowIndex, columnIndex, _tracker);
     }
 
+    /**
+     * @return the lookup index of the specified cells, or {@code null} if the cells should be searched without index
+     */
+    public LookupIndex getLookupIndex(int firstRow, int firstColumn, int lastRow, int lastColumn, ValueVector vector) {
+        return _bookEvaluator.getLookupIndex(_sheetIndex, firstRow, firstColumn, lastRow, lastColumn, vector, _tracker);
+    }
+
+    /**
+     * @param area an area of this sheet
+     * @return the criteria index of the area, or {@code null} if the area should be scanned without index
+     */
+    public CriteriaIndex getCriteriaIndex(AreaEval area) {
+        return _bookEvaluator.getCriteriaIndex(_sheetIndex, area, _tracker);
+    }
+
     private EvaluationSheet getSheet() {
         if (_sheet == null) {
             _sheet = _bookEvaluator.getSheet(_sheetIndex);
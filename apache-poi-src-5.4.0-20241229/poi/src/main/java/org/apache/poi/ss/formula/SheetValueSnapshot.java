@@ -0,0 +1,163 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.formula.eval.BlankEval;
+import org.apache.poi.ss.formula.eval.BoolEval;
+import org.apache.poi.ss.formula.eval.ErrorEval;
+import org.apache.poi.ss.formula.eval.NumberEval;
+import org.apache.poi.ss.formula.eval.StringEval;
+import org.apache.poi.ss.formula.eval.ValueEval;
+
+/**
+ * Read-only copy of the plain cell values of a sheet, stored column by column in primitive arrays.
+ * <p>
+ * Used by the {@link WorkbookEvaluator} in read-only mode, so that large ranges are read from arrays
+ * instead of going through the {@link EvaluationCell}s and the dependency tracking for each cell.
+ * Columns are copied when they are first accessed. Formula cells aren't copied, their values
+ * are still evaluated through the evaluator. Neither are rows which the sheet can't read anymore,
+ * like the flushed rows of a streaming sheet, accessing them fails like in the normal mode.
+ */
+final class SheetValueSnapshot {
+    private static final byte BLANK = 0;
+    private static final byte NUMBER = 1;
+    private static final byte STRING = 2;
+    private static final byte BOOLEAN = 3;
+    private static final byte ERROR = 4;
+    private static final byte FORMULA = 5;
+
+    private final EvaluationSheet _sheet;
+    /** the number of rows of each column, rows below are blank */
+    private final int _rowCount;
+    private Column[] _columns = new Column[0];
+    private final List<StringEval> _strings = new ArrayList<>();
+    private final Map<String, Integer> _stringIndexes = new HashMap<>();
+
+    SheetValueSnapshot(EvaluationSheet sheet) {
+        _sheet = sheet;
+        _rowCount = sheet.getLastRowNum() + 1;
+    }
+
+    /**
+     * @return the value of a plain cell, {@code null} for formula cells and rows which weren't copied
+     */
+    ValueEval getValue(int rowIndex, int columnIndex) {
+        if (rowIndex >= _rowCount) {
+            return BlankEval.instance;
+        }
+        Column column = getColumn(columnIndex);
+        if (rowIndex < column._firstRow) {
+            return null;
+        }
+        int idx = rowIndex - column._firstRow;
+        switch (column._types[idx]) {
+            case NUMBER:
+                return new NumberEval(column._numbers[idx]);
+            case STRING:
+                return _strings.get(column._stringIndexes[idx]);
+            case BOOLEAN:
+                return BoolEval.valueOf(column._numbers[idx] != 0);
+            case ERROR:
+                return ErrorEval.valueOf((int) column._numbers[idx]);
+            case FORMULA:
+                return null;
+            default:
+                return BlankEval.instance;
+        }
+    }
+
+    private Column getColumn(int columnIndex) {
+        if (columnIndex >= _columns.length) {
+            _columns = Arrays.copyOf(_columns, Math.max(columnIndex + 1, _columns.length * 2));
+        }
+        Column column = _columns[columnIndex];
+        if (column == null) {
+            column = readColumn(columnIndex);
+            _columns[columnIndex] = column;
+        }
+        return column;
+    }
+
+    private Column readColumn(int columnIndex) {
+        // streaming sheets may have flushed more rows since the snapshot was created
+        int firstRow = Math.min(Math.max(_sheet.getFirstReadableRowNum(), 0), _rowCount);
+        Column column = new Column(firstRow, _rowCount - firstRow);
+        for (int r = 0; r < column._types.length; r++) {
+            EvaluationCell cell = _sheet.getCell(firstRow + r, columnIndex);
+            if (cell == null) {
+                continue;
+            }
+            switch (cell.getCellType()) {
+                case NUMERIC:
+                    column._types[r] = NUMBER;
+                    column._numbers[r] = cell.getNumericCellValue();
+                    break;
+                case STRING:
+                    column._types[r] = STRING;
+                    if (column._stringIndexes == null) {
+                        column._stringIndexes = new int[column._types.length];
+                    }
+                    column._stringIndexes[r] = getStringIndex(cell.getStringCellValue());
+                    break;
+                case BOOLEAN:
+                    column._types[r] = BOOLEAN;
+                    column._numbers[r] = cell.getBooleanCellValue() ? 1 : 0;
+                    break;
+                case ERROR:
+                    column._types[r] = ERROR;
+                    column._numbers[r] = cell.getErrorCellValue();
+                    break;
+                case FORMULA:
+                    column._types[r] = FORMULA;
+                    break;
+                default:
+                    // blank
+                    break;
+            }
+        }
+        return column;
+    }
+
+    private int getStringIndex(String value) {
+        return _stringIndexes.computeIfAbsent(value, s -> {
+            _strings.add(new StringEval(s));
+            return _strings.size() - 1;
+        });
+    }
+
+    private static final class Column {
+        /** the row of the first array element, the rows above aren't copied */
+        private final int _firstRow;
+        private final byte[] _types;
+        private final double[] _numbers;
+        /** only allocated for columns containing strings */
+        private int[] _stringIndexes;
+
+        Column(int firstRow, int rowCount) {
+            _firstRow = firstRow;
+            _types = new byte[rowCount];
+            _numbers = new double[rowCount];
+        }
+    }
+}
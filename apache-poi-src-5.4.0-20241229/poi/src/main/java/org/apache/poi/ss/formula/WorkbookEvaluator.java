@@ -72,6 +72,9 @@ public final class WorkbookEvaluator {
 
     private boolean _ignoreMissingWorkbooks;
 
+    /** the value snapshots by sheet index, {@code null} unless in read-only mode */
+    private SheetValueSnapshot[] _snapshots;
+
     /**
      * whether print detailed messages about the next formula evaluation
      */
@@ -167,6 +170,9 @@ public final class WorkbookEvaluator {
         _cache.clear();
         _sheetIndexesBySheet.clear();
         _workbook.clearAllCachedResultValues();
+        if (_snapshots != null) {
+            _snapshots = new SheetValueSnapshot[0];
+        }
     }
 
     /**
@@ -174,6 +180,10 @@ public final class WorkbookEvaluator {
      * has changed.
      */
     public void notifyUpdateCell(EvaluationCell cell) {
+        if (_snapshots != null) {
+            clearReadOnlyResults();
+            return;
+        }
         int sheetIndex = getSheetIndex(cell.getSheet());
         _cache.notifyUpdateCell(_workbookIx, sheetIndex, cell);
     }
@@ -183,10 +193,77 @@ public final class WorkbookEvaluator {
      * deleted.
      */
     public void notifyDeleteCell(EvaluationCell cell) {
+        if (_snapshots != null) {
+            clearReadOnlyResults();
+            return;
+        }
         int sheetIndex = getSheetIndex(cell.getSheet());
         _cache.notifyDeleteCell(_workbookIx, sheetIndex, cell);
     }
 
+    /**
+     * In read-only mode, the formula results don't track the plain cells they depend on,
+     * so a changed cell discards all snapshots and cached results.
+     */
+    private void clearReadOnlyResults() {
+        _cache.clear();
+        _snapshots = new SheetValueSnapshot[0];
+    }
+
+    /**
+     * Switches the read-only mode on or off, see {@link BaseFormulaEvaluator#setReadOnly(boolean)}
+     *
+     * @since POI 5.4.1
+     */
+    public void setReadOnly(boolean readOnly) {
+        if (readOnly != isReadOnly()) {
+            _snapshots = readOnly ? new SheetValueSnapshot[0] : null;
+            // cached results of the other mode lack or have superfluous dependencies
+            _cache.clear();
+        }
+    }
+
+    /**
+     * @since POI 5.4.1
+     */
+    public boolean isReadOnly() {
+        return _snapshots != null;
+    }
+
+    /**
+     * Creates an evaluator with the settings of this one for another evaluation workbook
+     * of the same workbook, e.g. to evaluate formulas on another thread. The new evaluator
+     * has its own, empty cache and isn't attached to any collaborating workbooks.
+     *
+     * @param workbook the evaluation workbook for the new evaluator
+     * @return the new evaluator
+     * @since POI 5.4.1
+     */
+    public WorkbookEvaluator copyFor(EvaluationWorkbook workbook) {
+        // the user defined functions are registered with the workbook's UDF finder
+        WorkbookEvaluator result = new WorkbookEvaluator(workbook, _stabilityClassifier, null);
+        result._ignoreMissingWorkbooks = _ignoreMissingWorkbooks;
+        result.setReadOnly(isReadOnly());
+        return result;
+    }
+
+    /**
+     * @return the lookup index of the specified cells of this workbook, or {@code null} if the cells
+     *  should be searched without index
+     */
+    /* package */ LookupIndex getLookupIndex(int sheetIndex, int firstRow, int firstColumn,
+            int lastRow, int lastColumn, LookupUtils.ValueVector vector, EvaluationTracker tracker) {
+        return _cache.getLookupIndex(_workbookIx, sheetIndex, firstRow, firstColumn, lastRow, lastColumn, vector, tracker);
+    }
+
+    /**
+     * @return the criteria index of the specified area of this workbook, or {@code null} if the area
+     *  should be scanned without index
+     */
+    /* package */ CriteriaIndex getCriteriaIndex(int sheetIndex, AreaEval area, EvaluationTracker tracker) {
+        return _cache.getCriteriaIndex(_workbookIx, sheetIndex, area, tracker);
+    }
+
     private int getSheetIndex(EvaluationSheet sheet) {
         Integer result = _sheetIndexesBySheet.get(sheet);
         if (result == null) {
@@ -787,10 +864,28 @@ public final class WorkbookEvaluator {
             EvaluationSheet sheet, int sheetIndex, int rowIndex,
             int columnIndex, EvaluationTracker tracker) {
 
+        if (_snapshots != null) {
+            ValueEval value = getSnapshot(sheet, sheetIndex).getValue(rowIndex, columnIndex);
+            if (value != null) {
+                return value;
+            }
+        }
         EvaluationCell cell = sheet.getCell(rowIndex, columnIndex);
         return evaluateAny(cell, sheetIndex, rowIndex, columnIndex, tracker);
     }
 
+    private SheetValueSnapshot getSnapshot(EvaluationSheet sheet, int sheetIndex) {
+        if (sheetIndex >= _snapshots.length) {
+            _snapshots = Arrays.copyOf(_snapshots, sheetIndex + 1);
+        }
+        SheetValueSnapshot snapshot = _snapshots[sheetIndex];
+        if (snapshot == null) {
+            snapshot = new SheetValueSnapshot(sheet);
+            _snapshots[sheetIndex] = snapshot;
+        }
+        return snapshot;
+    }
+
     public FreeRefFunction findUserDefinedFunction(String functionName) {
         return _udfFinder.findFunction(functionName);
     }
@@ -136,37 +136,60 @@ import org.apache.poi.ss.formula.functions.Countif.ErrorMatcher;
         int height = ranges[0].getHeight();
         int width = ranges[0].getWidth();
 
-        for (int r = 0; r < height; r++) {
-            for (int c = 0; c < width; c++) {
-
-                boolean matches = true;
-                for(int i = 0; i < ranges.length; i++){
-                    AreaEval aeRange = ranges[i];
-                    I_MatchPredicate mp = predicates[i];
-
-                    // Bugs 60858 and 56420 show predicate can be null
-                    if (mp == null || !mp.matches(aeRange.getRelativeValue(r, c))) {
-                        matches = false;
-                        break;
-                    }
+        // use the criteria matching the fewest cells of an indexed range to find the candidate cells
+        CriteriaIndex[] indexes = new CriteriaIndex[ranges.length];
+        int[] candidates = null;
+        for (int i = 0; i < ranges.length; i++) {
+            // Bugs 60858 and 56420 show predicate can be null
+            if (predicates[i] == null) {
+                return aggregator.getResult();
+            }
+            indexes[i] = Countif.getCriteriaIndex(ranges[i]);
+            if (indexes[i] != null) {
+                int[] matches = Countif.findMatches(predicates[i], indexes[i]);
+                if (matches != null && (candidates == null || matches.length < candidates.length)) {
+                    candidates = matches;
                 }
+            }
+        }
 
-                if(matches) { // aggregate only if all of the corresponding criteria specified are true for that cell.
-                    if(sumRange != null) {
-                        ValueEval value = sumRange.getRelativeValue(r, c);
-                        if (value instanceof ErrorEval) {
-                            throw new EvaluationException((ErrorEval)value);
-                        }
-                        aggregator.addValue(value);
-                    } else {
-                        aggregator.addValue(null);
-                    }
+        if (candidates != null) {
+            for (int pos : candidates) {
+                aggregateIfMatching(aggregator, sumRange, ranges, predicates, indexes, pos / width, pos % width);
+            }
+        } else {
+            for (int r = 0; r < height; r++) {
+                for (int c = 0; c < width; c++) {
+                    aggregateIfMatching(aggregator, sumRange, ranges, predicates, indexes, r, c);
                 }
             }
         }
         return aggregator.getResult();
     }
 
+    private static void aggregateIfMatching(Aggregator aggregator, AreaEval sumRange, AreaEval[] ranges,
+            I_MatchPredicate[] predicates, CriteriaIndex[] indexes, int r, int c) throws EvaluationException {
+        for(int i = 0; i < ranges.length; i++){
+            ValueEval value = (indexes[i] != null)
+                    ? indexes[i].getValue(r * indexes[i].getWidth() + c)
+                    : ranges[i].getRelativeValue(r, c);
+            if (!predicates[i].matches(value)) {
+                return;
+            }
+        }
+
+        // aggregate only if all of the corresponding criteria specified are true for that cell.
+        if(sumRange != null) {
+            ValueEval value = sumRange.getRelativeValue(r, c);
+            if (value instanceof ErrorEval) {
+                throw new EvaluationException((ErrorEval)value);
+            }
+            aggregator.addValue(value);
+        } else {
+            aggregator.addValue(null);
+        }
+    }
+
     protected static AreaEval convertRangeArg(ValueEval eval) throws EvaluationException {
         if (eval instanceof AreaEval) {
             return (AreaEval) eval;
@@ -165,6 +165,13 @@ public final class Countif extends Fixed2ArgFunction {
             return getClass().getName() + " [" + _operator.getRepresentation() + getValueText() + "]";
         }
         protected abstract String getValueText();
+
+        /**
+         * @return the positions of the matching cells, or {@code null} if the index can't answer this criteria
+         */
+        protected int[] findMatches(CriteriaIndex index) {
+            return null;
+        }
     }
 
     private static final class NumberMatcher extends MatcherBase {
@@ -222,6 +229,26 @@ public final class Countif extends Fixed2ArgFunction {
             }
             return evaluate(Double.compare(testValue, _value));
         }
+
+        @Override
+        protected int[] findMatches(CriteriaIndex index) {
+            switch (getCode()) {
+                case CmpOp.NONE:
+                case CmpOp.EQ:
+                    return index.findNumber(_value);
+                case CmpOp.LT:
+                    return index.findNumberRange(_value, true, false);
+                case CmpOp.LE:
+                    return index.findNumberRange(_value, true, true);
+                case CmpOp.GT:
+                    return index.findNumberRange(_value, false, false);
+                case CmpOp.GE:
+                    return index.findNumberRange(_value, false, true);
+                default:
+                    // '<>' matches blanks and strings as well
+                    return null;
+            }
+        }
     }
     private static final class BooleanMatcher extends MatcherBase {
 
@@ -279,6 +306,17 @@ public final class Countif extends Fixed2ArgFunction {
             }
             return evaluate(testValue - _value);
         }
+
+        @Override
+        protected int[] findMatches(CriteriaIndex index) {
+            switch (getCode()) {
+                case CmpOp.NONE:
+                case CmpOp.EQ:
+                    return index.findBoolean(_value == 1);
+                default:
+                    return null;
+            }
+        }
     }
     public static final class ErrorMatcher extends MatcherBase {
 
@@ -372,6 +410,21 @@ public final class Countif extends Fixed2ArgFunction {
             // for example, the string "apples" and the string "APPLES" will match the same cells.
             return evaluate(testedValue.compareToIgnoreCase(_value));
         }
+
+        @Override
+        protected int[] findMatches(CriteriaIndex index) {
+            switch (getCode()) {
+                case CmpOp.NONE:
+                case CmpOp.EQ:
+                    // the empty string also matches blank cells, which aren't indexed
+                    if (_pattern == null && _value.length() > 0) {
+                        return index.findString(_value);
+                    }
+                    return null;
+                default:
+                    return null;
+            }
+        }
         /**
          * Translates Excel countif wildcard strings into java regex strings
          * @return {@code null} if the specified value contains no special wildcard characters.
@@ -444,6 +497,20 @@ public final class Countif extends Fixed2ArgFunction {
      */
     private double countMatchingCellsInArea(ValueEval rangeArg, I_MatchPredicate criteriaPredicate) {
 
+        CriteriaIndex index = getCriteriaIndex(rangeArg);
+        if (index != null) {
+            int[] matches = findMatches(criteriaPredicate, index);
+            if (matches != null) {
+                return matches.length;
+            }
+            int result = 0;
+            for (int pos = 0; pos < index.getSize(); pos++) {
+                if (criteriaPredicate.matches(index.getValue(pos))) {
+                    result++;
+                }
+            }
+            return result;
+        }
         if (rangeArg instanceof RefEval) {
             return CountUtils.countMatchingCellsInRef((RefEval) rangeArg, criteriaPredicate);
         } else if (rangeArg instanceof ThreeDEval) {
@@ -453,6 +520,25 @@ public final class Countif extends Fixed2ArgFunction {
         }
     }
 
+    /**
+     * @return the cached criteria index of the range, or {@code null} if the range should be scanned
+     */
+    /* package */ static CriteriaIndex getCriteriaIndex(ValueEval range) {
+        return range instanceof CriteriaIndex.Provider
+                ? ((CriteriaIndex.Provider) range).getCriteriaIndex()
+                : null;
+    }
+
+    /**
+     * @return the positions of the cells matching the criteria in ascending order,
+     *  or {@code null} if the index can't answer this criteria
+     */
+    /* package */ static int[] findMatches(I_MatchPredicate criteriaPredicate, CriteriaIndex index) {
+        return criteriaPredicate instanceof MatcherBase
+                ? ((MatcherBase) criteriaPredicate).findMatches(index)
+                : null;
+    }
+
     /**
      * Creates a criteria predicate object for the supplied criteria arg
      * @return {@code null} if the arg evaluates to blank.
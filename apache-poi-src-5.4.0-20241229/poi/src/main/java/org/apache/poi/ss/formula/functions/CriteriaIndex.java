@@ -0,0 +1,258 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula.functions;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.poi.ss.formula.eval.AreaEval;
+import org.apache.poi.ss.formula.eval.BoolEval;
+import org.apache.poi.ss.formula.eval.NumberEval;
+import org.apache.poi.ss.formula.eval.OperandResolver;
+import org.apache.poi.ss.formula.eval.StringEval;
+import org.apache.poi.ss.formula.eval.ValueEval;
+import org.apache.poi.util.Internal;
+
+/**
+ * Index of the values of a criteria range, which is shared by the COUNTIF, SUMIF and *IFS
+ * functions when the same range is filtered repeatedly.
+ * <p>
+ * The index keeps a snapshot of the range values and groups the cells by value, so that the
+ * cells matching an equality criteria are found by a hash lookup. Numbers are additionally
+ * sorted to find the cells matching {@code <, <=, >, >=} criteria by a binary search.
+ * The criteria predicates of {@link Countif} decide which of their comparisons can be answered
+ * by the index, all other criteria are matched against the snapshot values.
+ * <p>
+ * Cells are identified by their position {@code row * width + column} relative to the range,
+ * all positions are returned in ascending order, i.e. in the order of a row by row scan.
+ *
+ * @since POI 5.4.1
+ */
+@Internal
+public final class CriteriaIndex {
+
+    /**
+     * Implemented by areas which can provide a (cached) criteria index of their values
+     */
+    @Internal
+    public interface Provider {
+        /**
+         * @return the index of the area, or {@code null} if no index is kept (yet)
+         */
+        CriteriaIndex getCriteriaIndex();
+    }
+
+    private static final int[] NO_MATCHES = {};
+
+    private final int _width;
+    private final ValueEval[] _values;
+    private final Map<Double, int[]> _numbers;
+    private final Map<Double, int[]> _numericStrings;
+    private final Map<String, int[]> _strings;
+    private final int[] _trues;
+    private final int[] _falses;
+    /** the numbers sorted by value, with the positions of their cells */
+    private final double[] _sortedNumbers;
+    private final int[] _sortedPositions;
+
+    /**
+     * Reads all values of the area
+     */
+    public CriteriaIndex(AreaEval area) {
+        int height = area.getHeight();
+        _width = area.getWidth();
+        _values = new ValueEval[height * _width];
+
+        Map<Double, Positions> numbers = new HashMap<>();
+        Map<Double, Positions> numericStrings = new HashMap<>();
+        Map<String, Positions> strings = new HashMap<>();
+        Positions trues = new Positions();
+        Positions falses = new Positions();
+        int numberCount = 0;
+        for (int r = 0, pos = 0; r < height; r++) {
+            for (int c = 0; c < _width; c++, pos++) {
+                ValueEval ve = area.getRelativeValue(r, c);
+                _values[pos] = ve;
+                if (ve instanceof NumberEval) {
+                    numbers.computeIfAbsent(((NumberEval) ve).getNumberValue(), k -> new Positions()).add(pos);
+                    numberCount++;
+                } else if (ve instanceof StringEval) {
+                    String str = ((StringEval) ve).getStringValue();
+                    strings.computeIfAbsent(LookupIndex.normalize(str), k -> new Positions()).add(pos);
+                    Double parsed = OperandResolver.parseDouble(str);
+                    if (parsed != null) {
+                        numericStrings.computeIfAbsent(numericKey(parsed), k -> new Positions()).add(pos);
+                    }
+                } else if (ve instanceof BoolEval) {
+                    (((BoolEval) ve).getBooleanValue() ? trues : falses).add(pos);
+                }
+            }
+        }
+        _numbers = toArrays(numbers);
+        _numericStrings = toArrays(numericStrings);
+        _strings = toArrays(strings);
+        _trues = trues.toArray();
+        _falses = falses.toArray();
+
+        // Map.keySet order isn't sorted, so sort the distinct values and expand their positions
+        Double[] distinct = _numbers.keySet().toArray(new Double[0]);
+        Arrays.sort(distinct);
+        _sortedNumbers = new double[numberCount];
+        _sortedPositions = new int[numberCount];
+        int i = 0;
+        for (Double d : distinct) {
+            for (int pos : _numbers.get(d)) {
+                _sortedNumbers[i] = d;
+                _sortedPositions[i++] = pos;
+            }
+        }
+    }
+
+    /**
+     * @return the number of cells in the range
+     */
+    public int getSize() {
+        return _values.length;
+    }
+
+    /**
+     * @return the width of the range, which maps positions to relative rows and columns
+     */
+    public int getWidth() {
+        return _width;
+    }
+
+    /**
+     * @param position the position of the cell, i.e. {@code row * width + column}
+     * @return the value of the cell when the index was built
+     */
+    public ValueEval getValue(int position) {
+        return _values[position];
+    }
+
+    /**
+     * @return the positions of the numbers equal to value (by {@link Double#compare(double, double)})
+     *  and the strings parsing to a number equal to value (by {@code ==})
+     */
+    int[] findNumber(double value) {
+        int[] numbers = _numbers.getOrDefault(value, NO_MATCHES);
+        int[] strings = Double.isNaN(value) ? NO_MATCHES : _numericStrings.getOrDefault(numericKey(value), NO_MATCHES);
+        return strings.length == 0 ? numbers : merge(numbers, strings);
+    }
+
+    /**
+     * @param below {@code true} for the numbers less than value, {@code false} for the numbers greater
+     * @param inclusive {@code true} if numbers equal to value are included
+     * @return the positions of the matching numbers, strings are never included
+     */
+    int[] findNumberRange(double value, boolean below, boolean inclusive) {
+        // split between the numbers below and above value
+        int split = (below == inclusive) ? upperBound(value) : lowerBound(value);
+        int[] result = below
+                ? Arrays.copyOfRange(_sortedPositions, 0, split)
+                : Arrays.copyOfRange(_sortedPositions, split, _sortedPositions.length);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * @param value a string, which is compared case-insensitive
+     * @return the positions of the strings equal to value
+     */
+    int[] findString(String value) {
+        return _strings.getOrDefault(LookupIndex.normalize(value), NO_MATCHES);
+    }
+
+    /**
+     * @return the positions of the boolean values equal to value
+     */
+    int[] findBoolean(boolean value) {
+        return value ? _trues : _falses;
+    }
+
+    /** index of the first number not less than value */
+    private int lowerBound(double value) {
+        int lo = 0;
+        int hi = _sortedNumbers.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Double.compare(_sortedNumbers[mid], value) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** index of the first number greater than value */
+    private int upperBound(double value) {
+        int lo = 0;
+        int hi = _sortedNumbers.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Double.compare(_sortedNumbers[mid], value) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** numeric strings are compared by {@code ==}, which doesn't distinguish -0.0 and 0.0 */
+    private static Double numericKey(double value) {
+        return value == 0.0 ? 0.0 : value;
+    }
+
+    private static int[] merge(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            result[k++] = (a[i] < b[j]) ? a[i++] : b[j++];
+        }
+        System.arraycopy(a, i, result, k, a.length - i);
+        System.arraycopy(b, j, result, k + a.length - i, b.length - j);
+        return result;
+    }
+
+    private static <K> Map<K, int[]> toArrays(Map<K, Positions> map) {
+        Map<K, int[]> result = new HashMap<>(map.size() * 4 / 3 + 1);
+        for (Map.Entry<K, Positions> me : map.entrySet()) {
+            result.put(me.getKey(), me.getValue().toArray());
+        }
+        return result;
+    }
+
+    private static final class Positions {
+        private int[] _positions = new int[4];
+        private int _size;
+
+        void add(int position) {
+            if (_size == _positions.length) {
+                _positions = Arrays.copyOf(_positions, _size * 2);
+            }
+            _positions[_size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(_positions, _size);
+        }
+    }
+}
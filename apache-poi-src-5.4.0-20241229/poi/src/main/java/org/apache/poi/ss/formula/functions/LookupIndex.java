@@ -0,0 +1,126 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula.functions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.poi.ss.formula.eval.BoolEval;
+import org.apache.poi.ss.formula.eval.NumberEval;
+import org.apache.poi.ss.formula.eval.StringEval;
+import org.apache.poi.ss.formula.eval.ValueEval;
+import org.apache.poi.ss.formula.functions.LookupUtils.ValueVector;
+import org.apache.poi.util.Internal;
+
+/**
+ * Hash index of the values of a single row or column, which is used for exact match lookups
+ * instead of a linear scan, when the same range is searched repeatedly.
+ * <p>
+ * The index follows the comparison rules of the lookup functions: a value only matches
+ * values of the same type, strings are compared case-insensitive and all other types
+ * (errors, blanks) never match. Strings containing wildcards can't be looked up.
+ *
+ * @since POI 5.4.1
+ */
+@Internal
+public final class LookupIndex {
+    private final Map<Double, Integer> _numbers = new HashMap<>();
+    private final Map<String, Integer> _strings = new HashMap<>();
+    private int _firstFalse = -1;
+    private int _firstTrue = -1;
+
+    /**
+     * Reads all values of the vector
+     */
+    public LookupIndex(ValueVector vector) {
+        int size = vector.getSize();
+        for (int i = 0; i < size; i++) {
+            ValueEval item = vector.getItem(i);
+            // same types as in LookupUtils.LookupValueComparerBase, i.e. no subclasses
+            Class<?> cls = item.getClass();
+            if (cls == NumberEval.class) {
+                _numbers.putIfAbsent(((NumberEval)item).getNumberValue(), i);
+            } else if (cls == StringEval.class) {
+                _strings.putIfAbsent(normalize(((StringEval)item).getStringValue()), i);
+            } else if (cls == BoolEval.class) {
+                if (((BoolEval)item).getBooleanValue()) {
+                    if (_firstTrue < 0) {
+                        _firstTrue = i;
+                    }
+                } else if (_firstFalse < 0) {
+                    _firstFalse = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the value can be looked up in the index, i.e. it is a number,
+     *  boolean or a string without wildcards
+     */
+    static boolean isIndexable(ValueEval lookupValue) {
+        Class<?> cls = lookupValue.getClass();
+        if (cls == StringEval.class) {
+            String value = ((StringEval)lookupValue).getStringValue();
+            return value.indexOf('?') < 0 && value.indexOf('*') < 0;
+        }
+        return cls == NumberEval.class || cls == BoolEval.class;
+    }
+
+    /**
+     * @param lookupValue an indexable value
+     * @return zero based index of the first value equal to the lookup value, -1 if there is none
+     * @see #isIndexable(ValueEval)
+     */
+    int indexOf(ValueEval lookupValue) {
+        Integer idx;
+        if (lookupValue instanceof NumberEval) {
+            idx = _numbers.get(((NumberEval)lookupValue).getNumberValue());
+        } else if (lookupValue instanceof StringEval) {
+            idx = _strings.get(normalize(((StringEval)lookupValue).getStringValue()));
+        } else if (lookupValue instanceof BoolEval) {
+            return ((BoolEval)lookupValue).getBooleanValue() ? _firstTrue : _firstFalse;
+        } else {
+            throw new IllegalArgumentException("Value can't be looked up in the index: " + lookupValue);
+        }
+        return idx == null ? -1 : idx;
+    }
+
+    /**
+     * Case folding equivalent to {@link String#compareToIgnoreCase(String)}, i.e. two strings are
+     * equal ignoring case if and only if their normalized forms are equal.
+     */
+    static String normalize(String value) {
+        int len = value.length();
+        for (int i = 0; i < len; i++) {
+            char c = value.charAt(i);
+            if (fold(c) != c) {
+                char[] chars = value.toCharArray();
+                for (int j = i; j < len; j++) {
+                    chars[j] = fold(chars[j]);
+                }
+                return new String(chars);
+            }
+        }
+        return value;
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
@@ -76,6 +76,9 @@ public final class LookupUtils {
         public int getIntValue() { return intValue; }
     }
 
+    /** returned by {@link #indexedLookup(ValueEval, ValueVector)} if there is no lookup index */
+    static final int NOT_INDEXED = -2;
+
     private static final Map<Integer, MatchMode> matchModeMap;
     private static final Map<Integer, SearchMode> searchModeMap;
 
@@ -151,6 +154,21 @@ public final class LookupUtils {
         }
     }
 
+    /**
+     * Implemented by areas of the evaluated workbook, which keep {@link LookupIndex}es of their
+     * rows and columns until any of the indexed cells is changed.
+     */
+    @Internal
+    public interface LookupIndexProvider {
+        /**
+         * @param isRow {@code true} for a row of the area, {@code false} for a column
+         * @param relativeIndex the index of the row or column within the area
+         * @param vector the values of the row or column, used for building the index
+         * @return the index of the row or column, or {@code null} if no index is kept (yet)
+         */
+        LookupIndex getLookupIndex(boolean isRow, int relativeIndex, ValueVector vector);
+    }
+
     private static final class RowVector implements ValueVector {
 
         private final TwoDEval _tableArray;
@@ -181,6 +199,12 @@ public final class LookupUtils {
         public int getSize() {
             return _size;
         }
+
+        LookupIndex getLookupIndex() {
+            return _tableArray instanceof LookupIndexProvider
+                    ? ((LookupIndexProvider)_tableArray).getLookupIndex(true, _rowIndex, this)
+                    : null;
+        }
     }
 
     private static final class ColumnVector implements ValueVector {
@@ -212,6 +236,12 @@ public final class LookupUtils {
         public int getSize() {
             return _size;
         }
+
+        LookupIndex getLookupIndex() {
+            return _tableArray instanceof LookupIndexProvider
+                    ? ((LookupIndexProvider)_tableArray).getLookupIndex(false, _columnIndex, this)
+                    : null;
+        }
     }
 
     private static final class SheetVector implements ValueVector {
@@ -625,7 +655,11 @@ public final class LookupUtils {
         if(isRangeLookup) {
             result = performBinarySearch(vector, lookupComparer);
         } else {
-            result = lookupFirstIndexOfValue(lookupComparer, vector, MatchMode.ExactMatch);
+            // a blank lookup value is compared as zero, see createLookupComparer()
+            result = indexedLookup(lookupValue == BlankEval.instance ? NumberEval.ZERO : lookupValue, vector);
+            if (result == NOT_INDEXED) {
+                result = lookupFirstIndexOfValue(lookupComparer, vector, MatchMode.ExactMatch);
+            }
         }
         if(result < 0) {
             throw new EvaluationException(ErrorEval.NA);
@@ -666,7 +700,14 @@ public final class LookupUtils {
         } else if (searchMode == SearchMode.IterateBackward) {
             result = lookupLastIndexOfValue(lookupComparer, vector, matchMode);
         } else {
-            result = lookupFirstIndexOfValue(lookupComparer, vector, matchMode);
+            result = NOT_INDEXED;
+            if (matchMode == MatchMode.ExactMatch) {
+                // a blank lookup value is compared as empty string, see createTolerantLookupComparer()
+                result = indexedLookup(lookupValue == BlankEval.instance ? new StringEval("") : lookupValue, vector);
+            }
+            if (result == NOT_INDEXED) {
+                result = lookupFirstIndexOfValue(lookupComparer, vector, matchMode);
+            }
         }
         if(result < 0) {
             throw new EvaluationException(ErrorEval.NA);
@@ -674,6 +715,29 @@ public final class LookupUtils {
         return result;
     }
 
+    /**
+     * Finds the first exact match of the value via the {@link LookupIndex} of the vector.
+     * This is only possible for a row or column of an area providing lookup indexes and
+     * for values which are not compared with wildcards.
+     *
+     * @param lookupValue the value to be found, already converted like by the comparer used otherwise
+     * @param vector the values to be searched
+     * @return zero based index into the vector, -1 if value cannot be found,
+     *  {@link #NOT_INDEXED} if the vector needs to be searched without index
+     */
+    static int indexedLookup(ValueEval lookupValue, ValueVector vector) {
+        if (!LookupIndex.isIndexable(lookupValue)) {
+            return NOT_INDEXED;
+        }
+        LookupIndex index = null;
+        if (vector instanceof ColumnVector) {
+            index = ((ColumnVector)vector).getLookupIndex();
+        } else if (vector instanceof RowVector) {
+            index = ((RowVector)vector).getLookupIndex();
+        }
+        return index == null ? NOT_INDEXED : index.indexOf(lookupValue);
+    }
+
     /**
      * Finds first (lowest index) matching occurrence of specified value.
      * @param lookupComparer the value to be found in column or row vector
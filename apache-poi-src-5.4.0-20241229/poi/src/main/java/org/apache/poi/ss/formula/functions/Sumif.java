@@ -86,6 +86,23 @@ public final class Sumif extends Var2or3ArgFunction {
         int width = aeRange.getWidth();
         double result = 0.0D;
 
+        CriteriaIndex index = Countif.getCriteriaIndex(aeRange);
+        if (index != null) {
+            int[] matches = Countif.findMatches(mp, index);
+            if (matches != null) {
+                for (int pos : matches) {
+                    result += getAddend(aeSum, pos / width, pos % width);
+                }
+            } else {
+                for (int pos = 0; pos < index.getSize(); pos++) {
+                    if (mp.matches(index.getValue(pos))) {
+                        result += getAddend(aeSum, pos / width, pos % width);
+                    }
+                }
+            }
+            return result;
+        }
+
         for(int r = 0; r < height; ++r) {
             for(int c = 0; c < width; ++c) {
                 result += accumulate(aeRange, mp, aeSum, r, c);
@@ -99,15 +116,19 @@ public final class Sumif extends Var2or3ArgFunction {
         if (!mp.matches(aeRange.getRelativeValue(relRowIndex, relColIndex))) {
             return 0.0D;
         } else {
-            ValueEval addend = aeSum.getRelativeValue(relRowIndex, relColIndex);
-            if (addend instanceof NumberEval) {
-                return ((NumberEval) addend).getNumberValue();
-            } else if (addend instanceof ErrorEval) {
-                throw new EvaluationException((ErrorEval)addend);
-            } else {
-                // everything else (including string and boolean values) counts as zero
-                return 0.0;
-            }
+            return getAddend(aeSum, relRowIndex, relColIndex);
+        }
+    }
+
+    private static double getAddend(AreaEval aeSum, int relRowIndex, int relColIndex) throws EvaluationException {
+        ValueEval addend = aeSum.getRelativeValue(relRowIndex, relColIndex);
+        if (addend instanceof NumberEval) {
+            return ((NumberEval) addend).getNumberValue();
+        } else if (addend instanceof ErrorEval) {
+            throw new EvaluationException((ErrorEval)addend);
+        } else {
+            // everything else (including string and boolean values) counts as zero
+            return 0.0;
         }
     }
 
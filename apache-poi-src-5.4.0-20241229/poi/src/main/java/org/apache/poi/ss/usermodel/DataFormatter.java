@@ -19,7 +19,6 @@ package org.apache.poi.ss.usermodel;
 import java.beans.PropertyChangeSupport;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.text.DateFormat;
 import java.text.DateFormatSymbols;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
@@ -29,10 +28,12 @@ import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -112,6 +113,14 @@ import org.apache.poi.util.StringUtil;
  *   These locale directives are (currently) ignored.
  *  You can use {@link DateFormatConverter} to do some of this localisation if
  *   you need it.
+ * <p>
+ * A DataFormatter can be shared between threads, as long as its settings aren't
+ *  changed concurrently. The formats compiled from Excel format strings are cached
+ *  per locale and shared by all instances, and every call formats with its own
+ *  copy of the underlying {@link DecimalFormat} / {@link SimpleDateFormat}, so no
+ *  locking is needed. Formats registered via {@link #addFormat(String, Format)} or
+ *  {@link #setDefaultNumberFormat(Format)} are used as given and therefore need to
+ *  be thread-safe themselves, if the formatter is shared.
  */
 @SuppressWarnings("unused")
 public class DataFormatter {
@@ -174,19 +183,18 @@ public class DataFormatter {
      }
 
     /**
-     * The decimal symbols of the locale used for formatting values.
+     * The formats compiled from Excel format strings, shared between all instances.
+     * The cached formats are {@link CloningFormat}s and therefore safe for concurrent use.
      */
-    private DecimalFormatSymbols decimalSymbols;
+    private static final Map<FormatKey,Format> compiledFormats = new ConcurrentHashMap<>();
 
-    /**
-     * The date symbols of the locale used for formatting values.
-     */
-    private DateFormatSymbols dateSymbols;
+    /** The maximum number of shared compiled formats, to not grow without bounds on arbitrary input */
+    private static final int MAX_COMPILED_FORMATS = 10_000;
 
     /**
      * A default date format, if no date format was given
      */
-    private DateFormat defaultDateformat;
+    private Format defaultDateformat;
 
     /** <em>General</em> format for numbers. */
     private Format generalNumberFormat;
@@ -198,7 +206,7 @@ public class DataFormatter {
      * A map to cache formats.
      *  Map<String,Format> formats
      */
-    private final Map<String,Format> formats = new HashMap<>();
+    private final Map<String,Format> formats = new ConcurrentHashMap<>();
 
     /** whether CSV friendly adjustments should be made to the formatted text **/
     private boolean emulateCSV = false;
@@ -212,7 +220,7 @@ public class DataFormatter {
     private boolean useCachedValuesForFormulaCells = false;
 
     /** stores the locale set by updateLocale method */
-    private Locale locale;
+    private volatile Locale locale;
 
     /** stores if the locale should change according to {@link LocaleUtil#getUserLocale()} */
     private boolean localeIsAdapting;
@@ -425,7 +433,9 @@ public class DataFormatter {
 
         // Build a formatter, and cache it
         format = createFormat(cellValue, formatIndex, formatStr);
-        formats.put(formatStr, format);
+        if (format != null) {
+            formats.put(formatStr, format);
+        }
         return format;
     }
 
@@ -440,7 +450,7 @@ public class DataFormatter {
 
         int formatIndex = cell.getCellStyle().getDataFormat();
         String formatStr = cell.getCellStyle().getDataFormatString();
-        return createFormat(cell.getNumericCellValue(), formatIndex, formatStr);
+        return detach(createFormat(cell.getNumericCellValue(), formatIndex, formatStr));
     }
 
     private Format createFormat(double cellValue, int formatIndex, String sFormat) {
@@ -557,6 +567,14 @@ public class DataFormatter {
     }
 
     private Format createDateFormat(String pFormatStr, double cellValue) {
+        final Locale formatLocale = locale;
+        final TimeZone timeZone = LocaleUtil.getUserTimeZone();
+        final FormatKey key = new FormatKey(formatLocale, timeZone, pFormatStr, use4DigitYearsInAllDateFormats ? 'Y' : 'D');
+        Format compiled = compiledFormats.get(key);
+        if (compiled != null) {
+            return compiled;
+        }
+
         String formatStr = adjustTo4DigitYearsIfConfigured(pFormatStr);
         formatStr = formatStr.replace("\\-","-");
         formatStr = formatStr.replace("\\,",",");
@@ -685,12 +703,15 @@ public class DataFormatter {
                 sb.append(c);
             }
         }
-        formatStr = sb.toString();
+        final String pattern = sb.toString();
+        final DateFormatSymbols symbols = DateFormatSymbols.getInstance(formatLocale);
 
         try {
-            return new ExcelStyleDateFormatter(formatStr, dateSymbols);
+            ExcelStyleDateFormatter df = new ExcelStyleDateFormatter(pattern, symbols);
+            df.setTimeZone(timeZone);
+            return shareFormat(key, new CloningFormat(df));
         } catch(IllegalArgumentException iae) {
-            LOG.atDebug().withThrowable(iae).log("Formatting failed for format {}, falling back", formatStr);
+            LOG.atDebug().withThrowable(iae).log("Formatting failed for format {}, falling back", pattern);
             // the pattern could not be parsed correctly,
             // so fall back to the default number format
             return getDefaultFormat(cellValue);
@@ -782,7 +803,7 @@ public class DataFormatter {
         private static final Pattern endsWithCommas = Pattern.compile("(,+)$");
         private final BigDecimal divider;
         private static final BigDecimal ONE_THOUSAND = BigDecimal.valueOf(1000);
-        private final DecimalFormat df;
+        private DecimalFormat df;
         private static String trimTrailingCommas(String s) {
             return s.replaceAll(",+$", "");
         }
@@ -826,11 +847,25 @@ public class DataFormatter {
         public Object parseObject(String source, ParsePosition pos) {
             throw new UnsupportedOperationException();
         }
+
+        @Override
+        public InternalDecimalFormatWithScale clone() {
+            InternalDecimalFormatWithScale other = (InternalDecimalFormatWithScale)super.clone();
+            other.df = (DecimalFormat)df.clone();
+            return other;
+        }
     }
 
     private Format createNumberFormat(String formatStr, double cellValue) {
+        final Locale formatLocale = locale;
+        final FormatKey key = new FormatKey(formatLocale, null, formatStr, emulateCSV ? 'C' : 'N');
+        Format compiled = compiledFormats.get(key);
+        if (compiled != null) {
+            return compiled;
+        }
+
         String format = cleanFormatForNumber(formatStr);
-        DecimalFormatSymbols symbols = decimalSymbols;
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(formatLocale);
 
         // Do we need to change the grouping character?
         // eg for a format like #'##0 which wants 12'345 not 12,345
@@ -841,8 +876,6 @@ public class DataFormatter {
             // grouping character for the US locale (',') in order to enable
             // correct grouping for non-US locales.
             if (grouping!=',') {
-                symbols = DecimalFormatSymbols.getInstance(locale);
-
                 symbols.setGroupingSeparator(grouping);
                 String oldPart = agm.group(1);
                 String newPart = oldPart.replace(grouping, ',');
@@ -851,7 +884,7 @@ public class DataFormatter {
         }
 
         try {
-            return new InternalDecimalFormatWithScale(format, symbols);
+            return shareFormat(key, new CloningFormat(new InternalDecimalFormatWithScale(format, symbols)));
         } catch(IllegalArgumentException iae) {
             LOG.atDebug().withThrowable(iae).log("Formatting failed for format {}, falling back", formatStr);
             // the pattern could not be parsed correctly,
@@ -866,7 +899,7 @@ public class DataFormatter {
      * @return a default format
      */
     public Format getDefaultFormat(Cell cell) {
-        return getDefaultFormat(cell.getNumericCellValue());
+        return detach(getDefaultFormat(cell.getNumericCellValue()));
     }
     private Format getDefaultFormat(double cellValue) {
         checkForLocaleChange();
@@ -882,14 +915,27 @@ public class DataFormatter {
 
     /**
      * Performs Excel-style date formatting, using the
-     *  supplied Date and format
+     *  supplied Date and format.
+     * The formats compiled by this class are used via a copy without locking,
+     *  other formats are synchronized on, as they might not be thread-safe.
      */
     @SuppressWarnings("SynchronizationOnLocalVariableOrMethodParameter")
-    private String performDateFormatting(Date d, Format dateFormat) {
+    private String performDateFormatting(Date d, double excelValue, Format dateFormat) {
         Format df = dateFormat != null ? dateFormat : defaultDateformat;
+        if (df instanceof CloningFormat) {
+            return applyDateFormat(d, excelValue, ((CloningFormat)df).newInstance());
+        }
         synchronized (df) {
-            return df.format(d);
+            return applyDateFormat(d, excelValue, df);
+        }
+    }
+
+    private static String applyDateFormat(Date d, double excelValue, Format df) {
+        if (df instanceof ExcelStyleDateFormatter) {
+            // Hint about the raw excel value
+            ((ExcelStyleDateFormatter)df).setDateToBeFormatted(excelValue);
         }
+        return df.format(d);
     }
 
     /**
@@ -905,7 +951,6 @@ public class DataFormatter {
      * @param cfEvaluator ConditionalFormattingEvaluator (if available)
      * @return Formatted value
      */
-    @SuppressWarnings("SynchronizationOnLocalVariableOrMethodParameter")
     private String getFormattedDateString(Cell cell, ConditionalFormattingEvaluator cfEvaluator) {
         if (cell == null) {
             return null;
@@ -921,16 +966,8 @@ public class DataFormatter {
                 dateFormat = defaultDateformat;
             }
         }
-        synchronized (dateFormat) {
-            if(dateFormat instanceof ExcelStyleDateFormatter) {
-                // Hint about the raw excel value
-                ((ExcelStyleDateFormatter)dateFormat).setDateToBeFormatted(
-                        cell.getNumericCellValue()
-                );
-            }
-            Date d = cell.getDateCellValue();
-            return performDateFormatting(d, dateFormat);
-        }
+        Date d = cell.getDateCellValue();
+        return performDateFormatting(d, cell.getNumericCellValue(), dateFormat);
     }
 
     /**
@@ -985,12 +1022,8 @@ public class DataFormatter {
         if(DateUtil.isADateFormat(formatIndex,formatString)) {
             if(DateUtil.isValidExcelDate(value)) {
                 Format dateFormat = getFormat(value, formatIndex, formatString, use1904Windowing);
-                if(dateFormat instanceof ExcelStyleDateFormatter) {
-                    // Hint about the raw excel value
-                    ((ExcelStyleDateFormatter)dateFormat).setDateToBeFormatted(value);
-                }
                 Date d = DateUtil.getJavaDate(value, use1904Windowing);
-                return performDateFormatting(d, dateFormat);
+                return performDateFormatting(d, value, dateFormat);
             }
             // RK: Invalid dates are 255 #s.
             if (emulateCSV) {
@@ -1133,7 +1166,7 @@ public class DataFormatter {
                 return getFormattedNumberString(cell, cfEvaluator);
 
             case STRING :
-                return cell.getRichStringCellValue().getString();
+                return cell.getStringCellValue();
 
             case BOOLEAN :
                 return cell.getBooleanCellValue() ? "TRUE" : "FALSE";
@@ -1165,10 +1198,10 @@ public class DataFormatter {
      * @see Format#format
      */
     public void setDefaultNumberFormat(Format format) {
-        for (Map.Entry<String, Format> entry : formats.entrySet()) {
-            if (entry.getValue() == generalNumberFormat) {
-                entry.setValue(format);
-            }
+        if (format == null) {
+            formats.values().removeIf(f -> f == generalNumberFormat);
+        } else {
+            formats.replaceAll((k, f) -> f == generalNumberFormat ? format : f);
         }
         defaultNumFormat = format;
     }
@@ -1185,7 +1218,30 @@ public class DataFormatter {
      * @param format A Format instance
      */
     public void addFormat(String excelFormatStr, Format format) {
-        formats.put(excelFormatStr, format);
+        if (format == null) {
+            formats.remove(excelFormatStr);
+        } else {
+            formats.put(excelFormatStr, format);
+        }
+    }
+
+    /**
+     * Adds the compiled format to the formats shared between all instances,
+     *  unless another thread was faster or the shared cache is already full.
+     */
+    private static Format shareFormat(FormatKey key, Format format) {
+        if (compiledFormats.size() >= MAX_COMPILED_FORMATS) {
+            return format;
+        }
+        Format existing = compiledFormats.putIfAbsent(key, format);
+        return existing != null ? existing : format;
+    }
+
+    /**
+     * @return a new instance for formats handed out to the caller, which is not shared with other threads
+     */
+    private static Format detach(Format format) {
+        return format instanceof CloningFormat ? ((CloningFormat)format).newInstance() : format;
     }
 
     // Some custom formats
@@ -1247,18 +1303,18 @@ public class DataFormatter {
      *
      * @param newLocale the new locale
      */
-    public void updateLocale(Locale newLocale) {
+    public synchronized void updateLocale(Locale newLocale) {
         if (!localeIsAdapting || newLocale.equals(locale)) return;
 
-        locale = newLocale;
-
-        dateSymbols = DateFormatSymbols.getInstance(locale);
-        decimalSymbols = DecimalFormatSymbols.getInstance(locale);
-        generalNumberFormat = new ExcelGeneralNumberFormat(locale);
+        generalNumberFormat = new CloningFormat(new ExcelGeneralNumberFormat(newLocale));
 
         // taken from Date.toString()
-        defaultDateformat = new SimpleDateFormat("EEE MMM dd HH:mm:ss zzz yyyy", dateSymbols);
-        defaultDateformat.setTimeZone(LocaleUtil.getUserTimeZone());
+        SimpleDateFormat sdf = new SimpleDateFormat("EEE MMM dd HH:mm:ss zzz yyyy", DateFormatSymbols.getInstance(newLocale));
+        sdf.setTimeZone(LocaleUtil.getUserTimeZone());
+        defaultDateformat = new CloningFormat(sdf);
+
+        // publish the locale after the fields depending on it
+        locale = newLocale;
 
         // init built-in formats
 
@@ -1293,7 +1349,7 @@ public class DataFormatter {
 
         /** Format a number as an SSN */
         public static String format(Number num) {
-            String result = df.format(num);
+            String result = ((DecimalFormat)df.clone()).format(num);
             return result.substring(0, 3) + '-' +
                     result.substring(3, 5) + '-' +
                     result.substring(5, 9);
@@ -1306,7 +1362,7 @@ public class DataFormatter {
 
         @Override
         public Object parseObject(String source, ParsePosition pos) {
-            return df.parseObject(source, pos);
+            return ((DecimalFormat)df.clone()).parseObject(source, pos);
         }
     }
 
@@ -1324,7 +1380,7 @@ public class DataFormatter {
 
         /** Format a number as Zip + 4 */
         public static String format(Number num) {
-            String result = df.format(num);
+            String result = ((DecimalFormat)df.clone()).format(num);
             return result.substring(0, 5) + '-' +
                     result.substring(5, 9);
         }
@@ -1336,7 +1392,7 @@ public class DataFormatter {
 
         @Override
         public Object parseObject(String source, ParsePosition pos) {
-            return df.parseObject(source, pos);
+            return ((DecimalFormat)df.clone()).parseObject(source, pos);
         }
     }
 
@@ -1354,7 +1410,7 @@ public class DataFormatter {
 
         /** Format a number as a phone number */
         public static String format(Number num) {
-            String result = df.format(num);
+            String result = ((DecimalFormat)df.clone()).format(num);
             StringBuilder sb = new StringBuilder();
             String seg1, seg2, seg3;
             int len = result.length();
@@ -1383,12 +1439,72 @@ public class DataFormatter {
 
         @Override
         public Object parseObject(String source, ParsePosition pos) {
-            return df.parseObject(source, pos);
+            return ((DecimalFormat)df.clone()).parseObject(source, pos);
         }
     }
 
+    /**
+     * Format class which formats with a copy of the wrapped format.
+     * <p>
+     * The {@link DecimalFormat} and {@link SimpleDateFormat} based formats keep
+     * their state while formatting and can't be used by several threads at once.
+     * Instead of locking, the compiled format is kept as prototype, which is only
+     * cloned and never used itself, so it can be cached and shared between threads.
+     */
+    @SuppressWarnings("serial")
+    private static final class CloningFormat extends Format {
+        private final Format prototype;
+
+        CloningFormat(Format prototype) {
+            this.prototype = prototype;
+        }
+
+        /** @return a new instance, which isn't shared with other threads */
+        Format newInstance() {
+            return (Format)prototype.clone();
+        }
 
+        @Override
+        public StringBuffer format(Object obj, StringBuffer toAppendTo, FieldPosition pos) {
+            return newInstance().format(obj, toAppendTo, pos);
+        }
 
+        @Override
+        public Object parseObject(String source, ParsePosition pos) {
+            return newInstance().parseObject(source, pos);
+        }
+    }
+
+    /**
+     * The key of the shared compiled formats
+     */
+    private static final class FormatKey {
+        private final Locale locale;
+        private final TimeZone timeZone;
+        private final String format;
+        private final char type;
+
+        FormatKey(Locale locale, TimeZone timeZone, String format, char type) {
+            this.locale = locale;
+            this.timeZone = timeZone;
+            this.format = format;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FormatKey)) return false;
+            FormatKey other = (FormatKey)o;
+            return type == other.type && format.equals(other.format) &&
+                    locale.equals(other.locale) && Objects.equals(timeZone, other.timeZone);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(locale, timeZone, format, type);
+        }
+    }
 
     /**
      * Format class that does nothing and always returns a constant string.
@@ -1413,7 +1529,7 @@ public class DataFormatter {
 
         @Override
         public Object parseObject(String source, ParsePosition pos) {
-            return df.parseObject(source, pos);
+            return ((DecimalFormat)df.clone()).parseObject(source, pos);
         }
     }
     /**
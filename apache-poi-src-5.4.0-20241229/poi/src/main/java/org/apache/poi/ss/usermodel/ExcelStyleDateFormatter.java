@@ -47,22 +47,21 @@ public class ExcelStyleDateFormatter extends SimpleDateFormat {
     public static final char L_BRACKET_SYMBOL = '\ue016';
     public static final char LL_BRACKET_SYMBOL = '\ue017';
 
-    private static final DecimalFormat format1digit;
-    private static final DecimalFormat format2digits;
-
-    private static final DecimalFormat format3digit;
-    private static final DecimalFormat format4digits;
-
-    static {
-        DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance(Locale.ROOT);
-        format1digit = new DecimalFormat("0", dfs);
-        format2digits = new DecimalFormat("00", dfs);
-        format3digit = new DecimalFormat("0", dfs);
-        format4digits = new DecimalFormat("00", dfs);
-        DataFormatter.setExcelStyleRoundingMode(format1digit, RoundingMode.DOWN);
-        DataFormatter.setExcelStyleRoundingMode(format2digits, RoundingMode.DOWN);
-        DataFormatter.setExcelStyleRoundingMode(format3digit);
-        DataFormatter.setExcelStyleRoundingMode(format4digits);
+    // DecimalFormat isn't thread-safe, so these are only used via a copy
+    private static final DecimalFormat format1digit = createFormat("0", RoundingMode.DOWN);
+    private static final DecimalFormat format2digits = createFormat("00", RoundingMode.DOWN);
+
+    private static final DecimalFormat format3digit = createFormat("0", RoundingMode.HALF_UP);
+    private static final DecimalFormat format4digits = createFormat("00", RoundingMode.HALF_UP);
+
+    private static DecimalFormat createFormat(String pattern, RoundingMode roundingMode) {
+        DecimalFormat format = new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(Locale.ROOT));
+        DataFormatter.setExcelStyleRoundingMode(format, roundingMode);
+        return format;
+    }
+
+    private static String formatCopy(DecimalFormat format, double value) {
+        return ((DecimalFormat)format.clone()).format(value);
     }
 
     {
@@ -136,11 +135,11 @@ public class ExcelStyleDateFormatter extends SimpleDateFormat {
 
             s = s.replaceAll(
                     String.valueOf(H_BRACKET_SYMBOL),
-                    format1digit.format(hours)
+                    formatCopy(format1digit, hours)
             );
             s = s.replaceAll(
                     String.valueOf(HH_BRACKET_SYMBOL),
-                    format2digits.format(hours)
+                    formatCopy(format2digits, hours)
             );
         }
 
@@ -149,11 +148,11 @@ public class ExcelStyleDateFormatter extends SimpleDateFormat {
             float minutes = (float) dateToBeFormatted * 24 * 60;
             s = s.replaceAll(
                     String.valueOf(M_BRACKET_SYMBOL),
-                    format1digit.format(minutes)
+                    formatCopy(format1digit, minutes)
             );
             s = s.replaceAll(
                     String.valueOf(MM_BRACKET_SYMBOL),
-                    format2digits.format(minutes)
+                    formatCopy(format2digits, minutes)
             );
         }
         if (s.indexOf(S_BRACKET_SYMBOL) != -1 ||
@@ -161,11 +160,11 @@ public class ExcelStyleDateFormatter extends SimpleDateFormat {
             float seconds = (float) (dateToBeFormatted * 24 * 60 * 60);
             s = s.replaceAll(
                     String.valueOf(S_BRACKET_SYMBOL),
-                    format1digit.format(seconds)
+                    formatCopy(format1digit, seconds)
             );
             s = s.replaceAll(
                     String.valueOf(SS_BRACKET_SYMBOL),
-                    format2digits.format(seconds)
+                    formatCopy(format2digits, seconds)
             );
         }
 
@@ -175,11 +174,11 @@ public class ExcelStyleDateFormatter extends SimpleDateFormat {
             float millis = (millisTemp - (int) millisTemp);
             s = s.replaceAll(
                     String.valueOf(L_BRACKET_SYMBOL),
-                    format3digit.format(millis * 10.0)
+                    formatCopy(format3digit, millis * 10.0)
             );
             s = s.replaceAll(
                     String.valueOf(LL_BRACKET_SYMBOL),
-                    format4digits.format(millis * 100.0)
+                    formatCopy(format4digits, millis * 100.0)
             );
         }
 
@@ -17,7 +17,11 @@
 
 package org.apache.poi.ss.usermodel;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Evaluates formula cells.<p>
@@ -65,6 +69,26 @@ public interface FormulaEvaluator {
      */
     void evaluateAll();
 
+    /**
+     * Evaluates all formula cells of the associated workbook like {@link #evaluateAll()},
+     * but distributes the work over the threads of the given pool.<p>
+     *
+     * The formula cells are split into groups which don't reference each other, and each
+     * group is calculated by its own evaluator on one of the threads, so the results are the
+     * same as with {@link #evaluateAll()}. The results are saved on the calling thread. The
+     * workbook must not be changed while this method runs. As the groups are calculated
+     * by separate evaluators, the cache of this evaluator isn't filled with their results.<p>
+     *
+     * The default implementation, and implementations not supporting multithreaded
+     * evaluation, evaluate the cells one by one like {@link #evaluateAll()}.
+     *
+     * @param pool the pool to run the evaluation on
+     * @since POI 5.4.1
+     */
+    default void evaluateAll(ForkJoinPool pool) {
+        evaluateAll();
+    }
+
     /**
      * If cell contains a formula, the formula is evaluated and returned,
      * else the CellValue simply copies the appropriate cell value from
@@ -117,6 +141,36 @@ public interface FormulaEvaluator {
      */
     Cell evaluateInCell(Cell cell);
 
+    /**
+     * Recalculates the formula cells affected by changes to the given cells, and saves
+     * their results like {@link #evaluateFormulaCell(Cell)} does.<p>
+     *
+     * Pass all cells whose value or formula was changed since the last evaluation. There
+     * is no need to call {@link #notifyUpdateCell(Cell)} or {@link #notifySetFormula(Cell)}
+     * for them. Only the formula cells depending directly or indirectly on the changed cells
+     * are evaluated, in dependency order, so that long chains of formulas don't need deep
+     * recursion. Formulas whose inputs can only be known while evaluating them, e.g. when using
+     * INDIRECT, OFFSET or volatile functions like NOW or RAND, are recalculated on each call.<p>
+     *
+     * After structural changes, like removing cells or shifting rows, or when cells are changed
+     * without passing them to this method, call {@link #clearAllCachedResultValues()} first.<p>
+     *
+     * The default implementation notifies the evaluator about each changed cell and evaluates
+     * all formula cells via {@link #evaluateAll()}. It returns an empty list, as it doesn't
+     * know which cells were affected.
+     *
+     * @param changedCells the cells whose value or formula was changed
+     * @return the formula cells which were recalculated, in calculation order
+     * @since POI 5.4.1
+     */
+    default List<Cell> recalculate(Collection<? extends Cell> changedCells) {
+        for (Cell cell : changedCells) {
+            notifyUpdateCell(cell);
+        }
+        evaluateAll();
+        return Collections.emptyList();
+    }
+
     /**
      * Sets up the Formula Evaluator to be able to reference and resolve
      *  links to other workbooks, eg [Test.xls]Sheet1!A1.
@@ -0,0 +1,300 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.util;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * A map with primitive {@code int} keys, which keeps its entries sorted by key.<p>
+ *
+ * The keys and values are held in two parallel arrays, so compared to a
+ * {@code TreeMap<Integer, V>} no entry objects or boxed keys are created.
+ * Lookups use a binary search, adding entries in ascending key order is
+ * an append, other insertions and removals move the entries behind them.
+ * Besides the lookup by key, the entries can be accessed by their position
+ * in the key order.<p>
+ *
+ * Like {@link java.util.TreeMap}, the iterators are fail-fast. The map is not
+ * thread-safe.<p>
+ *
+ * This class is only meant for internal use in Apache POI.
+ *
+ * @param <V> the type of the values
+ * @since POI 5.4.1
+ */
+@Internal
+public class SortedIntMap<V> {
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int modCount;
+    private Collection<V> valuesView;
+
+    public SortedIntMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SortedIntMap(int initialCapacity) {
+        keys = new int[initialCapacity];
+        values = new Object[initialCapacity];
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the map has no entries
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param key the key to look for
+     * @return the value mapped to the key, or {@code null} if the key is not in the map
+     */
+    public V get(int key) {
+        int idx = indexOf(key);
+        return idx < 0 ? null : valueAt(idx);
+    }
+
+    /**
+     * @param key the key to look for
+     * @return true if the key is in the map
+     */
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Maps the key to the value, replacing the previous mapping of the key
+     *
+     * @param key the key
+     * @param value the value
+     * @return the value previously mapped to the key, or {@code null}
+     */
+    public V put(int key, V value) {
+        // fast path for the usual ascending order
+        int idx = (size == 0 || key > keys[size - 1]) ? -(size + 1) : indexOf(key);
+        if (idx >= 0) {
+            V old = valueAt(idx);
+            values[idx] = value;
+            return old;
+        }
+
+        idx = -(idx + 1);
+        if (size == keys.length) {
+            int newCapacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+            keys = Arrays.copyOf(keys, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+        if (idx < size) {
+            System.arraycopy(keys, idx, keys, idx + 1, size - idx);
+            System.arraycopy(values, idx, values, idx + 1, size - idx);
+        }
+        keys[idx] = key;
+        values[idx] = value;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    /**
+     * Removes the mapping of the key
+     *
+     * @param key the key
+     * @return the value mapped to the key, or {@code null} if the key was not in the map
+     */
+    public V remove(int key) {
+        int idx = indexOf(key);
+        if (idx < 0) {
+            return null;
+        }
+        V old = valueAt(idx);
+        removeAt(idx);
+        return old;
+    }
+
+    /**
+     * Removes all entries
+     */
+    public void clear() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * @return the lowest key
+     * @throws NoSuchElementException if the map is empty
+     */
+    public int firstKey() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return keys[0];
+    }
+
+    /**
+     * @return the highest key
+     * @throws NoSuchElementException if the map is empty
+     */
+    public int lastKey() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return keys[size - 1];
+    }
+
+    /**
+     * Returns the number of keys lower than the given key, i.e. the position the
+     * key has or would have in the key order. This is the same as
+     * {@code headMap(key).size()} of a {@link java.util.SortedMap}.
+     *
+     * @param key the key
+     * @return the number of keys lower than the key
+     */
+    public int headSize(int key) {
+        int idx = indexOf(key);
+        return idx < 0 ? -(idx + 1) : idx;
+    }
+
+    /**
+     * @param index the position in the key order, from 0 to {@code size()-1}
+     * @return the key at the position
+     */
+    public int keyAt(int index) {
+        checkIndex(index);
+        return keys[index];
+    }
+
+    /**
+     * @param index the position in the key order, from 0 to {@code size()-1}
+     * @return the value at the position
+     */
+    @SuppressWarnings("unchecked")
+    public V valueAt(int index) {
+        checkIndex(index);
+        return (V)values[index];
+    }
+
+    /**
+     * Returns a view of the values in ascending key order. The view supports
+     * removal, but not adding values.
+     *
+     * @return the values view
+     */
+    public Collection<V> values() {
+        if (valuesView == null) {
+            valuesView = new Values();
+        }
+        return valuesView;
+    }
+
+    private int indexOf(int key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size);
+        }
+    }
+
+    private void removeAt(int idx) {
+        int moved = size - idx - 1;
+        if (moved > 0) {
+            System.arraycopy(keys, idx + 1, keys, idx, moved);
+            System.arraycopy(values, idx + 1, values, idx, moved);
+        }
+        values[--size] = null;
+        modCount++;
+    }
+
+    private final class Values extends AbstractCollection<V> {
+        @Override
+        public Iterator<V> iterator() {
+            return new ValueIterator();
+        }
+
+        @Override
+        public Spliterator<V> spliterator() {
+            return Spliterators.spliterator(this, Spliterator.ORDERED);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            SortedIntMap.this.clear();
+        }
+    }
+
+    private final class ValueIterator implements Iterator<V> {
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public V next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return valueAt(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.poi.hssf.eventusermodel;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -31,6 +32,7 @@ import java.util.List;
 import org.apache.poi.EncryptedDocumentException;
 import org.apache.poi.hssf.HSSFTestDataSamples;
 import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
 import org.apache.poi.hssf.record.ContinueRecord;
 import org.apache.poi.hssf.record.DVALRecord;
 import org.apache.poi.hssf.record.DVRecord;
@@ -42,6 +44,8 @@ import org.apache.poi.hssf.record.WindowTwoRecord;
 import org.apache.poi.hssf.record.crypto.Biff8EncryptionKey;
 import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 /**
  * Testing for {@link HSSFEventFactory}
@@ -166,4 +170,41 @@ final class TestHSSFEventFactory {
             Biff8EncryptionKey.setCurrentUserPassword(null);
         }
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"SampleSS.xls", "45365.xls", "54016.xls"})
+    void testReuseCellValueRecords(String sampleFileName) throws IOException {
+        List<String> expected = readRecords(sampleFileName, false, null);
+        List<org.apache.poi.hssf.record.Record> numbers = new ArrayList<>();
+        List<String> actual = readRecords(sampleFileName, true, r -> {
+            if (r instanceof NumberRecord) {
+                numbers.add(r);
+            }
+        });
+
+        assertEquals(expected, actual);
+        assertTrue(numbers.size() > 1);
+        for (org.apache.poi.hssf.record.Record r : numbers) {
+            assertSame(numbers.get(0), r);
+        }
+    }
+
+    private static List<String> readRecords(String sampleFileName, boolean reuse, HSSFListener listener) throws IOException {
+        List<String> result = new ArrayList<>();
+        HSSFRequest req = new HSSFRequest();
+        req.addListenerForAllRecords(r -> {
+            // record the state at the time of the event, as the reused records change later
+            result.add(r instanceof CellValueRecordInterface ? r.toString() : Integer.toHexString(r.getSid()));
+            if (listener != null) {
+                listener.processRecord(r);
+            }
+        });
+        try (InputStream is = HSSFTestDataSamples.openSampleFileStream(sampleFileName);
+             POIFSFileSystem fs = new POIFSFileSystem(is)) {
+            HSSFEventFactory factory = new HSSFEventFactory();
+            factory.setReuseCellValueRecords(reuse);
+            factory.processWorkbookEvents(req, fs);
+        }
+        return result;
+    }
 }
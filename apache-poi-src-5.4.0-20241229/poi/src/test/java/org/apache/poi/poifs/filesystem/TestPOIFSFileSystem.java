@@ -23,7 +23,9 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
 import org.apache.poi.POIDataSamples;
@@ -251,6 +253,44 @@ final class TestPOIFSFileSystem {
             checkAllDirectoryContents(fs.getRoot());
         }
     }
+    @ParameterizedTest
+    @CsvSource({"BlockSize4096.zvi", "BlockSize512.zvi", "ShortLastBlock.qwp", "Notes.ole2"})
+    void testMemoryMapped(String file) throws Exception {
+        File f = _samples.getFile(file);
+        Map<String, byte[]> expected = new HashMap<>();
+        try (POIFSFileSystem fs = new POIFSFileSystem(f, true)) {
+            readAllDirectoryContents(fs.getRoot(), "", expected);
+        }
+
+        try (POIFSFileSystem fs = new POIFSFileSystem(f, true, true)) {
+            Map<String, byte[]> actual = new HashMap<>();
+            readAllDirectoryContents(fs.getRoot(), "", actual);
+            assertEquals(expected.keySet(), actual.keySet());
+            for (Map.Entry<String, byte[]> me : expected.entrySet()) {
+                assertArrayEquals(me.getValue(), actual.get(me.getKey()), me.getKey());
+            }
+
+            // the file system can't be changed, so the file is written as it is
+            UnsynchronizedByteArrayOutputStream bos = UnsynchronizedByteArrayOutputStream.builder().get();
+            fs.writeFilesystem(bos);
+            assertArrayEquals(Files.readAllBytes(f.toPath()), bos.toByteArray());
+        }
+    }
+
+    private static void readAllDirectoryContents(DirectoryEntry dir, String path, Map<String, byte[]> contents)
+            throws IOException {
+        for (Entry entry : dir) {
+            String name = path + "/" + entry.getName();
+            if (entry instanceof DirectoryEntry) {
+                readAllDirectoryContents((DirectoryEntry) entry, name, contents);
+            } else {
+                try (DocumentInputStream dis = new DocumentInputStream((DocumentNode) entry)) {
+                    contents.put(name, IOUtils.toByteArray(dis));
+                }
+            }
+        }
+    }
+
     private void checkAllDirectoryContents(DirectoryEntry dir) throws IOException {
        for(Entry entry : dir) {
           if(entry instanceof DirectoryEntry) {
@@ -20,6 +20,7 @@
 package org.apache.poi.poifs.nio;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -57,6 +58,32 @@ class TestDataSource {
         }
     }
 
+    @Test
+    void testFileMemoryMapped() throws Exception {
+        File f = data.getFile("Notes.ole2");
+
+        try (FileBackedDataSource ds = new FileBackedDataSource(f, true, true)) {
+            assertTrue(ds.isMemoryMapped());
+            checkDataSource(ds, false);
+
+            ByteBuffer bs = ds.read(512, 512);
+            assertTrue(bs.isReadOnly());
+            assertEquals(512, bs.remaining());
+        }
+
+        // only read-only files are mapped as a whole
+        File temp = TempFile.createTempFile("TestDataSource", ".test");
+        try {
+            writeDataToFile(temp);
+            try (FileBackedDataSource ds = new FileBackedDataSource(temp, false, true)) {
+                assertFalse(ds.isMemoryMapped());
+                checkDataSource(ds, true);
+            }
+        } finally {
+            assertTrue(temp.delete(), "Could not delete file " + temp);
+        }
+    }
+
     @Test
     void testFileWritable() throws Exception {
         File temp = TempFile.createTempFile("TestDataSource", ".test");
@@ -0,0 +1,91 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.sl.draw;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import org.apache.poi.POIDataSamples;
+import org.apache.poi.util.Dimension2DDouble;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TestBitmapImageRenderer {
+    private static final POIDataSamples SAMPLES = POIDataSamples.getSlideShowInstance();
+
+    @AfterEach
+    void resetCache() {
+        BitmapImageRenderer.setMaxImageCacheSize(BitmapImageCache.DEFAULT_MAX_SIZE);
+        BitmapImageRenderer.clearImageCache();
+    }
+
+    @Test
+    void decodedImagesAreCached() throws IOException {
+        byte[] data = SAMPLES.readFile("tomcat.png");
+        BufferedImage first = load(data);
+        assertNotNull(first);
+        assertSame(first, load(data.clone()));
+        assertNotSame(first, load(SAMPLES.readFile("painting.png")));
+
+        BitmapImageRenderer renderer = new BitmapImageRenderer();
+        renderer.loadImage(data, "image/png");
+        BufferedImage scaled = renderer.getImage(new Dimension2DDouble(20, 10));
+        assertEquals(20, scaled.getWidth());
+        assertEquals(10, scaled.getHeight());
+        assertSame(scaled, renderer.getImage(new Dimension2DDouble(20, 10)));
+
+        // images with changed alpha aren't taken from the cache
+        renderer.setAlpha(0.5);
+        assertNotSame(scaled, renderer.getImage(new Dimension2DDouble(20, 10)));
+
+        BitmapImageRenderer.clearImageCache();
+        assertNotSame(first, load(data));
+    }
+
+    @Test
+    void disabledCache() throws IOException {
+        BitmapImageRenderer.setMaxImageCacheSize(0);
+        assertEquals(0, BitmapImageRenderer.getMaxImageCacheSize());
+        byte[] data = SAMPLES.readFile("tomcat.png");
+        assertNotSame(load(data), load(data));
+    }
+
+    @Test
+    void rendererPerCall() {
+        ImageRenderer first = DrawPictureShape.getImageRenderer(null, "image/png");
+        ImageRenderer second = DrawPictureShape.getImageRenderer(null, "image/png");
+        assertInstanceOf(BitmapImageRenderer.class, first);
+        assertNotSame(first, second);
+
+        // unknown content types fall back to the bitmap renderer, also when resolved from the cache
+        assertInstanceOf(BitmapImageRenderer.class, DrawPictureShape.getImageRenderer(null, "image/x-unknown"));
+        assertInstanceOf(BitmapImageRenderer.class, DrawPictureShape.getImageRenderer(null, "image/x-unknown"));
+    }
+
+    private static BufferedImage load(byte[] data) throws IOException {
+        BitmapImageRenderer renderer = new BitmapImageRenderer();
+        renderer.loadImage(data, "image/png");
+        return renderer.getImage();
+    }
+}
@@ -0,0 +1,83 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.junit.jupiter.api.Test;
+
+final class TestCellRangeIndex {
+
+    @Test
+    void empty() {
+        CellRangeIndex index = new CellRangeIndex(Collections.emptyList());
+        assertEquals(0, index.size());
+        assertEquals(0, index.findContaining(0, 0).length);
+        assertEquals(0, index.findOverlapping(CellRangeAddress.valueOf("A1:Z100")).length);
+    }
+
+    @Test
+    void sameAsScan() {
+        Random random = new Random(4711);
+        for (int size : new int[]{1, 15, 16, 17, 300, 2000}) {
+            List<CellRangeAddress> ranges = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                int row = random.nextInt(5000);
+                int col = random.nextInt(50);
+                switch (i % 4) {
+                    case 0:
+                        // column strips
+                        ranges.add(new CellRangeAddress(row, row + random.nextInt(50000), col, col));
+                        break;
+                    case 1:
+                        // row strips
+                        ranges.add(new CellRangeAddress(row, row, col, col + random.nextInt(30)));
+                        break;
+                    default:
+                        ranges.add(new CellRangeAddress(row, row + random.nextInt(100), col, col + random.nextInt(10)));
+                        break;
+                }
+            }
+            CellRangeIndex index = new CellRangeIndex(ranges);
+            assertEquals(size, index.size());
+
+            for (int i = 0; i < 500; i++) {
+                int row = random.nextInt(6000);
+                int col = random.nextInt(60);
+                assertArrayEquals(scan(ranges, new CellRangeAddress(row, row, col, col)), index.findContaining(row, col));
+
+                CellRangeAddress query = new CellRangeAddress(row, row + random.nextInt(200), col, col + random.nextInt(5));
+                assertArrayEquals(scan(ranges, query), index.findOverlapping(query));
+            }
+        }
+    }
+
+    private static int[] scan(List<CellRangeAddress> ranges, CellRangeAddress query) {
+        return IntStream.range(0, ranges.size())
+            .filter(i -> ranges.get(i).intersects(query))
+            .toArray();
+    }
+}
@@ -0,0 +1,190 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+
+import org.apache.poi.hssf.usermodel.HSSFEvaluationWorkbook;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.formula.ptg.Ptg;
+import org.apache.poi.ss.formula.ptg.RefPtg;
+import org.apache.poi.ss.util.CellReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+final class TestFormulaParseCache {
+
+    private HSSFWorkbook wb;
+    private HSSFEvaluationWorkbook fpb;
+
+    @BeforeEach
+    void setUp() {
+        wb = new HSSFWorkbook();
+        wb.createSheet("Sheet1");
+        wb.createSheet("Other Sheet");
+        fpb = HSSFEvaluationWorkbook.create(wb);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        wb.close();
+    }
+
+    @Test
+    void relativeFormulas() {
+        FormulaParseCache cache = new FormulaParseCache();
+        for (int row = 1; row < 200; row++) {
+            int r = row + 1;
+            assertParsedLikeParser(cache, "A" + r + "*B" + r + "+SUM($C$1:C" + r + ")", row, 3);
+            assertParsedLikeParser(cache, "'Other Sheet'!A" + (r - 1) + "+Sheet1!$B" + r, row, 4);
+            assertParsedLikeParser(cache, "IF(LOG10(D" + r + ")>1.5E-3,\"A1\",A$1)", row, 5);
+        }
+        assertEquals(3, cache.size());
+
+        // same text in another row is another formula
+        assertParsedLikeParser(cache, "A2*B2+SUM($C$1:C2)", 5, 3);
+        assertEquals(4, cache.size());
+        // same relative formula in another column
+        assertParsedLikeParser(cache, "B3*C3+SUM($C$1:D3)", 2, 4);
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    void mixedAreaCornersAreSorted() {
+        FormulaParseCache cache = new FormulaParseCache();
+        // the relative corner moves past the absolute one
+        for (int row = 0; row < 10; row++) {
+            assertParsedLikeParser(cache, "SUM(A$5:A" + (row + 1) + ")", row, 1);
+        }
+        for (int col = 1; col < 10; col++) {
+            assertParsedLikeParser(cache, "SUM($E1:" + CellReference.convertNumToColString(col - 1) + "1)", 0, col);
+        }
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void absoluteFormulas() {
+        FormulaParseCache cache = new FormulaParseCache();
+        for (int row = 0; row < 50; row++) {
+            assertParsedLikeParser(cache, "$A$1+SUM($B$1:$B$10)", row, row % 3);
+        }
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void formulasNotCached() {
+        FormulaParseCache cache = new FormulaParseCache();
+        for (int row = 0; row < 10; row++) {
+            // whole columns and rows keep their position
+            assertParsedLikeParser(cache, "SUM(A:A)+A1", row, 2);
+            assertParsedLikeParser(cache, "SUM(1:1)", row, 2);
+        }
+        assertEquals(0, cache.size());
+
+        // no cell position
+        assertParsedLikeParser(cache, "A1", -1, -1);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void tokensAreCopied() {
+        FormulaParseCache cache = new FormulaParseCache();
+        Ptg[] first = cache.parse("A1+1", fpb, FormulaType.CELL, 0, 0, 1);
+        ((RefPtg)first[0]).setRow(10);
+
+        Ptg[] second = cache.parse("A1+1", fpb, FormulaType.CELL, 0, 0, 1);
+        assertEquals(0, ((RefPtg)second[0]).getRow());
+        ((RefPtg)second[0]).setRow(20);
+
+        Ptg[] third = cache.parse("A1+1", fpb, FormulaType.CELL, 0, 0, 1);
+        assertEquals(0, ((RefPtg)third[0]).getRow());
+    }
+
+    @Test
+    void invalidFormulas() {
+        FormulaParseCache cache = new FormulaParseCache();
+        for (int i = 0; i < 2; i++) {
+            assertThrows(FormulaParseException.class, () -> cache.parse("A1+", fpb, FormulaType.CELL, 0, 0, 1));
+            assertThrows(FormulaParseException.class, () -> cache.parse("SUM(A1", fpb, FormulaType.CELL, 0, 0, 1));
+        }
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void clearAndEvict() {
+        FormulaParseCache cache = new FormulaParseCache(2);
+        cache.parse("A1", fpb, FormulaType.CELL, 0, 1, 1);
+        cache.parse("A1+1", fpb, FormulaType.CELL, 0, 1, 1);
+        assertEquals(2, cache.size());
+        cache.parse("A1+2", fpb, FormulaType.CELL, 0, 1, 1);
+        assertEquals(2, cache.size());
+
+        // the same formula in another sheet is another entry
+        cache.clear();
+        assertEquals(0, cache.size());
+        cache.parse("A1", fpb, FormulaType.CELL, 0, 1, 1);
+        cache.parse("A1", fpb, FormulaType.CELL, 1, 1, 1);
+        assertEquals(2, cache.size());
+
+        assertThrows(IllegalArgumentException.class, () -> new FormulaParseCache(0));
+    }
+
+    @Test
+    void bypassedAfterMisses() {
+        FormulaParseCache cache = new FormulaParseCache();
+        for (int i = 0; i < 100; i++) {
+            cache.parse("A1+" + i, fpb, FormulaType.CELL, 0, 1, 1);
+        }
+        assertEquals(100, cache.size());
+
+        // all formulas differed, so the following ones are parsed without the cache
+        assertParsedLikeParser(cache, "B1*2", 1, 1);
+        assertEquals(100, cache.size());
+
+        cache.clear();
+        cache.parse("B1*2", fpb, FormulaType.CELL, 0, 1, 1);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void parserWithCache() {
+        FormulaParseCache cache = new FormulaParseCache();
+        Ptg[] cached = FormulaParser.parse("A2*2", fpb, FormulaType.CELL, 0, 1, 2, cache);
+        assertEquals(1, cache.size());
+        Ptg[] parsed = FormulaParser.parse("A2*2", fpb, FormulaType.CELL, 0, 1, 2, null);
+        assertArrayEquals(toBytes(parsed), toBytes(cached));
+    }
+
+    private void assertParsedLikeParser(FormulaParseCache cache, String formula, int row, int column) {
+        Ptg[] expected = FormulaParser.parse(formula, fpb, FormulaType.CELL, 0, row);
+        Ptg[] actual = cache.parse(formula, fpb, FormulaType.CELL, 0, row, column);
+        assertEquals(FormulaRenderer.toFormulaString(fpb, expected), FormulaRenderer.toFormulaString(fpb, actual));
+        assertArrayEquals(toBytes(expected), toBytes(actual), formula);
+    }
+
+    private static byte[] toBytes(Ptg[] ptgs) {
+        byte[] data = new byte[Ptg.getEncodedSize(ptgs)];
+        Ptg.serializePtgs(ptgs, data, 0);
+        return data;
+    }
+}
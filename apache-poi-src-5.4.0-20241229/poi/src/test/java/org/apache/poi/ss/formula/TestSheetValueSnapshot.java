@@ -0,0 +1,149 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.apache.poi.hssf.usermodel.HSSFFormulaEvaluator;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the read-only mode of the {@link WorkbookEvaluator}, which reads the cell values
+ * from {@link SheetValueSnapshot}s
+ */
+final class TestSheetValueSnapshot {
+
+    private static final String[] FORMULAS = {
+        "SUM(Data!A1:C20)",
+        "SUMPRODUCT(Data!A1:A20,Data!B1:B20)",
+        "COUNTA(Data!C1:C25)",
+        "COUNTBLANK(Data!A1:C25)",
+        "COUNTIF(Data!C1:C20,\"text*\")",
+        "INDEX(Data!A1:D20,5,4)",
+        "VLOOKUP(\"TEXT7\",Data!C1:D20,2,FALSE)",
+        "ISERROR(Data!D3)",
+        "AND(Data!D2,TRUE)",
+        "Data!A12&\"/\"&Data!C12"
+    };
+
+    @Test
+    void readOnlyResultsMatch() throws IOException {
+        try (HSSFWorkbook wb = createWorkbook()) {
+            HSSFFormulaEvaluator fe = wb.getCreationHelper().createFormulaEvaluator();
+            Row row = wb.getSheet("Report").getRow(0);
+            String[] expected = new String[FORMULAS.length];
+            for (int i = 0; i < FORMULAS.length; i++) {
+                expected[i] = fe.evaluate(row.getCell(i)).formatAsString();
+            }
+
+            fe.setReadOnly(true);
+            assertTrue(fe.isReadOnly());
+            for (int i = 0; i < FORMULAS.length; i++) {
+                assertEquals(expected[i], fe.evaluate(row.getCell(i)).formatAsString(), FORMULAS[i]);
+            }
+
+            fe.setReadOnly(false);
+            assertFalse(fe.isReadOnly());
+            for (int i = 0; i < FORMULAS.length; i++) {
+                assertEquals(expected[i], fe.evaluate(row.getCell(i)).formatAsString(), FORMULAS[i]);
+            }
+        }
+    }
+
+    @Test
+    void changedCellsClearSnapshots() throws IOException {
+        try (HSSFWorkbook wb = createWorkbook()) {
+            HSSFFormulaEvaluator fe = wb.getCreationHelper().createFormulaEvaluator();
+            fe.setReadOnly(true);
+            Sheet data = wb.getSheet("Data");
+            Cell sum = wb.getSheet("Report").getRow(0).getCell(0);
+            assertEquals(386, fe.evaluate(sum).getNumberValue(), 0);
+
+            // plain value
+            Cell a1 = data.getRow(0).getCell(0);
+            a1.setCellValue(101);
+            fe.notifyUpdateCell(a1);
+            assertEquals(486, fe.evaluate(sum).getNumberValue(), 0);
+
+            // input of a formula cell within the range
+            Cell e1 = data.getRow(0).getCell(4);
+            e1.setCellValue(2);
+            fe.notifyUpdateCell(e1);
+            assertEquals(506, fe.evaluate(sum).getNumberValue(), 0);
+
+            // previously blank cell
+            Cell b25 = data.createRow(24).createCell(1);
+            b25.setCellValue(1000);
+            fe.notifyUpdateCell(b25);
+            assertEquals(506, fe.evaluate(sum).getNumberValue(), 0);
+            Cell c20 = data.getRow(19).createCell(2);
+            c20.setCellValue(1000);
+            fe.notifyUpdateCell(c20);
+            assertEquals(1506, fe.evaluate(sum).getNumberValue(), 0);
+        }
+    }
+
+    /**
+     * Data!A contains numbers, B contains numbers with a formula in row 10, C alternates strings
+     * and numbers and is blank in row 20, D contains a boolean, an error and the row numbers
+     */
+    private static HSSFWorkbook createWorkbook() {
+        HSSFWorkbook wb = new HSSFWorkbook();
+        Sheet data = wb.createSheet("Data");
+        for (int r = 0; r < 20; r++) {
+            Row row = data.createRow(r);
+            row.createCell(0).setCellValue(r + 1);
+            if (r == 9) {
+                row.createCell(1).setCellFormula("A10*E1");
+            } else {
+                row.createCell(1).setCellValue((r % 3) * 5);
+            }
+            if (r < 19) {
+                if (r % 2 == 0) {
+                    row.createCell(2).setCellValue("Text" + r);
+                } else {
+                    row.createCell(2).setCellValue(r);
+                }
+            }
+            Cell d = row.createCell(3);
+            if (r == 1) {
+                d.setCellValue(true);
+            } else if (r == 2) {
+                d.setCellErrorValue(FormulaError.DIV0.getCode());
+            } else {
+                d.setCellValue(r + 1);
+            }
+        }
+        data.getRow(0).createCell(4).setCellValue(0);
+
+        Row report = wb.createSheet("Report").createRow(0);
+        for (int i = 0; i < FORMULAS.length; i++) {
+            report.createCell(i).setCellFormula(FORMULAS[i]);
+        }
+        return wb;
+    }
+}
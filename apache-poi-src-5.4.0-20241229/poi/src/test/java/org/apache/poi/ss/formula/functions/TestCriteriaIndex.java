@@ -0,0 +1,186 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula.functions;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+
+import org.apache.poi.hssf.usermodel.HSSFFormulaEvaluator;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.formula.eval.BlankEval;
+import org.apache.poi.ss.formula.eval.BoolEval;
+import org.apache.poi.ss.formula.eval.ErrorEval;
+import org.apache.poi.ss.formula.eval.NumberEval;
+import org.apache.poi.ss.formula.eval.StringEval;
+import org.apache.poi.ss.formula.eval.ValueEval;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellValue;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CriteriaIndex} and the indexed COUNTIF, SUMIF and *IFS functions
+ */
+final class TestCriteriaIndex {
+
+    private static final int ROWS = 40;
+
+    private static final String[] CRITERIA = {
+        "30", "\"30\"", "\"=30\"", "0", "\"=-0\"", "\">20\"", "\">=30\"", "\"<0\"", "\"<=-5\"", "\"<>30\"",
+        "\"key4\"", "\"KEY*\"", "\"\"", "\"=\"", "\"<>\"", "TRUE", "\"FALSE\"", "\">Key\"", "\"#DIV/0!\"", "H1"
+    };
+
+    @Test
+    void indexFindsMatchingPositions() {
+        ValueEval[] values = {
+            new NumberEval(-0.0), new StringEval("Key"), BlankEval.instance, ErrorEval.NA,
+            BoolEval.TRUE, new NumberEval(0.0), new StringEval("KEY"), BoolEval.FALSE, new StringEval("0"),
+            new NumberEval(5), new NumberEval(-3), new NumberEval(5), new StringEval("7")
+        };
+        CriteriaIndex index = new CriteriaIndex(EvalFactory.createAreaEval("A1:A13", values));
+
+        assertEquals(13, index.getSize());
+        assertEquals(1, index.getWidth());
+        // numbers are compared by Double.compare(), numeric strings by ==
+        assertArrayEquals(new int[]{0, 8}, index.findNumber(-0.0));
+        assertArrayEquals(new int[]{5, 8}, index.findNumber(0.0));
+        assertArrayEquals(new int[]{9, 11}, index.findNumber(5));
+        assertArrayEquals(new int[]{12}, index.findNumber(7));
+        assertArrayEquals(new int[]{1, 6}, index.findString("kEy"));
+        assertArrayEquals(new int[]{4}, index.findBoolean(true));
+        assertArrayEquals(new int[]{7}, index.findBoolean(false));
+        // ranges only include numbers
+        assertArrayEquals(new int[]{0, 10}, index.findNumberRange(0.0, true, false));
+        assertArrayEquals(new int[]{0, 5, 10}, index.findNumberRange(0.0, true, true));
+        assertArrayEquals(new int[]{9, 11}, index.findNumberRange(0.0, false, false));
+        assertArrayEquals(new int[]{5, 9, 11}, index.findNumberRange(0.0, false, true));
+        assertArrayEquals(new int[]{}, index.findNumberRange(5, false, false));
+    }
+
+    @Test
+    void indexedResultsMatchScan() throws IOException {
+        try (HSSFWorkbook wb = createTable()) {
+            Sheet sheet = wb.getSheetAt(0);
+            Row row = sheet.createRow(ROWS + 1);
+            for (String criteria : CRITERIA) {
+                String a = "$A$1:$A$" + ROWS;
+                String b = "$B$1:$B$" + ROWS;
+                String c = "$C$1:$C$" + ROWS;
+                String[] formulas = {
+                    "COUNTIF(" + a + "," + criteria + ")",
+                    "SUMIF(" + a + "," + criteria + "," + b + ")",
+                    "SUMIFS(" + b + "," + a + "," + criteria + "," + c + ",\"x\")",
+                    "COUNTIFS(" + c + ",\"y\"," + a + "," + criteria + ")",
+                    "AVERAGEIFS(" + b + "," + a + "," + criteria + ")"
+                };
+                for (String formula : formulas) {
+                    // a new evaluator scans on the first and uses the index on the second evaluation
+                    HSSFFormulaEvaluator fe = wb.getCreationHelper().createFormulaEvaluator();
+                    Cell scanned = row.createCell(0);
+                    scanned.setCellFormula(formula);
+                    Cell indexed = row.createCell(1);
+                    indexed.setCellFormula(formula);
+                    assertEquals(format(fe.evaluate(scanned)), format(fe.evaluate(indexed)), formula);
+                }
+            }
+        }
+    }
+
+    @Test
+    void changedCellsInvalidateIndex() throws IOException {
+        try (HSSFWorkbook wb = createTable()) {
+            Sheet sheet = wb.getSheetAt(0);
+            HSSFFormulaEvaluator fe = wb.getCreationHelper().createFormulaEvaluator();
+            Row row = sheet.createRow(ROWS + 1);
+            Cell[] cells = new Cell[4];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = row.createCell(i);
+            }
+            cells[0].setCellFormula("COUNTIF($A$1:$A$" + ROWS + ",\"key4\")");
+            cells[1].setCellFormula("SUMIF($A$1:$A$" + ROWS + ",\">100\",$B$1:$B$" + ROWS + ")");
+            cells[2].setCellFormula("COUNTIFS($A$1:$A$" + ROWS + ",10,$B$1:$B$" + ROWS + ",\"<5\")");
+            cells[3].setCellFormula("COUNTIF($A$1:$A$" + ROWS + ",\"Key8\")");
+            fe.evaluateAll();
+            assertEquals(1, fe.evaluate(cells[0]).getNumberValue(), 0);
+            assertEquals(0, fe.evaluate(cells[1]).getNumberValue(), 0);
+            assertEquals(1, fe.evaluate(cells[2]).getNumberValue(), 0);
+
+            // plain value
+            Cell a6 = sheet.getRow(5).getCell(0);
+            a6.setCellValue("KEY4");
+            fe.notifyUpdateCell(a6);
+            assertEquals(2, fe.evaluate(cells[0]).getNumberValue(), 0);
+
+            // previously blank cell
+            Cell a37 = sheet.getRow(36).createCell(0);
+            a37.setCellValue(500);
+            fe.notifyUpdateCell(a37);
+            assertEquals(37, fe.evaluate(cells[1]).getNumberValue(), 0);
+
+            // formula cell with a changed input
+            Cell h1 = sheet.getRow(0).getCell(7);
+            h1.setCellValue(11);
+            fe.notifyUpdateCell(h1);
+            assertEquals(0, fe.evaluate(cells[2]).getNumberValue(), 0);
+
+            // unrelated results are still cached
+            assertEquals(1, fe.evaluate(cells[3]).getNumberValue(), 0);
+        }
+    }
+
+    /**
+     * Column A contains numbers in odd and strings in even rows, numeric strings in row 20 and 22,
+     * booleans in row 38 and 40, an error in row 35, a blank cell in row 37 and a formula in row 1.
+     * Column B contains the row number and column C alternates "x" and "y".
+     */
+    private static HSSFWorkbook createTable() {
+        HSSFWorkbook wb = new HSSFWorkbook();
+        Sheet sheet = wb.createSheet();
+        for (int i = 1; i <= ROWS; i++) {
+            Row row = sheet.createRow(i - 1);
+            row.createCell(1).setCellValue(i);
+            row.createCell(2).setCellValue(i % 2 == 1 ? "x" : "y");
+            if (i == 37) {
+                continue;
+            }
+            Cell key = row.createCell(0);
+            if (i == 1) {
+                row.createCell(7).setCellValue(10);
+                key.setCellFormula("H1");
+            } else if (i == 38 || i == 40) {
+                key.setCellValue(i == 40);
+            } else if (i == 35) {
+                key.setCellFormula("1/0");
+            } else if (i == 20 || i == 22) {
+                key.setCellValue(i == 20 ? "30" : "-0");
+            } else if (i % 2 == 1) {
+                key.setCellValue((i % 7 - 3) * 10);
+            } else {
+                key.setCellValue(i % 4 == 0 ? "Key" + i : "KEY" + i);
+            }
+        }
+        return wb;
+    }
+
+    private static String format(CellValue cv) {
+        return cv.formatAsString();
+    }
+}
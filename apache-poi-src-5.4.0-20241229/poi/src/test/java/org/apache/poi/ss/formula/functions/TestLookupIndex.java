@@ -0,0 +1,204 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.ss.formula.functions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+
+import org.apache.poi.hssf.usermodel.HSSFFormulaEvaluator;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.formula.eval.BlankEval;
+import org.apache.poi.ss.formula.eval.BoolEval;
+import org.apache.poi.ss.formula.eval.ErrorEval;
+import org.apache.poi.ss.formula.eval.NumberEval;
+import org.apache.poi.ss.formula.eval.StringEval;
+import org.apache.poi.ss.formula.eval.ValueEval;
+import org.apache.poi.ss.formula.functions.LookupUtils.ValueVector;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellValue;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link LookupIndex} and the indexed exact match lookups of VLOOKUP, MATCH and XLOOKUP
+ */
+final class TestLookupIndex {
+
+    private static final int ROWS = 40;
+
+    @Test
+    void indexMatchesComparerRules() {
+        ValueEval[] values = {
+            new NumberEval(-0.0), new StringEval("Key"), BlankEval.instance, ErrorEval.NA,
+            BoolEval.TRUE, new NumberEval(0.0), new StringEval("KEY"), BoolEval.FALSE, new StringEval("")
+        };
+        LookupIndex index = new LookupIndex(new ValueVector() {
+            @Override
+            public ValueEval getItem(int index) {
+                return values[index];
+            }
+
+            @Override
+            public int getSize() {
+                return values.length;
+            }
+        });
+
+        // Double.compare() distinguishes 0.0 and -0.0
+        assertEquals(0, index.indexOf(new NumberEval(-0.0)));
+        assertEquals(5, index.indexOf(NumberEval.ZERO));
+        assertEquals(1, index.indexOf(new StringEval("kEy")));
+        assertEquals(8, index.indexOf(new StringEval("")));
+        assertEquals(4, index.indexOf(BoolEval.TRUE));
+        assertEquals(7, index.indexOf(BoolEval.FALSE));
+        assertEquals(-1, index.indexOf(new NumberEval(1)));
+        assertEquals(-1, index.indexOf(new StringEval("Ke")));
+    }
+
+    @Test
+    void indexedLookups() throws IOException {
+        try (HSSFWorkbook wb = createTable()) {
+            Sheet sheet = wb.getSheetAt(0);
+            HSSFFormulaEvaluator fe = wb.getCreationHelper().createFormulaEvaluator();
+
+            assertLookups(fe, sheet, "30", "v3", 3);
+            assertLookups(fe, sheet, "\"key4\"", "v4", 4);
+            assertLookups(fe, sheet, "\"KEY2\"", "v2", 2);
+            assertLookups(fe, sheet, "TRUE", "v40", 40);
+            assertLookups(fe, sheet, "FALSE", "v38", 38);
+            // wildcards are searched without index
+            assertLookups(fe, sheet, "\"K?y1*\"", "v10", 10);
+            // no type conversion
+            assertLookups(fe, sheet, "\"30\"", null, -1);
+            assertLookups(fe, sheet, "31", null, -1);
+        }
+    }
+
+    @Test
+    void changedCellsInvalidateIndex() throws IOException {
+        try (HSSFWorkbook wb = createTable()) {
+            Sheet sheet = wb.getSheetAt(0);
+            HSSFFormulaEvaluator fe = wb.getCreationHelper().createFormulaEvaluator();
+            Row row = sheet.createRow(ROWS + 1);
+            Cell[] lookups = new Cell[6];
+            for (int i = 0; i < lookups.length; i++) {
+                lookups[i] = row.createCell(i);
+            }
+            lookups[0].setCellFormula("VLOOKUP(\"Key4\",$A$1:$B$" + ROWS + ",2,FALSE)");
+            lookups[1].setCellFormula("MATCH(31,$A$1:$A$" + ROWS + ",0)");
+            lookups[2].setCellFormula("XLOOKUP(10,$A$1:$A$" + ROWS + ",$B$1:$B$" + ROWS + ",\"none\")");
+            lookups[3].setCellFormula("XLOOKUP(777,$A$1:$A$" + ROWS + ",$B$1:$B$" + ROWS + ",\"none\")");
+            lookups[4].setCellFormula("MATCH(\"Key6\",$A$1:$A$" + ROWS + ",0)");
+            lookups[5].setCellFormula("MATCH(\"Key8\",$A$1:$A$" + ROWS + ",0)");
+            fe.evaluateAll();
+            assertEquals("v4", fe.evaluate(lookups[0]).getStringValue());
+            assertEquals(ErrorEval.NA.getErrorCode(), fe.evaluate(lookups[1]).getErrorValue());
+            assertEquals("v1", fe.evaluate(lookups[2]).getStringValue());
+            assertEquals("none", fe.evaluate(lookups[3]).getStringValue());
+
+            // plain value
+            Cell a4 = sheet.getRow(3).getCell(0);
+            a4.setCellValue("other");
+            fe.notifyUpdateCell(a4);
+            assertEquals(ErrorEval.NA.getErrorCode(), fe.evaluate(lookups[0]).getErrorValue());
+
+            // previously blank cell
+            Cell a37 = sheet.getRow(36).createCell(0);
+            a37.setCellValue(31);
+            fe.notifyUpdateCell(a37);
+            assertEquals(37, fe.evaluate(lookups[1]).getNumberValue(), 0);
+
+            // formula cell with a changed input
+            Cell h1 = sheet.getRow(0).getCell(7);
+            h1.setCellValue(777);
+            fe.notifyUpdateCell(h1);
+            assertEquals("none", fe.evaluate(lookups[2]).getStringValue());
+            assertEquals("v1", fe.evaluate(lookups[3]).getStringValue());
+
+            // unrelated lookups are still cached
+            assertEquals(6, fe.evaluate(lookups[4]).getNumberValue(), 0);
+            assertEquals(8, fe.evaluate(lookups[5]).getNumberValue(), 0);
+        }
+    }
+
+    /**
+     * Column A contains numbers in odd and strings in even rows, with a duplicate in row 39,
+     * booleans in row 38 and 40, a blank cell in row 37 and a formula in row 1.
+     * Column B contains "v" and the row number.
+     */
+    private static HSSFWorkbook createTable() {
+        HSSFWorkbook wb = new HSSFWorkbook();
+        Sheet sheet = wb.createSheet();
+        for (int i = 1; i <= ROWS; i++) {
+            Row row = sheet.createRow(i - 1);
+            row.createCell(1).setCellValue("v" + i);
+            if (i == 37) {
+                continue;
+            }
+            Cell key = row.createCell(0);
+            if (i == 1) {
+                row.createCell(7).setCellValue(10);
+                key.setCellFormula("H1");
+            } else if (i == 38 || i == 40) {
+                key.setCellValue(i == 40);
+            } else if (i == 39) {
+                key.setCellValue("KEY2");
+            } else if (i % 2 == 1) {
+                key.setCellValue(i * 10);
+            } else {
+                key.setCellValue("Key" + i);
+            }
+        }
+        return wb;
+    }
+
+    /**
+     * Evaluates VLOOKUP, MATCH and XLOOKUP of the value twice each, so the range is looked up repeatedly
+     */
+    private static void assertLookups(HSSFFormulaEvaluator fe, Sheet sheet, String lookupValue,
+            String expectedValue, int expectedRow) {
+        String[] formulas = {
+            "VLOOKUP(" + lookupValue + ",$A$1:$B$" + ROWS + ",2,FALSE)",
+            "MATCH(" + lookupValue + ",$A$1:$A$" + ROWS + ",0)",
+            "XLOOKUP(" + lookupValue + ",$A$1:$A$" + ROWS + ",$B$1:$B$" + ROWS + ",\"none\")"
+        };
+        Row row = sheet.createRow(ROWS + 1);
+        for (int n = 0; n < 2; n++) {
+            for (int i = 0; i < formulas.length; i++) {
+                Cell cell = row.createCell(n * formulas.length + i);
+                cell.setCellFormula(formulas[i]);
+                CellValue cv = fe.evaluate(cell);
+                String msg = formulas[i];
+                if (i == 1) {
+                    if (expectedRow < 0) {
+                        assertEquals(ErrorEval.NA.getErrorCode(), cv.getErrorValue(), msg);
+                    } else {
+                        assertEquals(expectedRow, cv.getNumberValue(), 0, msg);
+                    }
+                } else if (expectedValue == null && i == 0) {
+                    assertEquals(ErrorEval.NA.getErrorCode(), cv.getErrorValue(), msg);
+                } else {
+                    assertEquals(expectedValue == null ? "none" : expectedValue, cv.getStringValue(), msg);
+                }
+            }
+        }
+        sheet.removeRow(row);
+    }
+}
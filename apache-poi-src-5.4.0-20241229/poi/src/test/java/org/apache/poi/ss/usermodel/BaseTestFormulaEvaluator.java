@@ -18,6 +18,7 @@
 package org.apache.poi.ss.usermodel;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -25,11 +26,17 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.poi.ss.ITestDataProvider;
 import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.util.CellRangeAddressList;
+import org.apache.poi.util.LocaleUtil;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -258,6 +265,197 @@ public abstract class BaseTestFormulaEvaluator {
        wb.close();
     }
 
+    @Test
+    void testRecalculate() throws IOException {
+        try (Workbook wb = _testDataProvider.createWorkbook()) {
+            Name inputs = wb.createName();
+            inputs.setNameName("inputs");
+            inputs.setRefersToFormula("Sheet1!$A$1:$A$2");
+
+            Sheet sheet = wb.createSheet("Sheet1");
+            Sheet sheet2 = wb.createSheet("Sheet2");
+            Row r1 = sheet.createRow(0);
+            Row r2 = sheet.createRow(1);
+            Cell a1 = r1.createCell(0);
+            a1.setCellValue(1);
+            Cell a2 = r2.createCell(0);
+            a2.setCellValue(2);
+            Cell b1 = r1.createCell(1);
+            b1.setCellFormula("A1*2");
+            Cell b2 = r2.createCell(1);
+            b2.setCellFormula("A2*2");
+            Cell c1 = r1.createCell(2);
+            c1.setCellFormula("SUM(B1:B2)");
+            Cell d1 = r1.createCell(3);
+            d1.setCellFormula("1+1");
+            Cell e1 = r1.createCell(4);
+            e1.setCellFormula("SUM(inputs)");
+            Cell other = sheet2.createRow(0).createCell(0);
+            other.setCellFormula("Sheet1!C1+1");
+
+            FormulaEvaluator fe = wb.getCreationHelper().createFormulaEvaluator();
+            fe.evaluateAll();
+            assertEquals(6.0, c1.getNumericCellValue(), 0.0);
+            assertEquals(7.0, other.getNumericCellValue(), 0.0);
+
+            a1.setCellValue(5);
+            List<Cell> recalculated = fe.recalculate(Collections.singleton(a1));
+            assertEquals(Arrays.asList(b1, e1, c1, other), recalculated);
+            assertEquals(10.0, b1.getNumericCellValue(), 0.0);
+            assertEquals(14.0, c1.getNumericCellValue(), 0.0);
+            assertEquals(7.0, e1.getNumericCellValue(), 0.0);
+            assertEquals(15.0, other.getNumericCellValue(), 0.0);
+
+            // changed formulas are picked up
+            b2.setCellFormula("A2*3");
+            recalculated = fe.recalculate(Collections.singleton(b2));
+            assertEquals(Arrays.asList(b2, c1, other), recalculated);
+            assertEquals(16.0, c1.getNumericCellValue(), 0.0);
+            assertEquals(17.0, other.getNumericCellValue(), 0.0);
+
+            // formulas with inputs only known at evaluation time are always recalculated
+            Cell f1 = r1.createCell(5);
+            f1.setCellFormula("INDIRECT(\"A\"&2)+1");
+            recalculated = fe.recalculate(Collections.singleton(f1));
+            assertEquals(Collections.singletonList(f1), recalculated);
+            assertEquals(3.0, f1.getNumericCellValue(), 0.0);
+
+            a2.setCellValue(4);
+            recalculated = fe.recalculate(Collections.singleton(a2));
+            assertTrue(recalculated.contains(f1));
+            assertFalse(recalculated.contains(b1));
+            assertFalse(recalculated.contains(d1));
+            assertEquals(5.0, f1.getNumericCellValue(), 0.0);
+            assertEquals(22.0, c1.getNumericCellValue(), 0.0);
+            assertEquals(9.0, e1.getNumericCellValue(), 0.0);
+        }
+    }
+
+    @Test
+    protected void testRecalculateLongChain() throws IOException {
+        try (Workbook wb = _testDataProvider.createWorkbook()) {
+            Sheet sheet = wb.createSheet();
+            Cell first = sheet.createRow(0).createCell(0);
+            first.setCellValue(1);
+            Cell last = null;
+            int length = 30000;
+            for (int i = 1; i < length; i++) {
+                last = sheet.createRow(i).createCell(0);
+                last.setCellFormula("A" + i + "+1");
+            }
+
+            FormulaEvaluator fe = wb.getCreationHelper().createFormulaEvaluator();
+            // neither the evaluation, nor clearing the cached results of the chain may overflow the stack
+            for (int value = 2; value < 4; value++) {
+                first.setCellValue(value);
+                assertEquals(length - 1, fe.recalculate(Collections.singleton(first)).size());
+                assertEquals(length - 1.0 + value, last.getNumericCellValue(), 0.0);
+            }
+        }
+    }
+
+    @Test
+    void testEvaluateAllInParallel() throws IOException {
+        try (Workbook wb = _testDataProvider.createWorkbook()) {
+            Sheet sheet1 = wb.createSheet("Sheet1");
+            Sheet sheet2 = wb.createSheet("Sheet2");
+            List<Cell> formulaCells = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                Row row = sheet1.createRow(i);
+                row.createCell(0).setCellValue(i);
+                // independent rows, a chain and an aggregation over the chain
+                formulaCells.add(setCellFormula(row, 1, "A" + (i + 1) + "*2"));
+                formulaCells.add(setCellFormula(row, 2, i == 0 ? "B1" : "C" + i + "+B" + (i + 1)));
+                formulaCells.add(setCellFormula(row, 3, "IF(MOD(A" + (i + 1) + ",3)=0,\"x\"&A" + (i + 1) + ",A"
+                        + (i + 1) + ">20)"));
+                formulaCells.add(setCellFormula(sheet2.createRow(i), 0, "Sheet1!C" + (i + 1) + "/(Sheet1!A" + (i + 1) + "-5)"));
+            }
+            Row row = sheet1.getRow(0);
+            formulaCells.add(setCellFormula(row, 4, "SUM(C1:C40)"));
+            formulaCells.add(setCellFormula(row, 5, "INDIRECT(\"Sheet2!A\"&3)+E1"));
+            formulaCells.add(setCellFormula(row, 6, "COUNTIF(D1:D40,TRUE)"));
+
+            FormulaEvaluator fe = wb.getCreationHelper().createFormulaEvaluator();
+            ForkJoinPool pool = new ForkJoinPool(4);
+            List<String> parallel = new ArrayList<>();
+            try {
+                fe.evaluateAll(pool);
+            } finally {
+                pool.shutdown();
+            }
+            for (Cell cell : formulaCells) {
+                assertEquals(CellType.FORMULA, cell.getCellType());
+                parallel.add(formatCachedResult(cell));
+            }
+            assertEquals(21320.0, row.getCell(4).getNumericCellValue(), 0.0);
+            assertEquals(12.0, row.getCell(6).getNumericCellValue(), 0.0);
+            assertEquals(FormulaError.DIV0.getCode(), sheet2.getRow(5).getCell(0).getErrorCellValue());
+
+            wb.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            for (int i = 0; i < formulaCells.size(); i++) {
+                Cell cell = formulaCells.get(i);
+                assertEquals(parallel.get(i), formatCachedResult(cell), cell.getAddress().formatAsString());
+            }
+        }
+    }
+
+    @Test
+    void testEvaluateAllInParallelWithUserLocale() throws IOException {
+        Locale userLocale = LocaleUtil.getUserLocale();
+        LocaleUtil.setUserLocale(Locale.GERMANY);
+        try (Workbook wb = _testDataProvider.createWorkbook()) {
+            Sheet sheet = wb.createSheet("Sheet1");
+            List<Cell> formulaCells = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(1000 + i + 0.5);
+                formulaCells.add(setCellFormula(row, 1, "DOLLAR(A" + (i + 1) + ")"));
+            }
+
+            ForkJoinPool pool = new ForkJoinPool(4);
+            List<String> parallel = new ArrayList<>();
+            try {
+                wb.getCreationHelper().createFormulaEvaluator().evaluateAll(pool);
+            } finally {
+                pool.shutdown();
+            }
+            for (Cell cell : formulaCells) {
+                parallel.add(formatCachedResult(cell));
+            }
+            // German grouping and decimal separators, not the ones of the default locale
+            assertTrue(parallel.get(0).startsWith("STRING:1.000,50"), parallel.get(0));
+
+            wb.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            for (int i = 0; i < formulaCells.size(); i++) {
+                Cell cell = formulaCells.get(i);
+                assertEquals(parallel.get(i), formatCachedResult(cell), cell.getAddress().formatAsString());
+            }
+        } finally {
+            LocaleUtil.setUserLocale(userLocale);
+        }
+    }
+
+    private static String formatCachedResult(Cell cell) {
+        switch (cell.getCachedFormulaResultType()) {
+            case NUMERIC:
+                return "NUMERIC:" + cell.getNumericCellValue();
+            case STRING:
+                return "STRING:" + cell.getStringCellValue();
+            case BOOLEAN:
+                return "BOOLEAN:" + cell.getBooleanCellValue();
+            case ERROR:
+                return "ERROR:" + cell.getErrorCellValue();
+            default:
+                return cell.getCachedFormulaResultType().toString();
+        }
+    }
+
+    private static Cell setCellFormula(Row row, int column, String formula) {
+        Cell cell = row.createCell(column);
+        cell.setCellFormula(formula);
+        return cell;
+    }
+
     private static void setValue(Sheet sheet, int rowIndex, int colIndex, double value) {
         Row row = sheet.getRow(rowIndex);
         if (row == null) {
@@ -1035,6 +1035,49 @@ class TestDataFormatter {
         doFormatTestConcurrent(formatter1, formatter2);
     }
 
+    @Test
+    void testConcurrentSharedFormatter() throws Exception {
+        DataFormatter formatter = new DataFormatter(Locale.US);
+        String[] formats = {
+            "#,##0.00", "0.000%", "0.00E+00", "# ?/?", "000-00-0000", "m/d/yy h:mm", "[h]:mm:ss", "dddd, mmmm dd, yyyy"
+        };
+        double[] values = {0.5, 1.25, 43551.50990171296, 36104.424780092595, 123456789, 2.75};
+
+        String[][] expected = new String[formats.length][values.length];
+        for (int f = 0; f < formats.length; f++) {
+            for (int v = 0; v < values.length; v++) {
+                expected[f][v] = formatter.formatRawCellContents(values[v], -1, formats[f]);
+            }
+        }
+
+        ArrayList<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                for (int i = 0; i < 500; i++) {
+                    for (int f = 0; f < formats.length; f++) {
+                        for (int v = 0; v < values.length; v++) {
+                            String actual = formatter.formatRawCellContents(values[v], -1, formats[f]);
+                            assertEquals(expected[f][v], actual, formats[f] + " of " + values[v]);
+                        }
+                    }
+                }
+                return true;
+            }));
+        }
+        for (CompletableFuture<Boolean> future : futures) {
+            assertTrue(future.get(1, TimeUnit.MINUTES));
+        }
+    }
+
+    @Test
+    void testCompiledFormatsPerLocale() {
+        DataFormatter us = new DataFormatter(Locale.US);
+        DataFormatter german = new DataFormatter(Locale.GERMANY);
+        assertEquals("1,234.50", us.formatRawCellContents(1234.5, -1, "#,##0.00"));
+        assertEquals("1.234,50", german.formatRawCellContents(1234.5, -1, "#,##0.00"));
+        assertEquals("1,234.50", new DataFormatter(Locale.US).formatRawCellContents(1234.5, -1, "#,##0.00"));
+    }
+
     /**
      * Bug #64319
      *
@@ -0,0 +1,131 @@
+/* ====================================================================
+   Licensed to the Apache Software Foundation (ASF) under one or more
+   contributor license agreements.  See the NOTICE file distributed with
+   this work for additional information regarding copyright ownership.
+   The ASF licenses this file to You under the Apache License, Version 2.0
+   (the "License"); you may not use this file except in compliance with
+   the License.  You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+==================================================================== */
+
+package org.apache.poi.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+
+final class TestSortedIntMap {
+    @Test
+    void testPutGetRemove() {
+        SortedIntMap<String> map = new SortedIntMap<>(1);
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0));
+        assertThrows(NoSuchElementException.class, map::firstKey);
+        assertThrows(NoSuchElementException.class, map::lastKey);
+
+        assertNull(map.put(5, "five"));
+        assertNull(map.put(1, "one"));
+        assertNull(map.put(9, "nine"));
+        assertEquals("five", map.put(5, "FIVE"));
+
+        assertEquals(3, map.size());
+        assertEquals(1, map.firstKey());
+        assertEquals(9, map.lastKey());
+        assertEquals("FIVE", map.get(5));
+        assertTrue(map.containsKey(9));
+        assertFalse(map.containsKey(4));
+        assertEquals("[one, FIVE, nine]", map.values().toString());
+
+        assertEquals(0, map.headSize(0));
+        assertEquals(1, map.headSize(5));
+        assertEquals(2, map.headSize(6));
+        assertEquals(3, map.headSize(100));
+        assertEquals(9, map.keyAt(2));
+        assertEquals("one", map.valueAt(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> map.valueAt(3));
+
+        assertEquals("FIVE", map.remove(5));
+        assertNull(map.remove(5));
+        assertEquals("[one, nine]", map.values().toString());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.values().size());
+    }
+
+    @Test
+    void testSameOrderAsTreeMap() {
+        SortedIntMap<Integer> map = new SortedIntMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        Random rnd = new Random(1234);
+        for (int i = 0; i < 5000; i++) {
+            int key = rnd.nextInt(1000);
+            if (rnd.nextInt(4) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(map.values()));
+        int idx = 0;
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getKey(), map.keyAt(idx));
+            assertEquals(idx, map.headSize(entry.getKey()));
+            idx++;
+        }
+        List<Integer> streamed = StreamSupport.stream(map.values().spliterator(), false).collect(Collectors.toList());
+        assertEquals(new ArrayList<>(expected.values()), streamed);
+    }
+
+    @Test
+    void testIterator() {
+        SortedIntMap<String> map = new SortedIntMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.put(i, Integer.toString(i));
+        }
+
+        Iterator<String> it = map.values().iterator();
+        assertThrows(IllegalStateException.class, it::remove);
+        while (it.hasNext()) {
+            if (Integer.parseInt(it.next()) % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals("[1, 3, 5, 7, 9]", map.values().toString());
+        assertThrows(NoSuchElementException.class, it::next);
+
+        Iterator<String> it2 = map.values().iterator();
+        it2.next();
+        map.put(100, "100");
+        assertThrows(ConcurrentModificationException.class, it2::next);
+
+        // replacing a value is not a structural modification
+        Iterator<String> it3 = map.values().iterator();
+        it3.next();
+        map.put(100, "hundred");
+        assertEquals("3", it3.next());
+    }
+}